@@ -0,0 +1,139 @@
+package com.example.document.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Properties specific to Document.
+ * <p>
+ * Properties are configured in the {@code application.yml} file.
+ * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
+ */
+@ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
+public class ApplicationProperties {
+
+    private final Content content = new Content();
+
+    private final JwtCache jwtCache = new JwtCache();
+
+    // jhipster-needle-application-properties-property
+
+    public Content getContent() {
+        return content;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    // jhipster-needle-application-properties-property-getter
+
+    public static class Content {
+
+        public enum BlobStoreType {
+            /**
+             * One file per blob under {@code path}.
+             */
+            FILESYSTEM,
+            /**
+             * One row per blob in the {@code blob_content} table.
+             */
+            DATABASE,
+        }
+
+        private BlobStoreType blobStore = BlobStoreType.FILESYSTEM;
+
+        /**
+         * Root directory of the filesystem blob store.
+         */
+        private String path = "data/blobs";
+
+        /**
+         * Largest file accepted by the content upload endpoints. Keep {@code spring.servlet.multipart.max-file-size} in line.
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(250);
+
+        /**
+         * Size of the slices in which the database blob store reads a file.
+         */
+        private DataSize chunkSize = DataSize.ofMegabytes(1);
+
+        /**
+         * Time since their last upload after which the files no document references are deleted. Keep it above the
+         * longest upload and save of a document.
+         */
+        private Duration sweepAge = Duration.ofDays(1);
+
+        /**
+         * When the files no document references are deleted, as a cron expression.
+         */
+        private String sweepCron = "0 30 3 * * *";
+
+        public BlobStoreType getBlobStore() {
+            return blobStore;
+        }
+
+        public void setBlobStore(BlobStoreType blobStore) {
+            this.blobStore = blobStore;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public DataSize getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(DataSize chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public Duration getSweepAge() {
+            return sweepAge;
+        }
+
+        public void setSweepAge(Duration sweepAge) {
+            this.sweepAge = sweepAge;
+        }
+
+        public String getSweepCron() {
+            return sweepCron;
+        }
+
+        public void setSweepCron(String sweepCron) {
+            this.sweepCron = sweepCron;
+        }
+    }
+
+    public static class JwtCache {
+
+        /**
+         * Verified tokens kept until they expire, split evenly over up to 16 shards of at least 64 tokens, least recently
+         * used first out.
+         */
+        private int maximumSize = 10_000;
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+    // jhipster-needle-application-properties-property-class
+}
@@ -1,12 +1,28 @@
 package com.example.document.config;
 
+import com.example.document.repository.BlobStore;
+import com.example.document.repository.FileSystemBlobStore;
+import com.example.document.repository.JdbcBlobStore;
+import java.nio.file.Path;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @Configuration
 @EnableJpaRepositories({ "com.example.document.repository" })
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
-public class DatabaseConfiguration {}
+public class DatabaseConfiguration {
+
+    @Bean
+    public BlobStore blobStore(ApplicationProperties applicationProperties, JdbcTemplate jdbcTemplate) {
+        ApplicationProperties.Content content = applicationProperties.getContent();
+        return switch (content.getBlobStore()) {
+            case FILESYSTEM -> new FileSystemBlobStore(Path.of(content.getPath()));
+            case DATABASE -> new JdbcBlobStore(jdbcTemplate, (int) content.getChunkSize().toBytes());
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.document.config;
+
+import com.example.document.repository.BlobStore;
+import com.example.document.repository.FileSystemBlobStore;
+import com.example.document.repository.JdbcBlobStore;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.List;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Liquibase change moving the {@code document.file} column to the {@link BlobStore}, in batches committed one by one
+ * so that an interrupted migration resumes where it stopped.
+ */
+public class MoveDocumentFilesToBlobStore implements CustomTaskChange {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoveDocumentFilesToBlobStore.class);
+
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
+    private String blobStore;
+
+    private String blobStorePath;
+
+    private int batchSize = 100;
+
+    private int moved;
+
+    public void setBlobStore(String blobStore) {
+        this.blobStore = blobStore;
+    }
+
+    public void setBlobStorePath(String blobStorePath) {
+        this.blobStorePath = blobStorePath;
+    }
+
+    public void setBatchSize(String batchSize) {
+        this.batchSize = Integer.parseInt(batchSize);
+    }
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        try {
+            Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            BlobStore store = "database".equalsIgnoreCase(blobStore)
+                ? new JdbcBlobStore(jdbcTemplate, CHUNK_SIZE)
+                : new FileSystemBlobStore(Path.of(blobStorePath));
+            List<Long> ids;
+            do {
+                ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM document WHERE file IS NOT NULL AND file_sha_256 IS NULL ORDER BY id LIMIT ?",
+                    Long.class,
+                    batchSize
+                );
+                for (Long id : ids) {
+                    move(jdbcTemplate, store, id);
+                }
+                database.commit();
+                moved += ids.size();
+                LOG.info("Moved {} document files to the {} blob store", moved, blobStore);
+            } while (!ids.isEmpty());
+        } catch (Exception e) {
+            throw new CustomChangeException("Could not move document files to the blob store", e);
+        }
+    }
+
+    private static void move(JdbcTemplate jdbcTemplate, BlobStore store, Long id) {
+        BlobStore.Blob blob = jdbcTemplate.query(
+            "SELECT file, octet_length(file) AS size FROM document WHERE id = ?",
+            rs -> {
+                rs.next();
+                try (InputStream in = rs.getBinaryStream("file")) {
+                    return store.put(in, rs.getLong("size"));
+                } catch (IOException e) {
+                    throw new IllegalStateException("Could not store the file of document " + id, e);
+                }
+            },
+            id
+        );
+        jdbcTemplate.update(
+            "UPDATE document SET file_sha_256 = ?, file_size = ?, file = NULL WHERE id = ?",
+            blob.sha256(),
+            blob.size(),
+            id
+        );
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Moved " + moved + " document files to the " + blobStore + " blob store";
+    }
+
+    @Override
+    public void setUp() {
+        // nothing to set up
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+        // no file needed
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        ValidationErrors errors = new ValidationErrors();
+        if (!"database".equalsIgnoreCase(blobStore)) {
+            errors.checkRequiredField("blobStorePath", blobStorePath);
+        }
+        return errors;
+    }
+}
@@ -3,8 +3,10 @@ package com.example.document.config;
 import static com.example.document.security.SecurityUtils.JWT_ALGORITHM;
 
 import com.example.document.management.SecurityMetersService;
+import com.example.document.security.VerifiedJwtCache;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
+import io.micrometer.core.instrument.MeterRegistry;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import org.slf4j.Logger;
@@ -12,6 +14,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
@@ -26,11 +29,22 @@ public class SecurityJwtConfiguration {
     private String jwtKey;
 
     @Bean
-    public JwtDecoder jwtDecoder(SecurityMetersService metersService) {
+    public JwtDecoder jwtDecoder(
+        SecurityMetersService metersService,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
         NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
+        VerifiedJwtCache verifiedJwts = new VerifiedJwtCache(applicationProperties.getJwtCache().getMaximumSize(), meterRegistry);
         return token -> {
+            Jwt verified = verifiedJwts.get(token);
+            if (verified != null) {
+                return verified;
+            }
             try {
-                return jwtDecoder.decode(token);
+                Jwt jwt = jwtDecoder.decode(token);
+                verifiedJwts.put(token, jwt);
+                return jwt;
             } catch (Exception e) {
                 if (e.getMessage().contains("Invalid signature")) {
                     metersService.trackTokenInvalidSignature();
@@ -35,17 +35,20 @@ public class Document implements Serializable {
     @Column(name = "issue_date")
     private Instant issueDate;
 
-    @Lob
-    @Column(name = "file", nullable = false)
-    private byte[] file;
+    /**
+     * SHA-256 of the file, the key of its bytes in the {@link com.example.document.repository.BlobStore}.
+     */
+    @Size(min = 64, max = 64)
+    @Column(name = "file_sha_256", length = 64)
+    private String fileSha256;
 
-    @NotNull
-    @Column(name = "file_content_type")
-    @Column(name = "file_content_type", nullable = false)
-    private String fileContentType;
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "file_last_modified")
+    private Instant fileLastModified;
 
     @NotNull
-    @Column(name = "file_content_type")
     @Column(name = "file_content_type", nullable = false)
     private String fileContentType;
 
@@ -106,30 +109,43 @@ public class Document implements Serializable {
         this.issueDate = issueDate;
     }
 
-    public byte[] getFile() {
-        return this.file;
+    public String getFileSha256() {
+        return this.fileSha256;
     }
 
-    public Document file(byte[] file) {
-        this.setFile(file);
+    public Document fileSha256(String fileSha256) {
+        this.setFileSha256(fileSha256);
         return this;
     }
 
-    public void setFile(byte[] file) {
-        this.file = file;
+    public void setFileSha256(String fileSha256) {
+        this.fileSha256 = fileSha256;
     }
 
-    public String getFileContentType() {
-        return this.fileContentType;
+    public Long getFileSize() {
+        return this.fileSize;
     }
 
-    public Document fileContentType(String fileContentType) {
-        this.fileContentType = fileContentType;
+    public Document fileSize(Long fileSize) {
+        this.setFileSize(fileSize);
         return this;
     }
 
-    public void setFileContentType(String fileContentType) {
-        this.fileContentType = fileContentType;
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public Instant getFileLastModified() {
+        return this.fileLastModified;
+    }
+
+    public Document fileLastModified(Instant fileLastModified) {
+        this.setFileLastModified(fileLastModified);
+        return this;
+    }
+
+    public void setFileLastModified(Instant fileLastModified) {
+        this.fileLastModified = fileLastModified;
     }
 
     public String getFileContentType() {
@@ -185,8 +201,9 @@ public class Document implements Serializable {
             ", title='" + getTitle() + "'" +
             ", type='" + getType() + "'" +
             ", issueDate='" + getIssueDate() + "'" +
-            ", file='" + getFile() + "'" +
-            ", fileContentType='" + getFileContentType() + "'" +
+            ", fileSha256='" + getFileSha256() + "'" +
+            ", fileSize=" + getFileSize() +
+            ", fileLastModified='" + getFileLastModified() + "'" +
             ", fileContentType='" + getFileContentType() + "'" +
             ", citizenId=" + getCitizenId() +
             "}";
@@ -0,0 +1,62 @@
+package com.example.document.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Content-addressed storage of document files.
+ * <p>
+ * A file is stored under the SHA-256 of its bytes, so uploading the same file twice stores it once. Blobs are never
+ * modified once written: changing the file of a document stores a new blob and points the document to it, and the
+ * blobs no document points to any more are removed by {@link #deleteUnreferenced}.
+ */
+public interface BlobStore {
+    /**
+     * The key and size of a stored file.
+     */
+    record Blob(String sha256, long size) {}
+
+    /**
+     * Stores a file, unless a file with the same content is already stored. Either way, the file is considered stored
+     * now by {@link #deleteUnreferenced}.
+     *
+     * @param content the bytes of the file, read to the end.
+     * @param size the exact size of the file.
+     * @return the key of the stored file.
+     * @throws IOException if the content cannot be read or stored, or does not have the announced size.
+     */
+    Blob put(InputStream content, long size) throws IOException;
+
+    /**
+     * @param sha256 the key of a file.
+     * @return {@code true} if the file is stored.
+     */
+    boolean exists(String sha256);
+
+    /**
+     * Copies a range of a stored file, without loading it whole in memory.
+     *
+     * @param sha256 the key of the file.
+     * @param position the offset of the first byte to copy.
+     * @param count the number of bytes to copy.
+     * @param target the channel to write to.
+     * @throws IOException if the file cannot be read or the target written.
+     */
+    void copyTo(String sha256, long position, long count, WritableByteChannel target) throws IOException;
+
+    /**
+     * Deletes the files that were last stored longer than {@code age} ago and that no document references. The age is a
+     * grace period for the documents being saved with a file just stored: it must exceed their longest transaction.
+     *
+     * @param age the time since their last {@link #put} after which unreferenced files are deleted.
+     * @param referenced returns, among the keys of a batch of files, those that are referenced.
+     * @return the number of files deleted.
+     * @throws IOException if the files cannot be listed or deleted.
+     */
+    long deleteUnreferenced(Duration age, Function<Collection<String>, Set<String>> referenced) throws IOException;
+}
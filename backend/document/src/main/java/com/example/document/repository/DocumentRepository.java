@@ -1,7 +1,10 @@
 package com.example.document.repository;
 
 import com.example.document.domain.Document;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +12,10 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface DocumentRepository extends JpaRepository<Document, Long> {}
+public interface DocumentRepository extends JpaRepository<Document, Long> {
+    /**
+     * @return the given file hashes that at least one document points to.
+     */
+    @Query("select distinct document.fileSha256 from Document document where document.fileSha256 in :sha256s")
+    List<String> findReferencedFileSha256In(@Param("sha256s") Collection<String> sha256s);
+}
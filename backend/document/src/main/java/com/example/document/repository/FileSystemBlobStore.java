@@ -0,0 +1,216 @@
+package com.example.document.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link BlobStore} keeping each file in its own file on the local filesystem, at
+ * {@code <root>/ab/cd/abcd...} for the SHA-256 {@code abcd...}: two levels of 256 directories keep directory sizes
+ * small even with millions of files.
+ * <p>
+ * Uploads are written to {@code <root>/tmp}, forced to disk, then atomically renamed to their final path, so a
+ * file visible under its hash is always complete. Reads use {@link FileChannel#transferTo}, which lets the kernel copy
+ * the file without going through the heap.
+ * <p>
+ * The modification time of a file is the last time it was stored: storing a file already there touches it, which
+ * protects it from {@link #deleteUnreferenced} while the document pointing to it is being saved.
+ */
+public class FileSystemBlobStore implements BlobStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileSystemBlobStore.class);
+
+    private static final long TRANSFER_SIZE = 8L * 1024 * 1024;
+
+    private static final int SWEEP_BATCH_SIZE = 1000;
+
+    private static final String SHA_256_PATTERN = "[0-9a-f]{64}";
+
+    private final Path root;
+
+    private final Path tmp;
+
+    public FileSystemBlobStore(Path root) {
+        this.root = root.toAbsolutePath();
+        this.tmp = this.root.resolve("tmp");
+    }
+
+    @Override
+    public Blob put(InputStream content, long size) throws IOException {
+        Files.createDirectories(tmp);
+        Path upload = Files.createTempFile(tmp, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256Digest();
+            long written = 0;
+            try (
+                ReadableByteChannel in = Channels.newChannel(new DigestInputStream(content, digest));
+                FileChannel out = FileChannel.open(upload, StandardOpenOption.WRITE)
+            ) {
+                long transferred;
+                while ((transferred = out.transferFrom(in, written, TRANSFER_SIZE)) > 0) {
+                    written += transferred;
+                }
+                out.force(true);
+            }
+            if (written != size) {
+                throw new IOException("Expected " + size + " bytes, received " + written);
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            Path target = path(sha256);
+            if (touch(target)) {
+                LOG.debug("Blob {} already stored", sha256);
+            } else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(upload, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    LOG.debug("Blob {} stored concurrently", sha256);
+                    touch(target);
+                }
+            }
+            return new Blob(sha256, written);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    @Override
+    public boolean exists(String sha256) {
+        return Files.exists(path(sha256));
+    }
+
+    @Override
+    public void copyTo(String sha256, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel in = FileChannel.open(path(sha256), StandardOpenOption.READ)) {
+            long end = Math.min(position + count, in.size());
+            for (long offset = position; offset < end;) {
+                offset += in.transferTo(offset, end - offset, target);
+            }
+        }
+    }
+
+    @Override
+    public long deleteUnreferenced(Duration age, Function<Collection<String>, Set<String>> referenced) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        FileTime storedBefore = FileTime.from(Instant.now().minus(age));
+        List<Path> batch = new ArrayList<>();
+        long[] deleted = { 0 };
+        Files.walkFileTree(
+            root,
+            new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                    if (attributes.lastModifiedTime().compareTo(storedBefore) < 0 && (file.startsWith(tmp) || isBlob(file))) {
+                        batch.add(file);
+                        if (batch.size() == SWEEP_BATCH_SIZE) {
+                            deleted[0] += deleteUnreferenced(batch, storedBefore, referenced);
+                            batch.clear();
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    // deleted while walking, by an upload completing in tmp
+                    return FileVisitResult.CONTINUE;
+                }
+            }
+        );
+        if (!batch.isEmpty()) {
+            deleted[0] += deleteUnreferenced(batch, storedBefore, referenced);
+        }
+        return deleted[0];
+    }
+
+    private long deleteUnreferenced(List<Path> batch, FileTime storedBefore, Function<Collection<String>, Set<String>> referenced)
+        throws IOException {
+        List<String> sha256s = new ArrayList<>();
+        long deleted = 0;
+        for (Path file : batch) {
+            if (file.startsWith(tmp)) {
+                // left by an upload that was interrupted
+                deleted += Files.deleteIfExists(file) ? 1 : 0;
+            } else {
+                sha256s.add(file.getFileName().toString());
+            }
+        }
+        Set<String> kept = sha256s.isEmpty() ? Set.of() : referenced.apply(sha256s);
+        for (String sha256 : sha256s) {
+            Path file = path(sha256);
+            // unless it was stored again since it was listed
+            if (!kept.contains(sha256) && isStoredBefore(file, storedBefore) && Files.deleteIfExists(file)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private boolean isBlob(Path file) {
+        String name = file.getFileName().toString();
+        return name.matches(SHA_256_PATTERN) && file.equals(path(name));
+    }
+
+    private static boolean isStoredBefore(Path file, FileTime storedBefore) throws IOException {
+        try {
+            return Files.getLastModifiedTime(file).compareTo(storedBefore) < 0;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return {@code true} if the file exists, and now protected from the sweep for its grace period.
+     */
+    private static boolean touch(Path file) throws IOException {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    Path path(String sha256) {
+        if (!sha256.matches(SHA_256_PATTERN)) {
+            throw new IllegalArgumentException("Not a SHA-256: " + sha256);
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.document.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * {@link BlobStore} keeping files in the {@code blob_content} table, one row per distinct file.
+ * <p>
+ * The content is streamed to the database under a temporary key while its hash is computed, then renamed to its
+ * hash, or dropped if that file is already stored. It is read back in slices with {@code substring}; the column is
+ * stored uncompressed so that a slice only fetches the TOAST chunks it covers.
+ * <p>
+ * Each statement commits on its own: {@link #put} must not run in a transaction, which the primary key violation of a
+ * concurrent upload of the same file would abort. The {@code stored_date} of a row is the last time the file was
+ * stored, and protects it from {@link #deleteUnreferenced} while the document pointing to it is being saved.
+ */
+public class JdbcBlobStore implements BlobStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcBlobStore.class);
+
+    private static final String TMP_PREFIX = "tmp-";
+
+    private static final int SWEEP_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int chunkSize;
+
+    public JdbcBlobStore(JdbcTemplate jdbcTemplate, int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public Blob put(InputStream content, long size) throws IOException {
+        String tmpKey = TMP_PREFIX + UUID.randomUUID();
+        MessageDigest digest = sha256Digest();
+        DigestInputStream in = new DigestInputStream(content, digest);
+        jdbcTemplate.update("INSERT INTO blob_content (sha_256, size, content) VALUES (?, ?, ?)", ps -> {
+            ps.setString(1, tmpKey);
+            ps.setLong(2, size);
+            ps.setBinaryStream(3, in, size);
+        });
+        if (in.read() != -1) {
+            jdbcTemplate.update("DELETE FROM blob_content WHERE sha_256 = ?", tmpKey);
+            throw new IOException("Received more than the expected " + size + " bytes");
+        }
+        String sha256 = HexFormat.of().formatHex(digest.digest());
+        if (touch(sha256)) {
+            jdbcTemplate.update("DELETE FROM blob_content WHERE sha_256 = ?", tmpKey);
+        } else {
+            try {
+                jdbcTemplate.update("UPDATE blob_content SET sha_256 = ?, stored_date = localtimestamp WHERE sha_256 = ?", sha256, tmpKey);
+            } catch (DuplicateKeyException e) {
+                // stored concurrently by another upload of the same file
+                LOG.debug("Blob {} stored concurrently", sha256);
+                jdbcTemplate.update("DELETE FROM blob_content WHERE sha_256 = ?", tmpKey);
+                touch(sha256);
+            }
+        }
+        return new Blob(sha256, size);
+    }
+
+    /**
+     * @return {@code true} if the file is stored, and now protected from the sweep for its grace period.
+     */
+    private boolean touch(String sha256) {
+        return jdbcTemplate.update("UPDATE blob_content SET stored_date = localtimestamp WHERE sha_256 = ?", sha256) > 0;
+    }
+
+    @Override
+    public boolean exists(String sha256) {
+        return Boolean.TRUE.equals(
+            jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM blob_content WHERE sha_256 = ?)", Boolean.class, sha256)
+        );
+    }
+
+    @Override
+    public void copyTo(String sha256, long position, long count, WritableByteChannel target) throws IOException {
+        for (long offset = position; offset < position + count;) {
+            int length = (int) Math.min(chunkSize, position + count - offset);
+            byte[] chunk = jdbcTemplate.queryForObject(
+                "SELECT substring(content FROM ? FOR ?) FROM blob_content WHERE sha_256 = ?",
+                byte[].class,
+                offset + 1,
+                length,
+                sha256
+            );
+            if (chunk == null || chunk.length == 0) {
+                return;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(chunk);
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            offset += chunk.length;
+        }
+    }
+
+    @Override
+    public long deleteUnreferenced(Duration age, Function<Collection<String>, Set<String>> referenced) {
+        long deleted = 0;
+        String after = "";
+        List<String> batch;
+        do {
+            batch = jdbcTemplate.queryForList(
+                "SELECT sha_256 FROM blob_content WHERE stored_date < localtimestamp - ? * interval '1 second' AND sha_256 > ? " +
+                "ORDER BY sha_256 LIMIT " +
+                SWEEP_BATCH_SIZE,
+                String.class,
+                age.toSeconds(),
+                after
+            );
+            if (batch.isEmpty()) {
+                break;
+            }
+            after = batch.get(batch.size() - 1);
+            List<String> sha256s = new ArrayList<>();
+            for (String sha256 : batch) {
+                if (sha256.startsWith(TMP_PREFIX)) {
+                    // left by an upload that was interrupted
+                    deleted += delete(sha256, age);
+                } else {
+                    sha256s.add(sha256);
+                }
+            }
+            Set<String> kept = sha256s.isEmpty() ? Set.of() : referenced.apply(sha256s);
+            for (String sha256 : sha256s) {
+                if (!kept.contains(sha256)) {
+                    deleted += delete(sha256, age);
+                }
+            }
+        } while (batch.size() == SWEEP_BATCH_SIZE);
+        return deleted;
+    }
+
+    /**
+     * Deletes a file unless it was stored again since it was listed.
+     */
+    private int delete(String sha256, Duration age) {
+        return jdbcTemplate.update(
+            "DELETE FROM blob_content WHERE sha_256 = ? AND stored_date < localtimestamp - ? * interval '1 second'",
+            sha256,
+            age.toSeconds()
+        );
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.document.service;
 
+import com.example.document.service.dto.DocumentContentDTO;
 import com.example.document.service.dto.DocumentDTO;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -49,6 +53,36 @@ public interface DocumentService {
      */
     Optional<DocumentDTO> findOne(Long id);
 
+    /**
+     * Get the hash, content type, size and modification date of the file of the "id" document.
+     *
+     * @param id the id of the entity.
+     * @return the description of the file.
+     */
+    Optional<DocumentContentDTO> findContent(Long id);
+
+    /**
+     * Copy a range of the file of the "id" document from the blob store to a stream.
+     *
+     * @param content the file to copy, as returned by {@link #findContent(Long)}.
+     * @param position the offset of the first byte to copy.
+     * @param count the number of bytes to copy.
+     * @param out the stream to write to.
+     * @throws IOException if the stream cannot be written.
+     */
+    void copyContent(DocumentContentDTO content, long position, long count, OutputStream out) throws IOException;
+
+    /**
+     * Replace the file of the "id" document, streaming it to the blob store.
+     *
+     * @param id the id of the entity.
+     * @param in the new file.
+     * @param size the exact size of the new file.
+     * @param contentType the content type of the new file.
+     * @return the description of the stored file, or empty if the document does not exist.
+     */
+    Optional<DocumentContentDTO> saveContent(Long id, InputStream in, long size, String contentType);
+
     /**
      * Delete the "id" document.
      *
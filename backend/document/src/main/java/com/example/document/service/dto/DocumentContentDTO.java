@@ -0,0 +1,82 @@
+package com.example.document.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The description of the file of a {@link com.example.document.domain.Document}, without its bytes.
+ */
+public class DocumentContentDTO implements Serializable {
+
+    private Long id;
+
+    private String sha256;
+
+    private String contentType;
+
+    private long size;
+
+    private Instant lastModified;
+
+    public DocumentContentDTO() {}
+
+    public DocumentContentDTO(Long id, String sha256, String contentType, long size, Instant lastModified) {
+        this.id = id;
+        this.sha256 = sha256;
+        this.contentType = contentType;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "DocumentContentDTO{" +
+            "id=" + getId() +
+            ", sha256='" + getSha256() + "'" +
+            ", contentType='" + getContentType() + "'" +
+            ", size=" + getSize() +
+            ", lastModified='" + getLastModified() + "'" +
+            "}";
+    }
+}
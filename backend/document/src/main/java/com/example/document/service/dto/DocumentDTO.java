@@ -1,5 +1,6 @@
 package com.example.document.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.Lob;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -22,10 +23,22 @@ public class DocumentDTO implements Serializable {
 
     private Instant issueDate;
 
+    /**
+     * Optional file sent inline on create or update, stored in the blob store. Never returned: read the file with
+     * {@code GET /api/documents/{id}/content}.
+     */
     @Lob
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private byte[] file;
 
-    private String fileContentType;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String fileSha256;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long fileSize;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant fileLastModified;
 
     private String fileContentType;
 
@@ -71,12 +84,28 @@ public class DocumentDTO implements Serializable {
         this.file = file;
     }
 
-    public String getFileContentType() {
-        return fileContentType;
+    public String getFileSha256() {
+        return fileSha256;
     }
 
-    public void setFileContentType(String fileContentType) {
-        this.fileContentType = fileContentType;
+    public void setFileSha256(String fileSha256) {
+        this.fileSha256 = fileSha256;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public Instant getFileLastModified() {
+        return fileLastModified;
+    }
+
+    public void setFileLastModified(Instant fileLastModified) {
+        this.fileLastModified = fileLastModified;
     }
 
     public String getFileContentType() {
@@ -124,7 +153,9 @@ public class DocumentDTO implements Serializable {
             ", title='" + getTitle() + "'" +
             ", type='" + getType() + "'" +
             ", issueDate='" + getIssueDate() + "'" +
-            ", file='" + getFile() + "'" +
+            ", fileSha256='" + getFileSha256() + "'" +
+            ", fileSize=" + getFileSize() +
+            ", fileLastModified='" + getFileLastModified() + "'" +
             ", fileContentType='" + getFileContentType() + "'" +
             ", citizenId=" + getCitizenId() +
             "}";
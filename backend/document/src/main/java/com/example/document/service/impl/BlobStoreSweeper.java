@@ -0,0 +1,56 @@
+package com.example.document.service.impl;
+
+import com.example.document.config.ApplicationProperties;
+import com.example.document.repository.BlobStore;
+import com.example.document.repository.DocumentRepository;
+import java.io.IOException;
+import java.util.HashSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes the files of the blob store that no document points to any more: the previous files of updated documents,
+ * the files of deleted documents, and the uploads that were interrupted.
+ * <p>
+ * A file is only deleted once it is older than {@code application.content.sweep-age}, counted from its last upload,
+ * so that the documents being saved with it are committed before it is checked.
+ */
+@Component
+public class BlobStoreSweeper {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BlobStoreSweeper.class);
+
+    private final BlobStore blobStore;
+
+    private final DocumentRepository documentRepository;
+
+    private final ApplicationProperties.Content properties;
+
+    public BlobStoreSweeper(BlobStore blobStore, DocumentRepository documentRepository, ApplicationProperties applicationProperties) {
+        this.blobStore = blobStore;
+        this.documentRepository = documentRepository;
+        this.properties = applicationProperties.getContent();
+    }
+
+    @Scheduled(cron = "${application.content.sweep-cron:0 30 3 * * *}")
+    public void scheduledSweep() {
+        try {
+            sweep();
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Could not delete the unreferenced files, retrying on the next schedule: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return the number of files deleted.
+     */
+    public long sweep() throws IOException {
+        long deleted = blobStore.deleteUnreferenced(properties.getSweepAge(), sha256s ->
+            new HashSet<>(documentRepository.findReferencedFileSha256In(sha256s))
+        );
+        LOG.info("Deleted {} unreferenced files", deleted);
+        return deleted;
+    }
+}
@@ -1,20 +1,36 @@
 package com.example.document.service.impl;
 
 import com.example.document.domain.Document;
+import com.example.document.repository.BlobStore;
 import com.example.document.repository.DocumentRepository;
 import com.example.document.service.DocumentService;
+import com.example.document.service.dto.DocumentContentDTO;
 import com.example.document.service.dto.DocumentDTO;
 import com.example.document.service.mapper.DocumentMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.time.Instant;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service Implementation for managing {@link com.example.document.domain.Document}.
+ * <p>
+ * Files are written to the blob store outside of any transaction, then the document is pointed to them in a short
+ * one: a transaction is not held, with its connection, while a file is uploaded, and the blob store commits its own
+ * writes. A file stored for a document that is not saved in the end is deleted by the {@link BlobStoreSweeper}.
  */
 @Service
 @Transactional
@@ -26,40 +42,73 @@ public class DocumentServiceImpl implements DocumentService {
 
     private final DocumentMapper documentMapper;
 
-    public DocumentServiceImpl(DocumentRepository documentRepository, DocumentMapper documentMapper) {
+    private final BlobStore blobStore;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public DocumentServiceImpl(
+        DocumentRepository documentRepository,
+        DocumentMapper documentMapper,
+        BlobStore blobStore,
+        PlatformTransactionManager transactionManager
+    ) {
         this.documentRepository = documentRepository;
         this.documentMapper = documentMapper;
+        this.blobStore = blobStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DocumentDTO save(DocumentDTO documentDTO) {
         LOG.debug("Request to save Document : {}", documentDTO);
-        Document document = documentMapper.toEntity(documentDTO);
-        document = documentRepository.save(document);
-        return documentMapper.toDto(document);
+        BlobStore.Blob blob = storeInlineFile(documentDTO);
+        return transactionTemplate.execute(status -> {
+            Document document = documentMapper.toEntity(documentDTO);
+            withFile(document, blob);
+            document = documentRepository.save(document);
+            return documentMapper.toDto(document);
+        });
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DocumentDTO update(DocumentDTO documentDTO) {
         LOG.debug("Request to update Document : {}", documentDTO);
-        Document document = documentMapper.toEntity(documentDTO);
-        document = documentRepository.save(document);
-        return documentMapper.toDto(document);
+        BlobStore.Blob blob = storeInlineFile(documentDTO);
+        return transactionTemplate.execute(status -> {
+            Document document = documentMapper.toEntity(documentDTO);
+            // the file is not part of the DTO: keep the stored one unless a new one is sent inline
+            documentRepository
+                .findById(documentDTO.getId())
+                .ifPresent(existing ->
+                    document
+                        .fileSha256(existing.getFileSha256())
+                        .fileSize(existing.getFileSize())
+                        .fileLastModified(existing.getFileLastModified())
+                );
+            withFile(document, blob);
+            return documentMapper.toDto(documentRepository.save(document));
+        });
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<DocumentDTO> partialUpdate(DocumentDTO documentDTO) {
         LOG.debug("Request to partially update Document : {}", documentDTO);
+        BlobStore.Blob blob = storeInlineFile(documentDTO);
+        return transactionTemplate.execute(status ->
+            documentRepository
+                .findById(documentDTO.getId())
+                .map(existingDocument -> {
+                    documentMapper.partialUpdate(existingDocument, documentDTO);
+                    withFile(existingDocument, blob);
 
-        return documentRepository
-            .findById(documentDTO.getId())
-            .map(existingDocument -> {
-                documentMapper.partialUpdate(existingDocument, documentDTO);
-
-                return existingDocument;
-            })
-            .map(documentRepository::save)
-            .map(documentMapper::toDto);
+                    return existingDocument;
+                })
+                .map(documentRepository::save)
+                .map(documentMapper::toDto)
+        );
     }
 
     @Override
@@ -76,9 +125,79 @@ public class DocumentServiceImpl implements DocumentService {
         return documentRepository.findById(id).map(documentMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<DocumentContentDTO> findContent(Long id) {
+        LOG.debug("Request to get the content of Document : {}", id);
+        return documentRepository
+            .findById(id)
+            .filter(document -> document.getFileSha256() != null)
+            .map(document ->
+                new DocumentContentDTO(
+                    id,
+                    document.getFileSha256(),
+                    document.getFileContentType(),
+                    document.getFileSize(),
+                    document.getFileLastModified()
+                )
+            );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void copyContent(DocumentContentDTO content, long position, long count, OutputStream out) throws IOException {
+        LOG.debug("Request to copy {} bytes from {} of the content of Document : {}", count, position, content.getId());
+        blobStore.copyTo(content.getSha256(), position, count, Channels.newChannel(out));
+        out.flush();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<DocumentContentDTO> saveContent(Long id, InputStream in, long size, String contentType) {
+        LOG.debug("Request to save the content of Document : {}, {} bytes of {}", id, size, contentType);
+        if (!documentRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        BlobStore.Blob blob = put(in, size);
+        Instant lastModified = Instant.now();
+        // empty if the document was deleted during the upload
+        return transactionTemplate.execute(status ->
+            documentRepository
+                .findById(id)
+                .map(document -> {
+                    document.fileSha256(blob.sha256()).fileSize(blob.size()).fileLastModified(lastModified).fileContentType(contentType);
+                    return new DocumentContentDTO(id, blob.sha256(), contentType, blob.size(), lastModified);
+                })
+        );
+    }
+
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete Document : {}", id);
         documentRepository.deleteById(id);
     }
+
+    /**
+     * @return the file sent inline, once stored, or {@code null} if none was sent.
+     */
+    private BlobStore.Blob storeInlineFile(DocumentDTO documentDTO) {
+        if (documentDTO.getFile() == null) {
+            return null;
+        }
+        return put(new ByteArrayInputStream(documentDTO.getFile()), documentDTO.getFile().length);
+    }
+
+    private static void withFile(Document document, BlobStore.Blob blob) {
+        if (blob != null) {
+            document.fileSha256(blob.sha256()).fileSize(blob.size()).fileLastModified(Instant.now());
+        }
+    }
+
+    private BlobStore.Blob put(InputStream in, long size) {
+        try {
+            return blobStore.put(in, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
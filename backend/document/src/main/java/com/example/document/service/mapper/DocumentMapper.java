@@ -8,4 +8,20 @@ import org.mapstruct.*;
  * Mapper for the entity {@link Document} and its DTO {@link DocumentDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface DocumentMapper extends EntityMapper<DocumentDTO, Document> {}
+public interface DocumentMapper extends EntityMapper<DocumentDTO, Document> {
+    @Override
+    @Mapping(target = "fileSha256", ignore = true)
+    @Mapping(target = "fileSize", ignore = true)
+    @Mapping(target = "fileLastModified", ignore = true)
+    Document toEntity(DocumentDTO dto);
+
+    @Override
+    @Mapping(target = "file", ignore = true)
+    DocumentDTO toDto(Document entity);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "fileSha256", ignore = true)
+    @Mapping(target = "fileSize", ignore = true)
+    @Mapping(target = "fileLastModified", ignore = true)
+    void partialUpdate(@MappingTarget Document entity, DocumentDTO dto);
+}
@@ -1,13 +1,21 @@
 package com.example.document.web.rest;
 
+import com.example.document.config.ApplicationProperties;
 import com.example.document.repository.DocumentRepository;
 import com.example.document.service.DocumentService;
+import com.example.document.service.dto.DocumentContentDTO;
 import com.example.document.service.dto.DocumentDTO;
 import com.example.document.web.rest.errors.BadRequestAlertException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -16,9 +24,18 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -42,9 +59,16 @@ public class DocumentResource {
 
     private final DocumentRepository documentRepository;
 
-    public DocumentResource(DocumentService documentService, DocumentRepository documentRepository) {
+    private final ApplicationProperties applicationProperties;
+
+    public DocumentResource(
+        DocumentService documentService,
+        DocumentRepository documentRepository,
+        ApplicationProperties applicationProperties
+    ) {
         this.documentService = documentService;
         this.documentRepository = documentRepository;
+        this.applicationProperties = applicationProperties;
     }
 
     /**
@@ -162,6 +186,160 @@ public class DocumentResource {
         return ResponseUtil.wrapOrNotFound(documentDTO);
     }
 
+    /**
+     * {@code GET  /documents/:id/content} : stream the file of the "id" document.
+     * <p>
+     * The strong {@code ETag} of the file is its SHA-256. {@code If-None-Match} and {@code If-Modified-Since} are
+     * answered with {@code 304 (Not Modified)} without reading the file, and a single {@code Range} is served as a
+     * {@code 206 (Partial Content)} read directly from that offset of the blob store; an {@code If-Range} that does not
+     * match the file falls back to the whole file.
+     *
+     * @param id the id of the document.
+     * @param request the current request, for its conditional and range headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the file in body,
+     * or with status {@code 206 (Partial Content)} and the requested range of the file in body,
+     * or with status {@code 304 (Not Modified)} if the client already has the file,
+     * or with status {@code 404 (Not Found)} if the document or its file does not exist,
+     * or with status {@code 416 (Range Not Satisfiable)} if the range is outside of the file.
+     */
+    @GetMapping("/{id}/content")
+    public ResponseEntity<StreamingResponseBody> getDocumentContent(@PathVariable("id") Long id, WebRequest request) {
+        LOG.debug("REST request to get the content of Document : {}", id);
+        DocumentContentDTO content = documentService
+            .findContent(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        String etag = "\"" + content.getSha256() + "\"";
+        long lastModified = content.getLastModified() != null ? content.getLastModified().toEpochMilli() : -1;
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+        headers.setContentType(mediaType(content.getContentType()));
+        headers.setETag(etag);
+        if (lastModified >= 0) {
+            headers.setLastModified(lastModified);
+        }
+
+        long size = content.getSize();
+        HttpRange range = requestedRange(request, etag, lastModified);
+        if (range == null) {
+            headers.setContentLength(size);
+            return ResponseEntity.ok().headers(headers).body(out -> documentService.copyContent(content, 0, size, out));
+        }
+        long start = range.getRangeStart(size);
+        long end = range.getRangeEnd(size);
+        if (start >= size || end < start) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                .build();
+        }
+        headers.setContentLength(end - start + 1);
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+            .headers(headers)
+            .body(out -> documentService.copyContent(content, start, end - start + 1, out));
+    }
+
+    /**
+     * @return the single range to serve, or {@code null} to serve the whole file: when there is no {@code Range}, when
+     * it is invalid or has several ranges, or when its {@code If-Range} validator does not match the file.
+     */
+    private static HttpRange requestedRange(WebRequest request, String etag, long lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader == null || (ifRange != null && !ifRange.equals(etag) && !isSameSecond(ifRange, lastModified))) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isSameSecond(String httpDate, long lastModified) {
+        try {
+            long date = ZonedDateTime.parse(httpDate, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return lastModified >= 0 && date == lastModified / 1000 * 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * {@code PUT  /documents/:id/content} : replace the file of the "id" document with the raw request body.
+     * <p>
+     * The body is streamed to the blob store, its {@code Content-Type} is stored as the content type of the file. The
+     * {@code Content-Length} header is required.
+     *
+     * @param id the id of the document.
+     * @param request the request holding the file.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the description of the stored file in body,
+     * or with status {@code 404 (Not Found)} if the document does not exist,
+     * or with status {@code 411 (Length Required)} if the size of the file is not given,
+     * or with status {@code 413 (Payload Too Large)} if the file is larger than {@code application.content.max-size}.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PutMapping(value = "/{id}/content", consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<DocumentContentDTO> uploadDocumentContent(@PathVariable("id") Long id, HttpServletRequest request)
+        throws IOException {
+        LOG.debug("REST request to upload the content of Document : {}", id);
+        long size = request.getContentLengthLong();
+        if (size < 0) {
+            throw new ResponseStatusException(HttpStatus.LENGTH_REQUIRED);
+        }
+        String contentType = request.getContentType() != null ? request.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        try (InputStream in = request.getInputStream()) {
+            return saveContent(id, in, size, contentType);
+        }
+    }
+
+    /**
+     * {@code POST  /documents/:id/content} : replace the file of the "id" document with the {@code file} part of a
+     * multipart request.
+     *
+     * @param id the id of the document.
+     * @param file the new file.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the description of the stored file in body,
+     * or with status {@code 404 (Not Found)} if the document does not exist,
+     * or with status {@code 413 (Payload Too Large)} if the file is larger than {@code application.content.max-size}.
+     * @throws IOException if the uploaded file cannot be read.
+     */
+    @PostMapping(value = "/{id}/content", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<DocumentContentDTO> uploadDocumentContentPart(
+        @PathVariable("id") Long id,
+        @RequestPart("file") MultipartFile file
+    ) throws IOException {
+        LOG.debug("REST request to upload the content of Document : {}", id);
+        String contentType = file.getContentType() != null ? file.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        try (InputStream in = file.getInputStream()) {
+            return saveContent(id, in, file.getSize(), contentType);
+        }
+    }
+
+    private ResponseEntity<DocumentContentDTO> saveContent(Long id, InputStream in, long size, String contentType) {
+        if (size > applicationProperties.getContent().getMaxSize().toBytes()) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        DocumentContentDTO content = documentService
+            .saveContent(id, in, size, contentType)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString()))
+            .body(content);
+    }
+
+    private static MediaType mediaType(String contentType) {
+        try {
+            return contentType != null ? MediaType.parseMediaType(contentType) : MediaType.APPLICATION_OCTET_STREAM;
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+
     /**
      * {@code DELETE  /documents/:id} : delete the "id" document.
      *
@@ -50,7 +50,6 @@ public class DocumentAsserts {
             .satisfies(a -> assertThat(a.getTitle()).as("check title").isEqualTo(expected.getTitle()))
             .satisfies(a -> assertThat(a.getType()).as("check type").isEqualTo(expected.getType()))
             .satisfies(a -> assertThat(a.getIssueDate()).as("check issueDate").isEqualTo(expected.getIssueDate()))
-            .satisfies(a -> assertThat(a.getFile()).as("check file").isEqualTo(expected.getFile()))
             .satisfies(a -> assertThat(a.getFileContentType()).as("check file contenty type").isEqualTo(expected.getFileContentType()))
             .satisfies(a -> assertThat(a.getFileContentType()).as("check fileContentType").isEqualTo(expected.getFileContentType()))
             .satisfies(a -> assertThat(a.getCitizenId()).as("check citizenId").isEqualTo(expected.getCitizenId()));
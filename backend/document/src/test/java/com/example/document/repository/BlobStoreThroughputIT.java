@@ -0,0 +1,98 @@
+package com.example.document.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.document.IntegrationTest;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Compares the write and read throughput of the database and filesystem blob stores on the same files.
+ */
+@IntegrationTest
+class BlobStoreThroughputIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BlobStoreThroughputIT.class);
+
+    private static final int FILES = 16;
+
+    private static final int FILE_SIZE = 8 * 1024 * 1024;
+
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path root;
+
+    private final List<byte[]> files = new ArrayList<>();
+
+    @BeforeEach
+    void generateFiles() {
+        Random random = new Random(42);
+        for (int i = 0; i < FILES; i++) {
+            byte[] file = new byte[FILE_SIZE];
+            random.nextBytes(file);
+            files.add(file);
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM blob_content");
+    }
+
+    @Test
+    void filesystemAndDatabaseBackends() throws IOException {
+        double[] database = measure("database", new JdbcBlobStore(jdbcTemplate, CHUNK_SIZE));
+        double[] filesystem = measure("filesystem", new FileSystemBlobStore(root));
+
+        LOG.info(
+            "{} files of {} MiB: database write {} MiB/s, read {} MiB/s; filesystem write {} MiB/s, read {} MiB/s",
+            FILES,
+            FILE_SIZE / (1024 * 1024),
+            Math.round(database[0]),
+            Math.round(database[1]),
+            Math.round(filesystem[0]),
+            Math.round(filesystem[1])
+        );
+        try (var stored = Files.walk(root)) {
+            assertThat(stored.filter(Files::isRegularFile)).hasSize(FILES);
+        }
+    }
+
+    /**
+     * @return the write then read throughput, in MiB/s.
+     */
+    private double[] measure(String name, BlobStore blobStore) throws IOException {
+        List<BlobStore.Blob> blobs = new ArrayList<>();
+        long start = System.nanoTime();
+        for (byte[] file : files) {
+            blobs.add(blobStore.put(new ByteArrayInputStream(file), file.length));
+        }
+        long written = System.nanoTime();
+        for (BlobStore.Blob blob : blobs) {
+            blobStore.copyTo(blob.sha256(), 0, blob.size(), Channels.newChannel(OutputStream.nullOutputStream()));
+        }
+        long read = System.nanoTime();
+        assertThat(blobs).allSatisfy(blob -> assertThat(blobStore.exists(blob.sha256())).as(name).isTrue());
+        double mebibytes = (double) FILES * FILE_SIZE / (1024 * 1024);
+        return new double[] { mebibytes / ((written - start) / 1e9), mebibytes / ((read - written) / 1e9) };
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.document.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileSystemBlobStoreTest {
+
+    // SHA-256 of "hello world"
+    private static final String HELLO_SHA_256 = "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+
+    private static final byte[] HELLO = "hello world".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path root;
+
+    private FileSystemBlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new FileSystemBlobStore(root);
+    }
+
+    @Test
+    void putStoresTheFileUnderItsShardedHash() throws IOException {
+        BlobStore.Blob blob = blobStore.put(new ByteArrayInputStream(HELLO), HELLO.length);
+
+        assertThat(blob.sha256()).isEqualTo(HELLO_SHA_256);
+        assertThat(blob.size()).isEqualTo(HELLO.length);
+        assertThat(root.resolve("b9").resolve("4d").resolve(HELLO_SHA_256)).hasBinaryContent(HELLO);
+        assertThat(blobStore.exists(HELLO_SHA_256)).isTrue();
+    }
+
+    @Test
+    void identicalUploadsAreStoredOnce() throws IOException {
+        blobStore.put(new ByteArrayInputStream(HELLO), HELLO.length);
+        blobStore.put(new ByteArrayInputStream(HELLO), HELLO.length);
+
+        try (var files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile)).hasSize(1);
+        }
+    }
+
+    @Test
+    void copyToCopiesTheRequestedRange() throws IOException {
+        blobStore.put(new ByteArrayInputStream(HELLO), HELLO.length);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        blobStore.copyTo(HELLO_SHA_256, 6, 100, Channels.newChannel(out));
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("world");
+    }
+
+    @Test
+    void truncatedUploadIsRejectedAndNotStored() {
+        assertThatThrownBy(() -> blobStore.put(new ByteArrayInputStream(HELLO), HELLO.length + 1)).isInstanceOf(IOException.class);
+
+        assertThat(blobStore.exists(HELLO_SHA_256)).isFalse();
+    }
+
+    @Test
+    void deleteUnreferencedDeletesOnlyTheOldUnreferencedFiles() throws IOException {
+        byte[] bye = "bye".getBytes(StandardCharsets.UTF_8);
+        BlobStore.Blob referenced = blobStore.put(new ByteArrayInputStream(HELLO), HELLO.length);
+        BlobStore.Blob unreferenced = blobStore.put(new ByteArrayInputStream(bye), bye.length);
+        Path interrupted = Files.createFile(root.resolve("tmp").resolve("upload-1.part"));
+        for (Path file : new Path[] { blobStore.path(referenced.sha256()), blobStore.path(unreferenced.sha256()), interrupted }) {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        }
+
+        long deleted = blobStore.deleteUnreferenced(Duration.ofHours(1), sha256s -> Set.of(referenced.sha256()));
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(blobStore.exists(referenced.sha256())).isTrue();
+        assertThat(blobStore.exists(unreferenced.sha256())).isFalse();
+        assertThat(interrupted).doesNotExist();
+    }
+
+    @Test
+    void storingAFileAgainProtectsItFromDeletion() throws IOException {
+        blobStore.put(new ByteArrayInputStream(HELLO), HELLO.length);
+        Files.setLastModifiedTime(blobStore.path(HELLO_SHA_256), FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        blobStore.put(new ByteArrayInputStream(HELLO), HELLO.length);
+
+        long deleted = blobStore.deleteUnreferenced(Duration.ofHours(1), sha256s -> Set.of());
+
+        assertThat(deleted).isZero();
+        assertThat(blobStore.exists(HELLO_SHA_256)).isTrue();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.document.security.jwt;
 
+import com.example.document.config.ApplicationProperties;
 import com.example.document.config.SecurityConfiguration;
 import com.example.document.config.SecurityJwtConfiguration;
 import com.example.document.config.WebConfigurer;
@@ -16,6 +17,7 @@ import tech.jhipster.config.JHipsterProperties;
 @SpringBootTest(
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
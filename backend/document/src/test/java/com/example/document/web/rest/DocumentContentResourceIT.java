@@ -0,0 +1,142 @@
+package com.example.document.web.rest;
+
+import static com.example.document.security.jwt.JwtAuthenticationTestUtils.BEARER;
+import static com.example.document.security.jwt.JwtAuthenticationTestUtils.createValidToken;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.example.document.DocumentApp;
+import com.example.document.config.AsyncSyncConfiguration;
+import com.example.document.config.EmbeddedSQL;
+import com.example.document.config.JacksonConfiguration;
+import com.example.document.domain.Document;
+import com.example.document.repository.DocumentRepository;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Streams a 200 MB file through the content endpoints of {@link DocumentResource}.
+ * <p>
+ * The file is generated on the fly and never held by the test. To prove that the server does not buffer it either, run
+ * with a heap smaller than the file, e.g. {@code ./mvnw verify -Dit.test=DocumentContentResourceIT -DargLine=-Xmx192m};
+ * the test is skipped on larger heaps, where buffering would go unnoticed.
+ */
+@SpringBootTest(
+    classes = { DocumentApp.class, JacksonConfiguration.class, AsyncSyncConfiguration.class },
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT
+)
+@EmbeddedSQL
+class DocumentContentResourceIT {
+
+    private static final long FILE_SIZE = 200L * 1024 * 1024;
+
+    private static final String CONTENT_TYPE = "application/pdf";
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${jhipster.security.authentication.jwt.base64-secret}")
+    private String jwtKey;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private Document document;
+
+    @BeforeEach
+    void initTest() {
+        document = documentRepository.saveAndFlush(new Document().title("scan").type("PDF").fileContentType(CONTENT_TYPE));
+    }
+
+    @AfterEach
+    void cleanup() {
+        documentRepository.deleteById(document.getId());
+    }
+
+    @Test
+    void uploadAndDownloadLargeFileWithoutBufferingIt() throws Exception {
+        assumeTrue(Runtime.getRuntime().maxMemory() < 2 * FILE_SIZE, "needs a heap smaller than the file, e.g. -Xmx192m");
+        URI uri = URI.create("http://localhost:" + port + "/api/documents/" + document.getId() + "/content");
+        String authorization = BEARER + createValidToken(jwtKey);
+
+        HttpResponse<String> upload = client.send(
+            HttpRequest.newBuilder(uri)
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .header(HttpHeaders.CONTENT_TYPE, CONTENT_TYPE)
+                .PUT(HttpRequest.BodyPublishers.fromPublisher(generatedFile(), FILE_SIZE))
+                .build(),
+            HttpResponse.BodyHandlers.ofString()
+        );
+        assertThat(upload.statusCode()).isEqualTo(200);
+
+        HttpResponse<InputStream> download = client.send(
+            HttpRequest.newBuilder(uri).header(HttpHeaders.AUTHORIZATION, authorization).GET().build(),
+            HttpResponse.BodyHandlers.ofInputStream()
+        );
+        assertThat(download.statusCode()).isEqualTo(200);
+        assertThat(download.headers().firstValue(HttpHeaders.CONTENT_TYPE)).hasValue(CONTENT_TYPE);
+        assertThat(download.headers().firstValueAsLong(HttpHeaders.CONTENT_LENGTH)).hasValue(FILE_SIZE);
+        assertThat(sha256(download.body())).isEqualTo(sha256(new GeneratedInputStream()));
+    }
+
+    private static HttpRequest.BodyPublisher generatedFile() {
+        return HttpRequest.BodyPublishers.ofInputStream(GeneratedInputStream::new);
+    }
+
+    private static String sha256(InputStream in) throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (DigestInputStream digestIn = new DigestInputStream(in, digest)) {
+            digestIn.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * A deterministic stream of {@code FILE_SIZE} bytes.
+     */
+    private static final class GeneratedInputStream extends InputStream {
+
+        private long position;
+
+        @Override
+        public int read() {
+            if (position >= FILE_SIZE) {
+                return -1;
+            }
+            int value = (int) ((position * 31 + (position >> 16)) & 0xff);
+            position++;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position >= FILE_SIZE) {
+                return -1;
+            }
+            int count = (int) Math.min(len, FILE_SIZE - position);
+            for (int i = 0; i < count; i++) {
+                b[off + i] = (byte) read();
+            }
+            return count;
+        }
+    }
+}
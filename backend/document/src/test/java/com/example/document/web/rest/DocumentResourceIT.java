@@ -14,9 +14,13 @@ import com.example.document.service.dto.DocumentDTO;
 import com.example.document.service.mapper.DocumentMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.Base64;
+import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -24,9 +28,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -46,14 +52,17 @@ class DocumentResourceIT {
     private static final Instant DEFAULT_ISSUE_DATE = Instant.ofEpochMilli(0L);
     private static final Instant UPDATED_ISSUE_DATE = Instant.now().truncatedTo(ChronoUnit.MILLIS);
 
-    private static final byte[] DEFAULT_FILE = TestUtil.createByteArray(1, "0");
-    private static final byte[] UPDATED_FILE = TestUtil.createByteArray(1, "1");
+    private static final String DEFAULT_FILE_SHA_256 = "a".repeat(64);
+
+    private static final Long DEFAULT_FILE_SIZE = 1L;
     private static final String DEFAULT_FILE_CONTENT_TYPE = "image/jpg";
     private static final String UPDATED_FILE_CONTENT_TYPE = "image/png";
 
     private static final String DEFAULT_FILE_CONTENT_TYPE = "AAAAAAAAAA";
     private static final String UPDATED_FILE_CONTENT_TYPE = "BBBBBBBBBB";
 
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
     private static final Long DEFAULT_CITIZEN_ID = 1L;
     private static final Long UPDATED_CITIZEN_ID = 2L;
 
@@ -93,7 +102,8 @@ class DocumentResourceIT {
             .title(DEFAULT_TITLE)
             .type(DEFAULT_TYPE)
             .issueDate(DEFAULT_ISSUE_DATE)
-            .file(DEFAULT_FILE)
+            .fileSha256(DEFAULT_FILE_SHA_256)
+            .fileSize(DEFAULT_FILE_SIZE)
             .fileContentType(DEFAULT_FILE_CONTENT_TYPE)
             .fileContentType(DEFAULT_FILE_CONTENT_TYPE)
             .citizenId(DEFAULT_CITIZEN_ID);
@@ -110,7 +120,8 @@ class DocumentResourceIT {
             .title(UPDATED_TITLE)
             .type(UPDATED_TYPE)
             .issueDate(UPDATED_ISSUE_DATE)
-            .file(UPDATED_FILE)
+            .fileSha256(DEFAULT_FILE_SHA_256)
+            .fileSize(DEFAULT_FILE_SIZE)
             .fileContentType(UPDATED_FILE_CONTENT_TYPE)
             .fileContentType(UPDATED_FILE_CONTENT_TYPE)
             .citizenId(UPDATED_CITIZEN_ID);
@@ -221,7 +232,8 @@ class DocumentResourceIT {
             .andExpect(jsonPath("$.[*].type").value(hasItem(DEFAULT_TYPE)))
             .andExpect(jsonPath("$.[*].issueDate").value(hasItem(DEFAULT_ISSUE_DATE.toString())))
             .andExpect(jsonPath("$.[*].fileContentType").value(hasItem(DEFAULT_FILE_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].file").value(hasItem(Base64.getEncoder().encodeToString(DEFAULT_FILE))))
+            .andExpect(jsonPath("$.[*].fileSha256").value(hasItem(DEFAULT_FILE_SHA_256)))
+            .andExpect(jsonPath("$.[*].fileSize").value(hasItem(DEFAULT_FILE_SIZE.intValue())))
             .andExpect(jsonPath("$.[*].fileContentType").value(hasItem(DEFAULT_FILE_CONTENT_TYPE)))
             .andExpect(jsonPath("$.[*].citizenId").value(hasItem(DEFAULT_CITIZEN_ID.intValue())));
     }
@@ -242,7 +254,8 @@ class DocumentResourceIT {
             .andExpect(jsonPath("$.type").value(DEFAULT_TYPE))
             .andExpect(jsonPath("$.issueDate").value(DEFAULT_ISSUE_DATE.toString()))
             .andExpect(jsonPath("$.fileContentType").value(DEFAULT_FILE_CONTENT_TYPE))
-            .andExpect(jsonPath("$.file").value(Base64.getEncoder().encodeToString(DEFAULT_FILE)))
+            .andExpect(jsonPath("$.fileSha256").value(DEFAULT_FILE_SHA_256))
+            .andExpect(jsonPath("$.fileSize").value(DEFAULT_FILE_SIZE.intValue()))
             .andExpect(jsonPath("$.fileContentType").value(DEFAULT_FILE_CONTENT_TYPE))
             .andExpect(jsonPath("$.citizenId").value(DEFAULT_CITIZEN_ID.intValue()));
     }
@@ -254,6 +267,83 @@ class DocumentResourceIT {
         restDocumentMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getDocumentContentConditionally() throws Exception {
+        // Initialize the database
+        insertedDocument = documentRepository.saveAndFlush(document);
+        uploadContent();
+        String etag = "\"" + sha256(CONTENT) + "\"";
+
+        // Get the content, then revalidate it with each validator
+        MvcResult result = restDocumentMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/content", document.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String lastModified = restDocumentMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(content().bytes(CONTENT))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LAST_MODIFIED);
+        restDocumentMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/content", document.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+        restDocumentMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/content", document.getId()).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @Transactional
+    void getDocumentContentRange() throws Exception {
+        // Initialize the database
+        insertedDocument = documentRepository.saveAndFlush(document);
+        uploadContent();
+
+        // Get a range of the content
+        MvcResult result = restDocumentMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/content", document.getId()).header(HttpHeaders.RANGE, "bytes=2-5"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restDocumentMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/" + CONTENT.length))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+            .andExpect(content().bytes(Arrays.copyOfRange(CONTENT, 2, 6)));
+
+        // A stale If-Range gets the whole content
+        result = restDocumentMockMvc
+            .perform(
+                get(ENTITY_API_URL_ID + "/content", document.getId())
+                    .header(HttpHeaders.RANGE, "bytes=2-5")
+                    .header(HttpHeaders.IF_RANGE, "\"" + DEFAULT_FILE_SHA_256 + "\"")
+            )
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restDocumentMockMvc.perform(asyncDispatch(result)).andExpect(status().isOk()).andExpect(content().bytes(CONTENT));
+
+        // A range past the end is not satisfiable
+        restDocumentMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/content", document.getId()).header(HttpHeaders.RANGE, "bytes=100-"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + CONTENT.length));
+    }
+
+    private void uploadContent() throws Exception {
+        restDocumentMockMvc
+            .perform(put(ENTITY_API_URL_ID + "/content", document.getId()).contentType(MediaType.TEXT_PLAIN).content(CONTENT))
+            .andExpect(status().isOk());
+    }
+
+    private static String sha256(byte[] content) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
     @Test
     @Transactional
     void putExistingDocument() throws Exception {
@@ -270,7 +360,6 @@ class DocumentResourceIT {
             .title(UPDATED_TITLE)
             .type(UPDATED_TYPE)
             .issueDate(UPDATED_ISSUE_DATE)
-            .file(UPDATED_FILE)
             .fileContentType(UPDATED_FILE_CONTENT_TYPE)
             .fileContentType(UPDATED_FILE_CONTENT_TYPE)
             .citizenId(UPDATED_CITIZEN_ID);
@@ -365,7 +454,6 @@ class DocumentResourceIT {
 
         partialUpdatedDocument
             .title(UPDATED_TITLE)
-            .file(UPDATED_FILE)
             .fileContentType(UPDATED_FILE_CONTENT_TYPE)
             .fileContentType(UPDATED_FILE_CONTENT_TYPE);
 
@@ -399,7 +487,6 @@ class DocumentResourceIT {
             .title(UPDATED_TITLE)
             .type(UPDATED_TYPE)
             .issueDate(UPDATED_ISSUE_DATE)
-            .file(UPDATED_FILE)
             .fileContentType(UPDATED_FILE_CONTENT_TYPE)
             .fileContentType(UPDATED_FILE_CONTENT_TYPE)
             .citizenId(UPDATED_CITIZEN_ID);
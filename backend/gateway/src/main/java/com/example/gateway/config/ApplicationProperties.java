@@ -1,5 +1,6 @@
 package com.example.gateway.config;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -10,9 +11,237 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Pagination pagination = new Pagination();
+
+    private final AppUserCache appUserCache = new AppUserCache();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final JwtCache jwtCache = new JwtCache();
+
+    private final Partitions partitions = new Partitions();
+
+    private final RequestService requestService = new RequestService();
+
     // jhipster-needle-application-properties-property
 
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public AppUserCache getAppUserCache() {
+        return appUserCache;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public Partitions getPartitions() {
+        return partitions;
+    }
+
+    public RequestService getRequestService() {
+        return requestService;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
+    public static class Pagination {
+
+        /**
+         * How the {@code X-Total-Count} of paginated list endpoints is computed.
+         */
+        public enum TotalCount {
+            /** {@code SELECT COUNT(*)} on every call. */
+            EXACT,
+            /** exact count, cached per entity for {@code total-count-ttl} and dropped on insert/delete. */
+            CACHED,
+            /** planner estimate from {@code pg_class.reltuples}, exact below {@code exact-count-threshold} rows. */
+            ESTIMATED,
+        }
+
+        private TotalCount totalCount = TotalCount.CACHED;
+
+        private Duration totalCountTtl = Duration.ofSeconds(10);
+
+        private long exactCountThreshold = 10_000;
+
+        public TotalCount getTotalCount() {
+            return totalCount;
+        }
+
+        public void setTotalCount(TotalCount totalCount) {
+            this.totalCount = totalCount;
+        }
+
+        public Duration getTotalCountTtl() {
+            return totalCountTtl;
+        }
+
+        public void setTotalCountTtl(Duration totalCountTtl) {
+            this.totalCountTtl = totalCountTtl;
+        }
+
+        public long getExactCountThreshold() {
+            return exactCountThreshold;
+        }
+
+        public void setExactCountThreshold(long exactCountThreshold) {
+            this.exactCountThreshold = exactCountThreshold;
+        }
+    }
+    public static class AppUserCache {
+
+        /**
+         * Users kept by each of the CIN and id caches, split evenly over up to 16 shards of at least 64 users.
+         */
+        private int maximumSize = 10_000;
+
+        /**
+         * How long a user is served from the cache after it was read; bounds how stale it is after a change made
+         * directly in the database.
+         */
+        private Duration ttl = Duration.ofMinutes(1);
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    public static class PasswordHashing {
+
+        /**
+         * Threads hashing and checking passwords; the other cores are left to the event loop.
+         */
+        private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        /**
+         * Password checks waiting for a thread before logins are answered with 503.
+         */
+        private int queueCapacity = 64;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class JwtCache {
+
+        /**
+         * Verified tokens kept until they expire, split evenly over up to 16 shards of at least 64 tokens, least recently
+         * used first out.
+         */
+        private int maximumSize = 10_000;
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+
+    public static class Partitions {
+
+        /**
+         * When the monthly partitions of the requests are maintained, as a cron expression.
+         */
+        private String cron = "0 0 3 * * *";
+
+        /**
+         * Months created ahead of the current one.
+         */
+        private int monthsAhead = 3;
+
+        /**
+         * Months kept attached besides the current one, older ones are detached; all of them if 0.
+         */
+        private int retentionMonths = 0;
+
+        /**
+         * Whether detached partitions are dropped, rather than kept as tables to be archived.
+         */
+        private boolean dropExpired = false;
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public int getMonthsAhead() {
+            return monthsAhead;
+        }
+
+        public void setMonthsAhead(int monthsAhead) {
+            this.monthsAhead = monthsAhead;
+        }
+
+        public int getRetentionMonths() {
+            return retentionMonths;
+        }
+
+        public void setRetentionMonths(int retentionMonths) {
+            this.retentionMonths = retentionMonths;
+        }
+
+        public boolean isDropExpired() {
+            return dropExpired;
+        }
+
+        public void setDropExpired(boolean dropExpired) {
+            this.dropExpired = dropExpired;
+        }
+    }
+
+    public static class RequestService {
+
+        /**
+         * Where the changes of requests are sent, resolved through the service registry.
+         */
+        private String url = "http://request";
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+    }
+
     // jhipster-needle-application-properties-property-class
 }
@@ -1,5 +1,12 @@
 package com.example.gateway.config;
 
+import com.example.gateway.repository.AppUserCache;
+import com.example.gateway.repository.AppUserRepository;
+import com.example.gateway.repository.CachedTotalCountStrategy;
+import com.example.gateway.repository.EstimatedTotalCountStrategy;
+import com.example.gateway.repository.ExactTotalCountStrategy;
+import com.example.gateway.repository.TotalCountStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.r2dbc.spi.ConnectionFactory;
 import java.time.Duration;
 import java.time.Instant;
@@ -16,6 +23,7 @@ import org.springframework.data.convert.ReadingConverter;
 import org.springframework.data.convert.WritingConverter;
 import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
 import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.dialect.DialectResolver;
 import org.springframework.data.r2dbc.dialect.R2dbcDialect;
 import org.springframework.data.r2dbc.query.UpdateMapper;
@@ -60,6 +68,26 @@ public class DatabaseConfiguration {
         return SqlRenderer.create(factory.createRenderContext());
     }
 
+    @Bean
+    public TotalCountStrategy totalCountStrategy(ApplicationProperties applicationProperties, R2dbcEntityTemplate template) {
+        ApplicationProperties.Pagination pagination = applicationProperties.getPagination();
+        return switch (pagination.getTotalCount()) {
+            case EXACT -> new ExactTotalCountStrategy();
+            case CACHED -> new CachedTotalCountStrategy(pagination.getTotalCountTtl());
+            case ESTIMATED -> new EstimatedTotalCountStrategy(template, pagination.getExactCountThreshold());
+        };
+    }
+
+    @Bean
+    public AppUserCache appUserCache(
+        AppUserRepository appUserRepository,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.AppUserCache cache = applicationProperties.getAppUserCache();
+        return new AppUserCache(appUserRepository, cache.getMaximumSize(), cache.getTtl(), meterRegistry);
+    }
+
     @WritingConverter
     public enum InstantWriteConverter implements Converter<Instant, LocalDateTime> {
         INSTANCE;
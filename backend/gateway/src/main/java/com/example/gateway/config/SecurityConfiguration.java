@@ -4,7 +4,9 @@ import static org.springframework.security.config.Customizer.withDefaults;
 import static org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers.pathMatchers;
 
 import com.example.gateway.security.AuthoritiesConstants;
+import com.example.gateway.security.PasswordHashing;
 import com.example.gateway.web.filter.SpaWebFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.autoconfigure.security.SecurityProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -49,10 +51,20 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public ReactiveAuthenticationManager reactiveAuthenticationManager(DatabaseReactiveUserDetailsService userDetailsService) {
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(
+        DatabaseReactiveUserDetailsService userDetailsService,
+        PasswordHashing passwordHashing
+    ) {
         UserDetailsRepositoryReactiveAuthenticationManager authManager = new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
         authManager.setPasswordEncoder(passwordEncoder());
-        return authManager;
+        authManager.setScheduler(passwordHashing.getScheduler());
+        return authentication -> PasswordHashing.whenAvailable(authManager.authenticate(authentication));
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public PasswordHashing passwordHashing(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.PasswordHashing pool = applicationProperties.getPasswordHashing();
+        return new PasswordHashing(passwordEncoder(), pool.getThreads(), pool.getQueueCapacity(), meterRegistry);
     }
 
     @Bean
@@ -3,8 +3,10 @@ package com.example.gateway.config;
 import static com.example.gateway.security.SecurityUtils.JWT_ALGORITHM;
 
 import com.example.gateway.management.SecurityMetersService;
+import com.example.gateway.security.VerifiedJwtCache;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
+import io.micrometer.core.instrument.MeterRegistry;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import org.slf4j.Logger;
@@ -12,10 +14,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
 import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
 
 @Configuration
 public class SecurityJwtConfiguration {
@@ -26,12 +30,23 @@ public class SecurityJwtConfiguration {
     private String jwtKey;
 
     @Bean
-    public ReactiveJwtDecoder jwtDecoder(SecurityMetersService metersService) {
+    public ReactiveJwtDecoder jwtDecoder(
+        SecurityMetersService metersService,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
         NimbusReactiveJwtDecoder jwtDecoder = NimbusReactiveJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
+        VerifiedJwtCache verifiedJwts = new VerifiedJwtCache(applicationProperties.getJwtCache().getMaximumSize(), meterRegistry);
         return token -> {
+            Jwt verified = verifiedJwts.get(token);
+            if (verified != null) {
+                return Mono.just(verified);
+            }
+            metersService.trackTokenDecoded();
             try {
                 return jwtDecoder
                     .decode(token)
+                    .doOnNext(jwt -> verifiedJwts.put(token, jwt))
                     .doOnError(e -> {
                         if (e.getMessage().contains("Jwt expired at")) {
                             metersService.trackTokenExpired();
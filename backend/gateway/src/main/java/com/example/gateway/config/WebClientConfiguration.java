@@ -0,0 +1,25 @@
+package com.example.gateway.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Clients of the other services, resolved through the service registry.
+ */
+@Configuration
+public class WebClientConfiguration {
+
+    @Bean
+    @LoadBalanced
+    @Scope("prototype")
+    public WebClient.Builder loadBalancedWebClientBuilder(ObjectProvider<WebClientCustomizer> webClientCustomizers) {
+        WebClient.Builder builder = WebClient.builder();
+        webClientCustomizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder;
+    }
+}
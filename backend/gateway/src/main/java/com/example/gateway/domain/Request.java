@@ -5,6 +5,7 @@ import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.time.Instant;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -45,6 +46,10 @@ public class Request implements Serializable {
     @Column("municipality_id")
     private Long municipalityId;
 
+    @Version
+    @Column("version")
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -151,6 +156,19 @@ public class Request implements Serializable {
         this.municipalityId = municipalityId;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Request version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -182,6 +200,7 @@ public class Request implements Serializable {
             ", resolvedDate='" + getResolvedDate() + "'" +
             ", citizenId=" + getCitizenId() +
             ", municipalityId=" + getMunicipalityId() +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,102 @@
+package com.example.gateway.domain.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.example.gateway.domain.AppUser} entity. This class is used
+ * in {@link com.example.gateway.web.rest.AppUserResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /app-users?municipalityId.equals=3}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class AppUserCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private LongFilter municipalityId;
+
+    public AppUserCriteria() {}
+
+    public AppUserCriteria(AppUserCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.municipalityId = other.optionalMunicipalityId().map(LongFilter::copy).orElse(null);
+    }
+
+    @Override
+    public AppUserCriteria copy() {
+        return new AppUserCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public LongFilter getMunicipalityId() {
+        return municipalityId;
+    }
+
+    public Optional<LongFilter> optionalMunicipalityId() {
+        return Optional.ofNullable(municipalityId);
+    }
+
+    public LongFilter municipalityId() {
+        if (municipalityId == null) {
+            setMunicipalityId(new LongFilter());
+        }
+        return municipalityId;
+    }
+
+    public void setMunicipalityId(LongFilter municipalityId) {
+        this.municipalityId = municipalityId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final AppUserCriteria that = (AppUserCriteria) o;
+        return Objects.equals(id, that.id) && Objects.equals(municipalityId, that.municipalityId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, municipalityId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AppUserCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalMunicipalityId().map(f -> "municipalityId=" + f + ", ").orElse("") +
+        "}";
+    }
+}
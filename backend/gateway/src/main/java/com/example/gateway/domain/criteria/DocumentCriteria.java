@@ -0,0 +1,125 @@
+package com.example.gateway.domain.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.example.gateway.domain.Document} entity. This class is used
+ * in {@link com.example.gateway.web.rest.DocumentResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /documents?citizenId.equals=7&issueDate.greaterThan=2026-01-01T00:00:00Z}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class DocumentCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private InstantFilter issueDate;
+
+    private LongFilter citizenId;
+
+    public DocumentCriteria() {}
+
+    public DocumentCriteria(DocumentCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.issueDate = other.optionalIssueDate().map(InstantFilter::copy).orElse(null);
+        this.citizenId = other.optionalCitizenId().map(LongFilter::copy).orElse(null);
+    }
+
+    @Override
+    public DocumentCriteria copy() {
+        return new DocumentCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public InstantFilter getIssueDate() {
+        return issueDate;
+    }
+
+    public Optional<InstantFilter> optionalIssueDate() {
+        return Optional.ofNullable(issueDate);
+    }
+
+    public InstantFilter issueDate() {
+        if (issueDate == null) {
+            setIssueDate(new InstantFilter());
+        }
+        return issueDate;
+    }
+
+    public void setIssueDate(InstantFilter issueDate) {
+        this.issueDate = issueDate;
+    }
+
+    public LongFilter getCitizenId() {
+        return citizenId;
+    }
+
+    public Optional<LongFilter> optionalCitizenId() {
+        return Optional.ofNullable(citizenId);
+    }
+
+    public LongFilter citizenId() {
+        if (citizenId == null) {
+            setCitizenId(new LongFilter());
+        }
+        return citizenId;
+    }
+
+    public void setCitizenId(LongFilter citizenId) {
+        this.citizenId = citizenId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final DocumentCriteria that = (DocumentCriteria) o;
+        return Objects.equals(id, that.id) && Objects.equals(issueDate, that.issueDate) && Objects.equals(citizenId, that.citizenId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, issueDate, citizenId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "DocumentCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalIssueDate().map(f -> "issueDate=" + f + ", ").orElse("") +
+            optionalCitizenId().map(f -> "citizenId=" + f + ", ").orElse("") +
+        "}";
+    }
+}
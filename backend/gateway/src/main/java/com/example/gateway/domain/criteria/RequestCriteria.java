@@ -0,0 +1,195 @@
+package com.example.gateway.domain.criteria;
+
+import com.example.gateway.domain.enumeration.RequestStatus;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.example.gateway.domain.Request} entity. This class is used
+ * in {@link com.example.gateway.web.rest.RequestResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /requests?status.in=PENDING,IN_PROGRESS&municipalityId.equals=3&createdDate.greaterThan=2026-01-01T00:00:00Z}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class RequestCriteria implements Serializable, Criteria {
+
+    /**
+     * Class for filtering RequestStatus
+     */
+    public static class RequestStatusFilter extends Filter<RequestStatus> {
+
+        public RequestStatusFilter() {}
+
+        public RequestStatusFilter(RequestStatusFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public RequestStatusFilter copy() {
+            return new RequestStatusFilter(this);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private RequestStatusFilter status;
+
+    private InstantFilter createdDate;
+
+    private LongFilter citizenId;
+
+    private LongFilter municipalityId;
+
+    public RequestCriteria() {}
+
+    public RequestCriteria(RequestCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.status = other.optionalStatus().map(RequestStatusFilter::copy).orElse(null);
+        this.createdDate = other.optionalCreatedDate().map(InstantFilter::copy).orElse(null);
+        this.citizenId = other.optionalCitizenId().map(LongFilter::copy).orElse(null);
+        this.municipalityId = other.optionalMunicipalityId().map(LongFilter::copy).orElse(null);
+    }
+
+    @Override
+    public RequestCriteria copy() {
+        return new RequestCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public RequestStatusFilter getStatus() {
+        return status;
+    }
+
+    public Optional<RequestStatusFilter> optionalStatus() {
+        return Optional.ofNullable(status);
+    }
+
+    public RequestStatusFilter status() {
+        if (status == null) {
+            setStatus(new RequestStatusFilter());
+        }
+        return status;
+    }
+
+    public void setStatus(RequestStatusFilter status) {
+        this.status = status;
+    }
+
+    public InstantFilter getCreatedDate() {
+        return createdDate;
+    }
+
+    public Optional<InstantFilter> optionalCreatedDate() {
+        return Optional.ofNullable(createdDate);
+    }
+
+    public InstantFilter createdDate() {
+        if (createdDate == null) {
+            setCreatedDate(new InstantFilter());
+        }
+        return createdDate;
+    }
+
+    public void setCreatedDate(InstantFilter createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public LongFilter getCitizenId() {
+        return citizenId;
+    }
+
+    public Optional<LongFilter> optionalCitizenId() {
+        return Optional.ofNullable(citizenId);
+    }
+
+    public LongFilter citizenId() {
+        if (citizenId == null) {
+            setCitizenId(new LongFilter());
+        }
+        return citizenId;
+    }
+
+    public void setCitizenId(LongFilter citizenId) {
+        this.citizenId = citizenId;
+    }
+
+    public LongFilter getMunicipalityId() {
+        return municipalityId;
+    }
+
+    public Optional<LongFilter> optionalMunicipalityId() {
+        return Optional.ofNullable(municipalityId);
+    }
+
+    public LongFilter municipalityId() {
+        if (municipalityId == null) {
+            setMunicipalityId(new LongFilter());
+        }
+        return municipalityId;
+    }
+
+    public void setMunicipalityId(LongFilter municipalityId) {
+        this.municipalityId = municipalityId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final RequestCriteria that = (RequestCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(status, that.status) &&
+            Objects.equals(createdDate, that.createdDate) &&
+            Objects.equals(citizenId, that.citizenId) &&
+            Objects.equals(municipalityId, that.municipalityId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, status, createdDate, citizenId, municipalityId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RequestCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalStatus().map(f -> "status=" + f + ", ").orElse("") +
+            optionalCreatedDate().map(f -> "createdDate=" + f + ", ").orElse("") +
+            optionalCitizenId().map(f -> "citizenId=" + f + ", ").orElse("") +
+            optionalMunicipalityId().map(f -> "municipalityId=" + f + ", ").orElse("") +
+        "}";
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * This package file was generated by JHipster
+ */
+package com.example.gateway.domain.criteria;
@@ -0,0 +1,10 @@
+package com.example.gateway.domain.enumeration;
+
+/**
+ * The RequestChangeType enumeration.
+ */
+public enum RequestChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+}
@@ -13,16 +13,36 @@ public class SecurityMetersService {
     public static final String INVALID_TOKENS_METER_BASE_UNIT = "errors";
     public static final String INVALID_TOKENS_METER_CAUSE_DIMENSION = "cause";
 
+    public static final String TOKEN_DECODES_METER_NAME = "security.authentication.token-decodes";
+    public static final String TOKEN_DECODES_METER_DESCRIPTION =
+        "Indicates how many times the signature and claims of a token have been verified.";
+    public static final String TOKEN_DECODES_METER_BASE_UNIT = "decodes";
+
+    public static final String TOKEN_RELAYS_METER_NAME = "security.authentication.token-relays";
+    public static final String TOKEN_RELAYS_METER_DESCRIPTION =
+        "Indicates how many tokens have been relayed to the services, and whether they were decoded again to be relayed.";
+    public static final String TOKEN_RELAYS_METER_BASE_UNIT = "requests";
+    public static final String TOKEN_RELAYS_METER_TOKEN_DIMENSION = "token";
+
     private final Counter tokenInvalidSignatureCounter;
     private final Counter tokenExpiredCounter;
     private final Counter tokenUnsupportedCounter;
     private final Counter tokenMalformedCounter;
+    private final Counter tokenDecodedCounter;
+    private final Counter tokenRelayReusedCounter;
+    private final Counter tokenRelayDecodedCounter;
 
     public SecurityMetersService(MeterRegistry registry) {
         this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder("invalid-signature").register(registry);
         this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder("expired").register(registry);
         this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder("unsupported").register(registry);
         this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder("malformed").register(registry);
+        this.tokenDecodedCounter = Counter.builder(TOKEN_DECODES_METER_NAME)
+            .baseUnit(TOKEN_DECODES_METER_BASE_UNIT)
+            .description(TOKEN_DECODES_METER_DESCRIPTION)
+            .register(registry);
+        this.tokenRelayReusedCounter = tokenRelaysCounterForTokenBuilder("reused").register(registry);
+        this.tokenRelayDecodedCounter = tokenRelaysCounterForTokenBuilder("decoded").register(registry);
     }
 
     private Counter.Builder invalidTokensCounterForCauseBuilder(String cause) {
@@ -32,6 +52,13 @@ public class SecurityMetersService {
             .tag(INVALID_TOKENS_METER_CAUSE_DIMENSION, cause);
     }
 
+    private Counter.Builder tokenRelaysCounterForTokenBuilder(String token) {
+        return Counter.builder(TOKEN_RELAYS_METER_NAME)
+            .baseUnit(TOKEN_RELAYS_METER_BASE_UNIT)
+            .description(TOKEN_RELAYS_METER_DESCRIPTION)
+            .tag(TOKEN_RELAYS_METER_TOKEN_DIMENSION, token);
+    }
+
     public void trackTokenInvalidSignature() {
         this.tokenInvalidSignatureCounter.increment();
     }
@@ -47,4 +74,16 @@ public class SecurityMetersService {
     public void trackTokenMalformed() {
         this.tokenMalformedCounter.increment();
     }
+
+    public void trackTokenDecoded() {
+        this.tokenDecodedCounter.increment();
+    }
+
+    public void trackTokenRelayReused() {
+        this.tokenRelayReusedCounter.increment();
+    }
+
+    public void trackTokenRelayDecoded() {
+        this.tokenRelayDecodedCounter.increment();
+    }
 }
@@ -0,0 +1,194 @@
+package com.example.gateway.repository;
+
+import com.example.gateway.domain.AppUser;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches the {@link AppUser} lookups made on every authenticated request, by CIN and by id.
+ * <p>
+ * Each cache holds about {@code maximumSize} users for {@code ttl} after they were read. Its users are spread by key
+ * over up to 16 shards, each with its own lock and least recently used first out: keeping the access order makes every
+ * lookup a write, so one lock would have all the event loop threads of the request listings queue on it. Concurrent
+ * lookups of the same user share a single query. Unknown users and failed queries are not cached.
+ * Writes through {@link com.example.gateway.service.AppUserService} evict the user; changes made directly in the
+ * database are seen after {@code ttl}.
+ * <p>
+ * Hits, misses, evictions and sizes are published as the {@code cache.gets}, {@code cache.evictions} and
+ * {@code cache.size} meters, tagged {@code cache=appUserByCin} and {@code cache=appUserById}.
+ */
+public class AppUserCache {
+
+    private final AppUserRepository appUserRepository;
+
+    private final LookupCache<String> byCin;
+
+    private final LookupCache<Long> byId;
+
+    public AppUserCache(AppUserRepository appUserRepository, int maximumSize, Duration ttl, MeterRegistry meterRegistry) {
+        this.appUserRepository = appUserRepository;
+        this.byCin = new LookupCache<>("appUserByCin", maximumSize, ttl, meterRegistry);
+        this.byId = new LookupCache<>("appUserById", maximumSize, ttl, meterRegistry);
+    }
+
+    public Mono<AppUser> findByCin(String cin) {
+        return byCin.get(cin, () -> appUserRepository.findByCin(cin));
+    }
+
+    public Mono<AppUser> findById(Long id) {
+        return byId.get(id, () -> appUserRepository.findById(id));
+    }
+
+    /**
+     * Evicts the user from both caches, including under a CIN it no longer has, and drops the lookups in flight.
+     *
+     * @param id the id of the user.
+     */
+    public void evict(Long id) {
+        Predicate<AppUser> user = appUser -> appUser == null || id.equals(appUser.getId());
+        byCin.evictIf(user);
+        byId.evictIf(user);
+    }
+
+    private static final class LookupCache<K> {
+
+        private static final int MAXIMUM_SHARDS = 16;
+
+        private static final int MINIMUM_SHARD_SIZE = 64;
+
+        private final long ttlNanos;
+
+        private final LongAdder hits = new LongAdder();
+
+        private final LongAdder misses = new LongAdder();
+
+        private final LongAdder evictions = new LongAdder();
+
+        private final List<Shard> shards;
+
+        LookupCache(String name, int maximumSize, Duration ttl, MeterRegistry meterRegistry) {
+            this.ttlNanos = ttl.toNanos();
+            int count = Math.min(MAXIMUM_SHARDS, Integer.highestOneBit(Math.max(1, maximumSize / MINIMUM_SHARD_SIZE)));
+            this.shards = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                shards.add(new Shard((maximumSize + count - 1) / count));
+            }
+            FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tags("cache", name, "result", "hit")
+                .description("the number of times cache lookup methods have returned a cached value.")
+                .register(meterRegistry);
+            FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tags("cache", name, "result", "miss")
+                .description("the number of times cache lookup methods have queried the database.")
+                .register(meterRegistry);
+            FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tags("cache", name)
+                .description("the number of entries evicted because of their size or age.")
+                .register(meterRegistry);
+            Gauge.builder("cache.size", this, LookupCache::size).tags("cache", name).register(meterRegistry);
+        }
+
+        Mono<AppUser> get(K key, Supplier<Mono<AppUser>> query) {
+            long now = System.nanoTime();
+            Shard shard = shard(key);
+            synchronized (shard) {
+                CachedUser entry = shard.get(key);
+                if (entry != null && now - entry.readAt < ttlNanos) {
+                    hits.increment();
+                    return entry.user;
+                }
+                if (entry != null) {
+                    evictions.increment();
+                }
+                misses.increment();
+                CachedUser loading = new CachedUser(now);
+                loading.user = Mono.defer(query)
+                    .doOnNext(appUser -> loading.appUser = appUser)
+                    .doOnSuccess(appUser -> {
+                        if (appUser == null) {
+                            remove(shard, key, loading);
+                        }
+                    })
+                    .doOnError(error -> remove(shard, key, loading))
+                    .cache();
+                shard.put(key, loading);
+                return loading.user;
+            }
+        }
+
+        void evictIf(Predicate<AppUser> predicate) {
+            for (Shard shard : shards) {
+                synchronized (shard) {
+                    shard.values().removeIf(entry -> predicate.test(entry.appUser));
+                }
+            }
+        }
+
+        private Shard shard(K key) {
+            int hash = key.hashCode();
+            return shards.get((hash ^ (hash >>> 16)) & (shards.size() - 1));
+        }
+
+        private static void remove(Map<?, CachedUser> shard, Object key, CachedUser entry) {
+            synchronized (shard) {
+                shard.remove(key, entry);
+            }
+        }
+
+        private double size() {
+            int size = 0;
+            for (Shard shard : shards) {
+                synchronized (shard) {
+                    size += shard.size();
+                }
+            }
+            return size;
+        }
+
+        /**
+         * The users of one shard, least recently used first; guarded by its own monitor.
+         */
+        private final class Shard extends LinkedHashMap<K, CachedUser> {
+
+            private final int maximumSize;
+
+            Shard(int maximumSize) {
+                super(16, 0.75f, true);
+                this.maximumSize = maximumSize;
+            }
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CachedUser> eldest) {
+                if (size() > maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        }
+    }
+
+    private static final class CachedUser {
+
+        private final long readAt;
+
+        private Mono<AppUser> user;
+
+        /** the user once read, {@code null} while the query is in flight. */
+        private volatile AppUser appUser;
+
+        CachedUser(long readAt) {
+            this.readAt = readAt;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.gateway.repository;
 
 import com.example.gateway.domain.AppUser;
+import com.example.gateway.domain.criteria.AppUserCriteria;
+import java.util.Collection;
+import java.util.Set;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
@@ -13,10 +16,19 @@ import reactor.core.publisher.Mono;
 @SuppressWarnings("unused")
 @Repository
 public interface AppUserRepository extends ReactiveCrudRepository<AppUser, Long>, AppUserRepositoryInternal {
+    /**
+     * The properties a keyset listing can be sorted by: the columns that are never null.
+     */
+    Set<String> KEYSET_SORT_PROPERTIES = Set.of("id", "email", "role", "cin");
+
     Flux<AppUser> findAllBy(Pageable pageable);
 
+    Flux<AppUser> findAllBy(Keyset keyset, int size);
+
     Mono<AppUser> findByCin(String cin);
 
+    Flux<AppUser> findAllByIdIn(Collection<Long> ids);
+
     @Override
     <S extends AppUser> Mono<S> save(S entity);
 
@@ -35,9 +47,17 @@ interface AppUserRepositoryInternal {
 
     Flux<AppUser> findAllBy(Pageable pageable);
 
+    Flux<AppUser> findAllBy(Keyset keyset, int size);
+
     Flux<AppUser> findAll();
 
     Mono<AppUser> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<AppUser> findAllBy(Pageable pageable, Criteria criteria);
+
+    Flux<AppUser> findAllByIdIn(Collection<Long> ids);
+
+    Flux<AppUser> findByCriteria(AppUserCriteria criteria, Pageable pageable);
+
+    Flux<AppUser> findByCriteria(AppUserCriteria criteria, Keyset keyset, int size);
+
+    Mono<Long> countByCriteria(AppUserCriteria criteria);
 }
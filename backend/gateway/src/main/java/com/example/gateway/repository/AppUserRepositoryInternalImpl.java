@@ -1,10 +1,13 @@
 package com.example.gateway.repository;
 
 import com.example.gateway.domain.AppUser;
+import com.example.gateway.domain.criteria.AppUserCriteria;
 import com.example.gateway.repository.rowmapper.AppUserRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -14,6 +17,7 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -57,15 +61,34 @@ class AppUserRepositoryInternalImpl extends SimpleR2dbcRepository<AppUser, Long>
 
     @Override
     public Flux<AppUser> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery("findAllBy", pageable, null, Map.of()).all();
     }
 
-    RowsFetchSpec<AppUser> createQuery(Pageable pageable, Condition whereClause) {
+    RowsFetchSpec<AppUser> createQuery(String shape, Pageable pageable, Condition whereClause, Map<String, Object> bindings) {
         List<Expression> columns = AppUserSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, AppUser.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        String select = entityManager.createSelect(selectFrom, AppUser.class, shape, pageable, whereClause);
+        DatabaseClient.GenericExecuteSpec spec = entityManager.bind(db.sql(select), pageable);
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(this::process);
+    }
+
+    @Override
+    public Flux<AppUser> findAllBy(Keyset keyset, int size) {
+        return createQuery(keyset, size, null, Map.of()).all();
+    }
+
+    RowsFetchSpec<AppUser> createQuery(Keyset keyset, int size, Condition whereClause, Map<String, Object> bindings) {
+        List<Expression> columns = AppUserSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+        String select = entityManager.createSelect(selectFrom, AppUser.class, keyset, size, whereClause);
+        DatabaseClient.GenericExecuteSpec spec = entityManager.bind(db.sql(select), keyset);
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(this::process);
     }
 
     @Override
@@ -75,8 +98,46 @@ class AppUserRepositoryInternalImpl extends SimpleR2dbcRepository<AppUser, Long>
 
     @Override
     public Mono<AppUser> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+        return createQuery("findById", null, whereClause, Map.of("id", id)).one();
+    }
+
+    @Override
+    public Flux<AppUser> findAllByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        Condition whereClause = Conditions.in(entityTable.column("id"), SQL.bindMarker(":ids"));
+        return createQuery("findAllByIdIn", null, whereClause, Map.of("ids", ids)).all();
+    }
+
+    @Override
+    public Flux<AppUser> findByCriteria(AppUserCriteria criteria, Pageable pageable) {
+        FilterConditions conditions = buildConditions(criteria);
+        return createQuery(conditions.shape("findAllBy"), pageable, conditions.where(), conditions.bindings()).all();
+    }
+
+    @Override
+    public Flux<AppUser> findByCriteria(AppUserCriteria criteria, Keyset keyset, int size) {
+        FilterConditions conditions = buildConditions(criteria);
+        return createQuery(keyset, size, conditions.where(), conditions.bindings()).all();
+    }
+
+    @Override
+    public Mono<Long> countByCriteria(AppUserCriteria criteria) {
+        FilterConditions conditions = buildConditions(criteria);
+        String select = entityManager.createCount(entityTable, AppUser.class, conditions.shape("countBy"), conditions.where());
+        DatabaseClient.GenericExecuteSpec spec = db.sql(select);
+        for (Map.Entry<String, Object> binding : conditions.bindings().entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(row -> row.get(0, Long.class)).one();
+    }
+
+    private static FilterConditions buildConditions(AppUserCriteria criteria) {
+        return new FilterConditions(entityTable)
+            .filter("id", "id", criteria.getId())
+            .filter("municipalityId", "municipality_id", criteria.getMunicipalityId());
     }
 
     private AppUser process(Row row, RowMetadata metadata) {
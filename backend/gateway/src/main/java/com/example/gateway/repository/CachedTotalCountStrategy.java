@@ -0,0 +1,36 @@
+package com.example.gateway.repository;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches the exact count of each entity for a short time to live, and drops it as soon as rows are inserted or deleted
+ * through this gateway. Concurrent callers share the same in-flight {@code COUNT(*)}.
+ */
+public class CachedTotalCountStrategy implements TotalCountStrategy {
+
+    private final Duration ttl;
+
+    private final Map<Class<?>, Mono<Long>> counts = new ConcurrentHashMap<>();
+
+    public CachedTotalCountStrategy(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Mono<Long> count(Class<?> entityType, Supplier<Mono<Long>> exactCount) {
+        Mono<Long> cached = counts.computeIfAbsent(entityType, type ->
+            Mono.defer(exactCount).cache(count -> ttl, error -> Duration.ZERO, () -> Duration.ZERO)
+        );
+        // a failed count is not kept, and neither is the query that produced it
+        return cached.doOnError(error -> counts.remove(entityType, cached));
+    }
+
+    @Override
+    public void invalidate(Class<?> entityType) {
+        counts.remove(entityType);
+    }
+}
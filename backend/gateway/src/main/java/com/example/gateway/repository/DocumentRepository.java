@@ -1,6 +1,8 @@
 package com.example.gateway.repository;
 
 import com.example.gateway.domain.Document;
+import com.example.gateway.domain.criteria.DocumentCriteria;
+import java.util.Set;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
@@ -13,8 +15,15 @@ import reactor.core.publisher.Mono;
 @SuppressWarnings("unused")
 @Repository
 public interface DocumentRepository extends ReactiveCrudRepository<Document, Long>, DocumentRepositoryInternal {
+    /**
+     * The properties a keyset listing can be sorted by: the columns that are never null.
+     */
+    Set<String> KEYSET_SORT_PROPERTIES = Set.of("id", "title", "type");
+
     Flux<Document> findAllBy(Pageable pageable);
 
+    Flux<Document> findAllBy(Keyset keyset, int size);
+
     @Override
     <S extends Document> Mono<S> save(S entity);
 
@@ -33,9 +42,15 @@ interface DocumentRepositoryInternal {
 
     Flux<Document> findAllBy(Pageable pageable);
 
+    Flux<Document> findAllBy(Keyset keyset, int size);
+
     Flux<Document> findAll();
 
     Mono<Document> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<Document> findAllBy(Pageable pageable, Criteria criteria);
+
+    Flux<Document> findByCriteria(DocumentCriteria criteria, Pageable pageable);
+
+    Flux<Document> findByCriteria(DocumentCriteria criteria, Keyset keyset, int size);
+
+    Mono<Long> countByCriteria(DocumentCriteria criteria);
 }
@@ -1,10 +1,12 @@
 package com.example.gateway.repository;
 
 import com.example.gateway.domain.Document;
+import com.example.gateway.domain.criteria.DocumentCriteria;
 import com.example.gateway.repository.rowmapper.DocumentRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.util.List;
+import java.util.Map;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -14,6 +16,7 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -55,17 +58,46 @@ class DocumentRepositoryInternalImpl extends SimpleR2dbcRepository<Document, Lon
         this.documentMapper = documentMapper;
     }
 
+    /**
+     * Listings never select the {@code file} content: a page of scanned documents would otherwise be loaded in memory
+     * just to display their titles. The content is read by {@link #findById(Long)} only.
+     */
     @Override
     public Flux<Document> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        List<Expression> columns = DocumentSqlHelper.getMetadataColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        return createQuery("findAllBy", pageable, null, Map.of(), columns).all();
     }
 
-    RowsFetchSpec<Document> createQuery(Pageable pageable, Condition whereClause) {
-        List<Expression> columns = DocumentSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+    RowsFetchSpec<Document> createQuery(
+        String shape,
+        Pageable pageable,
+        Condition whereClause,
+        Map<String, Object> bindings,
+        List<Expression> columns
+    ) {
+        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+        String select = entityManager.createSelect(selectFrom, Document.class, shape, pageable, whereClause);
+        DatabaseClient.GenericExecuteSpec spec = entityManager.bind(db.sql(select), pageable);
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(this::process);
+    }
+
+    @Override
+    public Flux<Document> findAllBy(Keyset keyset, int size) {
+        return createQuery(keyset, size, null, Map.of()).all();
+    }
+
+    RowsFetchSpec<Document> createQuery(Keyset keyset, int size, Condition whereClause, Map<String, Object> bindings) {
+        List<Expression> columns = DocumentSqlHelper.getMetadataColumns(entityTable, EntityManager.ENTITY_ALIAS);
         SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Document.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        String select = entityManager.createSelect(selectFrom, Document.class, keyset, size, whereClause);
+        DatabaseClient.GenericExecuteSpec spec = entityManager.bind(db.sql(select), keyset);
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(this::process);
     }
 
     @Override
@@ -75,8 +107,40 @@ class DocumentRepositoryInternalImpl extends SimpleR2dbcRepository<Document, Lon
 
     @Override
     public Mono<Document> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+        List<Expression> columns = DocumentSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        return createQuery("findById", null, whereClause, Map.of("id", id), columns).one();
+    }
+
+    @Override
+    public Flux<Document> findByCriteria(DocumentCriteria criteria, Pageable pageable) {
+        List<Expression> columns = DocumentSqlHelper.getMetadataColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        FilterConditions conditions = buildConditions(criteria);
+        return createQuery(conditions.shape("findAllBy"), pageable, conditions.where(), conditions.bindings(), columns).all();
+    }
+
+    @Override
+    public Flux<Document> findByCriteria(DocumentCriteria criteria, Keyset keyset, int size) {
+        FilterConditions conditions = buildConditions(criteria);
+        return createQuery(keyset, size, conditions.where(), conditions.bindings()).all();
+    }
+
+    @Override
+    public Mono<Long> countByCriteria(DocumentCriteria criteria) {
+        FilterConditions conditions = buildConditions(criteria);
+        String select = entityManager.createCount(entityTable, Document.class, conditions.shape("countBy"), conditions.where());
+        DatabaseClient.GenericExecuteSpec spec = db.sql(select);
+        for (Map.Entry<String, Object> binding : conditions.bindings().entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(row -> row.get(0, Long.class)).one();
+    }
+
+    private static FilterConditions buildConditions(DocumentCriteria criteria) {
+        return new FilterConditions(entityTable)
+            .filter("id", "id", criteria.getId())
+            .filter("issueDate", "issue_date", criteria.getIssueDate())
+            .filter("citizenId", "citizen_id", criteria.getCitizenId());
     }
 
     private Document process(Row row, RowMetadata metadata) {
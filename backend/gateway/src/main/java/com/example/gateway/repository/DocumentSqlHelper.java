@@ -8,14 +8,24 @@ import org.springframework.data.relational.core.sql.Table;
 
 public class DocumentSqlHelper {
 
+    /**
+     * @return all the columns of the document, including the {@code file} content.
+     */
     public static List<Expression> getColumns(Table table, String columnPrefix) {
+        List<Expression> columns = getMetadataColumns(table, columnPrefix);
+        columns.add(Column.aliased("file", table, columnPrefix + "_file"));
+        return columns;
+    }
+
+    /**
+     * @return the columns of the document without the {@code file} content, for listings.
+     */
+    public static List<Expression> getMetadataColumns(Table table, String columnPrefix) {
         List<Expression> columns = new ArrayList<>();
         columns.add(Column.aliased("id", table, columnPrefix + "_id"));
         columns.add(Column.aliased("title", table, columnPrefix + "_title"));
         columns.add(Column.aliased("type", table, columnPrefix + "_type"));
         columns.add(Column.aliased("issue_date", table, columnPrefix + "_issue_date"));
-        columns.add(Column.aliased("file", table, columnPrefix + "_file"));
-        columns.add(Column.aliased("file_content_type", table, columnPrefix + "_file_content_type"));
         columns.add(Column.aliased("file_content_type", table, columnPrefix + "_file_content_type"));
         columns.add(Column.aliased("citizen_id", table, columnPrefix + "_citizen_id"));
 
@@ -3,6 +3,9 @@ package com.example.gateway.repository;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -11,8 +14,12 @@ import org.springframework.data.r2dbc.core.StatementMapper;
 import org.springframework.data.r2dbc.query.UpdateMapper;
 import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
 import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.sql.Aliased;
 import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Expressions;
+import org.springframework.data.relational.core.sql.Functions;
 import org.springframework.data.relational.core.sql.OrderByField;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
@@ -20,6 +27,8 @@ import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJ
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectOrdered;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
 import org.springframework.r2dbc.core.Parameter;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
@@ -36,6 +45,20 @@ public class EntityManager {
     public static final String ENTITY_ALIAS = "e";
     public static final String ALIAS_PREFIX = "e_";
 
+    /**
+     * Most select templates kept by {@link #createSelect(SelectFromAndJoin, Class, String, Pageable, Condition)}: the
+     * shapes are fixed by the repositories, but the sorts come from the requests.
+     */
+    static final int SELECT_TEMPLATES_MAXIMUM_SIZE = 1000;
+
+    /**
+     * Rows fetched at once from the cursor of an unpaged select, see {@link #bind(GenericExecuteSpec, Pageable)}.
+     */
+    static final int STREAM_FETCH_SIZE = 1000;
+
+    private static final String PAGE_LIMIT = "pageLimit";
+    private static final String PAGE_OFFSET = "pageOffset";
+
     public static class LinkTable {
 
         final String tableName;
@@ -56,6 +79,8 @@ public class EntityManager {
     private final UpdateMapper updateMapper;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final StatementMapper statementMapper;
+    private final Map<SelectTemplate, String> selectTemplates = new ConcurrentHashMap<>();
+    private final Map<UpdateTemplate, String> updateTemplates = new ConcurrentHashMap<>();
 
     public EntityManager(SqlRenderer sqlRenderer, UpdateMapper updateMapper, R2dbcEntityTemplate r2dbcEntityTemplate) {
         this.sqlRenderer = sqlRenderer;
@@ -128,6 +153,150 @@ public class EntityManager {
         }
     }
 
+    /**
+     * Creates an SQL select statement from the given fragment and pagination parameters, rendered once per entity type,
+     * shape and sort. The where clause must only hold bind markers, and the page is not rendered but bound with
+     * {@link #bind(GenericExecuteSpec, Pageable)}: every execution sends the same statement, which PostgreSQL prepares
+     * once per connection.
+     * @param selectFrom a representation of a select statement.
+     * @param entityType the entity type which holds the table name.
+     * @param shape the name of the selected columns and where clause, unique for the entity type.
+     * @param pageable page parameter, or null, if everything needs to be returned.
+     * @param where condition or null. The condition to apply as where clause.
+     * @return sql select statement
+     */
+    public String createSelect(SelectFromAndJoin selectFrom, Class<?> entityType, String shape, Pageable pageable, Condition where) {
+        boolean paged = pageable != null && pageable.isPaged();
+        Sort sort = pageable != null ? pageable.getSort() : Sort.unsorted();
+        SelectTemplate template = new SelectTemplate(entityType, shape, sort, paged);
+        String select = selectTemplates.get(template);
+        if (select == null) {
+            select = createSelectImpl(where != null ? selectFrom.where(where) : selectFrom, entityType, sort);
+            if (paged) {
+                select += " LIMIT :" + PAGE_LIMIT + " OFFSET :" + PAGE_OFFSET;
+            }
+            if (selectTemplates.size() < SELECT_TEMPLATES_MAXIMUM_SIZE) {
+                selectTemplates.put(template, select);
+            }
+        }
+        return select;
+    }
+
+    /**
+     * Creates an SQL statement counting the rows of the given table matching the where clause, rendered once per entity
+     * type and shape like {@link #createSelect(SelectFromAndJoin, Class, String, Pageable, Condition)}.
+     * @param table the table of the entity.
+     * @param entityType the entity type which holds the table name.
+     * @param shape the name of the where clause, unique for the entity type.
+     * @param where condition or null. The condition to apply as where clause.
+     * @return sql select statement
+     */
+    public String createCount(Table table, Class<?> entityType, String shape, Condition where) {
+        SelectFromAndJoin selectFrom = Select.builder().select(Functions.count(Expressions.asterisk())).from(table);
+        return createSelect(selectFrom, entityType, shape, null, where);
+    }
+
+    /**
+     * Creates an SQL statement updating the given columns of one row and incrementing its version, which returns the
+     * updated row: the entity is written and read back in one round trip. If {@code versioned}, the row is only updated if
+     * it still has the expected version, so a stale update matches no row instead of overwriting a concurrent one.
+     * <p>
+     * The statement is rendered once per entity type, columns and versioning, which are bounded by the fields of the
+     * entity: the returned columns must be the same for an entity type. Bind the value of each column with the name of the
+     * column, the id with {@code id} and the expected version with {@code version}.
+     * @param table the table of the entity.
+     * @param entityType the entity type which holds the table name, with an id and a version.
+     * @param columns the updated columns, in a stable order.
+     * @param versioned whether the update is conditional on the version.
+     * @param returning the columns of the table to return, as selected by its row mapper.
+     * @return sql update statement
+     */
+    public String createUpdate(Table table, Class<?> entityType, List<String> columns, boolean versioned, List<Expression> returning) {
+        UpdateTemplate template = new UpdateTemplate(entityType, columns, versioned);
+        String update = updateTemplates.get(template);
+        if (update == null) {
+            RelationalPersistentEntity<?> entity = getPersistentEntity(entityType);
+            String alias = table.getReferenceName().getReference();
+            String id = entity.getRequiredIdProperty().getColumnName().getReference();
+            String version = entity.getRequiredVersionProperty().getColumnName().getReference();
+            StringBuilder sql = new StringBuilder("UPDATE ").append(table.getName().getReference()).append(' ').append(alias);
+            sql.append(" SET ");
+            for (String column : columns) {
+                sql.append(column).append(" = :").append(column).append(", ");
+            }
+            sql.append(version).append(" = ").append(alias).append('.').append(version).append(" + 1");
+            sql.append(" WHERE ").append(alias).append('.').append(id).append(" = :id");
+            if (versioned) {
+                sql.append(" AND ").append(alias).append('.').append(version).append(" = :version");
+            }
+            sql.append(" RETURNING ").append(returning.stream().map(column -> render(alias, column)).collect(Collectors.joining(", ")));
+            update = sql.toString();
+            updateTemplates.put(template, update);
+        }
+        return update;
+    }
+
+    /**
+     * Binds the page to the statement created by {@link #createSelect(SelectFromAndJoin, Class, String, Pageable, Condition)}.
+     * <p>
+     * An {@link Pageable#unpaged() unpaged} request streams all the rows: they are read with a cursor,
+     * {@link #STREAM_FETCH_SIZE} at a time as they are consumed, instead of being sent all at once by the database.
+     * @param spec the statement to bind.
+     * @param pageable page parameter, or null.
+     * @return the bound statement.
+     */
+    public GenericExecuteSpec bind(GenericExecuteSpec spec, Pageable pageable) {
+        if (pageable != null && pageable.isPaged()) {
+            return spec.bind(PAGE_LIMIT, pageable.getPageSize()).bind(PAGE_OFFSET, pageable.getOffset());
+        }
+        if (pageable != null) {
+            return spec.filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE));
+        }
+        return spec;
+    }
+
+    /**
+     * Creates an SQL select statement for one page of a keyset paginated listing: the rows after the given position,
+     * in the keyset's sort, without any {@code OFFSET}. Bind the keyset values with {@link #bind(GenericExecuteSpec, Keyset)}.
+     * @param selectFrom a representation of a select statement.
+     * @param entityType the entity type which holds the table name.
+     * @param keyset the position after which the page starts.
+     * @param size the maximum number of rows of the page.
+     * @param where condition or null. The condition to apply as where clause, in addition to the keyset predicate.
+     * @return sql select statement
+     * @throws IllegalArgumentException if the keyset sorts by a property that is not a column of the entity.
+     */
+    public String createSelect(SelectFromAndJoin selectFrom, Class<?> entityType, Keyset keyset, int size, Condition where) {
+        RelationalPersistentEntity<?> entity = getPersistentEntity(entityType);
+        // the keyset predicate is rendered as is: only columns of the entity may reach it
+        for (Sort.Order order : keyset.getSort()) {
+            Assert.notNull(
+                entity.getPersistentProperty(order.getProperty()),
+                () -> "Not a column of " + entityType.getSimpleName() + ": " + order.getProperty()
+            );
+        }
+        Condition after = keyset.toCondition(Table.create(entity.getTableName()).as(EntityManager.ENTITY_ALIAS));
+        Condition condition = where == null ? after : after == null ? where : where.and(after);
+        if (condition != null) {
+            return createSelectImpl(selectFrom.limitOffset(size, 0).where(condition), entityType, keyset.getSort());
+        }
+        return createSelectImpl(selectFrom.limitOffset(size, 0), entityType, keyset.getSort());
+    }
+
+    /**
+     * Binds the values of the given keyset to the statement created by
+     * {@link #createSelect(SelectFromAndJoin, Class, Keyset, int, Condition)}, applying the R2DBC write conversions.
+     * @param spec the statement to bind.
+     * @param keyset the position after which the page starts.
+     * @return the bound statement.
+     */
+    public GenericExecuteSpec bind(GenericExecuteSpec spec, Keyset keyset) {
+        for (Map.Entry<String, Object> binding : keyset.getBindings().entrySet()) {
+            spec = spec.bind(binding.getKey(), r2dbcEntityTemplate.getConverter().writeValue(binding.getValue(), TypeInformation.OBJECT));
+        }
+        return spec;
+    }
+
     /**
      * Generate an actual SQL from the given {@link Select}.
      * @param select a representation of a select statement.
@@ -213,6 +382,11 @@ public class EntityManager {
         return createSelect(selectFrom.build());
     }
 
+    private static String render(String alias, Expression expression) {
+        String column = alias + "." + ((Column) expression).getName().getReference();
+        return expression instanceof Aliased aliased ? column + " AS " + aliased.getAlias().getReference() : column;
+    }
+
     private RelationalPersistentEntity<?> getPersistentEntity(Class<?> entityType) {
         return r2dbcEntityTemplate.getConverter().getMappingContext().getPersistentEntity(entityType);
     }
@@ -222,8 +396,9 @@ public class EntityManager {
 
         for (Sort.Order order : sortToUse) {
             String propertyName = order.getProperty();
+            String columnName = camelCaseToSnakeCase(propertyName);
             OrderByField orderByField = !propertyName.contains(".")
-                ? OrderByField.from(table.column(propertyName).as(EntityManager.ALIAS_PREFIX + propertyName))
+                ? OrderByField.from(table.column(columnName).as(EntityManager.ALIAS_PREFIX + columnName))
                 : createOrderByField(propertyName);
 
             fields.add(order.isAscending() ? orderByField.asc() : orderByField.desc());
@@ -275,4 +450,8 @@ public class EntityManager {
         // and convert it to lower case.
         return input.replaceAll(regex, replacement).toLowerCase();
     }
+
+    private record SelectTemplate(Class<?> entityType, String shape, Sort sort, boolean paged) {}
+
+    private record UpdateTemplate(Class<?> entityType, List<String> columns, boolean versioned) {}
 }
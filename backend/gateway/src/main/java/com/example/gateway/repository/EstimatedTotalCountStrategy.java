@@ -0,0 +1,39 @@
+package com.example.gateway.repository;
+
+import java.util.function.Supplier;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reports the row count estimated by PostgreSQL's planner statistics ({@code pg_class.reltuples}), which costs a single
+ * catalog lookup whatever the size of the table. Small tables, and tables never analyzed, are counted exactly. The
+ * estimate of a partitioned table is the sum of those of its partitions, the table itself holding no rows.
+ */
+public class EstimatedTotalCountStrategy implements TotalCountStrategy {
+
+    private static final String ESTIMATE_SQL =
+        "SELECT sum(greatest(c.reltuples, 0))::bigint AS estimate FROM pg_partition_tree(to_regclass(:table)) t " +
+        "JOIN pg_class c ON c.oid = t.relid WHERE t.isleaf HAVING count(*) > 0";
+
+    private final R2dbcEntityTemplate template;
+
+    private final long exactCountThreshold;
+
+    public EstimatedTotalCountStrategy(R2dbcEntityTemplate template, long exactCountThreshold) {
+        this.template = template;
+        this.exactCountThreshold = exactCountThreshold;
+    }
+
+    @Override
+    public Mono<Long> count(Class<?> entityType, Supplier<Mono<Long>> exactCount) {
+        String table = template.getConverter().getMappingContext().getRequiredPersistentEntity(entityType).getTableName().getReference();
+        return template
+            .getDatabaseClient()
+            .sql(ESTIMATE_SQL)
+            .bind("table", table)
+            .map(row -> row.get("estimate", Long.class))
+            .one()
+            .filter(estimate -> estimate >= exactCountThreshold)
+            .switchIfEmpty(Mono.defer(exactCount));
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.gateway.repository;
+
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs the exact {@code COUNT(*)} on every call.
+ */
+public class ExactTotalCountStrategy implements TotalCountStrategy {
+
+    @Override
+    public Mono<Long> count(Class<?> entityType, Supplier<Mono<Long>> exactCount) {
+        return exactCount.get();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.gateway.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.BiFunction;
+import org.springframework.data.relational.core.sql.Column;
+import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
+import org.springframework.data.relational.core.sql.Table;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+
+/**
+ * The where clause of a criteria listing, with a bind marker per filter value.
+ * <p>
+ * Unlike the literals rendered by {@link tech.jhipster.service.ConditionBuilder}, the values are bound, so the select
+ * of each combination of filter operators (its {@link #shape(String) shape}) is rendered once by the
+ * {@link EntityManager} and prepared once per connection, whatever the values. {@code in} lists are bound whole and
+ * expanded by the {@link org.springframework.r2dbc.core.DatabaseClient}.
+ */
+final class FilterConditions {
+
+    private final Table table;
+
+    private final List<Condition> conditions = new ArrayList<>();
+
+    private final Map<String, Object> bindings = new LinkedHashMap<>();
+
+    private final StringJoiner operators = new StringJoiner(",", "[", "]");
+
+    FilterConditions(Table table) {
+        this.table = table;
+    }
+
+    /**
+     * Adds the conditions of a filter.
+     * @param property the name of the filtered property, unique among the filters.
+     * @param columnName the column of the property.
+     * @param filter the filter, or {@code null}.
+     * @return this.
+     */
+    FilterConditions filter(String property, String columnName, Filter<?> filter) {
+        if (filter == null) {
+            return this;
+        }
+        Column column = table.column(columnName);
+        if (filter.getEquals() != null) {
+            compare(property, "equals", column, filter.getEquals(), Conditions::isEqual);
+        }
+        if (filter.getNotEquals() != null) {
+            compare(property, "notEquals", column, filter.getNotEquals(), Conditions::isNotEqual);
+        }
+        if (filter.getSpecified() != null) {
+            boolean specified = filter.getSpecified();
+            add(property + ".specified=" + specified, specified ? Conditions.isNull(column).not() : Conditions.isNull(column));
+        }
+        if (filter.getIn() != null) {
+            if (filter.getIn().isEmpty()) {
+                // IN () is not valid SQL: nothing is in an empty list
+                add(property + ".in=[]", Conditions.just("FALSE"));
+            } else {
+                compare(property, "in", column, filter.getIn(), Conditions::in);
+            }
+        }
+        if (filter.getNotIn() != null && !filter.getNotIn().isEmpty()) {
+            compare(property, "notIn", column, filter.getNotIn(), Conditions::notIn);
+        }
+        if (filter instanceof RangeFilter<?> range) {
+            if (range.getGreaterThan() != null) {
+                compare(property, "greaterThan", column, range.getGreaterThan(), Conditions::isGreater);
+            }
+            if (range.getGreaterThanOrEqual() != null) {
+                compare(property, "greaterThanOrEqual", column, range.getGreaterThanOrEqual(), Conditions::isGreaterOrEqualTo);
+            }
+            if (range.getLessThan() != null) {
+                compare(property, "lessThan", column, range.getLessThan(), Conditions::isLess);
+            }
+            if (range.getLessThanOrEqual() != null) {
+                compare(property, "lessThanOrEqual", column, range.getLessThanOrEqual(), Conditions::isLessOrEqualTo);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return the conjunction of the conditions, or {@code null} if no filter was given.
+     */
+    Condition where() {
+        return conditions.stream().reduce(Condition::and).orElse(null);
+    }
+
+    /**
+     * @return the values of the bind markers of {@link #where()}.
+     */
+    Map<String, Object> bindings() {
+        return bindings;
+    }
+
+    /**
+     * @param query the name of the query.
+     * @return the name of the query followed by the filter operators: the same for all the selects rendering the same.
+     */
+    String shape(String query) {
+        return conditions.isEmpty() ? query : query + operators;
+    }
+
+    private void compare(
+        String property,
+        String operator,
+        Column column,
+        Object value,
+        BiFunction<Expression, Expression, Condition> comparison
+    ) {
+        String name = property + "_" + operator;
+        bindings.put(name, bindable(value));
+        add(property + "." + operator, comparison.apply(column, SQL.bindMarker(":" + name)));
+    }
+
+    private void add(String operator, Condition condition) {
+        operators.add(operator);
+        conditions.add(condition);
+    }
+
+    /**
+     * Enums are stored by name, which the driver does not do.
+     */
+    private static Object bindable(Object value) {
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        if (value instanceof Collection<?> values) {
+            return values.stream().map(FilterConditions::bindable).toList();
+        }
+        return value;
+    }
+}
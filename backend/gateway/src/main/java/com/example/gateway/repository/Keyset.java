@@ -0,0 +1,155 @@
+package com.example.gateway.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.sql.BindMarker;
+import org.springframework.data.relational.core.sql.Column;
+import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.SQL;
+import org.springframework.data.relational.core.sql.Table;
+import org.springframework.util.Assert;
+
+/**
+ * A position in a keyset ("seek") paginated listing: the sort of the listing, and the values of the sort keys of the
+ * last row already returned.
+ * <p>
+ * Instead of skipping {@code OFFSET} rows, the next page is selected with a predicate on the sort keys, e.g.
+ * {@code WHERE (e.created_date, e.id) > (:keyset_0, :keyset_1)}, so page 10 000 costs the same index range scan as
+ * page 1. The sort always ends with {@code id}, which makes the key unique; sort properties must not be nullable, and
+ * the requested ones are checked against the {@code KEYSET_SORT_PROPERTIES} of the repository when the cursor is
+ * parsed.
+ */
+public final class Keyset {
+
+    public static final String ID_PROPERTY = "id";
+
+    private static final String BIND_MARKER_PREFIX = "keyset_";
+
+    private final Sort sort;
+
+    private final List<Object> values;
+
+    private Keyset(Sort sort, List<Object> values) {
+        this.sort = sort;
+        this.values = values;
+    }
+
+    /**
+     * Creates the position before the first row of a listing.
+     * @param sort the sort of the listing; {@code id} is appended as tiebreaker if missing, {@code id} alone if unsorted.
+     * @return the keyset of the first page.
+     */
+    public static Keyset first(Sort sort) {
+        return new Keyset(withTiebreaker(sort), Collections.emptyList());
+    }
+
+    /**
+     * Creates the position after the row holding the given sort key values.
+     * @param sort the sort of the listing, as returned by {@link #getSort()}.
+     * @param values the values of the sort properties of the last row, in sort order.
+     * @return the keyset of the next page.
+     */
+    public static Keyset after(Sort sort, List<Object> values) {
+        Sort keySort = withTiebreaker(sort);
+        Assert.isTrue(keySort.stream().count() == values.size(), "one value is needed per sort property");
+        Assert.noNullElements(values, "keyset values must not be null");
+        return new Keyset(keySort, List.copyOf(values));
+    }
+
+    private static Sort withTiebreaker(Sort sort) {
+        if (sort == null || sort.isUnsorted()) {
+            return Sort.by(ID_PROPERTY);
+        }
+        if (sort.getOrderFor(ID_PROPERTY) != null) {
+            return sort;
+        }
+        Sort.Direction direction = sort.iterator().next().getDirection();
+        return sort.and(Sort.by(direction, ID_PROPERTY));
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public List<Object> getValues() {
+        return values;
+    }
+
+    public boolean isFirst() {
+        return values.isEmpty();
+    }
+
+    /**
+     * Builds the predicate selecting the rows after this position, using the bind markers of {@link #getBindings()}.
+     * When all keys share one direction this is a single row value comparison, which PostgreSQL serves with one index
+     * range scan; mixed directions are expanded to {@code k1 > v1 OR (k1 = v1 AND k2 < v2) ...}.
+     * @param table the aliased table of the select.
+     * @return the condition, or {@code null} on the first page.
+     */
+    public Condition toCondition(Table table) {
+        if (isFirst()) {
+            return null;
+        }
+        List<Sort.Order> orders = sort.toList();
+        List<Column> columns = orders.stream().map(order -> table.column(EntityManager.camelCaseToSnakeCase(order.getProperty()))).toList();
+        boolean uniform = orders.stream().map(Sort.Order::getDirection).distinct().count() == 1;
+        if (uniform) {
+            String operator = orders.get(0).isAscending() ? " > " : " < ";
+            String keys = columns
+                .stream()
+                .map(column -> table.getReferenceName().getReference() + "." + column.getName().getReference())
+                .collect(Collectors.joining(", "));
+            String markers = bindMarkerNames().stream().map(name -> ":" + name).collect(Collectors.joining(", "));
+            return Conditions.just("(" + keys + ")" + operator + "(" + markers + ")");
+        }
+        Condition condition = null;
+        for (int i = 0; i < orders.size(); i++) {
+            Condition term = null;
+            for (int j = 0; j < i; j++) {
+                Condition equal = Conditions.isEqual(columns.get(j), bindMarker(j));
+                term = term == null ? equal : term.and(equal);
+            }
+            Condition after = orders.get(i).isAscending()
+                ? Conditions.isGreater(columns.get(i), bindMarker(i))
+                : Conditions.isLess(columns.get(i), bindMarker(i));
+            term = term == null ? after : Conditions.nest(term.and(after));
+            condition = condition == null ? term : condition.or(term);
+        }
+        return Conditions.nest(condition);
+    }
+
+    /**
+     * @return the values to bind to the markers of {@link #toCondition(Table)}, by bind marker name.
+     */
+    public Map<String, Object> getBindings() {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        List<String> names = bindMarkerNames();
+        for (int i = 0; i < values.size(); i++) {
+            bindings.put(names.get(i), values.get(i));
+        }
+        return bindings;
+    }
+
+    private List<String> bindMarkerNames() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            names.add(BIND_MARKER_PREFIX + i);
+        }
+        return names;
+    }
+
+    private static BindMarker bindMarker(int index) {
+        return SQL.bindMarker(":" + BIND_MARKER_PREFIX + index);
+    }
+
+    @Override
+    public String toString() {
+        return "Keyset{sort=" + sort + ", values=" + values + "}";
+    }
+}
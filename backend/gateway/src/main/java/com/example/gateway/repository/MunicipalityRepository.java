@@ -1,6 +1,7 @@
 package com.example.gateway.repository;
 
 import com.example.gateway.domain.Municipality;
+import java.util.Set;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
@@ -13,8 +14,15 @@ import reactor.core.publisher.Mono;
 @SuppressWarnings("unused")
 @Repository
 public interface MunicipalityRepository extends ReactiveCrudRepository<Municipality, Long>, MunicipalityRepositoryInternal {
+    /**
+     * The properties a keyset listing can be sorted by: the columns that are never null.
+     */
+    Set<String> KEYSET_SORT_PROPERTIES = Set.of("id", "name", "region", "country");
+
     Flux<Municipality> findAllBy(Pageable pageable);
 
+    Flux<Municipality> findAllBy(Keyset keyset, int size);
+
     @Override
     <S extends Municipality> Mono<S> save(S entity);
 
@@ -33,6 +41,8 @@ interface MunicipalityRepositoryInternal {
 
     Flux<Municipality> findAllBy(Pageable pageable);
 
+    Flux<Municipality> findAllBy(Keyset keyset, int size);
+
     Flux<Municipality> findAll();
 
     Mono<Municipality> findById(Long id);
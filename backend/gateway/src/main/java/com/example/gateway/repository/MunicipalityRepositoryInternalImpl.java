@@ -5,6 +5,7 @@ import com.example.gateway.repository.rowmapper.MunicipalityRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.util.List;
+import java.util.Map;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -14,6 +15,7 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -57,15 +59,31 @@ class MunicipalityRepositoryInternalImpl extends SimpleR2dbcRepository<Municipal
 
     @Override
     public Flux<Municipality> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery("findAllBy", pageable, null, Map.of()).all();
     }
 
-    RowsFetchSpec<Municipality> createQuery(Pageable pageable, Condition whereClause) {
+    RowsFetchSpec<Municipality> createQuery(String shape, Pageable pageable, Condition whereClause, Map<String, Object> bindings) {
         List<Expression> columns = MunicipalitySqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
         // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Municipality.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        String select = entityManager.createSelect(selectFrom, Municipality.class, shape, pageable, whereClause);
+        DatabaseClient.GenericExecuteSpec spec = entityManager.bind(db.sql(select), pageable);
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(this::process);
+    }
+
+    @Override
+    public Flux<Municipality> findAllBy(Keyset keyset, int size) {
+        return createQuery(keyset, size, null).all();
+    }
+
+    RowsFetchSpec<Municipality> createQuery(Keyset keyset, int size, Condition whereClause) {
+        List<Expression> columns = MunicipalitySqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+        String select = entityManager.createSelect(selectFrom, Municipality.class, keyset, size, whereClause);
+        return entityManager.bind(db.sql(select), keyset).map(this::process);
     }
 
     @Override
@@ -75,8 +93,8 @@ class MunicipalityRepositoryInternalImpl extends SimpleR2dbcRepository<Municipal
 
     @Override
     public Mono<Municipality> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+        return createQuery("findById", null, whereClause, Map.of("id", id)).one();
     }
 
     private Municipality process(Row row, RowMetadata metadata) {
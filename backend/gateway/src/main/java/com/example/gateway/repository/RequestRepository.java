@@ -1,6 +1,9 @@
 package com.example.gateway.repository;
 
 import com.example.gateway.domain.Request;
+import com.example.gateway.domain.criteria.RequestCriteria;
+import java.util.List;
+import java.util.Set;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
@@ -13,9 +16,20 @@ import reactor.core.publisher.Mono;
 @SuppressWarnings("unused")
 @Repository
 public interface RequestRepository extends ReactiveCrudRepository<Request, Long>, RequestRepositoryInternal {
+    /**
+     * The properties a keyset listing can be sorted by: the columns that are never null, the creation date is part of the primary key.
+     */
+    Set<String> KEYSET_SORT_PROPERTIES = Set.of("id", "type", "description", "status", "createdDate");
+
     Flux<Request> findAllBy(Pageable pageable);
 
-    Flux<Request> findByCitizenId(Long citizenId);
+    Flux<Request> findAllBy(Keyset keyset, int size);
+
+    Flux<Request> findByCitizenId(Long citizenId, Pageable pageable);
+
+    Flux<Request> findByCitizenId(Long citizenId, Keyset keyset, int size);
+
+    Mono<Long> countByCitizenId(Long citizenId);
 
     @Override
     <S extends Request> Mono<S> save(S entity);
@@ -35,9 +49,25 @@ interface RequestRepositoryInternal {
 
     Flux<Request> findAllBy(Pageable pageable);
 
+    Flux<Request> findAllBy(Keyset keyset, int size);
+
     Flux<Request> findAll();
 
     Mono<Request> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<Request> findAllBy(Pageable pageable, Criteria criteria);
+
+    Flux<Request> findByCitizenId(Long citizenId, Pageable pageable);
+
+    Flux<Request> findByCitizenId(Long citizenId, Keyset keyset, int size);
+
+    Flux<Request> findByCriteria(RequestCriteria criteria, Pageable pageable);
+
+    Flux<Request> findByCriteria(RequestCriteria criteria, Keyset keyset, int size);
+
+    Mono<Long> countByCriteria(RequestCriteria criteria);
+
+    Mono<Long> upsertAll(List<Request> requests);
+
+    Mono<Long> deleteAllUpToVersion(List<Request> requests);
+
+    Flux<String> maintainPartitions(int monthsAhead, int retentionMonths, boolean dropExpired);
 }
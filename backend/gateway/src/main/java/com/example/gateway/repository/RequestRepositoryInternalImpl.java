@@ -1,10 +1,15 @@
 package com.example.gateway.repository;
 
 import com.example.gateway.domain.Request;
+import com.example.gateway.domain.criteria.RequestCriteria;
 import com.example.gateway.repository.rowmapper.RequestRowMapper;
+import io.r2dbc.spi.Result;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -14,10 +19,12 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.repository.support.MappingRelationalEntityInformation;
+import org.springframework.data.util.TypeInformation;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
@@ -37,6 +44,26 @@ class RequestRepositoryInternalImpl extends SimpleR2dbcRepository<Request, Long>
 
     private static final Table entityTable = Table.aliased("request", EntityManager.ENTITY_ALIAS);
 
+    /**
+     * The table is partitioned on created_date, which is part of the primary key: a request whose creation date changed
+     * is moved, its row in the partition of the former date deleted, if the incoming version is newer.
+     */
+    private static final String UPSERT =
+        "WITH incoming AS (SELECT CAST($1 AS bigint) AS id, CAST($2 AS varchar) AS type, CAST($3 AS varchar) AS description, " +
+        "CAST($4 AS varchar) AS status, CAST($5 AS timestamp) AS created_date, CAST($6 AS timestamp) AS resolved_date, " +
+        "CAST($7 AS bigint) AS citizen_id, CAST($8 AS bigint) AS municipality_id, CAST($9 AS bigint) AS version), " +
+        "moved AS (DELETE FROM request USING incoming WHERE request.id = incoming.id " +
+        "AND request.created_date <> incoming.created_date AND request.version < incoming.version) " +
+        "INSERT INTO request (id, type, description, status, created_date, resolved_date, citizen_id, municipality_id, version) " +
+        "SELECT * FROM incoming WHERE NOT EXISTS (SELECT 1 FROM request WHERE request.id = incoming.id " +
+        "AND request.created_date <> incoming.created_date AND request.version >= incoming.version) " +
+        "ON CONFLICT (id, created_date) DO UPDATE SET type = excluded.type, description = excluded.description, " +
+        "status = excluded.status, resolved_date = excluded.resolved_date, citizen_id = excluded.citizen_id, " +
+        "municipality_id = excluded.municipality_id, version = excluded.version WHERE request.version < excluded.version";
+
+    private static final String DELETE_UP_TO_VERSION =
+        "DELETE FROM request WHERE id = $1 AND version <= COALESCE(CAST($2 AS bigint), version)";
+
     public RequestRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
@@ -57,15 +84,34 @@ class RequestRepositoryInternalImpl extends SimpleR2dbcRepository<Request, Long>
 
     @Override
     public Flux<Request> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery("findAllBy", pageable, null, Map.of()).all();
+    }
+
+    RowsFetchSpec<Request> createQuery(String shape, Pageable pageable, Condition whereClause, Map<String, Object> bindings) {
+        List<Expression> columns = RequestSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+        String select = entityManager.createSelect(selectFrom, Request.class, shape, pageable, whereClause);
+        DatabaseClient.GenericExecuteSpec spec = entityManager.bind(db.sql(select), pageable);
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(this::process);
     }
 
-    RowsFetchSpec<Request> createQuery(Pageable pageable, Condition whereClause) {
+    @Override
+    public Flux<Request> findAllBy(Keyset keyset, int size) {
+        return createQuery(keyset, size, null, Map.of()).all();
+    }
+
+    RowsFetchSpec<Request> createQuery(Keyset keyset, int size, Condition whereClause, Map<String, Object> bindings) {
         List<Expression> columns = RequestSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Request.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        String select = entityManager.createSelect(selectFrom, Request.class, keyset, size, whereClause);
+        DatabaseClient.GenericExecuteSpec spec = entityManager.bind(db.sql(select), keyset);
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(this::process);
     }
 
     @Override
@@ -75,8 +121,146 @@ class RequestRepositoryInternalImpl extends SimpleR2dbcRepository<Request, Long>
 
     @Override
     public Mono<Request> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+        return createQuery("findById", null, whereClause, Map.of("id", id)).one();
+    }
+
+    @Override
+    public Flux<Request> findByCitizenId(Long citizenId, Pageable pageable) {
+        Condition whereClause = Conditions.isEqual(entityTable.column("citizen_id"), SQL.bindMarker(":citizenId"));
+        return createQuery("findByCitizenId", pageable, whereClause, Map.of("citizenId", citizenId)).all();
+    }
+
+    /**
+     * Keyset variant of {@link #findByCitizenId(Long, Pageable)}, served by the {@code (citizen_id, created_date)} index
+     * when sorted on {@code createdDate}.
+     */
+    @Override
+    public Flux<Request> findByCitizenId(Long citizenId, Keyset keyset, int size) {
+        Condition whereClause = Conditions.isEqual(entityTable.column("citizen_id"), SQL.bindMarker(":citizenId"));
+        return createQuery(keyset, size, whereClause, Map.of("citizenId", citizenId)).all();
+    }
+
+    @Override
+    public Flux<Request> findByCriteria(RequestCriteria criteria, Pageable pageable) {
+        FilterConditions conditions = buildConditions(criteria);
+        return createQuery(conditions.shape("findAllBy"), pageable, conditions.where(), conditions.bindings()).all();
+    }
+
+    @Override
+    public Flux<Request> findByCriteria(RequestCriteria criteria, Keyset keyset, int size) {
+        FilterConditions conditions = buildConditions(criteria);
+        return createQuery(keyset, size, conditions.where(), conditions.bindings()).all();
+    }
+
+    @Override
+    public Mono<Long> countByCriteria(RequestCriteria criteria) {
+        FilterConditions conditions = buildConditions(criteria);
+        String select = entityManager.createCount(entityTable, Request.class, conditions.shape("countBy"), conditions.where());
+        DatabaseClient.GenericExecuteSpec spec = db.sql(select);
+        for (Map.Entry<String, Object> binding : conditions.bindings().entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(row -> row.get(0, Long.class)).one();
+    }
+
+    /**
+     * Inserts the requests, or updates those which exist with an older version, in one batch of statements: a request
+     * replayed, or older than the one held, is left as is.
+     *
+     * @param requests the requests, with their id and version.
+     * @return the number of requests inserted or updated.
+     */
+    @Override
+    public Mono<Long> upsertAll(List<Request> requests) {
+        if (requests.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return db
+            .inConnectionMany(connection -> {
+                Statement statement = connection.createStatement(UPSERT);
+                for (int i = 0; i < requests.size(); i++) {
+                    if (i > 0) {
+                        statement.add();
+                    }
+                    Request request = requests.get(i);
+                    bind(statement, 0, request.getId(), Long.class);
+                    bind(statement, 1, request.getType(), String.class);
+                    bind(statement, 2, request.getDescription(), String.class);
+                    bind(statement, 3, request.getStatus(), String.class);
+                    bind(statement, 4, request.getCreatedDate(), Instant.class);
+                    bind(statement, 5, request.getResolvedDate(), Instant.class);
+                    bind(statement, 6, request.getCitizenId(), Long.class);
+                    bind(statement, 7, request.getMunicipalityId(), Long.class);
+                    bind(statement, 8, request.getVersion(), Long.class);
+                }
+                return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+            })
+            .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Deletes the requests, in one batch of statements, unless the version held is newer than the one deleted: a deletion
+     * replayed after a newer change is left as is. A deletion without a version applies to any version.
+     *
+     * @param requests the requests, with their id and the version they were deleted in, if known.
+     * @return the number of requests deleted.
+     */
+    @Override
+    public Mono<Long> deleteAllUpToVersion(List<Request> requests) {
+        if (requests.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return db
+            .inConnectionMany(connection -> {
+                Statement statement = connection.createStatement(DELETE_UP_TO_VERSION);
+                for (int i = 0; i < requests.size(); i++) {
+                    if (i > 0) {
+                        statement.add();
+                    }
+                    bind(statement, 0, requests.get(i).getId(), Long.class);
+                    bind(statement, 1, requests.get(i).getVersion(), Long.class);
+                }
+                return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+            })
+            .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Creates the monthly partitions ahead, and detaches those older than the retention, see the
+     * {@code request_partitions_maintain} function.
+     *
+     * @return what was done, one line per partition.
+     */
+    @Override
+    public Flux<String> maintainPartitions(int monthsAhead, int retentionMonths, boolean dropExpired) {
+        return db
+            .sql(
+                "SELECT request_partitions_maintain(CAST('request' AS regclass), :monthsAhead, :retentionMonths, :dropExpired) AS action"
+            )
+            .bind("monthsAhead", monthsAhead)
+            .bind("retentionMonths", retentionMonths)
+            .bind("dropExpired", dropExpired)
+            .map(row -> row.get("action", String.class))
+            .all();
+    }
+
+    private void bind(Statement statement, int index, Object value, Class<?> type) {
+        R2dbcConverter converter = r2dbcEntityTemplate.getConverter();
+        if (value == null) {
+            statement.bindNull(index, converter.getTargetType(type));
+        } else {
+            statement.bind(index, converter.writeValue(value, TypeInformation.OBJECT));
+        }
+    }
+
+    private static FilterConditions buildConditions(RequestCriteria criteria) {
+        return new FilterConditions(entityTable)
+            .filter("id", "id", criteria.getId())
+            .filter("status", "status", criteria.getStatus())
+            .filter("createdDate", "created_date", criteria.getCreatedDate())
+            .filter("citizenId", "citizen_id", criteria.getCitizenId())
+            .filter("municipalityId", "municipality_id", criteria.getMunicipalityId());
     }
 
     private Request process(Row row, RowMetadata metadata) {
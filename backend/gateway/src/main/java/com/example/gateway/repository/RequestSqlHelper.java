@@ -18,6 +18,7 @@ public class RequestSqlHelper {
         columns.add(Column.aliased("resolved_date", table, columnPrefix + "_resolved_date"));
         columns.add(Column.aliased("citizen_id", table, columnPrefix + "_citizen_id"));
         columns.add(Column.aliased("municipality_id", table, columnPrefix + "_municipality_id"));
+        columns.add(Column.aliased("version", table, columnPrefix + "_version"));
 
         return columns;
     }
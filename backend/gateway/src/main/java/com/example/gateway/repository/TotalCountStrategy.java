@@ -0,0 +1,24 @@
+package com.example.gateway.repository;
+
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Computes the total number of rows of an entity, as reported in the {@code X-Total-Count} header of paginated list
+ * endpoints. A full {@code COUNT(*)} on every page flip is the most expensive query of those endpoints, so the
+ * implementation is chosen with the {@code application.pagination.total-count} property.
+ */
+public interface TotalCountStrategy {
+    /**
+     * @param entityType the entity to count.
+     * @param exactCount runs the exact {@code COUNT(*)} of the entity, if the strategy needs it.
+     * @return the total number of rows, exact or not depending on the strategy.
+     */
+    Mono<Long> count(Class<?> entityType, Supplier<Mono<Long>> exactCount);
+
+    /**
+     * Signals that rows of the entity were inserted or deleted.
+     * @param entityType the changed entity.
+     */
+    default void invalidate(Class<?> entityType) {}
+}
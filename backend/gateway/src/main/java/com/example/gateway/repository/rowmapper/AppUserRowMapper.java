@@ -12,10 +12,43 @@ import org.springframework.stereotype.Service;
 @Service
 public class AppUserRowMapper implements BiFunction<Row, String, AppUser> {
 
-    private final ColumnConverter converter;
+    private final RowLayout layout;
+
+    private final RowLayout.Column<Long> id;
+
+    private final RowLayout.Column<String> firstName;
+
+    private final RowLayout.Column<String> lastName;
+
+    private final RowLayout.Column<String> email;
+
+    private final RowLayout.Column<String> phone;
+
+    private final RowLayout.Column<String> role;
+
+    private final RowLayout.Column<String> cin;
+
+    private final RowLayout.Column<String> address;
+
+    private final RowLayout.Column<LocalDate> birthDate;
+
+    private final RowLayout.Column<Long> municipalityId;
+
+    private final RowLayout.Column<String> passwordHash;
 
     public AppUserRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.layout = new RowLayout(converter);
+        this.id = layout.column("id", Long.class);
+        this.firstName = layout.column("first_name", String.class);
+        this.lastName = layout.column("last_name", String.class);
+        this.email = layout.column("email", String.class);
+        this.phone = layout.column("phone", String.class);
+        this.role = layout.column("role", String.class);
+        this.cin = layout.column("cin", String.class);
+        this.address = layout.column("address", String.class);
+        this.birthDate = layout.column("birth_date", LocalDate.class);
+        this.municipalityId = layout.column("municipality_id", Long.class);
+        this.passwordHash = layout.column("password_hash", String.class);
     }
 
     /**
@@ -24,18 +57,19 @@ public class AppUserRowMapper implements BiFunction<Row, String, AppUser> {
      */
     @Override
     public AppUser apply(Row row, String prefix) {
+        RowLayout.Plan plan = layout.plan(row, prefix);
         AppUser entity = new AppUser();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setFirstName(converter.fromRow(row, prefix + "_first_name", String.class));
-        entity.setLastName(converter.fromRow(row, prefix + "_last_name", String.class));
-        entity.setEmail(converter.fromRow(row, prefix + "_email", String.class));
-        entity.setPhone(converter.fromRow(row, prefix + "_phone", String.class));
-        entity.setRole(converter.fromRow(row, prefix + "_role", String.class));
-        entity.setCin(converter.fromRow(row, prefix + "_cin", String.class));
-        entity.setAddress(converter.fromRow(row, prefix + "_address", String.class));
-        entity.setBirthDate(converter.fromRow(row, prefix + "_birth_date", LocalDate.class));
-        entity.setMunicipalityId(converter.fromRow(row, prefix + "_municipality_id", Long.class));
-        entity.setPasswordHash(converter.fromRow(row, prefix + "_password_hash", String.class));
+        entity.setId(id.read(row, plan));
+        entity.setFirstName(firstName.read(row, plan));
+        entity.setLastName(lastName.read(row, plan));
+        entity.setEmail(email.read(row, plan));
+        entity.setPhone(phone.read(row, plan));
+        entity.setRole(role.read(row, plan));
+        entity.setCin(cin.read(row, plan));
+        entity.setAddress(address.read(row, plan));
+        entity.setBirthDate(birthDate.read(row, plan));
+        entity.setMunicipalityId(municipalityId.read(row, plan));
+        entity.setPasswordHash(passwordHash.read(row, plan));
         return entity;
     }
 }
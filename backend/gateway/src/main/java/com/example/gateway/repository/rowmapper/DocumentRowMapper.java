@@ -12,27 +12,49 @@ import org.springframework.stereotype.Service;
 @Service
 public class DocumentRowMapper implements BiFunction<Row, String, Document> {
 
-    private final ColumnConverter converter;
+    private final RowLayout layout;
+
+    private final RowLayout.Column<Long> id;
+
+    private final RowLayout.Column<String> title;
+
+    private final RowLayout.Column<String> type;
+
+    private final RowLayout.Column<Instant> issueDate;
+
+    private final RowLayout.Column<byte[]> file;
+
+    private final RowLayout.Column<String> fileContentType;
+
+    private final RowLayout.Column<Long> citizenId;
 
     public DocumentRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.layout = new RowLayout(converter);
+        this.id = layout.column("id", Long.class);
+        this.title = layout.column("title", String.class);
+        this.type = layout.column("type", String.class);
+        this.issueDate = layout.column("issue_date", Instant.class);
+        this.file = layout.column("file", byte[].class);
+        this.fileContentType = layout.column("file_content_type", String.class);
+        this.citizenId = layout.column("citizen_id", Long.class);
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row} and a column prefix, and extract all the fields. The {@code file} content is null when it
+     * was not selected, see {@link com.example.gateway.repository.DocumentSqlHelper#getMetadataColumns}.
      * @return the {@link Document} stored in the database.
      */
     @Override
     public Document apply(Row row, String prefix) {
+        RowLayout.Plan plan = layout.plan(row, prefix);
         Document entity = new Document();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setTitle(converter.fromRow(row, prefix + "_title", String.class));
-        entity.setType(converter.fromRow(row, prefix + "_type", String.class));
-        entity.setIssueDate(converter.fromRow(row, prefix + "_issue_date", Instant.class));
-        entity.setFileContentType(converter.fromRow(row, prefix + "_file_content_type", String.class));
-        entity.setFile(converter.fromRow(row, prefix + "_file", byte[].class));
-        entity.setFileContentType(converter.fromRow(row, prefix + "_file_content_type", String.class));
-        entity.setCitizenId(converter.fromRow(row, prefix + "_citizen_id", Long.class));
+        entity.setId(id.read(row, plan));
+        entity.setTitle(title.read(row, plan));
+        entity.setType(type.read(row, plan));
+        entity.setIssueDate(issueDate.read(row, plan));
+        entity.setFile(file.read(row, plan));
+        entity.setFileContentType(fileContentType.read(row, plan));
+        entity.setCitizenId(citizenId.read(row, plan));
         return entity;
     }
 }
@@ -11,10 +11,22 @@ import org.springframework.stereotype.Service;
 @Service
 public class MunicipalityRowMapper implements BiFunction<Row, String, Municipality> {
 
-    private final ColumnConverter converter;
+    private final RowLayout layout;
+
+    private final RowLayout.Column<Long> id;
+
+    private final RowLayout.Column<String> name;
+
+    private final RowLayout.Column<String> region;
+
+    private final RowLayout.Column<String> country;
 
     public MunicipalityRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.layout = new RowLayout(converter);
+        this.id = layout.column("id", Long.class);
+        this.name = layout.column("name", String.class);
+        this.region = layout.column("region", String.class);
+        this.country = layout.column("country", String.class);
     }
 
     /**
@@ -23,11 +35,12 @@ public class MunicipalityRowMapper implements BiFunction<Row, String, Municipali
      */
     @Override
     public Municipality apply(Row row, String prefix) {
+        RowLayout.Plan plan = layout.plan(row, prefix);
         Municipality entity = new Municipality();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setName(converter.fromRow(row, prefix + "_name", String.class));
-        entity.setRegion(converter.fromRow(row, prefix + "_region", String.class));
-        entity.setCountry(converter.fromRow(row, prefix + "_country", String.class));
+        entity.setId(id.read(row, plan));
+        entity.setName(name.read(row, plan));
+        entity.setRegion(region.read(row, plan));
+        entity.setCountry(country.read(row, plan));
         return entity;
     }
 }
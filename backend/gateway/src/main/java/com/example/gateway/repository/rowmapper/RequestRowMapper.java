@@ -13,10 +13,37 @@ import org.springframework.stereotype.Service;
 @Service
 public class RequestRowMapper implements BiFunction<Row, String, Request> {
 
-    private final ColumnConverter converter;
+    private final RowLayout layout;
+
+    private final RowLayout.Column<Long> id;
+
+    private final RowLayout.Column<String> type;
+
+    private final RowLayout.Column<String> description;
+
+    private final RowLayout.Column<RequestStatus> status;
+
+    private final RowLayout.Column<Instant> createdDate;
+
+    private final RowLayout.Column<Instant> resolvedDate;
+
+    private final RowLayout.Column<Long> citizenId;
+
+    private final RowLayout.Column<Long> municipalityId;
+
+    private final RowLayout.Column<Long> version;
 
     public RequestRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.layout = new RowLayout(converter);
+        this.id = layout.column("id", Long.class);
+        this.type = layout.column("type", String.class);
+        this.description = layout.column("description", String.class);
+        this.status = layout.column("status", RequestStatus.class);
+        this.createdDate = layout.column("created_date", Instant.class);
+        this.resolvedDate = layout.column("resolved_date", Instant.class);
+        this.citizenId = layout.column("citizen_id", Long.class);
+        this.municipalityId = layout.column("municipality_id", Long.class);
+        this.version = layout.column("version", Long.class);
     }
 
     /**
@@ -25,15 +52,17 @@ public class RequestRowMapper implements BiFunction<Row, String, Request> {
      */
     @Override
     public Request apply(Row row, String prefix) {
+        RowLayout.Plan plan = layout.plan(row, prefix);
         Request entity = new Request();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setType(converter.fromRow(row, prefix + "_type", String.class));
-        entity.setDescription(converter.fromRow(row, prefix + "_description", String.class));
-        entity.setStatus(converter.fromRow(row, prefix + "_status", RequestStatus.class));
-        entity.setCreatedDate(converter.fromRow(row, prefix + "_created_date", Instant.class));
-        entity.setResolvedDate(converter.fromRow(row, prefix + "_resolved_date", Instant.class));
-        entity.setCitizenId(converter.fromRow(row, prefix + "_citizen_id", Long.class));
-        entity.setMunicipalityId(converter.fromRow(row, prefix + "_municipality_id", Long.class));
+        entity.setId(id.read(row, plan));
+        entity.setType(type.read(row, plan));
+        entity.setDescription(description.read(row, plan));
+        entity.setStatus(status.read(row, plan));
+        entity.setCreatedDate(createdDate.read(row, plan));
+        entity.setResolvedDate(resolvedDate.read(row, plan));
+        entity.setCitizenId(citizenId.read(row, plan));
+        entity.setMunicipalityId(municipalityId.read(row, plan));
+        entity.setVersion(version.read(row, plan));
         return entity;
     }
 }
@@ -0,0 +1,147 @@
+package com.example.gateway.repository.rowmapper;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The columns a row mapper reads, by index.
+ * <p>
+ * The position of each column in the rows of a query, and whether the driver decodes it to the target type or the
+ * {@link ColumnConverter} has to convert it, are resolved on the first row of the query, which is shared by all its
+ * rows through their {@link RowMetadata}. The other rows are then read without building a column name, looking it up
+ * or failing a decode.
+ */
+public class RowLayout {
+
+    /**
+     * Plans of the last queries, by {@link RowMetadata} instance: enough for a few queries mapped at once.
+     */
+    private static final int PLANS = 4;
+
+    private static final byte DRIVER = 1;
+    private static final byte CONVERTER = 2;
+
+    private final ColumnConverter converter;
+
+    private final List<Column<?>> columns = new ArrayList<>();
+
+    // racy on purpose: a plan lost or overwritten by another thread is only resolved again
+    private final Plan[] plans = new Plan[PLANS];
+
+    private int nextPlan;
+
+    public RowLayout(ColumnConverter converter) {
+        this.converter = converter;
+    }
+
+    /**
+     * Declares a column, read from {@code <prefix>_<name>}.
+     * @param name the name of the column, without prefix.
+     * @param target the type of the entity field.
+     * @param <T> the type of the entity field.
+     * @return the handle to read the column.
+     */
+    public <T> Column<T> column(String name, Class<T> target) {
+        Column<T> column = new Column<>(columns.size(), name, target);
+        columns.add(column);
+        return column;
+    }
+
+    /**
+     * @param row the row to map.
+     * @param prefix the prefix of the columns.
+     * @return how to read the columns of the rows of this query.
+     */
+    public Plan plan(Row row, String prefix) {
+        RowMetadata metadata = row.getMetadata();
+        for (Plan plan : plans) {
+            if (plan != null && plan.metadata == metadata && plan.prefix.equals(prefix)) {
+                return plan;
+            }
+        }
+        Plan plan = new Plan(metadata, prefix);
+        plans[nextPlan] = plan;
+        nextPlan = (nextPlan + 1) % PLANS;
+        return plan;
+    }
+
+    public final class Plan {
+
+        private final RowMetadata metadata;
+
+        private final String prefix;
+
+        private final int[] indexes;
+
+        private final byte[] readers;
+
+        private Plan(RowMetadata metadata, String prefix) {
+            this.metadata = metadata;
+            this.prefix = prefix;
+            this.indexes = new int[columns.size()];
+            this.readers = new byte[columns.size()];
+            List<? extends ColumnMetadata> columnMetadatas = metadata.getColumnMetadatas();
+            for (Column<?> column : columns) {
+                String name = prefix + "_" + column.name;
+                indexes[column.ordinal] = -1;
+                for (int index = 0; index < columnMetadatas.size(); index++) {
+                    if (columnMetadatas.get(index).getName().equalsIgnoreCase(name)) {
+                        indexes[column.ordinal] = index;
+                        break;
+                    }
+                }
+            }
+        }
+
+        private <T> T read(Row row, Column<T> column) {
+            int index = indexes[column.ordinal];
+            if (index < 0) {
+                return null;
+            }
+            switch (readers[column.ordinal]) {
+                case DRIVER:
+                    return row.get(index, column.target);
+                case CONVERTER:
+                    return converter.convert(row.get(index), column.target);
+                default:
+                    try {
+                        T value = row.get(index, column.target);
+                        if (value != null) {
+                            readers[column.ordinal] = DRIVER;
+                        }
+                        return value;
+                    } catch (Exception e) {
+                        readers[column.ordinal] = CONVERTER;
+                        return converter.convert(row.get(index), column.target);
+                    }
+            }
+        }
+    }
+
+    public static final class Column<T> {
+
+        private final int ordinal;
+
+        private final String name;
+
+        private final Class<T> target;
+
+        private Column(int ordinal, String name, Class<T> target) {
+            this.ordinal = ordinal;
+            this.name = name;
+            this.target = target;
+        }
+
+        /**
+         * @param row the row to map.
+         * @param plan the plan of the query of the row.
+         * @return the value of the column, or {@code null} if it was not selected.
+         */
+        public T read(Row row, Plan plan) {
+            return plan.read(row, this);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.gateway.security;
 
-import com.example.gateway.repository.AppUserRepository;
+import com.example.gateway.repository.AppUserCache;
 import org.springframework.context.annotation.Primary;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -17,15 +17,15 @@ import java.util.List;
 @Primary
 public class DatabaseReactiveUserDetailsService implements ReactiveUserDetailsService {
 
-    private final AppUserRepository appUserRepository;
+    private final AppUserCache appUserCache;
 
-    public DatabaseReactiveUserDetailsService(AppUserRepository appUserRepository) {
-        this.appUserRepository = appUserRepository;
+    public DatabaseReactiveUserDetailsService(AppUserCache appUserCache) {
+        this.appUserCache = appUserCache;
     }
 
     @Override
     public Mono<UserDetails> findByUsername(String username) {
-        return appUserRepository
+        return appUserCache
             .findByCin(username)
             .map(appUser -> {
                 Collection<? extends GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(appUser.getRole()));
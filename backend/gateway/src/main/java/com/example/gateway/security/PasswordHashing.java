@@ -0,0 +1,71 @@
+package com.example.gateway.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Runs password hashing and verification on a dedicated pool of {@code threads} threads, off the Netty event loop.
+ * <p>
+ * A BCrypt check costs about 100 ms of CPU: run on the event loop, a burst of logins would delay every route of the
+ * gateway. At most {@code queueCapacity} operations wait for a thread; beyond that they are rejected with a
+ * {@link PasswordHashingBusyException}, answered with {@code 503 (Service Unavailable)}, so that a login storm only slows
+ * down logins.
+ * <p>
+ * The pool is published to Micrometer under {@code name=passwordHashing}: {@code executor.queued} for the queue depth,
+ * {@code executor.idle} for the time spent in the queue and {@code executor} for the hashing time.
+ */
+public class PasswordHashing {
+
+    public static final String NAME = "passwordHashing";
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final Scheduler scheduler;
+
+    public PasswordHashing(PasswordEncoder passwordEncoder, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hashing-");
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            threadFactory
+        );
+        this.scheduler = Schedulers.fromExecutorService(ExecutorServiceMetrics.monitor(meterRegistry, executor, NAME), NAME);
+    }
+
+    /**
+     * @return the scheduler of the pool, for code that calls the {@link PasswordEncoder} itself.
+     */
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    public Mono<String> encode(CharSequence rawPassword) {
+        return whenAvailable(Mono.fromCallable(() -> passwordEncoder.encode(rawPassword)).subscribeOn(scheduler));
+    }
+
+    /**
+     * Maps the rejection of a task of the pool, signalled by a publisher running on {@link #getScheduler()}, to a
+     * {@link PasswordHashingBusyException}.
+     */
+    public static <T> Mono<T> whenAvailable(Mono<T> hashing) {
+        return hashing.onErrorMap(RejectedExecutionException.class, PasswordHashingBusyException::new);
+    }
+
+    public void dispose() {
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.gateway.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the {@link PasswordHashing} pool has no room left for a password check.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Too many password checks in progress")
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingBusyException(Throwable cause) {
+        super("Too many password checks in progress", cause);
+    }
+}
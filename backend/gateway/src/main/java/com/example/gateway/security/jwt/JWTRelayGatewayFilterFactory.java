@@ -2,13 +2,26 @@ package com.example.gateway.security.jwt;
 
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 
+import com.example.gateway.management.SecurityMetersService;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
 
+/**
+ * Relays the bearer token of the request to the services.
+ * <p>
+ * The resource server has already verified the token of an authenticated request: its {@link JwtAuthenticationToken}
+ * is reused from the security context, and the token is only decoded again when the request was not authenticated with
+ * it.
+ */
 @Component
 public class JWTRelayGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
 
@@ -16,8 +29,11 @@ public class JWTRelayGatewayFilterFactory extends AbstractGatewayFilterFactory<O
 
     private ReactiveJwtDecoder jwtDecoder;
 
-    public JWTRelayGatewayFilterFactory(ReactiveJwtDecoder jwtDecoder) {
+    private SecurityMetersService metersService;
+
+    public JWTRelayGatewayFilterFactory(ReactiveJwtDecoder jwtDecoder, SecurityMetersService metersService) {
         this.jwtDecoder = jwtDecoder;
+        this.metersService = metersService;
     }
 
     @Override
@@ -29,10 +45,27 @@ public class JWTRelayGatewayFilterFactory extends AbstractGatewayFilterFactory<O
                 return chain.filter(exchange);
             }
             String token = this.extractToken(bearerToken);
-            return jwtDecoder.decode(token).thenReturn(withBearerAuth(exchange, token)).flatMap(chain::filter);
+            return authenticatedJwt(token)
+                .doOnNext(jwt -> metersService.trackTokenRelayReused())
+                .switchIfEmpty(
+                    Mono.defer(() -> {
+                        metersService.trackTokenRelayDecoded();
+                        return jwtDecoder.decode(token);
+                    })
+                )
+                .thenReturn(withBearerAuth(exchange, token))
+                .flatMap(chain::filter);
         };
     }
 
+    private Mono<Jwt> authenticatedJwt(String token) {
+        return ReactiveSecurityContextHolder.getContext()
+            .map(SecurityContext::getAuthentication)
+            .filter(JwtAuthenticationToken.class::isInstance)
+            .map(authentication -> ((JwtAuthenticationToken) authentication).getToken())
+            .filter(jwt -> token.equals(jwt.getTokenValue()));
+    }
+
     private String extractToken(String bearerToken) {
         if (StringUtils.hasText(bearerToken) && bearerToken.length() > 7 && bearerToken.startsWith(BEARER)) {
             return bearerToken.substring(7);
@@ -1,5 +1,7 @@
 package com.example.gateway.service;
 
+import com.example.gateway.domain.criteria.AppUserCriteria;
+import com.example.gateway.repository.Keyset;
 import com.example.gateway.service.dto.AppUserDTO;
 import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
@@ -41,6 +43,42 @@ public interface AppUserService {
      */
     Flux<AppUserDTO> findAll(Pageable pageable);
 
+    /**
+     * Get the appUsers after a keyset position.
+     *
+     * @param keyset the position after which the page starts.
+     * @param size the maximum number of entities to return.
+     * @return the list of entities.
+     */
+    Flux<AppUserDTO> findAll(Keyset keyset, int size);
+
+    /**
+     * Get a page of the appUsers matching the criteria, filtered by the database.
+     *
+     * @param criteria the filters of the appUsers.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<AppUserDTO> findByCriteria(AppUserCriteria criteria, Pageable pageable);
+
+    /**
+     * Get the appUsers matching the criteria after a keyset position.
+     *
+     * @param criteria the filters of the appUsers.
+     * @param keyset the position after which the page starts.
+     * @param size the maximum number of entities to return.
+     * @return the list of entities.
+     */
+    Flux<AppUserDTO> findByCriteria(AppUserCriteria criteria, Keyset keyset, int size);
+
+    /**
+     * Returns the number of appUsers matching the criteria.
+     *
+     * @param criteria the filters of the appUsers.
+     * @return the number of matching entities in the database.
+     */
+    Mono<Long> countByCriteria(AppUserCriteria criteria);
+
     /**
      * Returns the number of appUsers available.
      * @return the number of entities in the database.
@@ -1,5 +1,7 @@
 package com.example.gateway.service;
 
+import com.example.gateway.domain.criteria.DocumentCriteria;
+import com.example.gateway.repository.Keyset;
 import com.example.gateway.service.dto.DocumentDTO;
 import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
@@ -41,6 +43,42 @@ public interface DocumentService {
      */
     Flux<DocumentDTO> findAll(Pageable pageable);
 
+    /**
+     * Get the documents after a keyset position.
+     *
+     * @param keyset the position after which the page starts.
+     * @param size the maximum number of entities to return.
+     * @return the list of entities.
+     */
+    Flux<DocumentDTO> findAll(Keyset keyset, int size);
+
+    /**
+     * Get a page of the documents matching the criteria, filtered by the database.
+     *
+     * @param criteria the filters of the documents.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<DocumentDTO> findByCriteria(DocumentCriteria criteria, Pageable pageable);
+
+    /**
+     * Get the documents matching the criteria after a keyset position.
+     *
+     * @param criteria the filters of the documents.
+     * @param keyset the position after which the page starts.
+     * @param size the maximum number of entities to return.
+     * @return the list of entities.
+     */
+    Flux<DocumentDTO> findByCriteria(DocumentCriteria criteria, Keyset keyset, int size);
+
+    /**
+     * Returns the number of documents matching the criteria.
+     *
+     * @param criteria the filters of the documents.
+     * @return the number of matching entities in the database.
+     */
+    Mono<Long> countByCriteria(DocumentCriteria criteria);
+
     /**
      * Returns the number of documents available.
      * @return the number of entities in the database.
@@ -1,5 +1,6 @@
 package com.example.gateway.service;
 
+import com.example.gateway.repository.Keyset;
 import com.example.gateway.service.dto.MunicipalityDTO;
 import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
@@ -41,6 +42,15 @@ public interface MunicipalityService {
      */
     Flux<MunicipalityDTO> findAll(Pageable pageable);
 
+    /**
+     * Get the municipalities after a keyset position.
+     *
+     * @param keyset the position after which the page starts.
+     * @param size the maximum number of entities to return.
+     * @return the list of entities.
+     */
+    Flux<MunicipalityDTO> findAll(Keyset keyset, int size);
+
     /**
      * Returns the number of municipalities available.
      * @return the number of entities in the database.
@@ -0,0 +1,116 @@
+package com.example.gateway.service;
+
+import com.example.gateway.domain.Request;
+import com.example.gateway.domain.enumeration.RequestChangeType;
+import com.example.gateway.repository.RequestRepository;
+import com.example.gateway.repository.TotalCountStrategy;
+import com.example.gateway.service.dto.RequestChangeEventDTO;
+import com.example.gateway.service.mapper.RequestMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+/**
+ * Projects the changes of requests published by the request service onto the {@code request} table of the gateway.
+ * <p>
+ * A batch is applied in one transaction, with one statement per kind of change: the latest event of each request wins,
+ * a request is only written if its version is newer than the one held, and only deleted if its version is not older,
+ * so a batch replayed after a failure, or events received out of order, leave the table as it was.
+ * <p>
+ * The gateway does not write the requests otherwise, see {@link RequestServiceClient}: the table only holds the ids of
+ * the request service.
+ */
+@Service
+@Transactional
+public class RequestChangeProjector {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestChangeProjector.class);
+
+    private final RequestRepository requestRepository;
+
+    private final RequestMapper requestMapper;
+
+    private final TotalCountStrategy totalCountStrategy;
+
+    private final Counter appliedCounter;
+
+    private final Timer lagTimer;
+
+    private final Timer batchTimer;
+
+    public RequestChangeProjector(
+        RequestRepository requestRepository,
+        RequestMapper requestMapper,
+        TotalCountStrategy totalCountStrategy,
+        MeterRegistry meterRegistry
+    ) {
+        this.requestRepository = requestRepository;
+        this.requestMapper = requestMapper;
+        this.totalCountStrategy = totalCountStrategy;
+        this.appliedCounter = Counter.builder("request.projection.applied")
+            .description("Changes of requests applied to the read model of the gateway")
+            .baseUnit("events")
+            .register(meterRegistry);
+        this.lagTimer = Timer.builder("request.projection.lag")
+            .description("Delay between a change of a request in the request service and its projection")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder("request.projection.batch")
+            .description("Time to apply a batch of changes of requests")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Apply a batch of changes of requests.
+     *
+     * @param events the changes, in any order.
+     * @return the number of requests changed by the batch.
+     */
+    public Mono<Integer> apply(List<RequestChangeEventDTO> events) {
+        LOG.debug("Request to apply {} changes of requests", events.size());
+        Map<Long, RequestChangeEventDTO> latest = new LinkedHashMap<>();
+        events
+            .stream()
+            .sorted(Comparator.comparing(RequestChangeEventDTO::getPosition))
+            .forEach(event -> latest.put(event.getRequestId(), event));
+        List<Request> upserts = latest
+            .values()
+            .stream()
+            .filter(event -> event.getType() != RequestChangeType.DELETED)
+            .map(event -> requestMapper.toEntity(event.getRequest()))
+            .toList();
+        List<Request> deletes = latest
+            .values()
+            .stream()
+            .filter(event -> event.getType() == RequestChangeType.DELETED)
+            .map(event -> new Request().id(event.getRequestId()).version(event.getVersion()))
+            .toList();
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return requestRepository
+                .upsertAll(upserts)
+                .then(requestRepository.deleteAllUpToVersion(deletes))
+                .then(
+                    Mono.fromSupplier(() -> {
+                        totalCountStrategy.invalidate(Request.class);
+                        Instant now = Instant.now();
+                        events.forEach(event -> lagTimer.record(Duration.between(event.getOccurredDate(), now)));
+                        appliedCounter.increment(events.size());
+                        batchTimer.record(Duration.ofNanos(System.nanoTime() - start));
+                        return latest.size();
+                    })
+                );
+        });
+    }
+}
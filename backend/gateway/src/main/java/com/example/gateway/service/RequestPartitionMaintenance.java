@@ -0,0 +1,55 @@
+package com.example.gateway.service;
+
+import com.example.gateway.config.ApplicationProperties;
+import com.example.gateway.repository.RequestRepository;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Maintains the monthly partitions of the {@code request} table, the read model of the requests: the partitions of the
+ * next months are created before they are needed, so projected requests do not land in the default partition, and the
+ * partitions older than the retention are detached, or dropped.
+ * <p>
+ * A change of a request of a detached month, projected afterwards, goes to the default partition.
+ */
+@Service
+public class RequestPartitionMaintenance {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestPartitionMaintenance.class);
+
+    private final RequestRepository requestRepository;
+
+    private final ApplicationProperties.Partitions properties;
+
+    public RequestPartitionMaintenance(RequestRepository requestRepository, ApplicationProperties applicationProperties) {
+        this.requestRepository = requestRepository;
+        this.properties = applicationProperties.getPartitions();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${application.partitions.cron:0 0 3 * * *}")
+    public Mono<Void> scheduledMaintain() {
+        return maintain()
+            .onErrorResume(e -> {
+                LOG.error("Could not maintain the partitions of the requests, retrying on the next schedule: {}", e.getMessage());
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    /**
+     * @return what was done, one line per partition.
+     */
+    public Mono<List<String>> maintain() {
+        return requestRepository
+            .maintainPartitions(properties.getMonthsAhead(), properties.getRetentionMonths(), properties.isDropExpired())
+            .doOnNext(action -> LOG.info("Partitions of the requests: {}", action))
+            .collectList();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.gateway.service;
 
+import com.example.gateway.domain.criteria.RequestCriteria;
+import com.example.gateway.repository.Keyset;
 import com.example.gateway.service.dto.RequestDTO;
 import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
@@ -26,7 +28,8 @@ public interface RequestService {
     Mono<RequestDTO> update(RequestDTO requestDTO);
 
     /**
-     * Partially updates a request.
+     * Partially updates a request: only its non-null fields are written. If it has a version, the update only applies to
+     * that version of the request, and fails with a {@code 409 (Conflict)} if the request was updated since.
      *
      * @param requestDTO the entity to update partially.
      * @return the persisted entity.
@@ -41,8 +44,78 @@ public interface RequestService {
      */
     Flux<RequestDTO> findAll(Pageable pageable);
 
+    /**
+     * Get the requests after a keyset position.
+     *
+     * @param keyset the position after which the page starts.
+     * @param size the maximum number of entities to return.
+     * @return the list of entities.
+     */
+    Flux<RequestDTO> findAll(Keyset keyset, int size);
+
+    /**
+     * Get a page of the requests of a citizen.
+     *
+     * @param citizenId the id of the citizen.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
     Flux<RequestDTO> findAllByCitizenId(Long citizenId, Pageable pageable);
 
+    /**
+     * Get the requests of a citizen after a keyset position.
+     *
+     * @param citizenId the id of the citizen.
+     * @param keyset the position after which the page starts.
+     * @param size the maximum number of requests to return.
+     * @return the list of entities.
+     */
+    Flux<RequestDTO> findAllByCitizenId(Long citizenId, Keyset keyset, int size);
+
+    /**
+     * Returns the number of requests of a citizen.
+     *
+     * @param citizenId the id of the citizen.
+     * @return the number of entities in the database.
+     */
+    Mono<Long> countByCitizenId(Long citizenId);
+
+    /**
+     * Get a page of the requests matching the criteria, filtered by the database.
+     *
+     * @param criteria the filters of the requests.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<RequestDTO> findByCriteria(RequestCriteria criteria, Pageable pageable);
+
+    /**
+     * Get the requests matching the criteria after a keyset position.
+     *
+     * @param criteria the filters of the requests.
+     * @param keyset the position after which the page starts.
+     * @param size the maximum number of entities to return.
+     * @return the list of entities.
+     */
+    Flux<RequestDTO> findByCriteria(RequestCriteria criteria, Keyset keyset, int size);
+
+    /**
+     * Stream the requests matching the criteria, as they are read from the database.
+     *
+     * @param criteria the filters of the requests.
+     * @param pageable the pagination information, or an unpaged {@link Pageable} to stream all the requests.
+     * @return the entities, without any transaction held while they are consumed.
+     */
+    Flux<RequestDTO> streamByCriteria(RequestCriteria criteria, Pageable pageable);
+
+    /**
+     * Returns the number of requests matching the criteria.
+     *
+     * @param criteria the filters of the requests.
+     * @return the number of matching entities in the database.
+     */
+    Mono<Long> countByCriteria(RequestCriteria criteria);
+
     /**
      * Returns the number of requests available.
      * @return the number of entities in the database.
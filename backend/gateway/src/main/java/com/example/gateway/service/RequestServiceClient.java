@@ -0,0 +1,116 @@
+package com.example.gateway.service;
+
+import com.example.gateway.config.ApplicationProperties;
+import com.example.gateway.service.dto.RequestDTO;
+import java.util.Optional;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Service;
+import org.springframework.web.ErrorResponseException;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.rest.errors.ProblemDetailWithCause.ProblemDetailWithCauseBuilder;
+
+/**
+ * Sends the changes of requests to the request service, which owns them: the {@code request} table of the gateway is
+ * only their read model, written by the {@link RequestChangeProjector} once the request service publishes the changes.
+ * <p>
+ * The token of the current user is relayed, as by the routes of the gateway, and the errors of the request service are
+ * answered with their status and message.
+ */
+@Service
+public class RequestServiceClient {
+
+    private static final String API_URL = "/api/requests";
+
+    private static final String API_URL_ID = API_URL + "/{id}";
+
+    private static final MediaType MERGE_PATCH_JSON = MediaType.valueOf("application/merge-patch+json");
+
+    private static final String PATH_PROPERTY = "path";
+
+    private final WebClient webClient;
+
+    public RequestServiceClient(@LoadBalanced WebClient.Builder webClientBuilder, ApplicationProperties applicationProperties) {
+        this.webClient = webClientBuilder.baseUrl(applicationProperties.getRequestService().getUrl()).build();
+    }
+
+    public Mono<RequestDTO> create(RequestDTO requestDTO) {
+        return exchange(webClient.post().uri(API_URL).contentType(MediaType.APPLICATION_JSON).bodyValue(requestDTO));
+    }
+
+    public Mono<RequestDTO> update(RequestDTO requestDTO) {
+        return exchange(webClient.put().uri(API_URL_ID, requestDTO.getId()).contentType(MediaType.APPLICATION_JSON).bodyValue(requestDTO));
+    }
+
+    public Mono<RequestDTO> partialUpdate(RequestDTO requestDTO) {
+        return exchange(webClient.patch().uri(API_URL_ID, requestDTO.getId()).contentType(MERGE_PATCH_JSON).bodyValue(requestDTO));
+    }
+
+    public Mono<Void> delete(Long id) {
+        return bearerToken()
+            .flatMap(token ->
+                webClient
+                    .delete()
+                    .uri(API_URL_ID, id)
+                    .headers(headers -> token.ifPresent(headers::setBearerAuth))
+                    .retrieve()
+                    .onStatus(HttpStatusCode::isError, RequestServiceClient::toErrorResponse)
+                    .toBodilessEntity()
+            )
+            .then();
+    }
+
+    private Mono<RequestDTO> exchange(WebClient.RequestHeadersSpec<?> request) {
+        return bearerToken()
+            .flatMap(token ->
+                request
+                    .headers(headers -> token.ifPresent(headers::setBearerAuth))
+                    .retrieve()
+                    .onStatus(HttpStatusCode::isError, RequestServiceClient::toErrorResponse)
+                    .bodyToMono(RequestDTO.class)
+            );
+    }
+
+    private static Mono<Optional<String>> bearerToken() {
+        return ReactiveSecurityContextHolder.getContext()
+            .map(SecurityContext::getAuthentication)
+            .filter(JwtAuthenticationToken.class::isInstance)
+            .map(authentication -> Optional.of(((JwtAuthenticationToken) authentication).getToken().getTokenValue()))
+            .defaultIfEmpty(Optional.empty());
+    }
+
+    /**
+     * The problem of the request service, without its path, which is replaced by the one of the gateway.
+     */
+    private static Mono<Throwable> toErrorResponse(ClientResponse response) {
+        HttpStatusCode status = response.statusCode();
+        return response
+            .bodyToMono(ProblemDetail.class)
+            .onErrorResume(e -> Mono.empty())
+            .defaultIfEmpty(ProblemDetail.forStatus(status))
+            .map(problem -> {
+                ProblemDetailWithCauseBuilder builder = ProblemDetailWithCauseBuilder.instance()
+                    .withStatus(status.value())
+                    .withType(problem.getType())
+                    .withTitle(problem.getTitle())
+                    .withDetail(problem.getDetail());
+                if (problem.getProperties() != null) {
+                    problem
+                        .getProperties()
+                        .forEach((name, value) -> {
+                            if (!PATH_PROPERTY.equals(name)) {
+                                builder.withProperty(name, value);
+                            }
+                        });
+                }
+                return new ErrorResponseException(status, builder.build(), null);
+            });
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.gateway.service.dto;
+
+import com.example.gateway.domain.enumeration.RequestChangeType;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A DTO for a change of a request of the request service, as published from its outbox to the read model of the
+ * gateway.
+ * <p>
+ * The event carries the state of the request when it was published rather than when it changed, so applying only the
+ * requests whose version is newer than the one held converges to the same state whatever the order or the repetition
+ * of the events.
+ */
+public class RequestChangeEventDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long position;
+
+    private RequestChangeType type;
+
+    private Long requestId;
+
+    private Instant occurredDate;
+
+    private Long version;
+
+    private RequestDTO request;
+
+    public RequestChangeEventDTO() {}
+
+    public RequestChangeEventDTO(
+        Long position,
+        RequestChangeType type,
+        Long requestId,
+        Instant occurredDate,
+        Long version,
+        RequestDTO request
+    ) {
+        this.position = position;
+        this.type = type;
+        this.requestId = requestId;
+        this.occurredDate = occurredDate;
+        this.version = version;
+        this.request = request;
+    }
+
+    /**
+     * @return the position of the event in the outbox, increasing in the order the changes were written.
+     */
+    public Long getPosition() {
+        return position;
+    }
+
+    public void setPosition(Long position) {
+        this.position = position;
+    }
+
+    public RequestChangeType getType() {
+        return type;
+    }
+
+    public void setType(RequestChangeType type) {
+        this.type = type;
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(Long requestId) {
+        this.requestId = requestId;
+    }
+
+    /**
+     * @return when the oldest of the changes published by the event was written.
+     */
+    public Instant getOccurredDate() {
+        return occurredDate;
+    }
+
+    public void setOccurredDate(Instant occurredDate) {
+        this.occurredDate = occurredDate;
+    }
+
+    /**
+     * @return the version of the request when published, or when it was deleted; {@code null} for a deletion of an
+     * unknown version, which applies whatever the version held.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * @return the request as it is when published, or {@code null} if it was deleted.
+     */
+    public RequestDTO getRequest() {
+        return request;
+    }
+
+    public void setRequest(RequestDTO request) {
+        this.request = request;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RequestChangeEventDTO)) {
+            return false;
+        }
+
+        RequestChangeEventDTO requestChangeEventDTO = (RequestChangeEventDTO) o;
+        if (this.position == null) {
+            return false;
+        }
+        return Objects.equals(this.position, requestChangeEventDTO.position);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.position);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RequestChangeEventDTO{" +
+            "position=" + getPosition() +
+            ", type='" + getType() + "'" +
+            ", requestId=" + getRequestId() +
+            ", occurredDate='" + getOccurredDate() + "'" +
+            ", version=" + getVersion() +
+            ", request=" + getRequest() +
+            "}";
+    }
+}
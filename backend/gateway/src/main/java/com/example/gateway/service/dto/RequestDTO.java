@@ -31,6 +31,8 @@ public class RequestDTO implements Serializable {
 
     private Long municipalityId;
 
+    private Long version;
+
     private String citizenFirstName;
     private String citizenLastName;
     private String citizenEmail;
@@ -101,6 +103,14 @@ public class RequestDTO implements Serializable {
         this.municipalityId = municipalityId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getCitizenFirstName() {
         return citizenFirstName;
     }
@@ -174,6 +184,7 @@ public class RequestDTO implements Serializable {
             ", resolvedDate='" + getResolvedDate() + "'" +
             ", citizenId=" + getCitizenId() +
             ", municipalityId=" + getMunicipalityId() +
+            ", version=" + getVersion() +
             ", citizenFirstName='" + getCitizenFirstName() + "'" +
             ", citizenLastName='" + getCitizenLastName() + "'" +
             ", citizenEmail='" + getCitizenEmail() + "'" +
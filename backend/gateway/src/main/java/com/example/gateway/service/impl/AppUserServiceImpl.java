@@ -1,12 +1,17 @@
 package com.example.gateway.service.impl;
 
+import com.example.gateway.domain.AppUser;
+import com.example.gateway.domain.criteria.AppUserCriteria;
+import com.example.gateway.repository.AppUserCache;
 import com.example.gateway.repository.AppUserRepository;
+import com.example.gateway.repository.Keyset;
+import com.example.gateway.repository.TotalCountStrategy;
+import com.example.gateway.security.PasswordHashing;
 import com.example.gateway.service.AppUserService;
 import com.example.gateway.service.dto.AppUserDTO;
 import com.example.gateway.service.mapper.AppUserMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,12 +31,24 @@ public class AppUserServiceImpl implements AppUserService {
 
     private final AppUserMapper appUserMapper;
 
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashing passwordHashing;
 
-    public AppUserServiceImpl(AppUserRepository appUserRepository, AppUserMapper appUserMapper, PasswordEncoder passwordEncoder) {
+    private final TotalCountStrategy totalCountStrategy;
+
+    private final AppUserCache appUserCache;
+
+    public AppUserServiceImpl(
+        AppUserRepository appUserRepository,
+        AppUserMapper appUserMapper,
+        PasswordHashing passwordHashing,
+        TotalCountStrategy totalCountStrategy,
+        AppUserCache appUserCache
+    ) {
         this.appUserRepository = appUserRepository;
         this.appUserMapper = appUserMapper;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashing = passwordHashing;
+        this.totalCountStrategy = totalCountStrategy;
+        this.appUserCache = appUserCache;
     }
 
     @Override
@@ -39,14 +56,11 @@ public class AppUserServiceImpl implements AppUserService {
         LOG.debug("Request to save AppUser : {}", appUserDTO);
         return appUserRepository
             .save(appUserMapper.toEntity(appUserDTO))
-            .map(entity -> {
-                if (appUserDTO.getPassword() != null && !appUserDTO.getPassword().isEmpty()) {
-                    entity.setPasswordHash(passwordEncoder.encode(appUserDTO.getPassword()));
-                }
-                return entity;
-            })
+            .flatMap(entity -> withPasswordHash(entity, appUserDTO))
             .flatMap(appUserRepository::save)
-            .map(appUserMapper::toDto);
+            .doOnNext(saved -> appUserCache.evict(saved.getId()))
+            .map(appUserMapper::toDto)
+            .doOnSuccess(saved -> totalCountStrategy.invalidate(AppUser.class));
     }
 
     @Override
@@ -54,13 +68,9 @@ public class AppUserServiceImpl implements AppUserService {
         LOG.debug("Request to update AppUser : {}", appUserDTO);
         return appUserRepository
             .save(appUserMapper.toEntity(appUserDTO))
-            .map(entity -> {
-                if (appUserDTO.getPassword() != null && !appUserDTO.getPassword().isEmpty()) {
-                    entity.setPasswordHash(passwordEncoder.encode(appUserDTO.getPassword()));
-                }
-                return entity;
-            })
+            .flatMap(entity -> withPasswordHash(entity, appUserDTO))
             .flatMap(appUserRepository::save)
+            .doOnNext(updated -> appUserCache.evict(updated.getId()))
             .map(appUserMapper::toDto);
     }
 
@@ -76,6 +86,7 @@ public class AppUserServiceImpl implements AppUserService {
                 return existingAppUser;
             })
             .flatMap(appUserRepository::save)
+            .doOnNext(updated -> appUserCache.evict(updated.getId()))
             .map(appUserMapper::toDto);
     }
 
@@ -86,20 +97,66 @@ public class AppUserServiceImpl implements AppUserService {
         return appUserRepository.findAllBy(pageable).map(appUserMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<AppUserDTO> findAll(Keyset keyset, int size) {
+        LOG.debug("Request to get AppUsers after {}", keyset);
+        return appUserRepository.findAllBy(keyset, size).map(appUserMapper::toDto);
+    }
+
     public Mono<Long> countAll() {
-        return appUserRepository.count();
+        return totalCountStrategy.count(AppUser.class, appUserRepository::count);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<AppUserDTO> findByCriteria(AppUserCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to get AppUsers by criteria : {}", criteria);
+        return appUserRepository.findByCriteria(criteria, pageable).map(appUserMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<AppUserDTO> findByCriteria(AppUserCriteria criteria, Keyset keyset, int size) {
+        LOG.debug("Request to get AppUsers by criteria : {} after {}", criteria, keyset);
+        return appUserRepository.findByCriteria(criteria, keyset, size).map(appUserMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(AppUserCriteria criteria) {
+        if (criteria.equals(new AppUserCriteria())) {
+            // unfiltered: the count of the whole table may be estimated or cached
+            return countAll();
+        }
+        return appUserRepository.countByCriteria(criteria);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Mono<AppUserDTO> findOne(Long id) {
         LOG.debug("Request to get AppUser : {}", id);
-        return appUserRepository.findById(id).map(appUserMapper::toDto);
+        return appUserCache.findById(id).map(appUserMapper::toDto);
+    }
+
+    /**
+     * Hashes the password of the DTO, if any, into the entity, on the {@link PasswordHashing} pool.
+     */
+    private Mono<AppUser> withPasswordHash(AppUser entity, AppUserDTO appUserDTO) {
+        if (appUserDTO.getPassword() == null || appUserDTO.getPassword().isEmpty()) {
+            return Mono.just(entity);
+        }
+        return passwordHashing.encode(appUserDTO.getPassword()).map(entity::passwordHash);
     }
 
     @Override
     public Mono<Void> delete(Long id) {
         LOG.debug("Request to delete AppUser : {}", id);
-        return appUserRepository.deleteById(id);
+        return appUserRepository
+            .deleteById(id)
+            .doOnSuccess(deleted -> {
+                appUserCache.evict(id);
+                totalCountStrategy.invalidate(AppUser.class);
+            });
     }
 }
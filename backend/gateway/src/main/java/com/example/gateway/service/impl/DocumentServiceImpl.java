@@ -1,6 +1,10 @@
 package com.example.gateway.service.impl;
 
+import com.example.gateway.domain.Document;
+import com.example.gateway.domain.criteria.DocumentCriteria;
 import com.example.gateway.repository.DocumentRepository;
+import com.example.gateway.repository.Keyset;
+import com.example.gateway.repository.TotalCountStrategy;
 import com.example.gateway.service.DocumentService;
 import com.example.gateway.service.dto.DocumentDTO;
 import com.example.gateway.service.mapper.DocumentMapper;
@@ -25,15 +29,25 @@ public class DocumentServiceImpl implements DocumentService {
 
     private final DocumentMapper documentMapper;
 
-    public DocumentServiceImpl(DocumentRepository documentRepository, DocumentMapper documentMapper) {
+    private final TotalCountStrategy totalCountStrategy;
+
+    public DocumentServiceImpl(
+        DocumentRepository documentRepository,
+        DocumentMapper documentMapper,
+        TotalCountStrategy totalCountStrategy
+    ) {
         this.documentRepository = documentRepository;
         this.documentMapper = documentMapper;
+        this.totalCountStrategy = totalCountStrategy;
     }
 
     @Override
     public Mono<DocumentDTO> save(DocumentDTO documentDTO) {
         LOG.debug("Request to save Document : {}", documentDTO);
-        return documentRepository.save(documentMapper.toEntity(documentDTO)).map(documentMapper::toDto);
+        return documentRepository
+            .save(documentMapper.toEntity(documentDTO))
+            .map(documentMapper::toDto)
+            .doOnSuccess(saved -> totalCountStrategy.invalidate(Document.class));
     }
 
     @Override
@@ -64,8 +78,39 @@ public class DocumentServiceImpl implements DocumentService {
         return documentRepository.findAllBy(pageable).map(documentMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<DocumentDTO> findAll(Keyset keyset, int size) {
+        LOG.debug("Request to get Documents after {}", keyset);
+        return documentRepository.findAllBy(keyset, size).map(documentMapper::toDto);
+    }
+
     public Mono<Long> countAll() {
-        return documentRepository.count();
+        return totalCountStrategy.count(Document.class, documentRepository::count);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<DocumentDTO> findByCriteria(DocumentCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to get Documents by criteria : {}", criteria);
+        return documentRepository.findByCriteria(criteria, pageable).map(documentMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<DocumentDTO> findByCriteria(DocumentCriteria criteria, Keyset keyset, int size) {
+        LOG.debug("Request to get Documents by criteria : {} after {}", criteria, keyset);
+        return documentRepository.findByCriteria(criteria, keyset, size).map(documentMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(DocumentCriteria criteria) {
+        if (criteria.equals(new DocumentCriteria())) {
+            // unfiltered: the count of the whole table may be estimated or cached
+            return countAll();
+        }
+        return documentRepository.countByCriteria(criteria);
     }
 
     @Override
@@ -78,6 +123,6 @@ public class DocumentServiceImpl implements DocumentService {
     @Override
     public Mono<Void> delete(Long id) {
         LOG.debug("Request to delete Document : {}", id);
-        return documentRepository.deleteById(id);
+        return documentRepository.deleteById(id).doOnSuccess(deleted -> totalCountStrategy.invalidate(Document.class));
     }
 }
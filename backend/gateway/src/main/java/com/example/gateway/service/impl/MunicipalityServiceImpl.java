@@ -1,6 +1,9 @@
 package com.example.gateway.service.impl;
 
+import com.example.gateway.domain.Municipality;
 import com.example.gateway.repository.MunicipalityRepository;
+import com.example.gateway.repository.Keyset;
+import com.example.gateway.repository.TotalCountStrategy;
 import com.example.gateway.service.MunicipalityService;
 import com.example.gateway.service.dto.MunicipalityDTO;
 import com.example.gateway.service.mapper.MunicipalityMapper;
@@ -25,15 +28,25 @@ public class MunicipalityServiceImpl implements MunicipalityService {
 
     private final MunicipalityMapper municipalityMapper;
 
-    public MunicipalityServiceImpl(MunicipalityRepository municipalityRepository, MunicipalityMapper municipalityMapper) {
+    private final TotalCountStrategy totalCountStrategy;
+
+    public MunicipalityServiceImpl(
+        MunicipalityRepository municipalityRepository,
+        MunicipalityMapper municipalityMapper,
+        TotalCountStrategy totalCountStrategy
+    ) {
         this.municipalityRepository = municipalityRepository;
         this.municipalityMapper = municipalityMapper;
+        this.totalCountStrategy = totalCountStrategy;
     }
 
     @Override
     public Mono<MunicipalityDTO> save(MunicipalityDTO municipalityDTO) {
         LOG.debug("Request to save Municipality : {}", municipalityDTO);
-        return municipalityRepository.save(municipalityMapper.toEntity(municipalityDTO)).map(municipalityMapper::toDto);
+        return municipalityRepository
+            .save(municipalityMapper.toEntity(municipalityDTO))
+            .map(municipalityMapper::toDto)
+            .doOnSuccess(saved -> totalCountStrategy.invalidate(Municipality.class));
     }
 
     @Override
@@ -64,8 +77,15 @@ public class MunicipalityServiceImpl implements MunicipalityService {
         return municipalityRepository.findAllBy(pageable).map(municipalityMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<MunicipalityDTO> findAll(Keyset keyset, int size) {
+        LOG.debug("Request to get Municipalities after {}", keyset);
+        return municipalityRepository.findAllBy(keyset, size).map(municipalityMapper::toDto);
+    }
+
     public Mono<Long> countAll() {
-        return municipalityRepository.count();
+        return totalCountStrategy.count(Municipality.class, municipalityRepository::count);
     }
 
     @Override
@@ -78,6 +98,6 @@ public class MunicipalityServiceImpl implements MunicipalityService {
     @Override
     public Mono<Void> delete(Long id) {
         LOG.debug("Request to delete Municipality : {}", id);
-        return municipalityRepository.deleteById(id);
+        return municipalityRepository.deleteById(id).doOnSuccess(deleted -> totalCountStrategy.invalidate(Municipality.class));
     }
 }
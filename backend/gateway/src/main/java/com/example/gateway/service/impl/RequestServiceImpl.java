@@ -1,20 +1,38 @@
 package com.example.gateway.service.impl;
 
+import com.example.gateway.domain.AppUser;
+import com.example.gateway.domain.Request;
+import com.example.gateway.domain.criteria.RequestCriteria;
 import com.example.gateway.repository.RequestRepository;
 import com.example.gateway.repository.AppUserRepository;
+import com.example.gateway.repository.Keyset;
+import com.example.gateway.repository.TotalCountStrategy;
 import com.example.gateway.service.RequestService;
+import com.example.gateway.service.RequestServiceClient;
 import com.example.gateway.service.dto.RequestDTO;
 import com.example.gateway.service.mapper.RequestMapper;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
  * Service Implementation for managing {@link com.example.gateway.domain.Request}.
+ * <p>
+ * The requests are read from the read model of the gateway, and written by the request service, through the
+ * {@link RequestServiceClient}: a change is only read back from the gateway once the request service has published it.
  */
 @Service
 @Transactional
@@ -22,158 +40,195 @@ public class RequestServiceImpl implements RequestService {
 
     private static final Logger LOG = LoggerFactory.getLogger(RequestServiceImpl.class);
 
+    private static final int CITIZEN_BATCH_SIZE = 100;
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdDate", "id");
+
     private final RequestRepository requestRepository;
 
     private final RequestMapper requestMapper;
 
     private final AppUserRepository appUserRepository;
 
-    public RequestServiceImpl(RequestRepository requestRepository, RequestMapper requestMapper, AppUserRepository appUserRepository) {
+    private final TotalCountStrategy totalCountStrategy;
+
+    private final RequestServiceClient requestServiceClient;
+
+    public RequestServiceImpl(
+        RequestRepository requestRepository,
+        RequestMapper requestMapper,
+        AppUserRepository appUserRepository,
+        TotalCountStrategy totalCountStrategy,
+        RequestServiceClient requestServiceClient
+    ) {
         this.requestRepository = requestRepository;
         this.requestMapper = requestMapper;
         this.appUserRepository = appUserRepository;
+        this.totalCountStrategy = totalCountStrategy;
+        this.requestServiceClient = requestServiceClient;
     }
 
+    /**
+     * The changes are not transactional: no connection is held while the request service answers.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Mono<RequestDTO> save(RequestDTO requestDTO) {
         LOG.debug("Request to save Request : {}", requestDTO);
-        return requestRepository.save(requestMapper.toEntity(requestDTO)).map(requestMapper::toDto);
+        if (requestDTO.getCreatedDate() == null) {
+            // the citizen listing is keyed on created_date, so never store a request without one
+            requestDTO.setCreatedDate(Instant.now());
+        }
+        return requestServiceClient.create(requestDTO).map(requestMapper::toEntity).flatMap(this::withCitizen);
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Mono<RequestDTO> update(RequestDTO requestDTO) {
         LOG.debug("Request to update Request : {}", requestDTO);
-        return requestRepository
-            .save(requestMapper.toEntity(requestDTO))
-            .flatMap(request -> {
-                RequestDTO updatedDTO = requestMapper.toDto(request);
-                if (request.getCitizenId() != null) {
-                    return appUserRepository
-                        .findById(request.getCitizenId())
-                        .map(appUser -> {
-                            updatedDTO.setCitizenFirstName(appUser.getFirstName());
-                            updatedDTO.setCitizenLastName(appUser.getLastName());
-                            updatedDTO.setCitizenEmail(appUser.getEmail());
-                            updatedDTO.setCitizenPhone(appUser.getPhone());
-                            updatedDTO.setCitizenCin(appUser.getCin());
-                            return updatedDTO;
-                        })
-                        .defaultIfEmpty(updatedDTO);
-                }
-                return Mono.just(updatedDTO);
-            });
+        return requestServiceClient.update(requestDTO).map(requestMapper::toEntity).flatMap(this::withCitizen);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Flux<RequestDTO> findAllByCitizenId(Long citizenId, Pageable pageable) {
-        return requestRepository
-            .findByCitizenId(citizenId)
-            .map(requestMapper::toDto);
+        LOG.debug("Request to get a page of Requests of citizen : {}", citizenId);
+        if (pageable.getSort().isUnsorted()) {
+            pageable = pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), NEWEST_FIRST)
+                : Pageable.unpaged(NEWEST_FIRST);
+        }
+        return requestRepository.findByCitizenId(citizenId, pageable).map(requestMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<RequestDTO> findAllByCitizenId(Long citizenId, Keyset keyset, int size) {
+        LOG.debug("Request to get Requests of citizen {} after {}", citizenId, keyset);
+        return requestRepository.findByCitizenId(citizenId, keyset, size).map(requestMapper::toDto);
     }
 
     @Override
+    public Mono<Long> countByCitizenId(Long citizenId) {
+        return requestRepository.countByCitizenId(citizenId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Mono<RequestDTO> partialUpdate(RequestDTO requestDTO) {
         LOG.debug("Request to partially update Request : {}", requestDTO);
-
-        return requestRepository
-            .findById(requestDTO.getId())
-            .map(existingRequest -> {
-                requestMapper.partialUpdate(existingRequest, requestDTO);
-                return existingRequest;
-            })
-            .flatMap(requestRepository::save)
-            .flatMap(request -> {
-                RequestDTO updatedDTO = requestMapper.toDto(request);
-                if (request.getCitizenId() != null) {
-                    return appUserRepository
-                        .findById(request.getCitizenId())
-                        .map(appUser -> {
-                            updatedDTO.setCitizenFirstName(appUser.getFirstName());
-                            updatedDTO.setCitizenLastName(appUser.getLastName());
-                            updatedDTO.setCitizenEmail(appUser.getEmail());
-                            updatedDTO.setCitizenPhone(appUser.getPhone());
-                            updatedDTO.setCitizenCin(appUser.getCin());
-                            return updatedDTO;
-                        })
-                        .defaultIfEmpty(updatedDTO);
-                }
-                return Mono.just(updatedDTO);
-            });
+        return requestServiceClient.partialUpdate(requestDTO).map(requestMapper::toEntity).flatMap(this::withCitizen);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Flux<RequestDTO> findAll(Pageable pageable) {
         LOG.debug("Request to get all Requests with citizen information");
-        return requestRepository
-            .findAllBy(pageable)
-            .flatMap(request -> {
-                RequestDTO requestDTO = requestMapper.toDto(request);
-                if (request.getCitizenId() != null) {
-                    return appUserRepository
-                        .findById(request.getCitizenId())
-                        .map(appUser -> {
-                            requestDTO.setCitizenFirstName(appUser.getFirstName());
-                            requestDTO.setCitizenLastName(appUser.getLastName());
-                            requestDTO.setCitizenEmail(appUser.getEmail());
-                            requestDTO.setCitizenPhone(appUser.getPhone());
-                            requestDTO.setCitizenCin(appUser.getCin());
-                            LOG.debug("Found citizen data for request {}: CIN={}, Name={} {}", 
-                                request.getId(), appUser.getCin(), appUser.getFirstName(), appUser.getLastName());
-                            return requestDTO;
-                        })
-                        .doOnError(error -> LOG.warn("Error fetching citizen data for request {} with citizenId {}: {}", 
-                            request.getId(), request.getCitizenId(), error.getMessage()))
-                        .onErrorReturn(requestDTO)
-                        .switchIfEmpty(Mono.defer(() -> {
-                            LOG.warn("No citizen found for request {} with citizenId {}", request.getId(), request.getCitizenId());
-                            return Mono.just(requestDTO);
-                        }));
-                }
-                return Mono.just(requestDTO);
-            });
+        return withCitizens(requestRepository.findAllBy(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<RequestDTO> findAll(Keyset keyset, int size) {
+        LOG.debug("Request to get Requests after {}", keyset);
+        return withCitizens(requestRepository.findAllBy(keyset, size));
     }
 
     public Mono<Long> countAll() {
-        return requestRepository.count();
+        return totalCountStrategy.count(Request.class, requestRepository::count);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<RequestDTO> findByCriteria(RequestCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to get Requests by criteria : {}", criteria);
+        return withCitizens(requestRepository.findByCriteria(criteria, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<RequestDTO> findByCriteria(RequestCriteria criteria, Keyset keyset, int size) {
+        LOG.debug("Request to get Requests by criteria : {} after {}", criteria, keyset);
+        return withCitizens(requestRepository.findByCriteria(criteria, keyset, size));
+    }
+
+    /**
+     * Not transactional: the citizens of each batch are read on another connection while the cursor of the requests
+     * is still open, which a transaction bound to a single connection would wait for forever.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<RequestDTO> streamByCriteria(RequestCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to stream Requests by criteria : {}", criteria);
+        return withCitizens(requestRepository.findByCriteria(criteria, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(RequestCriteria criteria) {
+        if (criteria.equals(new RequestCriteria())) {
+            // unfiltered: the count of the whole table may be estimated or cached
+            return countAll();
+        }
+        return requestRepository.countByCriteria(criteria);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Mono<RequestDTO> findOne(Long id) {
         LOG.debug("Request to get Request : {}", id);
-        return requestRepository
-            .findById(id)
-            .flatMap(request -> {
-                RequestDTO requestDTO = requestMapper.toDto(request);
-                if (request.getCitizenId() != null) {
-                    return appUserRepository
-                        .findById(request.getCitizenId())
-                        .map(appUser -> {
+        return requestRepository.findById(id).flatMap(this::withCitizen);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Mono<Void> delete(Long id) {
+        LOG.debug("Request to delete Request : {}", id);
+        return requestServiceClient.delete(id);
+    }
+
+    private Mono<RequestDTO> withCitizen(Request request) {
+        return withCitizens(Flux.just(request)).next();
+    }
+
+    /**
+     * Maps the requests to DTOs and fills in the citizen details, resolving the citizens of each
+     * batch of {@link #CITIZEN_BATCH_SIZE} requests with a single query instead of one per row.
+     * Order of the incoming requests is preserved.
+     */
+    private Flux<RequestDTO> withCitizens(Flux<Request> requests) {
+        return requests.buffer(CITIZEN_BATCH_SIZE).concatMap(this::withCitizens);
+    }
+
+    private Flux<RequestDTO> withCitizens(List<Request> requests) {
+        Set<Long> citizenIds = requests.stream().map(Request::getCitizenId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Mono<Map<Long, AppUser>> citizens = citizenIds.isEmpty()
+            ? Mono.just(Map.of())
+            : appUserRepository
+                .findAllByIdIn(citizenIds)
+                .collectMap(AppUser::getId)
+                .doOnError(error -> LOG.warn("Error fetching citizen data for citizenIds {}: {}", citizenIds, error.getMessage()))
+                .onErrorReturn(Map.of());
+        return citizens.flatMapIterable(citizensById ->
+            requests
+                .stream()
+                .map(request -> {
+                    RequestDTO requestDTO = requestMapper.toDto(request);
+                    if (request.getCitizenId() != null) {
+                        AppUser appUser = citizensById.get(request.getCitizenId());
+                        if (appUser != null) {
                             requestDTO.setCitizenFirstName(appUser.getFirstName());
                             requestDTO.setCitizenLastName(appUser.getLastName());
                             requestDTO.setCitizenEmail(appUser.getEmail());
                             requestDTO.setCitizenPhone(appUser.getPhone());
                             requestDTO.setCitizenCin(appUser.getCin());
-                            LOG.debug("Found citizen data for request {}: CIN={}, Name={} {}", 
-                                request.getId(), appUser.getCin(), appUser.getFirstName(), appUser.getLastName());
-                            return requestDTO;
-                        })
-                        .doOnError(error -> LOG.warn("Error fetching citizen data for request {} with citizenId {}: {}", 
-                            request.getId(), request.getCitizenId(), error.getMessage()))
-                        .onErrorReturn(requestDTO)
-                        .switchIfEmpty(Mono.defer(() -> {
+                        } else {
                             LOG.warn("No citizen found for request {} with citizenId {}", request.getId(), request.getCitizenId());
-                            return Mono.just(requestDTO);
-                        }));
-                }
-                return Mono.just(requestDTO);
-            });
-    }
-
-    @Override
-    public Mono<Void> delete(Long id) {
-        LOG.debug("Request to delete Request : {}", id);
-        return requestRepository.deleteById(id);
+                        }
+                    }
+                    return requestDTO;
+                })
+                .toList()
+        );
     }
 }
@@ -1,6 +1,6 @@
 package com.example.gateway.web.rest;
 
-import com.example.gateway.repository.AppUserRepository;
+import com.example.gateway.repository.AppUserCache;
 import com.example.gateway.security.SecurityUtils;
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import java.security.Principal;
@@ -23,10 +23,10 @@ public class AccountResource {
 
     private static final Logger LOG = LoggerFactory.getLogger(AccountResource.class);
 
-    private final AppUserRepository appUserRepository;
+    private final AppUserCache appUserCache;
 
-    public AccountResource(AppUserRepository appUserRepository) {
-        this.appUserRepository = appUserRepository;
+    public AccountResource(AppUserCache appUserCache) {
+        this.appUserCache = appUserCache;
     }
 
     private static class AccountResourceException extends RuntimeException {
@@ -51,7 +51,7 @@ public class AccountResource {
             AbstractAuthenticationToken authToken = (AbstractAuthenticationToken) principal;
             String cin = authToken.getName();
             
-            return appUserRepository.findByCin(cin)
+            return appUserCache.findByCin(cin)
                 .map(appUser -> new UserVM(
                     appUser.getCin(),
                     Set.of(appUser.getRole()),
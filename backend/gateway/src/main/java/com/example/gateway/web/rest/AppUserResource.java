@@ -1,9 +1,14 @@
 package com.example.gateway.web.rest;
 
+import com.example.gateway.domain.criteria.AppUserCriteria;
 import com.example.gateway.repository.AppUserRepository;
+import com.example.gateway.repository.Keyset;
 import com.example.gateway.service.AppUserService;
 import com.example.gateway.service.dto.AppUserDTO;
 import com.example.gateway.web.rest.errors.BadRequestAlertException;
+import com.example.gateway.web.util.CountPreferenceUtil;
+import com.example.gateway.web.util.KeysetPaginationUtil;
+import com.example.gateway.web.util.StreamingUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -22,6 +27,7 @@ import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.ForwardedHeaderUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -163,19 +169,63 @@ public class AppUserResource {
     /**
      * {@code GET  /app-users} : get all the appUsers.
      *
+     * <p>
+     * When the {@code after} cursor is given (empty for the first page), the page is read with keyset pagination
+     * instead of {@code OFFSET}: no total count is computed and the next page is linked with a {@code rel="next"} cursor.
+     * With the {@code Prefer: count=none} request header, offset pages are returned without {@code X-Total-Count}.
+     * The appUsers are filtered by the database, and only the matching ones are counted.
+     *
+     * @param criteria the criteria which the requested entities should match.
      * @param pageable the pagination information.
+     * @param after the opaque cursor of a keyset page, or {@code null} for offset pagination.
      * @param request a {@link ServerHttpRequest} request.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of appUsers in body.
      */
     @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<List<AppUserDTO>>> getAllAppUsers(
+        @org.springdoc.core.annotations.ParameterObject AppUserCriteria criteria,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = KeysetPaginationUtil.CURSOR_PARAM, required = false) String after,
         ServerHttpRequest request
     ) {
-        LOG.debug("REST request to get a page of AppUsers");
+        LOG.debug("REST request to get a page of AppUsers by criteria: {}", criteria);
+        if (after != null) {
+            Keyset keyset = KeysetPaginationUtil.parseCursor(after, pageable.getSort(), AppUserRepository.KEYSET_SORT_PROPERTIES);
+            return appUserService
+                .findByCriteria(criteria, keyset, pageable.getPageSize())
+                .collectList()
+                .map(entities ->
+                    ResponseEntity.ok()
+                        .headers(
+                            KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                                ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
+                                keyset,
+                                entities,
+                                pageable.getPageSize()
+                            )
+                        )
+                        .body(entities)
+                );
+        }
+        if (!CountPreferenceUtil.isCountRequested(request)) {
+            return appUserService
+                .findByCriteria(criteria, pageable)
+                .collectList()
+                .map(entities ->
+                    ResponseEntity.ok()
+                        .headers(
+                            CountPreferenceUtil.generateUncountedPaginationHttpHeaders(
+                                ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
+                                pageable,
+                                entities
+                            )
+                        )
+                        .body(entities)
+                );
+        }
         return appUserService
-            .countAll()
-            .zipWith(appUserService.findAll(pageable).collectList())
+            .countByCriteria(criteria)
+            .zipWith(appUserService.findByCriteria(criteria, pageable).collectList())
             .map(countWithEntities ->
                 ResponseEntity.ok()
                     .headers(
@@ -188,6 +238,27 @@ public class AppUserResource {
             );
     }
 
+    /**
+     * {@code GET  /app-users} with {@code Accept: application/x-ndjson} : stream the appUsers, one JSON document per line.
+     * <p>
+     * Each appUser is written as soon as it is read from the database. Without the {@code page} and {@code size} parameters,
+     * all the appUsers are streamed: see {@link StreamingUtil}.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the sort, and the pagination information if requested.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the appUsers.
+     */
+    @GetMapping(value = "", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AppUserDTO> streamAppUsers(
+        @org.springdoc.core.annotations.ParameterObject AppUserCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to stream AppUsers by criteria: {}", criteria);
+        return appUserService.findByCriteria(criteria, StreamingUtil.requestedPage(pageable, request));
+    }
+
     /**
      * {@code GET  /app-users/:id} : get the "id" appUser.
      *
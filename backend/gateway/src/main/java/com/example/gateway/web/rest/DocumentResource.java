@@ -1,27 +1,41 @@
 package com.example.gateway.web.rest;
 
+import com.example.gateway.domain.criteria.DocumentCriteria;
 import com.example.gateway.repository.DocumentRepository;
+import com.example.gateway.repository.Keyset;
 import com.example.gateway.service.DocumentService;
 import com.example.gateway.service.dto.DocumentDTO;
 import com.example.gateway.web.rest.errors.BadRequestAlertException;
+import com.example.gateway.web.util.CountPreferenceUtil;
+import com.example.gateway.web.util.KeysetPaginationUtil;
+import com.example.gateway.web.util.StreamingUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.ForwardedHeaderUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -163,19 +177,63 @@ public class DocumentResource {
     /**
      * {@code GET  /documents} : get all the documents.
      *
+     * <p>
+     * When the {@code after} cursor is given (empty for the first page), the page is read with keyset pagination
+     * instead of {@code OFFSET}: no total count is computed and the next page is linked with a {@code rel="next"} cursor.
+     * With the {@code Prefer: count=none} request header, offset pages are returned without {@code X-Total-Count}.
+     * The documents are filtered by the database, and only the matching ones are counted.
+     *
+     * @param criteria the criteria which the requested entities should match.
      * @param pageable the pagination information.
+     * @param after the opaque cursor of a keyset page, or {@code null} for offset pagination.
      * @param request a {@link ServerHttpRequest} request.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of documents in body.
      */
     @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<List<DocumentDTO>>> getAllDocuments(
+        @org.springdoc.core.annotations.ParameterObject DocumentCriteria criteria,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = KeysetPaginationUtil.CURSOR_PARAM, required = false) String after,
         ServerHttpRequest request
     ) {
-        LOG.debug("REST request to get a page of Documents");
+        LOG.debug("REST request to get a page of Documents by criteria: {}", criteria);
+        if (after != null) {
+            Keyset keyset = KeysetPaginationUtil.parseCursor(after, pageable.getSort(), DocumentRepository.KEYSET_SORT_PROPERTIES);
+            return documentService
+                .findByCriteria(criteria, keyset, pageable.getPageSize())
+                .collectList()
+                .map(entities ->
+                    ResponseEntity.ok()
+                        .headers(
+                            KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                                ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
+                                keyset,
+                                entities,
+                                pageable.getPageSize()
+                            )
+                        )
+                        .body(entities)
+                );
+        }
+        if (!CountPreferenceUtil.isCountRequested(request)) {
+            return documentService
+                .findByCriteria(criteria, pageable)
+                .collectList()
+                .map(entities ->
+                    ResponseEntity.ok()
+                        .headers(
+                            CountPreferenceUtil.generateUncountedPaginationHttpHeaders(
+                                ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
+                                pageable,
+                                entities
+                            )
+                        )
+                        .body(entities)
+                );
+        }
         return documentService
-            .countAll()
-            .zipWith(documentService.findAll(pageable).collectList())
+            .countByCriteria(criteria)
+            .zipWith(documentService.findByCriteria(criteria, pageable).collectList())
             .map(countWithEntities ->
                 ResponseEntity.ok()
                     .headers(
@@ -188,6 +246,27 @@ public class DocumentResource {
             );
     }
 
+    /**
+     * {@code GET  /documents} with {@code Accept: application/x-ndjson} : stream the documents, one JSON document per line.
+     * <p>
+     * Each document is written as soon as it is read from the database. Without the {@code page} and {@code size} parameters,
+     * all the documents are streamed: see {@link StreamingUtil}.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the sort, and the pagination information if requested.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the documents.
+     */
+    @GetMapping(value = "", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DocumentDTO> streamDocuments(
+        @org.springdoc.core.annotations.ParameterObject DocumentCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to stream Documents by criteria: {}", criteria);
+        return documentService.findByCriteria(criteria, StreamingUtil.requestedPage(pageable, request));
+    }
+
     /**
      * {@code GET  /documents/:id} : get the "id" document.
      *
@@ -201,6 +280,50 @@ public class DocumentResource {
         return ResponseUtil.wrapOrNotFound(documentDTO);
     }
 
+    /**
+     * {@code GET  /documents/:id/content} : get the file of the "id" document, as raw bytes with its content type.
+     * <p>
+     * Listings do not carry the file content; this endpoint serves it without the base64 encoding of the JSON body. The
+     * strong {@code ETag} of the file is its SHA-256: {@code If-None-Match} is answered with {@code 304 (Not Modified)},
+     * and a {@code Range} with {@code 206 (Partial Content)}.
+     *
+     * @param id the id of the document.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the file in body, or with status {@code 404 (Not Found)} if the document or its file does not exist.
+     */
+    @GetMapping("/{id}/content")
+    public Mono<ResponseEntity<Resource>> getDocumentContent(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get the content of Document : {}", id);
+        return documentService
+            .findOne(id)
+            .filter(document -> document.getFile() != null)
+            .map(document ->
+                ResponseEntity.ok()
+                    .contentType(contentType(document.getFileContentType()))
+                    .contentLength(document.getFile().length)
+                    .eTag(sha256(document.getFile()))
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .<Resource>body(new ByteArrayResource(document.getFile()))
+            )
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
+    private static String sha256(byte[] file) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(file));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MediaType contentType(String fileContentType) {
+        try {
+            return fileContentType != null ? MediaType.parseMediaType(fileContentType) : MediaType.APPLICATION_OCTET_STREAM;
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+
     /**
      * {@code DELETE  /documents/:id} : delete the "id" document.
      *
@@ -1,9 +1,13 @@
 package com.example.gateway.web.rest;
 
+import com.example.gateway.repository.Keyset;
 import com.example.gateway.repository.MunicipalityRepository;
 import com.example.gateway.service.MunicipalityService;
 import com.example.gateway.service.dto.MunicipalityDTO;
 import com.example.gateway.web.rest.errors.BadRequestAlertException;
+import com.example.gateway.web.util.CountPreferenceUtil;
+import com.example.gateway.web.util.KeysetPaginationUtil;
+import com.example.gateway.web.util.StreamingUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -22,6 +26,7 @@ import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.ForwardedHeaderUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -164,16 +169,57 @@ public class MunicipalityResource {
     /**
      * {@code GET  /municipalities} : get all the municipalities.
      *
+     * <p>
+     * When the {@code after} cursor is given (empty for the first page), the page is read with keyset pagination
+     * instead of {@code OFFSET}: no total count is computed and the next page is linked with a {@code rel="next"} cursor.
+     * With the {@code Prefer: count=none} request header, offset pages are returned without {@code X-Total-Count}.
+     *
      * @param pageable the pagination information.
+     * @param after the opaque cursor of a keyset page, or {@code null} for offset pagination.
      * @param request a {@link ServerHttpRequest} request.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of municipalities in body.
      */
     @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<List<MunicipalityDTO>>> getAllMunicipalities(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = KeysetPaginationUtil.CURSOR_PARAM, required = false) String after,
         ServerHttpRequest request
     ) {
         LOG.debug("REST request to get a page of Municipalities");
+        if (after != null) {
+            Keyset keyset = KeysetPaginationUtil.parseCursor(after, pageable.getSort(), MunicipalityRepository.KEYSET_SORT_PROPERTIES);
+            return municipalityService
+                .findAll(keyset, pageable.getPageSize())
+                .collectList()
+                .map(entities ->
+                    ResponseEntity.ok()
+                        .headers(
+                            KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                                ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
+                                keyset,
+                                entities,
+                                pageable.getPageSize()
+                            )
+                        )
+                        .body(entities)
+                );
+        }
+        if (!CountPreferenceUtil.isCountRequested(request)) {
+            return municipalityService
+                .findAll(pageable)
+                .collectList()
+                .map(entities ->
+                    ResponseEntity.ok()
+                        .headers(
+                            CountPreferenceUtil.generateUncountedPaginationHttpHeaders(
+                                ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
+                                pageable,
+                                entities
+                            )
+                        )
+                        .body(entities)
+                );
+        }
         return municipalityService
             .countAll()
             .zipWith(municipalityService.findAll(pageable).collectList())
@@ -189,6 +235,25 @@ public class MunicipalityResource {
             );
     }
 
+    /**
+     * {@code GET  /municipalities} with {@code Accept: application/x-ndjson} : stream the municipalities, one JSON document per line.
+     * <p>
+     * Each municipality is written as soon as it is read from the database. Without the {@code page} and {@code size} parameters,
+     * all the municipalities are streamed: see {@link StreamingUtil}.
+     *
+     * @param pageable the sort, and the pagination information if requested.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the municipalities.
+     */
+    @GetMapping(value = "", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MunicipalityDTO> streamMunicipalities(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to stream Municipalities");
+        return municipalityService.findAll(StreamingUtil.requestedPage(pageable, request));
+    }
+
     /**
      * {@code GET  /municipalities/:id} : get the "id" municipality.
      *
@@ -0,0 +1,40 @@
+package com.example.gateway.web.rest;
+
+import com.example.gateway.service.RequestChangeProjector;
+import com.example.gateway.service.dto.RequestChangeEventDTO;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller receiving the changes of requests published by the request service, to keep the read model of the
+ * gateway in sync. Reserved to administrators, as the request service calls it.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class RequestChangeResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestChangeResource.class);
+
+    private final RequestChangeProjector requestChangeProjector;
+
+    public RequestChangeResource(RequestChangeProjector requestChangeProjector) {
+        this.requestChangeProjector = requestChangeProjector;
+    }
+
+    /**
+     * {@code POST  /admin/request-changes} : Apply a batch of changes of requests to the read model.
+     *
+     * @param events the changes of requests.
+     * @return the {@link ResponseEntity} with status {@code 204 (No Content)} once the batch is applied.
+     */
+    @PostMapping("/request-changes")
+    public Mono<ResponseEntity<Void>> applyRequestChanges(@NotNull @RequestBody List<RequestChangeEventDTO> events) {
+        LOG.debug("REST request to apply {} changes of requests", events.size());
+        return requestChangeProjector.apply(events).thenReturn(ResponseEntity.noContent().build());
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.gateway.web.rest;
 
+import com.example.gateway.domain.criteria.RequestCriteria;
+import com.example.gateway.repository.AppUserCache;
+import com.example.gateway.repository.Keyset;
 import com.example.gateway.repository.RequestRepository;
 import com.example.gateway.service.RequestService;
 import com.example.gateway.service.dto.RequestDTO;
 import com.example.gateway.web.rest.errors.BadRequestAlertException;
+import com.example.gateway.web.util.CountPreferenceUtil;
+import com.example.gateway.web.util.KeysetPaginationUtil;
+import com.example.gateway.web.util.StreamingUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -15,6 +21,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -22,6 +29,7 @@ import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.ForwardedHeaderUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -29,6 +37,9 @@ import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.example.gateway.domain.Request}.
+ * <p>
+ * The changes are made by the request service, and read back from the gateway once it has published them: a request
+ * just created or changed may not be listed yet.
  */
 @RestController
 @RequestMapping("/api/requests")
@@ -43,14 +54,11 @@ public class RequestResource {
 
     private final RequestService requestService;
 
-    private final RequestRepository requestRepository;
+    private final AppUserCache appUserCache;
 
-    private final com.example.gateway.repository.AppUserRepository appUserRepository;
-
-    public RequestResource(RequestService requestService, RequestRepository requestRepository, com.example.gateway.repository.AppUserRepository appUserRepository) {
+    public RequestResource(RequestService requestService, AppUserCache appUserCache) {
         this.requestService = requestService;
-        this.requestRepository = requestRepository;
-        this.appUserRepository = appUserRepository;
+        this.appUserCache = appUserCache;
     }
 
     /**
@@ -74,7 +82,7 @@ public class RequestResource {
         }
 
         String cin = authentication.getName();
-        return appUserRepository
+        return appUserCache
             .findByCin(cin)
             .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED)))
             .flatMap(appUser -> {
@@ -94,12 +102,14 @@ public class RequestResource {
     }
 
     /**
-     * {@code PUT  /requests/:id} : Updates an existing request.
+     * {@code PUT  /requests/:id} : Updates an existing request, in the version it was read if the requestDTO has one,
+     * unconditionally otherwise.
      *
      * @param id the id of the requestDTO to save.
      * @param requestDTO the requestDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated requestDTO,
      * or with status {@code 400 (Bad Request)} if the requestDTO is not valid,
+     * or with status {@code 409 (Conflict)} if the request was updated since its version,
      * or with status {@code 500 (Internal Server Error)} if the requestDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -116,32 +126,27 @@ public class RequestResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return requestRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return requestService
-                    .update(requestDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity.ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+        // the request service checks that the request exists: the read model of the gateway may not hold it yet
+        return requestService
+            .update(requestDTO)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity.ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
      * {@code PATCH  /requests/:id} : Partial updates given fields of an existing request, field will ignore if it is null
+     * <p>
+     * If the requestDTO has a version, the update only applies to that version of the request.
      *
      * @param id the id of the requestDTO to save.
      * @param requestDTO the requestDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated requestDTO,
-     * or with status {@code 400 (Bad Request)} if the requestDTO is not valid,
-     * or with status {@code 404 (Not Found)} if the requestDTO is not found,
+     * or with status {@code 400 (Bad Request)} if the requestDTO is not valid or not found,
+     * or with status {@code 409 (Conflict)} if the request was updated since its version,
      * or with status {@code 500 (Internal Server Error)} if the requestDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -158,41 +163,76 @@ public class RequestResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return requestRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<RequestDTO> result = requestService.partialUpdate(requestDTO);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity.ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+        return requestService
+            .partialUpdate(requestDTO)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity.ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
      * {@code GET  /requests} : get all the requests.
      *
+     * <p>
+     * When the {@code after} cursor is given (empty for the first page), the page is read with keyset pagination
+     * instead of {@code OFFSET}: no total count is computed and the next page is linked with a {@code rel="next"} cursor.
+     * With the {@code Prefer: count=none} request header, offset pages are returned without {@code X-Total-Count}.
+     * The requests are filtered by the database, and only the matching ones are counted.
+     *
+     * @param criteria the criteria which the requested entities should match.
      * @param pageable the pagination information.
+     * @param after the opaque cursor of a keyset page, or {@code null} for offset pagination.
      * @param request a {@link ServerHttpRequest} request.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of requests in body.
      */
     @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<List<RequestDTO>>> getAllRequests(
+        @org.springdoc.core.annotations.ParameterObject RequestCriteria criteria,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = KeysetPaginationUtil.CURSOR_PARAM, required = false) String after,
         ServerHttpRequest request
     ) {
-        LOG.debug("REST request to get a page of Requests");
+        LOG.debug("REST request to get a page of Requests by criteria: {}", criteria);
+        if (after != null) {
+            Keyset keyset = KeysetPaginationUtil.parseCursor(after, pageable.getSort(), RequestRepository.KEYSET_SORT_PROPERTIES);
+            return requestService
+                .findByCriteria(criteria, keyset, pageable.getPageSize())
+                .collectList()
+                .map(entities ->
+                    ResponseEntity.ok()
+                        .headers(
+                            KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                                ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
+                                keyset,
+                                entities,
+                                pageable.getPageSize()
+                            )
+                        )
+                        .body(entities)
+                );
+        }
+        if (!CountPreferenceUtil.isCountRequested(request)) {
+            return requestService
+                .findByCriteria(criteria, pageable)
+                .collectList()
+                .map(entities ->
+                    ResponseEntity.ok()
+                        .headers(
+                            CountPreferenceUtil.generateUncountedPaginationHttpHeaders(
+                                ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
+                                pageable,
+                                entities
+                            )
+                        )
+                        .body(entities)
+                );
+        }
         return requestService
-            .countAll()
-            .zipWith(requestService.findAll(pageable).collectList())
+            .countByCriteria(criteria)
+            .zipWith(requestService.findByCriteria(criteria, pageable).collectList())
             .map(countWithEntities ->
                 ResponseEntity.ok()
                     .headers(
@@ -206,11 +246,41 @@ public class RequestResource {
     }
 
     /**
-     * {@code GET  /requests/mine} : get requests for current user.
+     * {@code GET  /requests} with {@code Accept: application/x-ndjson} : stream the requests, one JSON document per line.
+     * <p>
+     * Each request is written as soon as it is read from the database. Without the {@code page} and {@code size} parameters,
+     * all the requests are streamed: see {@link StreamingUtil}.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the sort, and the pagination information if requested.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the requests.
+     */
+    @GetMapping(value = "", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<RequestDTO> streamRequests(
+        @org.springdoc.core.annotations.ParameterObject RequestCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to stream Requests by criteria: {}", criteria);
+        return requestService.streamByCriteria(criteria, StreamingUtil.requestedPage(pageable, request));
+    }
+
+    /**
+     * {@code GET  /requests/mine} : get the requests of the current user, newest first by default.
+     * <p>
+     * Supports keyset pagination with the {@code after} cursor, like {@link #getAllRequests}.
+     *
+     * @param pageable the pagination information.
+     * @param after the opaque cursor of a keyset page, or {@code null} for offset pagination.
+     * @param authentication the current user.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of requests in body.
      */
     @GetMapping(value = "/mine", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<List<RequestDTO>>> getMyRequests(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = KeysetPaginationUtil.CURSOR_PARAM, required = false) String after,
         org.springframework.security.core.Authentication authentication,
         ServerHttpRequest request
     ) {
@@ -218,11 +288,68 @@ public class RequestResource {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
         }
         String cin = authentication.getName();
-        return appUserRepository
+        Mono<Long> citizenId = appUserCache
             .findByCin(cin)
             .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED)))
-            .flatMap(appUser -> requestService.findAllByCitizenId(appUser.getId(), pageable).collectList())
-            .map(ResponseEntity::ok);
+            .map(appUser -> appUser.getId());
+        if (after != null) {
+            Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by(Sort.Direction.DESC, "createdDate");
+            Keyset keyset = KeysetPaginationUtil.parseCursor(after, sort, RequestRepository.KEYSET_SORT_PROPERTIES);
+            return citizenId
+                .flatMap(id -> requestService.findAllByCitizenId(id, keyset, pageable.getPageSize()).collectList())
+                .map(requests ->
+                    ResponseEntity.ok()
+                        .headers(
+                            KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                                ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
+                                keyset,
+                                requests,
+                                pageable.getPageSize()
+                            )
+                        )
+                        .body(requests)
+                );
+        }
+        return citizenId.flatMap(id ->
+            requestService
+                .countByCitizenId(id)
+                .zipWith(requestService.findAllByCitizenId(id, pageable).collectList())
+                .map(countWithEntities ->
+                    ResponseEntity.ok()
+                        .headers(
+                            PaginationUtil.generatePaginationHttpHeaders(
+                                ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
+                                new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                            )
+                        )
+                        .body(countWithEntities.getT2())
+                )
+        );
+    }
+
+    /**
+     * {@code GET  /requests/mine} with {@code Accept: application/x-ndjson} : stream the requests of the current user,
+     * newest first by default, one JSON document per line. Without the {@code page} and {@code size} parameters, all
+     * of them are streamed: see {@link StreamingUtil}.
+     *
+     * @param pageable the sort, and the pagination information if requested.
+     * @param authentication the current user.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the requests of the current user.
+     */
+    @GetMapping(value = "/mine", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<RequestDTO> streamMyRequests(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        org.springframework.security.core.Authentication authentication,
+        ServerHttpRequest request
+    ) {
+        if (authentication == null || authentication.getName() == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        return appUserCache
+            .findByCin(authentication.getName())
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED)))
+            .flatMapMany(appUser -> requestService.findAllByCitizenId(appUser.getId(), StreamingUtil.requestedPage(pageable, request)));
     }
 
     /**
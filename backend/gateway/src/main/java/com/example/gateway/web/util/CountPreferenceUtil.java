@@ -0,0 +1,76 @@
+package com.example.gateway.web.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for the {@code Prefer: count=none} request header.
+ * <p>
+ * Clients that do not display the total number of rows (infinite scroll, "next" buttons) send this preference to skip
+ * the {@code COUNT(*)} of offset paginated listings. The response then has no {@code X-Total-Count} header, its
+ * {@code Link} header only holds the {@code first}, {@code prev} and {@code next} relations, and
+ * {@code Preference-Applied: count=none} acknowledges the preference.
+ */
+public final class CountPreferenceUtil {
+
+    public static final String PREFER_HEADER = "Prefer";
+
+    public static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+
+    public static final String COUNT_NONE = "count=none";
+
+    private static final String HEADER_LINK_FORMAT = "<%s>; rel=\"%s\"";
+
+    private CountPreferenceUtil() {}
+
+    /**
+     * @param request the current request.
+     * @return {@code false} if the client sent {@code Prefer: count=none}.
+     */
+    public static boolean isCountRequested(ServerHttpRequest request) {
+        return request
+            .getHeaders()
+            .getOrEmpty(PREFER_HEADER)
+            .stream()
+            .flatMap(value -> Arrays.stream(value.split(",")))
+            .map(String::trim)
+            .noneMatch(COUNT_NONE::equalsIgnoreCase);
+    }
+
+    /**
+     * Generates the pagination http headers of a page read without its total count. A full page is assumed to have a
+     * successor.
+     *
+     * @param uriBuilder the builder of the URI of the current request.
+     * @param pageable the requested page.
+     * @param page the content of the page.
+     * @param <T> the type of the objects of the page.
+     * @return the http headers.
+     */
+    public static <T> HttpHeaders generateUncountedPaginationHttpHeaders(UriComponentsBuilder uriBuilder, Pageable pageable, List<T> page) {
+        HttpHeaders headers = new HttpHeaders();
+        List<String> links = new ArrayList<>();
+        int pageNumber = pageable.getPageNumber();
+        int pageSize = pageable.getPageSize();
+        if (page.size() >= pageSize) {
+            links.add(prepareLink(uriBuilder, pageNumber + 1, pageSize, "next"));
+        }
+        if (pageNumber > 0) {
+            links.add(prepareLink(uriBuilder, pageNumber - 1, pageSize, "prev"));
+        }
+        links.add(prepareLink(uriBuilder, 0, pageSize, "first"));
+        headers.add(HttpHeaders.LINK, String.join(",", links));
+        headers.add(PREFERENCE_APPLIED_HEADER, COUNT_NONE);
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
+        String uri = uriBuilder.replaceQueryParam("page", pageNumber).replaceQueryParam("size", pageSize).toUriString();
+        return String.format(HEADER_LINK_FORMAT, uri.replace(",", "%2C").replace(";", "%3B"), relType);
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.gateway.web.util;
+
+import com.example.gateway.repository.Keyset;
+import com.example.gateway.web.rest.errors.BadRequestAlertException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset ("seek") pagination.
+ * <p>
+ * A keyset page is requested with {@code ?after=<cursor>&size=N}; an empty {@code after} asks for the first page, in the
+ * order given by the usual {@code sort} parameters. The cursor of the next page is returned in a {@code Link} header
+ * with {@code rel="next"}, and is absent on the last page. Cursors are opaque to clients: they carry the sort and the
+ * sort key values of the last row returned.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String CURSOR_PARAM = "after";
+
+    private static final String ENTITY_NAME = "keyset";
+
+    private static final String SEPARATOR = ".";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Decodes a cursor sent by a client.
+     *
+     * @param cursor the value of the {@code after} parameter; empty for the first page.
+     * @param sort the sort requested for the first page, ignored when the cursor carries its own.
+     * @param sortProperties the properties the listing can be sorted by, which must never be null.
+     * @return the keyset position to read from.
+     * @throws BadRequestAlertException if the cursor is invalid, or sorts by another property.
+     */
+    public static Keyset parseCursor(String cursor, Sort sort, Set<String> sortProperties) {
+        Keyset keyset = cursor == null || cursor.isBlank() ? Keyset.first(sort) : decodeCursor(cursor);
+        for (Sort.Order order : keyset.getSort()) {
+            if (!sortProperties.contains(order.getProperty())) {
+                throw new BadRequestAlertException(
+                    "Keyset pagination cannot sort by " + order.getProperty() + ", only by " + new TreeSet<>(sortProperties),
+                    ENTITY_NAME,
+                    "sortinvalid"
+                );
+            }
+        }
+        return keyset;
+    }
+
+    private static Keyset decodeCursor(String cursor) {
+        try {
+            String[] parts = cursor.split("\\" + SEPARATOR);
+            List<Sort.Order> orders = new ArrayList<>();
+            for (String order : decode(parts[0]).split(",")) {
+                String[] propertyAndDirection = order.split(":", 2);
+                orders.add(new Sort.Order(Sort.Direction.fromString(propertyAndDirection[1]), propertyAndDirection[0]));
+            }
+            List<Object> values = new ArrayList<>();
+            for (int i = 1; i < parts.length; i++) {
+                values.add(decodeValue(decode(parts[i])));
+            }
+            return Keyset.after(Sort.by(orders), values);
+        } catch (RuntimeException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+    }
+
+    /**
+     * Generates the {@code Link} header pointing to the page following the given one, if there can be one.
+     *
+     * @param uriBuilder the builder of the URI of the current request.
+     * @param keyset the position the current page was read from.
+     * @param page the current page.
+     * @param size the requested page size.
+     * @param <T> the type of the objects of the page.
+     * @return the http header.
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(UriComponentsBuilder uriBuilder, Keyset keyset, List<T> page, int size) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.size() < size) {
+            return headers;
+        }
+        BeanWrapperImpl last = new BeanWrapperImpl(page.get(page.size() - 1));
+        List<String> parts = new ArrayList<>();
+        parts.add(encode(keyset.getSort().stream().map(order -> order.getProperty() + ":" + order.getDirection()).collect(Collectors.joining(","))));
+        for (Sort.Order order : keyset.getSort()) {
+            Object value = last.isReadableProperty(order.getProperty()) ? last.getPropertyValue(order.getProperty()) : null;
+            if (value == null) {
+                throw new BadRequestAlertException(
+                    "Keyset pagination needs a non null sort property: " + order.getProperty(),
+                    ENTITY_NAME,
+                    "sortinvalid"
+                );
+            }
+            parts.add(encode(encodeValue(value)));
+        }
+        String next = uriBuilder
+            .replaceQueryParam("page")
+            .replaceQueryParam("sort")
+            .replaceQueryParam(CURSOR_PARAM, String.join(SEPARATOR, parts))
+            .replaceQueryParam("size", size)
+            .toUriString();
+        headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        return headers;
+    }
+
+    private static String encodeValue(Object value) {
+        if (value instanceof Long) {
+            return "l:" + value;
+        }
+        if (value instanceof Integer) {
+            return "i:" + value;
+        }
+        if (value instanceof Instant) {
+            return "t:" + value;
+        }
+        if (value instanceof LocalDate) {
+            return "d:" + value;
+        }
+        if (value instanceof Boolean) {
+            return "b:" + value;
+        }
+        if (value instanceof Enum<?> enumValue) {
+            return "s:" + enumValue.name();
+        }
+        return "s:" + value;
+    }
+
+    private static Object decodeValue(String value) {
+        String text = value.substring(2);
+        return switch (value.substring(0, 2)) {
+            case "l:" -> Long.valueOf(text);
+            case "i:" -> Integer.valueOf(text);
+            case "t:" -> Instant.parse(text);
+            case "d:" -> LocalDate.parse(text);
+            case "b:" -> Boolean.valueOf(text);
+            case "s:" -> text;
+            default -> throw new IllegalArgumentException("Unknown cursor value type: " + value);
+        };
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String value) {
+        return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+}
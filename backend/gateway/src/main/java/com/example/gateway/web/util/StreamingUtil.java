@@ -0,0 +1,31 @@
+package com.example.gateway.web.util;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Utility class for the streamed ({@code Accept: application/x-ndjson}) variants of the listings.
+ * <p>
+ * A streamed listing writes each entity as soon as it is read from the database, with backpressure from the connection
+ * of the client down to the database cursor, so its size is not bounded by the memory of the gateway. Hence it is not
+ * paged unless the client asks for a page with the {@code page} or {@code size} parameter: by default, all the matching
+ * entities are streamed in the requested sort.
+ */
+public final class StreamingUtil {
+
+    private StreamingUtil() {}
+
+    /**
+     * @param pageable the pagination information resolved from the request, with its defaults.
+     * @param request the current request.
+     * @return the given page if the client asked for one, otherwise an unpaged request in the same sort.
+     */
+    public static Pageable requestedPage(Pageable pageable, ServerHttpRequest request) {
+        MultiValueMap<String, String> parameters = request.getQueryParams();
+        if (parameters.containsKey("page") || parameters.containsKey("size")) {
+            return pageable;
+        }
+        return Pageable.unpaged(pageable.getSort());
+    }
+}
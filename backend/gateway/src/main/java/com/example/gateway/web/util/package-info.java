@@ -0,0 +1,4 @@
+/**
+ * Web utilities.
+ */
+package com.example.gateway.web.util;
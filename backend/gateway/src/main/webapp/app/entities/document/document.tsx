@@ -1,7 +1,7 @@
 import React, { useEffect, useState } from 'react';
 import { Link, useLocation, useNavigate } from 'react-router-dom';
 import { Button, Table } from 'reactstrap';
-import { JhiItemCount, JhiPagination, TextFormat, Translate, byteSize, getPaginationState, openFile } from 'react-jhipster';
+import { JhiItemCount, JhiPagination, TextFormat, Translate, getPaginationState } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 import { faSort, faSortDown, faSortUp } from '@fortawesome/free-solid-svg-icons';
 import { APP_DATE_FORMAT } from 'app/config/constants';
@@ -152,18 +152,11 @@ export const Document = () => {
                   <td>{document.type}</td>
                   <td>{document.issueDate ? <TextFormat type="date" value={document.issueDate} format={APP_DATE_FORMAT} /> : null}</td>
                   <td>
-                    {document.file ? (
-                      <div>
-                        {document.fileContentType ? (
-                          <a onClick={openFile(document.fileContentType, document.file)}>
-                            <Translate contentKey="entity.action.open">Open</Translate>
-                            &nbsp;
-                          </a>
-                        ) : null}
-                        <span>
-                          {document.fileContentType}, {byteSize(document.file)}
-                        </span>
-                      </div>
+                    {/* the listing does not carry the file content, it is opened from the detail view */}
+                    {document.fileContentType ? (
+                      <Link to={`/document/${document.id}`}>
+                        <Translate contentKey="entity.action.open">Open</Translate>
+                      </Link>
                     ) : null}
                   </td>
                   <td>{document.fileContentType}</td>
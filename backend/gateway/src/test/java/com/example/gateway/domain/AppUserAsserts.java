@@ -47,7 +47,6 @@ public class AppUserAsserts {
     public static void assertAppUserUpdatableFieldsEquals(AppUser expected, AppUser actual) {
         assertThat(actual)
             .as("Verify AppUser relevant properties")
-            .satisfies(a -> assertThat(a.getLogin()).as("check login").isEqualTo(expected.getLogin()))
             .satisfies(a -> assertThat(a.getFirstName()).as("check firstName").isEqualTo(expected.getFirstName()))
             .satisfies(a -> assertThat(a.getLastName()).as("check lastName").isEqualTo(expected.getLastName()))
             .satisfies(a -> assertThat(a.getEmail()).as("check email").isEqualTo(expected.getEmail()))
@@ -12,7 +12,6 @@ public class AppUserTestSamples {
     public static AppUser getAppUserSample1() {
         return new AppUser()
             .id(1L)
-            .login("login1")
             .firstName("firstName1")
             .lastName("lastName1")
             .email("email1")
@@ -26,7 +25,6 @@ public class AppUserTestSamples {
     public static AppUser getAppUserSample2() {
         return new AppUser()
             .id(2L)
-            .login("login2")
             .firstName("firstName2")
             .lastName("lastName2")
             .email("email2")
@@ -40,7 +38,6 @@ public class AppUserTestSamples {
     public static AppUser getAppUserRandomSampleGenerator() {
         return new AppUser()
             .id(longCount.incrementAndGet())
-            .login(UUID.randomUUID().toString())
             .firstName(UUID.randomUUID().toString())
             .lastName(UUID.randomUUID().toString())
             .email(UUID.randomUUID().toString())
@@ -67,4 +67,16 @@ class SecurityMetersServiceTests {
 
         assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "malformed").counter().count()).isEqualTo(1);
     }
+
+    @Test
+    void testTokenDecodesAndRelaysAreCounted() {
+        securityMetersService.trackTokenDecoded();
+        securityMetersService.trackTokenRelayReused();
+        securityMetersService.trackTokenRelayReused();
+        securityMetersService.trackTokenRelayDecoded();
+
+        assertThat(meterRegistry.get("security.authentication.token-decodes").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("security.authentication.token-relays").tag("token", "reused").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("security.authentication.token-relays").tag("token", "decoded").counter().count()).isEqualTo(1);
+    }
 }
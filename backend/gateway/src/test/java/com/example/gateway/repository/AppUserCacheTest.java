@@ -0,0 +1,103 @@
+package com.example.gateway.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.gateway.domain.AppUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class AppUserCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AppUserRepository appUserRepository;
+
+    private AppUserCache appUserCache;
+
+    @BeforeEach
+    void setUp() {
+        appUserRepository = mock(AppUserRepository.class);
+        appUserCache = new AppUserCache(appUserRepository, 2, Duration.ofMinutes(1), meterRegistry);
+        when(appUserRepository.findByCin("CIN1")).thenReturn(Mono.fromCallable(() -> new AppUser().id(1L).cin("CIN1")));
+        when(appUserRepository.findById(1L)).thenReturn(Mono.fromCallable(() -> new AppUser().id(1L).cin("CIN1")));
+    }
+
+    @Test
+    void userIsReadOnceWithinTheTimeToLive() {
+        assertThat(appUserCache.findByCin("CIN1").block().getId()).isEqualTo(1L);
+        assertThat(appUserCache.findByCin("CIN1").block().getId()).isEqualTo(1L);
+        assertThat(appUserCache.findById(1L).block().getCin()).isEqualTo("CIN1");
+
+        verify(appUserRepository, times(1)).findByCin("CIN1");
+        assertThat(gets("appUserByCin", "hit")).isEqualTo(1);
+        assertThat(gets("appUserByCin", "miss")).isEqualTo(1);
+        assertThat(gets("appUserById", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    void evictDropsTheUserFromBothCaches() {
+        appUserCache.findByCin("CIN1").block();
+        appUserCache.findById(1L).block();
+
+        appUserCache.evict(1L);
+
+        appUserCache.findByCin("CIN1").block();
+        appUserCache.findById(1L).block();
+        verify(appUserRepository, times(2)).findByCin("CIN1");
+        verify(appUserRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void unknownUserIsNotCached() {
+        when(appUserRepository.findByCin("UNKNOWN")).thenReturn(Mono.empty());
+
+        assertThat(appUserCache.findByCin("UNKNOWN").blockOptional()).isEmpty();
+        assertThat(appUserCache.findByCin("UNKNOWN").blockOptional()).isEmpty();
+
+        assertThat(gets("appUserByCin", "miss")).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.size").tag("cache", "appUserByCin").gauge().value()).isZero();
+    }
+
+    @Test
+    void leastRecentlyUsedUserIsEvictedBeyondTheMaximumSize() {
+        for (long id = 2; id <= 3; id++) {
+            AppUser appUser = new AppUser().id(id);
+            when(appUserRepository.findById(id)).thenReturn(Mono.just(appUser));
+        }
+        appUserCache.findById(1L).block();
+        appUserCache.findById(2L).block();
+        appUserCache.findById(1L).block();
+        appUserCache.findById(3L).block();
+
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "appUserById").functionCounter().count()).isEqualTo(1);
+        appUserCache.findById(1L).block();
+        verify(appUserRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void largeCacheIsShardedWithinTheMaximumSize() {
+        SimpleMeterRegistry shardedMeterRegistry = new SimpleMeterRegistry();
+        AppUserCache shardedCache = new AppUserCache(appUserRepository, 1024, Duration.ofMinutes(1), shardedMeterRegistry);
+        when(appUserRepository.findByCin(anyString())).thenAnswer(invocation -> Mono.just(new AppUser().cin(invocation.getArgument(0))));
+
+        for (int i = 0; i < 4096; i++) {
+            assertThat(shardedCache.findByCin("CIN" + i).block().getCin()).isEqualTo("CIN" + i);
+        }
+
+        assertThat(shardedMeterRegistry.get("cache.size").tag("cache", "appUserByCin").gauge().value()).isBetween(512.0, 1024.0);
+        assertThat(shardedCache.findByCin("CIN4095").block().getCin()).isEqualTo("CIN4095");
+        verify(appUserRepository, times(1)).findByCin("CIN4095");
+    }
+
+    private double gets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.gateway.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.gateway.domain.Municipality;
+import com.example.gateway.domain.Request;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class CachedTotalCountStrategyTest {
+
+    private final AtomicLong queries = new AtomicLong();
+
+    private final CachedTotalCountStrategy strategy = new CachedTotalCountStrategy(Duration.ofMinutes(1));
+
+    private Mono<Long> exactCount() {
+        return Mono.fromCallable(() -> 100 + queries.incrementAndGet());
+    }
+
+    @Test
+    void countIsQueriedOncePerEntityWithinTheTimeToLive() {
+        assertThat(strategy.count(Request.class, this::exactCount).block()).isEqualTo(101L);
+        assertThat(strategy.count(Request.class, this::exactCount).block()).isEqualTo(101L);
+        assertThat(strategy.count(Municipality.class, this::exactCount).block()).isEqualTo(102L);
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    void invalidateForcesANewCount() {
+        strategy.count(Request.class, this::exactCount).block();
+
+        strategy.invalidate(Request.class);
+
+        assertThat(strategy.count(Request.class, this::exactCount).block()).isEqualTo(102L);
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    void failedCountIsNotCached() {
+        Mono<Long> failure = Mono.error(new IllegalStateException("connection lost"));
+        strategy.count(Request.class, () -> failure).onErrorReturn(-1L).block();
+
+        assertThat(strategy.count(Request.class, this::exactCount).block()).isEqualTo(101L);
+    }
+}
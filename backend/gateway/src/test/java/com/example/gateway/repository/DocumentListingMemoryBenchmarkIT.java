@@ -0,0 +1,117 @@
+package com.example.gateway.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.gateway.IntegrationTest;
+import com.example.gateway.domain.Document;
+import com.example.gateway.repository.rowmapper.DocumentRowMapper;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.Table;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Compares the heap allocated by a page of documents read with and without the {@code file} column.
+ */
+@IntegrationTest
+class DocumentListingMemoryBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DocumentListingMemoryBenchmarkIT.class);
+
+    private static final int PAGE_SIZE = 50;
+
+    private static final int FILE_SIZE = 512 * 1024;
+
+    private static final int RUNS = 10;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentRowMapper documentRowMapper;
+
+    @Autowired
+    private DatabaseClient db;
+
+    @Autowired
+    private EntityManager em;
+
+    @BeforeEach
+    void insertDocuments() {
+        db
+            .sql(
+                "INSERT INTO document (title, type, file, file_content_type) " +
+                "SELECT 'scan-' || g, 'PDF', convert_to(repeat('x', :fileSize), 'UTF8'), 'application/pdf' FROM generate_series(1, :rows) g"
+            )
+            .bind("fileSize", FILE_SIZE)
+            .bind("rows", PAGE_SIZE)
+            .then()
+            .block();
+    }
+
+    @AfterEach
+    void cleanup() {
+        em.deleteAll(Document.class).block();
+    }
+
+    @Test
+    void listingDoesNotAllocateTheFiles() {
+        Table table = Table.aliased("document", EntityManager.ENTITY_ALIAS);
+        String fullSelect = em.createSelect(
+            Select.builder().select(DocumentSqlHelper.getColumns(table, EntityManager.ENTITY_ALIAS)).from(table),
+            Document.class,
+            PageRequest.of(0, PAGE_SIZE),
+            null
+        );
+
+        long withFiles = averageAllocatedBytes(() ->
+            db.sql(fullSelect).map((row, metadata) -> documentRowMapper.apply(row, EntityManager.ENTITY_ALIAS)).all().collectList().block()
+        );
+        long metadataOnly = averageAllocatedBytes(() -> documentRepository.findAllBy(PageRequest.of(0, PAGE_SIZE)).collectList().block());
+
+        LOG.info(
+            "heap allocated per page of {} documents: {} KiB with files, {} KiB without",
+            PAGE_SIZE,
+            withFiles / 1024,
+            metadataOnly / 1024
+        );
+        assertThat(documentRepository.findAllBy(PageRequest.of(0, PAGE_SIZE)).collectList().block())
+            .hasSize(PAGE_SIZE)
+            .allSatisfy(document -> {
+                assertThat(document.getFile()).isNull();
+                assertThat(document.getFileContentType()).isEqualTo("application/pdf");
+            });
+        // the full page holds at least the 50 files; the listing, with some allowance for the noise of other threads, does not
+        assertThat(withFiles).isGreaterThan((long) PAGE_SIZE * FILE_SIZE);
+        assertThat(metadataOnly).isLessThan((long) PAGE_SIZE * FILE_SIZE / 10);
+    }
+
+    /**
+     * The rows are decoded on the driver's event loop threads, so the allocations of every live thread are summed.
+     */
+    private static long averageAllocatedBytes(Supplier<List<?>> query) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < 3; i++) {
+            query.get();
+        }
+        long total = 0;
+        for (int i = 0; i < RUNS; i++) {
+            long[] ids = threads.getAllThreadIds();
+            long before = Arrays.stream(threads.getThreadAllocatedBytes(ids)).sum();
+            query.get();
+            long after = Arrays.stream(threads.getThreadAllocatedBytes(ids)).sum();
+            total += after - before;
+        }
+        return total / RUNS;
+    }
+}
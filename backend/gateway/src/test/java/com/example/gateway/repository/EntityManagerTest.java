@@ -0,0 +1,115 @@
+package com.example.gateway.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.example.gateway.domain.Municipality;
+import com.example.gateway.domain.Request;
+import io.r2dbc.spi.ConnectionFactory;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.query.UpdateMapper;
+import org.springframework.data.relational.core.dialect.RenderContextFactory;
+import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
+import org.springframework.data.relational.core.sql.Table;
+import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+class EntityManagerTest {
+
+    private static final Table entityTable = Table.aliased("municipality", EntityManager.ENTITY_ALIAS);
+
+    private final EntityManager entityManager = entityManager();
+
+    @Test
+    void selectOfAShapeIsRenderedOnceWithBindMarkers() {
+        String first = entityManager.createSelect(selectFrom(), Municipality.class, "findById", null, byId());
+        String second = entityManager.createSelect(selectFrom(), Municipality.class, "findById", null, byId());
+
+        assertThat(first).endsWith("WHERE e.id = :id");
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void pageIsBoundRatherThanRendered() {
+        String firstPage = entityManager.createSelect(selectFrom(), Municipality.class, "findAllBy", PageRequest.of(0, 20), null);
+        String deepPage = entityManager.createSelect(selectFrom(), Municipality.class, "findAllBy", PageRequest.of(500, 50), null);
+
+        assertThat(firstPage).endsWith("LIMIT :pageLimit OFFSET :pageOffset");
+        assertThat(deepPage).isSameAs(firstPage);
+    }
+
+    @Test
+    void eachSortHasItsOwnSelect() {
+        String unsorted = entityManager.createSelect(selectFrom(), Municipality.class, "findAllBy", PageRequest.of(0, 20), null);
+        String byName = entityManager.createSelect(
+            selectFrom(),
+            Municipality.class,
+            "findAllBy",
+            PageRequest.of(0, 20, Sort.by("name")),
+            null
+        );
+        String all = entityManager.createSelect(selectFrom(), Municipality.class, "findAllBy", null, null);
+
+        assertThat(unsorted).doesNotContain("ORDER BY");
+        assertThat(byName).contains("ORDER BY e_name ASC").endsWith("LIMIT :pageLimit OFFSET :pageOffset");
+        assertThat(all).doesNotContain("LIMIT");
+    }
+
+    @Test
+    void countOfAShapeIsRenderedOnce() {
+        String first = entityManager.createCount(entityTable, Municipality.class, "countBy[id.equals]", byId());
+        String second = entityManager.createCount(entityTable, Municipality.class, "countBy[id.equals]", byId());
+
+        assertThat(first).isEqualTo("SELECT COUNT(*) FROM municipality e WHERE e.id = :id");
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void updateOfAShapeIsRenderedOnce() {
+        Table requestTable = Table.aliased("request", EntityManager.ENTITY_ALIAS);
+        List<Expression> returning = RequestSqlHelper.getColumns(requestTable, EntityManager.ENTITY_ALIAS);
+        List<String> columns = List.of("status", "resolved_date");
+
+        String first = entityManager.createUpdate(requestTable, Request.class, columns, true, returning);
+        String second = entityManager.createUpdate(requestTable, Request.class, List.of("status", "resolved_date"), true, returning);
+        String unversioned = entityManager.createUpdate(requestTable, Request.class, columns, false, returning);
+
+        assertThat(first)
+            .startsWith(
+                "UPDATE request e SET status = :status, resolved_date = :resolved_date, version = e.version + 1 " +
+                "WHERE e.id = :id AND e.version = :version RETURNING e.id AS e_id, e.type AS e_type, "
+            )
+            .endsWith("e.version AS e_version");
+        assertThat(second).isSameAs(first);
+        assertThat(unversioned).contains("WHERE e.id = :id RETURNING");
+    }
+
+    private static SelectFromAndJoin selectFrom() {
+        return Select.builder().select(MunicipalitySqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS)).from(entityTable);
+    }
+
+    private static Condition byId() {
+        return Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+    }
+
+    private static EntityManager entityManager() {
+        PostgresDialect dialect = PostgresDialect.INSTANCE;
+        DatabaseClient db = DatabaseClient.builder()
+            .connectionFactory(mock(ConnectionFactory.class))
+            .bindMarkers(dialect.getBindMarkersFactory())
+            .build();
+        R2dbcEntityTemplate template = new R2dbcEntityTemplate(db, dialect);
+        SqlRenderer sqlRenderer = SqlRenderer.create(new RenderContextFactory(dialect).createRenderContext());
+        return new EntityManager(sqlRenderer, new UpdateMapper(dialect, template.getConverter()), template);
+    }
+}
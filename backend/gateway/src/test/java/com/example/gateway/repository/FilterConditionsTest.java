@@ -0,0 +1,75 @@
+package com.example.gateway.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.gateway.domain.enumeration.RequestStatus;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.relational.core.dialect.RenderContextFactory;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.Table;
+import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.InstantFilter;
+import tech.jhipster.service.filter.LongFilter;
+
+class FilterConditionsTest {
+
+    private static final Table entityTable = Table.aliased("request", EntityManager.ENTITY_ALIAS);
+
+    private static final Instant FROM = Instant.parse("2026-01-01T00:00:00Z");
+
+    private static final Instant TO = Instant.parse("2026-02-01T00:00:00Z");
+
+    private final SqlRenderer sqlRenderer = SqlRenderer.create(new RenderContextFactory(PostgresDialect.INSTANCE).createRenderContext());
+
+    @Test
+    void filtersAreRenderedWithBindMarkers() {
+        FilterConditions conditions = dashboard(List.of(RequestStatus.PENDING, RequestStatus.IN_PROGRESS), 3L, FROM, TO);
+
+        assertThat(render(conditions)).endsWith(
+            "WHERE e.status IN (:status_in) AND e.created_date > :createdDate_greaterThan " +
+            "AND e.created_date < :createdDate_lessThan AND e.municipality_id = :municipalityId_equals"
+        );
+        assertThat(conditions.bindings()).containsExactly(
+            Map.entry("status_in", List.of("PENDING", "IN_PROGRESS")),
+            Map.entry("createdDate_greaterThan", FROM),
+            Map.entry("createdDate_lessThan", TO),
+            Map.entry("municipalityId_equals", 3L)
+        );
+    }
+
+    @Test
+    void shapeDependsOnTheOperatorsOnly() {
+        FilterConditions some = dashboard(List.of(RequestStatus.PENDING), 3L, FROM, TO);
+        FilterConditions others = dashboard(List.of(RequestStatus.REJECTED, RequestStatus.RESOLVED), 8L, TO, TO.plusSeconds(60));
+        FilterConditions fewer = dashboard(List.of(RequestStatus.PENDING), null, FROM, TO);
+
+        assertThat(some.shape("findAllBy")).isEqualTo(others.shape("findAllBy")).isNotEqualTo(fewer.shape("findAllBy"));
+        assertThat(new FilterConditions(entityTable).filter("citizenId", "citizen_id", null).shape("findAllBy")).isEqualTo("findAllBy");
+        assertThat(new FilterConditions(entityTable).where()).isNull();
+    }
+
+    @Test
+    void emptyInMatchesNothing() {
+        Filter<RequestStatus> status = new Filter<RequestStatus>().setIn(List.of());
+        FilterConditions conditions = new FilterConditions(entityTable).filter("status", "status", status);
+
+        assertThat(render(conditions)).endsWith("WHERE FALSE");
+        assertThat(conditions.bindings()).isEmpty();
+    }
+
+    private static FilterConditions dashboard(List<RequestStatus> statuses, Long municipalityId, Instant from, Instant to) {
+        return new FilterConditions(entityTable)
+            .filter("status", "status", new Filter<RequestStatus>().setIn(statuses))
+            .filter("createdDate", "created_date", new InstantFilter().setGreaterThan(from).setLessThan(to))
+            .filter("municipalityId", "municipality_id", municipalityId == null ? null : new LongFilter().setEquals(municipalityId));
+    }
+
+    private String render(FilterConditions conditions) {
+        return sqlRenderer.render(Select.builder().select(entityTable.column("id")).from(entityTable).where(conditions.where()).build());
+    }
+}
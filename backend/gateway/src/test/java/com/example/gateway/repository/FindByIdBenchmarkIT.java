@@ -0,0 +1,106 @@
+package com.example.gateway.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.gateway.IntegrationTest;
+import com.example.gateway.domain.Municipality;
+import com.example.gateway.repository.rowmapper.MunicipalityRowMapper;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.Table;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Compares the throughput of {@code findById} with the id bound to a cached statement, and with the id inlined in a
+ * statement rendered on every call as it used to be.
+ */
+@IntegrationTest
+class FindByIdBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FindByIdBenchmarkIT.class);
+
+    private static final int ROWS = 10_000;
+
+    private static final int LOOKUPS = 20_000;
+
+    private static final int CONCURRENCY = 8;
+
+    private static final Table entityTable = Table.aliased("municipality", EntityManager.ENTITY_ALIAS);
+
+    @Autowired
+    private MunicipalityRepository municipalityRepository;
+
+    @Autowired
+    private MunicipalityRowMapper municipalityMapper;
+
+    @Autowired
+    private DatabaseClient db;
+
+    @Autowired
+    private EntityManager em;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void insertMunicipalities() {
+        db
+            .sql(
+                "INSERT INTO municipality (name, region, country) SELECT 'municipality-' || g, 'region', 'country' FROM generate_series(1, :rows) g"
+            )
+            .bind("rows", ROWS)
+            .then()
+            .block();
+        db.sql("ANALYZE municipality").then().block();
+        ids = db.sql("SELECT id FROM municipality").map(row -> row.get("id", Long.class)).all().collectList().block();
+    }
+
+    @AfterEach
+    void cleanup() {
+        em.deleteAll(Municipality.class).block();
+    }
+
+    @Test
+    void boundFindByIdOutperformsInlinedLiterals() {
+        double inlined = lookupsPerSecond(this::findByIdInlined);
+        double bound = lookupsPerSecond(municipalityRepository::findById);
+
+        LOG.info("findById: {} lookups/s with inlined ids, {} lookups/s with bound ids", Math.round(inlined), Math.round(bound));
+        assertThat(municipalityRepository.findById(ids.get(0)).block()).isNotNull();
+        assertThat(bound).isGreaterThan(inlined);
+    }
+
+    private Mono<Municipality> findByIdInlined(Long id) {
+        String select = em.createSelect(
+            Select.builder().select(MunicipalitySqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS)).from(entityTable),
+            Municipality.class,
+            null,
+            Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()))
+        );
+        return db.sql(select).map((row, metadata) -> municipalityMapper.apply(row, "e")).one();
+    }
+
+    private double lookupsPerSecond(Function<Long, Mono<Municipality>> findById) {
+        // warm up the connections, their prepared statements and the buffer cache
+        run(findById, LOOKUPS / 10);
+        long start = System.nanoTime();
+        run(findById, LOOKUPS);
+        return LOOKUPS * 1e9 / (System.nanoTime() - start);
+    }
+
+    private void run(Function<Long, Mono<Municipality>> findById, int lookups) {
+        Flux.range(0, lookups)
+            .flatMap(i -> findById.apply(ids.get(i % ids.size())), CONCURRENCY)
+            .then()
+            .block();
+    }
+}
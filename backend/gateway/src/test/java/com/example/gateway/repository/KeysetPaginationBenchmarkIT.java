@@ -0,0 +1,110 @@
+package com.example.gateway.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.gateway.IntegrationTest;
+import com.example.gateway.domain.Municipality;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Compares the latency of the first and of a deep page, with keyset and with offset pagination.
+ */
+@IntegrationTest
+class KeysetPaginationBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KeysetPaginationBenchmarkIT.class);
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int DEEP_PAGE = 10_000;
+
+    private static final int ROWS = (DEEP_PAGE + 10) * PAGE_SIZE;
+
+    private static final int RUNS = 15;
+
+    @Autowired
+    private MunicipalityRepository municipalityRepository;
+
+    @Autowired
+    private DatabaseClient db;
+
+    @Autowired
+    private EntityManager em;
+
+    @BeforeEach
+    void insertMunicipalities() {
+        db
+            .sql(
+                "INSERT INTO municipality (name, region, country) SELECT 'municipality-' || g, 'region', 'country' FROM generate_series(1, :rows) g"
+            )
+            .bind("rows", ROWS)
+            .then()
+            .block();
+        db.sql("ANALYZE municipality").then().block();
+    }
+
+    @AfterEach
+    void cleanup() {
+        em.deleteAll(Municipality.class).block();
+    }
+
+    @Test
+    void deepKeysetPageCostsAboutTheSameAsTheFirstOne() {
+        Long lastIdBeforeDeepPage = db
+            .sql("SELECT id FROM municipality ORDER BY id OFFSET :offset LIMIT 1")
+            .bind("offset", DEEP_PAGE * PAGE_SIZE - 1)
+            .map(row -> row.get("id", Long.class))
+            .one()
+            .block();
+        Keyset firstPage = Keyset.first(Sort.by("id"));
+        Keyset deepPage = Keyset.after(Sort.by("id"), List.of(lastIdBeforeDeepPage));
+
+        long keysetFirst = medianNanos(() -> municipalityRepository.findAllBy(firstPage, PAGE_SIZE).collectList().block());
+        long keysetDeep = medianNanos(() -> municipalityRepository.findAllBy(deepPage, PAGE_SIZE).collectList().block());
+        long offsetDeep = medianNanos(() ->
+            municipalityRepository.findAllBy(PageRequest.of(DEEP_PAGE, PAGE_SIZE, Sort.by("id"))).collectList().block()
+        );
+
+        LOG.info(
+            "page 1 (keyset): {} µs, page {} (keyset): {} µs, page {} (offset): {} µs",
+            keysetFirst / 1000,
+            DEEP_PAGE,
+            keysetDeep / 1000,
+            DEEP_PAGE,
+            offsetDeep / 1000
+        );
+        assertThat(municipalityRepository.findAllBy(deepPage, PAGE_SIZE).collectList().block())
+            .hasSize(PAGE_SIZE)
+            .allSatisfy(municipality -> assertThat(municipality.getId()).isGreaterThan(lastIdBeforeDeepPage));
+        // generous bound, CI machines are noisy: what matters is that the cost does not grow with the page number
+        assertThat(keysetDeep).isLessThan(keysetFirst * 3 + 2_000_000);
+        assertThat(keysetDeep).isLessThan(offsetDeep);
+    }
+
+    private static long medianNanos(Supplier<?> query) {
+        // warm up the connection, the plan and the buffer cache
+        for (int i = 0; i < 5; i++) {
+            query.get();
+        }
+        List<Long> timings = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            timings.add(System.nanoTime() - start);
+        }
+        Collections.sort(timings);
+        return timings.get(RUNS / 2);
+    }
+}
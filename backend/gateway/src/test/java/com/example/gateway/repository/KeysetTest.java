@@ -0,0 +1,64 @@
+package com.example.gateway.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.Table;
+import org.springframework.data.relational.core.sql.render.SqlRenderer;
+
+class KeysetTest {
+
+    private static final Table TABLE = Table.aliased("request", EntityManager.ENTITY_ALIAS);
+
+    @Test
+    void firstPageHasNoPredicateAndIsSortedById() {
+        Keyset keyset = Keyset.first(Sort.unsorted());
+
+        assertThat(keyset.isFirst()).isTrue();
+        assertThat(keyset.getSort()).isEqualTo(Sort.by("id"));
+        assertThat(keyset.toCondition(TABLE)).isNull();
+    }
+
+    @Test
+    void idIsAppendedAsTiebreakerInTheDirectionOfTheSort() {
+        Keyset keyset = Keyset.first(Sort.by(Sort.Direction.DESC, "createdDate"));
+
+        assertThat(keyset.getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "createdDate", "id"));
+    }
+
+    @Test
+    void uniformDirectionRendersARowValueComparison() {
+        Keyset keyset = Keyset.after(Sort.by(Sort.Direction.DESC, "createdDate", "id"), List.of(Instant.EPOCH, 42L));
+
+        assertThat(render(keyset.toCondition(TABLE))).contains("WHERE (e.created_date, e.id) < (:keyset_0, :keyset_1)");
+        assertThat(keyset.getBindings()).containsExactly(
+            entry("keyset_0", Instant.EPOCH),
+            entry("keyset_1", 42L)
+        );
+    }
+
+    @Test
+    void mixedDirectionsAreExpanded() {
+        Keyset keyset = Keyset.after(Sort.by(Sort.Order.asc("status"), Sort.Order.desc("id")), List.of("PENDING", 42L));
+
+        assertThat(render(keyset.toCondition(TABLE))).contains(
+            "WHERE (e.status > :keyset_0 OR (e.status = :keyset_0 AND e.id < :keyset_1))"
+        );
+    }
+
+    @Test
+    void needsOneValuePerSortProperty() {
+        assertThatThrownBy(() -> Keyset.after(Sort.by("createdDate"), List.of(Instant.EPOCH))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String render(Condition condition) {
+        return SqlRenderer.toString(Select.builder().select(TABLE.column("id")).from(TABLE).where(condition).build());
+    }
+}
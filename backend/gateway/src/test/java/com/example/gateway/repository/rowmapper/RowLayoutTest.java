@@ -0,0 +1,69 @@
+package com.example.gateway.repository.rowmapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.gateway.domain.Document;
+import com.example.gateway.domain.Request;
+import com.example.gateway.domain.enumeration.RequestStatus;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class RowLayoutTest {
+
+    private static final Instant CREATED = Instant.parse("2026-10-01T08:00:00Z");
+
+    private final ColumnConverter converter = SyntheticRow.columnConverter();
+
+    @Test
+    void mapsColumnsByPositionAndConvertsWhatTheDriverDoesNotDecode() {
+        SyntheticRow.Metadata metadata = SyntheticRow.metadata(
+            "E_ID",
+            "e_type",
+            "e_description",
+            "e_status",
+            "e_created_date",
+            "e_resolved_date",
+            "e_citizen_id",
+            "e_municipality_id"
+        );
+        RequestRowMapper mapper = new RequestRowMapper(converter);
+
+        Request first = mapper.apply(new SyntheticRow(metadata, 1L, "permit", null, "PENDING", CREATED, null, 3L, 4L), "e");
+        Request second = mapper.apply(new SyntheticRow(metadata, 2L, "permit", "late", "RESOLVED", CREATED, CREATED, 3L, 4L), "e");
+
+        assertThat(first.getId()).isEqualTo(1L);
+        assertThat(first.getStatus()).isEqualTo(RequestStatus.PENDING);
+        assertThat(first.getDescription()).isNull();
+        assertThat(first.getResolvedDate()).isNull();
+        assertThat(first.getMunicipalityId()).isEqualTo(4L);
+        assertThat(second.getStatus()).isEqualTo(RequestStatus.RESOLVED);
+        assertThat(second.getDescription()).isEqualTo("late");
+        assertThat(second.getResolvedDate()).isEqualTo(CREATED);
+    }
+
+    @Test
+    void resolvesEachQueryItsOwnColumnPositions() {
+        DocumentRowMapper mapper = new DocumentRowMapper(converter);
+        SyntheticRow.Metadata listing = SyntheticRow.metadata("e_id", "e_title", "e_type", "e_issue_date", "e_file_content_type", "e_citizen_id");
+        SyntheticRow.Metadata full = SyntheticRow.metadata(
+            "e_citizen_id",
+            "e_file",
+            "e_file_content_type",
+            "e_issue_date",
+            "e_type",
+            "e_title",
+            "e_id"
+        );
+
+        Document listed = mapper.apply(new SyntheticRow(listing, 1L, "deed", "pdf", CREATED, "application/pdf", 7L), "e");
+        Document read = mapper.apply(new SyntheticRow(full, 7L, new byte[] { 1 }, "application/pdf", CREATED, "pdf", "deed", 1L), "e");
+
+        assertThat(listed.getFile()).isNull();
+        assertThat(listed.getCitizenId()).isEqualTo(7L);
+        assertThat(listed.getFileContentType()).isEqualTo("application/pdf");
+        assertThat(read.getId()).isEqualTo(1L);
+        assertThat(read.getFile()).containsExactly(1);
+        assertThat(read.getTitle()).isEqualTo("deed");
+        assertThat(read.getCitizenId()).isEqualTo(7L);
+    }
+}
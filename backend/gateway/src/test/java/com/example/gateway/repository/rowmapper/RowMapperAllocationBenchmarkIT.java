@@ -0,0 +1,107 @@
+package com.example.gateway.repository.rowmapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.gateway.domain.Request;
+import com.example.gateway.domain.enumeration.RequestStatus;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the bytes allocated and the time spent per row by {@link RequestRowMapper}, reading by index, with the
+ * mapping by column name it replaced, over synthetic rows of a single query.
+ */
+class RowMapperAllocationBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RowMapperAllocationBenchmarkIT.class);
+
+    private static final int ROWS = 50_000;
+
+    private static final Instant CREATED = Instant.parse("2026-10-01T08:00:00Z");
+
+    private final ColumnConverter converter = SyntheticRow.columnConverter();
+
+    private final SyntheticRow.Metadata metadata = SyntheticRow.metadata(
+        "e_id",
+        "e_type",
+        "e_description",
+        "e_status",
+        "e_created_date",
+        "e_resolved_date",
+        "e_citizen_id",
+        "e_municipality_id"
+    );
+
+    private final SyntheticRow[] rows = rows();
+
+    @Test
+    void indexedMapperAllocatesLessPerRow() {
+        RequestRowMapper mapper = new RequestRowMapper(converter);
+        Function<SyntheticRow, Request> byIndex = row -> mapper.apply(row, "e");
+        Function<SyntheticRow, Request> byName = row -> mapByName(row, "e");
+        // warm up both, so that the JIT settles before measuring
+        map(byIndex);
+        map(byName);
+
+        long[] indexed = measure(byIndex);
+        long[] named = measure(byName);
+
+        LOG.info(
+            "request row mapping: {} bytes and {} ns per row by index, {} bytes and {} ns per row by name",
+            indexed[0],
+            indexed[1],
+            named[0],
+            named[1]
+        );
+        assertThat(indexed[0]).isLessThan(named[0]);
+    }
+
+    /**
+     * The mapping of {@link RequestRowMapper} before it read by index.
+     */
+    private Request mapByName(SyntheticRow row, String prefix) {
+        Request entity = new Request();
+        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
+        entity.setType(converter.fromRow(row, prefix + "_type", String.class));
+        entity.setDescription(converter.fromRow(row, prefix + "_description", String.class));
+        entity.setStatus(converter.fromRow(row, prefix + "_status", RequestStatus.class));
+        entity.setCreatedDate(converter.fromRow(row, prefix + "_created_date", Instant.class));
+        entity.setResolvedDate(converter.fromRow(row, prefix + "_resolved_date", Instant.class));
+        entity.setCitizenId(converter.fromRow(row, prefix + "_citizen_id", Long.class));
+        entity.setMunicipalityId(converter.fromRow(row, prefix + "_municipality_id", Long.class));
+        return entity;
+    }
+
+    /**
+     * @return the bytes allocated and the nanoseconds spent per row.
+     */
+    private long[] measure(Function<SyntheticRow, Request> mapper) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        map(mapper);
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new long[] { allocated / ROWS, elapsed / ROWS };
+    }
+
+    private long map(Function<SyntheticRow, Request> mapper) {
+        long checksum = 0;
+        for (SyntheticRow row : rows) {
+            checksum += mapper.apply(row).getId();
+        }
+        return checksum;
+    }
+
+    private SyntheticRow[] rows() {
+        SyntheticRow[] result = new SyntheticRow[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            result[i] = new SyntheticRow(metadata, (long) i, "permit", "description", "PENDING", CREATED, null, 3L, 4L);
+        }
+        return result;
+    }
+}
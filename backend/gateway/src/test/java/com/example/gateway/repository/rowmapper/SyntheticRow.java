@@ -0,0 +1,107 @@
+package com.example.gateway.repository.rowmapper;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.R2dbcType;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+
+/**
+ * A {@link Row} held in memory, decoding values to their own type only, like a driver without a codec for the target.
+ */
+class SyntheticRow implements Row {
+
+    private final Metadata metadata;
+
+    private final Object[] values;
+
+    SyntheticRow(Metadata metadata, Object... values) {
+        this.metadata = metadata;
+        this.values = values;
+    }
+
+    static Metadata metadata(String... names) {
+        return new Metadata(names);
+    }
+
+    static ColumnConverter columnConverter() {
+        R2dbcCustomConversions conversions = R2dbcCustomConversions.of(PostgresDialect.INSTANCE, List.of());
+        return new ColumnConverter(conversions, new MappingR2dbcConverter(new R2dbcMappingContext(), conversions));
+    }
+
+    @Override
+    public RowMetadata getMetadata() {
+        return metadata;
+    }
+
+    @Override
+    public <T> T get(int index, Class<T> type) {
+        Object value = values[index];
+        if (value == null) {
+            return null;
+        }
+        if (type == Object.class || type.isInstance(value)) {
+            return type.cast(value);
+        }
+        throw new IllegalArgumentException("Cannot decode value of type " + value.getClass().getName() + " to " + type.getName());
+    }
+
+    @Override
+    public <T> T get(String name, Class<T> type) {
+        return get(metadata.indexOf(name), type);
+    }
+
+    static final class Metadata implements RowMetadata {
+
+        private final List<ColumnMetadata> columns = new ArrayList<>();
+
+        private Metadata(String... names) {
+            for (String name : names) {
+                columns.add(new Column(name));
+            }
+        }
+
+        private int indexOf(String name) {
+            for (int index = 0; index < columns.size(); index++) {
+                if (columns.get(index).getName().equalsIgnoreCase(name)) {
+                    return index;
+                }
+            }
+            throw new NoSuchElementException("Column name '" + name + "' does not exist in column names " + columns);
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(int index) {
+            return columns.get(index);
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(String name) {
+            return columns.get(indexOf(name));
+        }
+
+        @Override
+        public List<? extends ColumnMetadata> getColumnMetadatas() {
+            return columns;
+        }
+    }
+
+    private record Column(String name) implements ColumnMetadata {
+        @Override
+        public Type getType() {
+            return R2dbcType.VARCHAR;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
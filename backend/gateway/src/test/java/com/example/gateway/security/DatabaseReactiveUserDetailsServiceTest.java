@@ -0,0 +1,48 @@
+package com.example.gateway.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.gateway.domain.AppUser;
+import com.example.gateway.repository.AppUserCache;
+import com.example.gateway.repository.AppUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+class DatabaseReactiveUserDetailsServiceTest {
+
+    private static final int LOGINS = 100;
+
+    @Test
+    void concurrentLoginsOfTheSameUserReadItOnce() {
+        AtomicInteger queries = new AtomicInteger();
+        AppUserRepository appUserRepository = mock(AppUserRepository.class);
+        when(appUserRepository.findByCin("12345678")).thenReturn(
+            Mono.delay(Duration.ofMillis(100))
+                .doOnSubscribe(subscription -> queries.incrementAndGet())
+                .map(tick -> new AppUser().id(1L).cin("12345678").passwordHash("hash").role(AuthoritiesConstants.USER))
+        );
+        DatabaseReactiveUserDetailsService userDetailsService = new DatabaseReactiveUserDetailsService(
+            new AppUserCache(appUserRepository, 100, Duration.ofMinutes(1), new SimpleMeterRegistry())
+        );
+
+        List<UserDetails> users = Flux.range(0, LOGINS)
+            .parallel()
+            .runOn(Schedulers.parallel())
+            .flatMap(login -> userDetailsService.findByUsername("12345678"))
+            .sequential()
+            .collectList()
+            .block();
+
+        assertThat(users).hasSize(LOGINS).allSatisfy(user -> assertThat(user.getUsername()).isEqualTo("12345678"));
+        assertThat(queries).hasValue(1);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.gateway.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+
+class PasswordHashingTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final PasswordHashing passwordHashing = new PasswordHashing(new BlockingPasswordEncoder(), 1, 1, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordHashing.dispose();
+    }
+
+    @Test
+    void encodeRunsOnThePasswordHashingPool() {
+        release.countDown();
+
+        assertThat(passwordHashing.encode("secret").block()).isEqualTo("password-hashing-1:secret");
+    }
+
+    @Test
+    void encodeIsRejectedWhenThePoolAndItsQueueAreFull() {
+        passwordHashing.encode("running").subscribe();
+        passwordHashing.encode("queued").subscribe();
+
+        assertThatThrownBy(() -> passwordHashing.encode("rejected").block()).isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(meterRegistry.get("executor.queued").tag("name", PasswordHashing.NAME).gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectionOfAPublisherRunningOnThePoolIsMapped() {
+        passwordHashing.encode("running").subscribe();
+        passwordHashing.encode("queued").subscribe();
+
+        Mono<Boolean> matches = Mono.just("secret").publishOn(passwordHashing.getScheduler()).map(password -> true);
+
+        assertThatThrownBy(() -> PasswordHashing.whenAvailable(matches).block()).isInstanceOf(PasswordHashingBusyException.class);
+    }
+
+    /**
+     * Waits for the test to release it, then tags the password with the thread that hashed it.
+     */
+    private class BlockingPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Thread.currentThread().getName() + ":" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).endsWith(":" + rawPassword);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.gateway.security.jwt;
 
+import com.example.gateway.config.ApplicationProperties;
 import com.example.gateway.config.SecurityConfiguration;
 import com.example.gateway.config.SecurityJwtConfiguration;
 import com.example.gateway.config.WebConfigurer;
@@ -19,6 +20,7 @@ import tech.jhipster.config.JHipsterProperties;
 @Import(
     {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
@@ -0,0 +1,66 @@
+package com.example.gateway.security.jwt;
+
+import static com.example.gateway.security.jwt.JWTRelayGatewayFilterFactoryTest.JWT_KEY;
+import static com.example.gateway.security.jwt.JWTRelayGatewayFilterFactoryTest.exchange;
+import static com.example.gateway.security.jwt.JWTRelayGatewayFilterFactoryTest.jwtDecoder;
+import static com.example.gateway.security.jwt.JWTRelayGatewayFilterFactoryTest.relay;
+import static com.example.gateway.security.jwt.JwtAuthenticationTestUtils.createValidToken;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.gateway.management.SecurityMetersService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Compares the cost of relaying an authenticated token, reusing the {@link JwtAuthenticationToken} of the resource
+ * server, with decoding it again.
+ */
+class JWTRelayBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JWTRelayBenchmarkIT.class);
+
+    private static final int WARMUP = 1_000;
+
+    private static final int ITERATIONS = 1_000;
+
+    private static final int RUNS = 5;
+
+    @Test
+    void reusingTheAuthenticationIsCheaperThanDecodingAgain() {
+        SecurityMetersService metersService = new SecurityMetersService(new SimpleMeterRegistry());
+        ReactiveJwtDecoder jwtDecoder = jwtDecoder(metersService);
+        GatewayFilter filter = new JWTRelayGatewayFilterFactory(jwtDecoder, metersService).apply(new Object());
+        String token = createValidToken(JWT_KEY);
+        JwtAuthenticationToken authentication = new JwtAuthenticationToken(jwtDecoder.decode(token).block());
+        ServerWebExchange exchange = exchange(token);
+
+        long reused = medianNanosPerRelay(() -> relay(filter, exchange, authentication));
+        long decoded = medianNanosPerRelay(() -> relay(filter, exchange, null));
+
+        LOG.info("relay of an authenticated token: {} ns reusing the authentication, {} ns decoding it again", reused, decoded);
+        assertThat(reused).isLessThan(decoded);
+    }
+
+    private static long medianNanosPerRelay(Runnable relay) {
+        for (int i = 0; i < WARMUP; i++) {
+            relay.run();
+        }
+        long[] runs = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                relay.run();
+            }
+            runs[run] = (System.nanoTime() - start) / ITERATIONS;
+        }
+        Arrays.sort(runs);
+        return runs[RUNS / 2];
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.gateway.security.jwt;
+
+import static com.example.gateway.security.jwt.JwtAuthenticationTestUtils.createValidToken;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.gateway.config.ApplicationProperties;
+import com.example.gateway.config.SecurityJwtConfiguration;
+import com.example.gateway.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+class JWTRelayGatewayFilterFactoryTest {
+
+    static final String JWT_KEY =
+        "Y2RkNDAzNzg5OWJmZGQwZTZjMTY3MjYyZWNkNDg3Mzk1M2I2NTJjNTBiMDQ1NWYyYWNhYTMxZTQ4YTNjYWUzZDcyMzhmNmQyMTA2NjlhNTk3NmJlMjQ0MTM2ZjI5NzdjMWIxNDQ3YzVkNDhkMDZiZDA3OGJmNjgxOWQ3ZDZlYWE=";
+
+    private MeterRegistry meterRegistry;
+
+    private ReactiveJwtDecoder jwtDecoder;
+
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        SecurityMetersService metersService = new SecurityMetersService(meterRegistry);
+        jwtDecoder = jwtDecoder(metersService);
+        filter = new JWTRelayGatewayFilterFactory(jwtDecoder, metersService).apply(new Object());
+    }
+
+    @Test
+    void reusesTheTokenVerifiedByTheResourceServer() {
+        String token = createValidToken(JWT_KEY);
+        Jwt jwt = jwtDecoder.decode(token).block();
+
+        ServerWebExchange relayed = relay(token, new JwtAuthenticationToken(jwt));
+
+        assertThat(relayed.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION)).isEqualTo("Bearer " + token);
+        assertThat(decodes()).isEqualTo(1);
+        assertThat(relays("reused")).isEqualTo(1);
+        assertThat(relays("decoded")).isZero();
+    }
+
+    @Test
+    void decodesTheTokenWhenTheRequestIsNotAuthenticated() {
+        String token = createValidToken(JWT_KEY);
+
+        ServerWebExchange relayed = relay(token, null);
+
+        assertThat(relayed.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION)).isEqualTo("Bearer " + token);
+        assertThat(decodes()).isEqualTo(1);
+        assertThat(relays("decoded")).isEqualTo(1);
+    }
+
+    @Test
+    void decodesTheTokenWhenTheRequestIsAuthenticatedWithAnotherOne() {
+        Jwt other = jwtDecoder.decode(JwtAuthenticationTestUtils.createValidTokenForUser(JWT_KEY, "other")).block();
+        String token = createValidToken(JWT_KEY);
+
+        relay(token, new JwtAuthenticationToken(other));
+
+        assertThat(decodes()).isEqualTo(2);
+        assertThat(relays("reused")).isZero();
+        assertThat(relays("decoded")).isEqualTo(1);
+    }
+
+    /**
+     * @return the decoder of the gateway, without its verified-token cache so that every token is decoded.
+     */
+    static ReactiveJwtDecoder jwtDecoder(SecurityMetersService metersService) {
+        SecurityJwtConfiguration configuration = new SecurityJwtConfiguration();
+        ReflectionTestUtils.setField(configuration, "jwtKey", JWT_KEY);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getJwtCache().setMaximumSize(0);
+        return configuration.jwtDecoder(metersService, applicationProperties, new SimpleMeterRegistry());
+    }
+
+    private ServerWebExchange relay(String token, JwtAuthenticationToken authentication) {
+        return relay(filter, token, authentication);
+    }
+
+    static ServerWebExchange relay(GatewayFilter filter, String token, JwtAuthenticationToken authentication) {
+        return relay(filter, exchange(token), authentication);
+    }
+
+    static ServerWebExchange exchange(String token) {
+        return MockServerWebExchange.from(
+            MockServerHttpRequest.get("/services/document/api/documents").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+        );
+    }
+
+    static ServerWebExchange relay(GatewayFilter filter, ServerWebExchange exchange, JwtAuthenticationToken authentication) {
+        AtomicReference<ServerWebExchange> relayed = new AtomicReference<>();
+        Mono<Void> filtered = filter.filter(exchange, next -> {
+            relayed.set(next);
+            return Mono.empty();
+        });
+        if (authentication != null) {
+            filtered = filtered.contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+        }
+        filtered.block();
+        return relayed.get();
+    }
+
+    private double decodes() {
+        return meterRegistry.get(SecurityMetersService.TOKEN_DECODES_METER_NAME).counter().count();
+    }
+
+    private double relays(String token) {
+        return meterRegistry.get(SecurityMetersService.TOKEN_RELAYS_METER_NAME).tag("token", token).counter().count();
+    }
+}
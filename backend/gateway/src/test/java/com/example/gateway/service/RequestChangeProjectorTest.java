@@ -0,0 +1,100 @@
+package com.example.gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.gateway.domain.Request;
+import com.example.gateway.domain.enumeration.RequestChangeType;
+import com.example.gateway.domain.enumeration.RequestStatus;
+import com.example.gateway.repository.RequestRepository;
+import com.example.gateway.repository.TotalCountStrategy;
+import com.example.gateway.service.dto.RequestChangeEventDTO;
+import com.example.gateway.service.dto.RequestDTO;
+import com.example.gateway.service.mapper.RequestMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+
+class RequestChangeProjectorTest {
+
+    private final RequestRepository requestRepository = mock(RequestRepository.class);
+
+    private final TotalCountStrategy totalCountStrategy = mock(TotalCountStrategy.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RequestChangeProjector projector = new RequestChangeProjector(
+        requestRepository,
+        new RequestMapperImpl(),
+        totalCountStrategy,
+        meterRegistry
+    );
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void theLatestChangeOfEachRequestIsAppliedInOneStatementPerKind() {
+        when(requestRepository.upsertAll(anyList())).thenReturn(Mono.just(1L));
+        when(requestRepository.deleteAllUpToVersion(anyList())).thenReturn(Mono.just(1L));
+        Instant now = Instant.now();
+
+        Integer changed = projector
+            .apply(
+                List.of(
+                    event(3L, RequestChangeType.UPDATED, 1L, request(1L, RequestStatus.RESOLVED, 2L), now),
+                    event(1L, RequestChangeType.CREATED, 1L, request(1L, RequestStatus.PENDING, 0L), now),
+                    event(2L, RequestChangeType.CREATED, 2L, request(2L, RequestStatus.PENDING, 0L), now),
+                    deletion(4L, 2L, 0L, now)
+                )
+            )
+            .block();
+
+        assertThat(changed).isEqualTo(2);
+        ArgumentCaptor<List<Request>> upserts = ArgumentCaptor.forClass(List.class);
+        verify(requestRepository).upsertAll(upserts.capture());
+        assertThat(upserts.getValue()).singleElement().satisfies(request -> {
+            assertThat(request.getId()).isEqualTo(1L);
+            assertThat(request.getStatus()).isEqualTo(RequestStatus.RESOLVED);
+            assertThat(request.getVersion()).isEqualTo(2L);
+        });
+        ArgumentCaptor<List<Request>> deletes = ArgumentCaptor.forClass(List.class);
+        verify(requestRepository).deleteAllUpToVersion(deletes.capture());
+        assertThat(deletes.getValue()).singleElement().satisfies(request -> {
+            assertThat(request.getId()).isEqualTo(2L);
+            assertThat(request.getVersion()).isZero();
+        });
+        verify(totalCountStrategy).invalidate(Request.class);
+        assertThat(meterRegistry.get("request.projection.applied").counter().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("request.projection.lag").timer().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("request.projection.batch").timer().count()).isEqualTo(1);
+    }
+
+    private static RequestChangeEventDTO event(
+        Long position,
+        RequestChangeType type,
+        Long requestId,
+        RequestDTO request,
+        Instant occurredDate
+    ) {
+        return new RequestChangeEventDTO(position, type, requestId, occurredDate, request.getVersion(), request);
+    }
+
+    private static RequestChangeEventDTO deletion(Long position, Long requestId, Long version, Instant occurredDate) {
+        return new RequestChangeEventDTO(position, RequestChangeType.DELETED, requestId, occurredDate, version, null);
+    }
+
+    private static RequestDTO request(Long id, RequestStatus status, Long version) {
+        RequestDTO request = new RequestDTO();
+        request.setId(id);
+        request.setType("permit");
+        request.setDescription("projected");
+        request.setStatus(status);
+        request.setVersion(version);
+        return request;
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.gateway.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.example.gateway.domain.AppUser;
+import com.example.gateway.domain.Request;
+import com.example.gateway.domain.criteria.RequestCriteria;
+import com.example.gateway.domain.enumeration.RequestStatus;
+import com.example.gateway.repository.AppUserRepository;
+import com.example.gateway.repository.ExactTotalCountStrategy;
+import com.example.gateway.repository.RequestRepository;
+import com.example.gateway.service.RequestServiceClient;
+import com.example.gateway.service.dto.RequestDTO;
+import com.example.gateway.service.mapper.RequestMapperImpl;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.ErrorResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class RequestServiceImplTest {
+
+    private RequestRepository requestRepository;
+
+    private AppUserRepository appUserRepository;
+
+    private RequestServiceClient requestServiceClient;
+
+    private RequestServiceImpl requestService;
+
+    @BeforeEach
+    void setUp() {
+        requestRepository = mock(RequestRepository.class);
+        appUserRepository = mock(AppUserRepository.class);
+        requestServiceClient = mock(RequestServiceClient.class);
+        requestService = new RequestServiceImpl(
+            requestRepository,
+            new RequestMapperImpl(),
+            appUserRepository,
+            new ExactTotalCountStrategy(),
+            requestServiceClient
+        );
+        when(appUserRepository.findAllByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return Flux.fromIterable(ids).map(id -> new AppUser().id(id).cin("CIN" + id).firstName("first" + id));
+        });
+    }
+
+    @Test
+    void findAllResolvesCitizensOfAPageWithOneQuery() {
+        // 100 requests spread over 10 distinct citizens
+        List<Request> page = LongStream.rangeClosed(1, 100).mapToObj(id -> new Request().id(id).citizenId(id % 10)).toList();
+        when(requestRepository.findAllBy(any(Pageable.class))).thenReturn(Flux.fromIterable(page));
+
+        List<RequestDTO> result = requestService.findAll(PageRequest.of(0, 100)).collectList().block();
+
+        assertThat(result).hasSize(100);
+        assertThat(result).extracting(RequestDTO::getId).containsExactlyElementsOf(page.stream().map(Request::getId).toList());
+        assertThat(result).allSatisfy(dto -> assertThat(dto.getCitizenCin()).isEqualTo("CIN" + dto.getCitizenId()));
+        verify(appUserRepository, times(1)).findAllByIdIn(anyCollection());
+        verify(appUserRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void findAllSkipsCitizenLookupWhenNoCitizenIsReferenced() {
+        when(requestRepository.findAllBy(any(Pageable.class))).thenReturn(Flux.just(new Request().id(1L), new Request().id(2L)));
+
+        List<RequestDTO> result = requestService.findAll(PageRequest.of(0, 20)).collectList().block();
+
+        assertThat(result).hasSize(2);
+        verify(appUserRepository, never()).findAllByIdIn(anyCollection());
+    }
+
+    @Test
+    void findOneKeepsRequestWhenCitizenIsMissing() {
+        when(requestRepository.findById(1L)).thenReturn(Mono.just(new Request().id(1L).citizenId(42L)));
+        when(appUserRepository.findAllByIdIn(anyCollection())).thenReturn(Flux.empty());
+
+        RequestDTO result = requestService.findOne(1L).block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.getCitizenId()).isEqualTo(42L);
+        assertThat(result.getCitizenCin()).isNull();
+        verify(appUserRepository, times(1)).findAllByIdIn(anyCollection());
+    }
+
+    @Test
+    void findAllByCitizenIdDefaultsToNewestFirst() {
+        when(requestRepository.findByCitizenId(any(), any(Pageable.class))).thenReturn(Flux.just(new Request().id(1L).citizenId(7L)));
+
+        List<RequestDTO> result = requestService.findAllByCitizenId(7L, PageRequest.of(2, 20)).collectList().block();
+
+        assertThat(result).hasSize(1);
+        verify(requestRepository).findByCitizenId(7L, PageRequest.of(2, 20, Sort.by(Sort.Direction.DESC, "createdDate", "id")));
+    }
+
+    @Test
+    void streamResolvesCitizensBatchByBatch() {
+        // 250 requests of 250 distinct citizens
+        List<Request> requests = LongStream.rangeClosed(1, 250).mapToObj(id -> new Request().id(id).citizenId(id)).toList();
+        Pageable all = Pageable.unpaged(Sort.by("id"));
+        when(requestRepository.findByCriteria(any(RequestCriteria.class), any(Pageable.class))).thenReturn(Flux.fromIterable(requests));
+
+        List<RequestDTO> result = requestService.streamByCriteria(new RequestCriteria(), all).collectList().block();
+
+        assertThat(result).hasSize(250);
+        assertThat(result).allSatisfy(dto -> assertThat(dto.getCitizenCin()).isEqualTo("CIN" + dto.getCitizenId()));
+        verify(requestRepository).findByCriteria(new RequestCriteria(), all);
+        verify(appUserRepository, times(3)).findAllByIdIn(anyCollection());
+    }
+
+    @Test
+    void streamOfACitizenDefaultsToNewestFirst() {
+        when(requestRepository.findByCitizenId(any(), any(Pageable.class))).thenReturn(Flux.just(new Request().id(1L).citizenId(7L)));
+
+        List<RequestDTO> result = requestService.findAllByCitizenId(7L, Pageable.unpaged()).collectList().block();
+
+        assertThat(result).hasSize(1);
+        verify(requestRepository).findByCitizenId(7L, Pageable.unpaged(Sort.by(Sort.Direction.DESC, "createdDate", "id")));
+    }
+
+    @Test
+    void partialUpdateIsMadeByTheRequestService() {
+        RequestDTO updated = new RequestDTO();
+        updated.setId(1L);
+        updated.setStatus(RequestStatus.IN_PROGRESS);
+        updated.setCitizenId(7L);
+        updated.setVersion(4L);
+        when(requestServiceClient.partialUpdate(any(RequestDTO.class))).thenReturn(Mono.just(updated));
+        RequestDTO requestDTO = new RequestDTO();
+        requestDTO.setId(1L);
+        requestDTO.setStatus(RequestStatus.IN_PROGRESS);
+        requestDTO.setVersion(3L);
+
+        RequestDTO result = requestService.partialUpdate(requestDTO).block();
+
+        assertThat(result.getVersion()).isEqualTo(4L);
+        assertThat(result.getCitizenCin()).isEqualTo("CIN7");
+        verify(requestServiceClient).partialUpdate(requestDTO);
+        verifyNoInteractions(requestRepository);
+    }
+
+    @Test
+    void aConflictOfTheRequestServiceIsPropagated() {
+        when(requestServiceClient.update(any(RequestDTO.class))).thenReturn(Mono.error(new ErrorResponseException(HttpStatus.CONFLICT)));
+        RequestDTO requestDTO = new RequestDTO();
+        requestDTO.setId(1L);
+        requestDTO.setVersion(3L);
+
+        assertThatThrownBy(() -> requestService.update(requestDTO).block())
+            .isInstanceOfSatisfying(ErrorResponseException.class, e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        verifyNoInteractions(requestRepository);
+    }
+
+    @Test
+    void deleteIsMadeByTheRequestService() {
+        when(requestServiceClient.delete(1L)).thenReturn(Mono.empty());
+
+        requestService.delete(1L).block();
+
+        verify(requestServiceClient).delete(1L);
+        verifyNoInteractions(requestRepository);
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.gateway.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.gateway.IntegrationTest;
+import com.example.gateway.domain.AppUser;
+import com.example.gateway.domain.Request;
+import com.example.gateway.domain.enumeration.RequestStatus;
+import com.example.gateway.repository.AppUserRepository;
+import com.example.gateway.repository.Keyset;
+import com.example.gateway.repository.RequestRepository;
+import com.example.gateway.service.RequestService;
+import com.example.gateway.service.dto.RequestDTO;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.ClassUtils;
+import reactor.core.publisher.Mono;
+
+/**
+ * Counts the statements sent to the database to read a page of requests with the details of their citizens, each
+ * request of a different citizen: one for the requests and one for all their citizens, whatever the size of the page,
+ * where reading the citizen of each request would send one more per request.
+ */
+@IntegrationTest
+@Import(RequestServiceQueryCountIT.StatementCounter.class)
+class RequestServiceQueryCountIT {
+
+    private static final int REQUESTS = 30;
+
+    private static final String TYPE = "query-count";
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private final List<Request> requests = new ArrayList<>();
+
+    private final List<AppUser> citizens = new ArrayList<>();
+
+    @BeforeEach
+    void insertRequestsOfDistinctCitizens() {
+        Instant createdDate = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        for (int i = 0; i < REQUESTS; i++) {
+            AppUser citizen = appUserRepository
+                .save(new AppUser().email("citizen" + i + "@localhost").role("CITIZEN").cin("QC" + i).passwordHash("hash"))
+                .block();
+            citizens.add(citizen);
+            requests.add(
+                requestRepository
+                    .save(
+                        new Request()
+                            .type(TYPE)
+                            .description("request " + i)
+                            .status(RequestStatus.PENDING)
+                            .createdDate(createdDate.plusSeconds(i))
+                            .citizenId(citizen.getId())
+                    )
+                    .block()
+            );
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        requestRepository.deleteAll(requests).block();
+        appUserRepository.deleteAll(citizens).block();
+    }
+
+    @Test
+    void aPageOfRequestsReadsTheirCitizensInOneStatement() {
+        statementCounter.reset();
+
+        List<RequestDTO> page = requestService
+            .findAll(PageRequest.of(0, REQUESTS, Sort.by(Sort.Direction.DESC, "id")))
+            .collectList()
+            .block();
+
+        assertThat(page).hasSize(REQUESTS).allSatisfy(request -> assertThat(request.getCitizenEmail()).isNotNull());
+        assertThat(statementCounter.statements()).hasSize(2);
+        assertThat(statementCounter.statements().get(1)).contains("app_user");
+    }
+
+    @Test
+    void aKeysetPageOfRequestsReadsTheirCitizensInOneStatement() {
+        statementCounter.reset();
+
+        List<RequestDTO> page = requestService
+            .findAll(Keyset.first(Sort.by(Sort.Direction.DESC, "id")), REQUESTS)
+            .collectList()
+            .block();
+
+        assertThat(page).hasSize(REQUESTS).allSatisfy(request -> assertThat(request.getCitizenEmail()).isNotNull());
+        assertThat(statementCounter.statements()).hasSize(2);
+        assertThat(statementCounter.statements().get(1)).contains("app_user");
+    }
+
+    /**
+     * Records the SQL of the statements created on the connections of the {@link ConnectionFactory}.
+     */
+    static class StatementCounter implements BeanPostProcessor {
+
+        private final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+        void reset() {
+            statements.clear();
+        }
+
+        List<String> statements() {
+            return List.copyOf(statements);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof ConnectionFactory connectionFactory)) {
+                return bean;
+            }
+            return proxy(connectionFactory, (method, args) ->
+                "create".equals(method.getName())
+                    ? Mono.from(connectionFactory.create()).map(this::counting)
+                    : invoke(connectionFactory, method, args)
+            );
+        }
+
+        private Object counting(Connection connection) {
+            return proxy(connection, (method, args) -> {
+                if ("createStatement".equals(method.getName())) {
+                    statements.add((String) args[0]);
+                }
+                return invoke(connection, method, args);
+            });
+        }
+
+        private static Object proxy(Object target, Interceptor interceptor) {
+            return Proxy.newProxyInstance(target.getClass().getClassLoader(), ClassUtils.getAllInterfaces(target), (proxy, method, args) ->
+                interceptor.intercept(method, args)
+            );
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Interceptor {
+        Object intercept(Method method, Object[] args) throws Throwable;
+    }
+}
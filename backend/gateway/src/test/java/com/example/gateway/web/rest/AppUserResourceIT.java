@@ -34,9 +34,6 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 @WithMockUser
 class AppUserResourceIT {
 
-    private static final String DEFAULT_LOGIN = "AAAAAAAAAA";
-    private static final String UPDATED_LOGIN = "BBBBBBBBBB";
-
     private static final String DEFAULT_FIRST_NAME = "AAAAAAAAAA";
     private static final String UPDATED_FIRST_NAME = "BBBBBBBBBB";
 
@@ -97,7 +94,6 @@ class AppUserResourceIT {
      */
     public static AppUser createEntity() {
         return new AppUser()
-            .login(DEFAULT_LOGIN)
             .firstName(DEFAULT_FIRST_NAME)
             .lastName(DEFAULT_LAST_NAME)
             .email(DEFAULT_EMAIL)
@@ -117,7 +113,6 @@ class AppUserResourceIT {
      */
     public static AppUser createUpdatedEntity() {
         return new AppUser()
-            .login(UPDATED_LOGIN)
             .firstName(UPDATED_FIRST_NAME)
             .lastName(UPDATED_LAST_NAME)
             .email(UPDATED_EMAIL)
@@ -198,26 +193,6 @@ class AppUserResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
-    @Test
-    void checkLoginIsRequired() throws Exception {
-        long databaseSizeBeforeTest = getRepositoryCount();
-        // set the field null
-        appUser.setLogin(null);
-
-        // Create the AppUser, which fails.
-        AppUserDTO appUserDTO = appUserMapper.toDto(appUser);
-
-        webTestClient
-            .post()
-            .uri(ENTITY_API_URL)
-            .contentType(MediaType.APPLICATION_JSON)
-            .bodyValue(om.writeValueAsBytes(appUserDTO))
-            .exchange()
-            .expectStatus()
-            .isBadRequest();
-
-        assertSameRepositoryCount(databaseSizeBeforeTest);
-    }
 
     @Test
     void checkEmailIsRequired() throws Exception {
@@ -300,8 +275,6 @@ class AppUserResourceIT {
             .expectBody()
             .jsonPath("$.[*].id")
             .value(hasItem(appUser.getId().intValue()))
-            .jsonPath("$.[*].login")
-            .value(hasItem(DEFAULT_LOGIN))
             .jsonPath("$.[*].firstName")
             .value(hasItem(DEFAULT_FIRST_NAME))
             .jsonPath("$.[*].lastName")
@@ -340,8 +313,6 @@ class AppUserResourceIT {
             .expectBody()
             .jsonPath("$.id")
             .value(is(appUser.getId().intValue()))
-            .jsonPath("$.login")
-            .value(is(DEFAULT_LOGIN))
             .jsonPath("$.firstName")
             .value(is(DEFAULT_FIRST_NAME))
             .jsonPath("$.lastName")
@@ -384,7 +355,6 @@ class AppUserResourceIT {
         // Update the appUser
         AppUser updatedAppUser = appUserRepository.findById(appUser.getId()).block();
         updatedAppUser
-            .login(UPDATED_LOGIN)
             .firstName(UPDATED_FIRST_NAME)
             .lastName(UPDATED_LAST_NAME)
             .email(UPDATED_EMAIL)
@@ -516,7 +486,6 @@ class AppUserResourceIT {
         partialUpdatedAppUser.setId(appUser.getId());
 
         partialUpdatedAppUser
-            .login(UPDATED_LOGIN)
             .firstName(UPDATED_FIRST_NAME)
             .lastName(UPDATED_LAST_NAME)
             .email(UPDATED_EMAIL)
@@ -0,0 +1,183 @@
+package com.example.gateway.web.rest;
+
+import static com.example.gateway.security.jwt.JwtAuthenticationTestUtils.createValidToken;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.gateway.GatewayApp;
+import com.example.gateway.config.AsyncSyncConfiguration;
+import com.example.gateway.config.EmbeddedSQL;
+import com.example.gateway.config.JacksonConfiguration;
+import com.example.gateway.domain.AppUser;
+import com.example.gateway.repository.AppUserRepository;
+import com.example.gateway.security.AuthoritiesConstants;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Checks that a login storm does not slow down the proxied routes of the gateway.
+ * <p>
+ * A stub service is routed on {@code /services/stub/**}. Its p99 latency through the gateway is measured alone, then
+ * while hundreds of logins are sent at once: BCrypt runs on the bounded {@code passwordHashing} pool, so the proxied
+ * route keeps its latency and the logins that do not fit in the queue get a {@code 503}.
+ */
+@SpringBootTest(
+    classes = { GatewayApp.class, JacksonConfiguration.class, AsyncSyncConfiguration.class },
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = { "application.password-hashing.threads=1", "application.password-hashing.queue-capacity=8" }
+)
+@EmbeddedSQL
+class LoginStormIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoginStormIT.class);
+
+    private static final String CIN = "LOGINSTORM";
+
+    private static final String PASSWORD = "storm-password";
+
+    private static final int LOGINS = 300;
+
+    private static final int PROXIED_CALLS = 200;
+
+    private static final HttpServer STUB = startStub();
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${jhipster.security.authentication.jwt.base64-secret}")
+    private String jwtKey;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    private AppUser appUser;
+
+    @DynamicPropertySource
+    static void stubRoute(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.gateway.routes[0].id", () -> "stub");
+        registry.add("spring.cloud.gateway.routes[0].uri", () -> "http://localhost:" + STUB.getAddress().getPort());
+        registry.add("spring.cloud.gateway.routes[0].predicates[0]", () -> "Path=/services/stub/**");
+        registry.add("spring.cloud.gateway.routes[0].filters[0]", () -> "StripPrefix=2");
+    }
+
+    @BeforeEach
+    void initTest() {
+        appUser = appUserRepository
+            .save(
+                new AppUser()
+                    .cin(CIN)
+                    .email("storm@example.com")
+                    .role(AuthoritiesConstants.USER)
+                    .passwordHash(passwordEncoder.encode(PASSWORD))
+            )
+            .block();
+    }
+
+    @AfterEach
+    void cleanup() {
+        appUserRepository.delete(appUser).block();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.stop(0);
+    }
+
+    @Test
+    void proxiedRouteLatencyStaysFlatDuringALoginStorm() throws Exception {
+        String token = createValidToken(jwtKey);
+        proxiedP99(token);
+        long baseline = proxiedP99(token);
+
+        List<CompletableFuture<HttpResponse<Void>>> logins = new ArrayList<>();
+        for (int i = 0; i < LOGINS; i++) {
+            logins.add(client.sendAsync(login(), HttpResponse.BodyHandlers.discarding()));
+        }
+        long duringStorm = proxiedP99(token);
+        CompletableFuture.allOf(logins.toArray(CompletableFuture[]::new)).join();
+
+        List<Integer> statuses = logins.stream().map(login -> login.join().statusCode()).toList();
+        LOG.info(
+            "proxied p99 {} ms alone, {} ms during {} logins: {} succeeded, {} rejected",
+            baseline / 1_000_000,
+            duringStorm / 1_000_000,
+            LOGINS,
+            statuses.stream().filter(status -> status == 200).count(),
+            statuses.stream().filter(status -> status == 503).count()
+        );
+        assertThat(statuses).contains(200, 503).containsOnly(200, 503);
+        // a single BCrypt check on the event loop costs ~100 ms: a stalled event loop would blow this budget many times
+        assertThat(duringStorm).isLessThan(Math.max(3 * baseline, baseline + Duration.ofMillis(100).toNanos()));
+    }
+
+    private long proxiedP99(String token) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/services/stub/ping"))
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+            .GET()
+            .build();
+        long[] latencies = new long[PROXIED_CALLS];
+        for (int i = 0; i < PROXIED_CALLS; i++) {
+            long start = System.nanoTime();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            latencies[i] = System.nanoTime() - start;
+            assertThat(response.statusCode()).isEqualTo(200);
+        }
+        Arrays.sort(latencies);
+        return latencies[(int) Math.ceil(PROXIED_CALLS * 0.99) - 1];
+    }
+
+    private HttpRequest login() {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/authenticate"))
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + CIN + "\",\"password\":\"" + PASSWORD + "\"}"))
+            .build();
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", exchange -> {
+                byte[] body = "pong".getBytes();
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.gateway.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.gateway.IntegrationTest;
+import com.example.gateway.domain.Request;
+import com.example.gateway.domain.enumeration.RequestChangeType;
+import com.example.gateway.domain.enumeration.RequestStatus;
+import com.example.gateway.repository.RequestRepository;
+import com.example.gateway.security.AuthoritiesConstants;
+import com.example.gateway.service.dto.RequestChangeEventDTO;
+import com.example.gateway.service.dto.RequestDTO;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link RequestChangeResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class RequestChangeResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/admin/request-changes";
+
+    private static final Long PROJECTED_ID = 900_000_001L;
+
+    private static final Instant CREATED_DATE = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @AfterEach
+    void cleanup() {
+        requestRepository.deleteById(PROJECTED_ID).block();
+    }
+
+    @Test
+    void changesAreProjected() {
+        apply(event(1L, RequestChangeType.CREATED, request(RequestStatus.PENDING, 0L)));
+        assertThat(requestRepository.findById(PROJECTED_ID).block()).satisfies(request -> {
+            assertThat(request.getStatus()).isEqualTo(RequestStatus.PENDING);
+            assertThat(request.getCreatedDate()).isEqualTo(CREATED_DATE);
+            assertThat(request.getVersion()).isZero();
+        });
+
+        apply(event(2L, RequestChangeType.UPDATED, request(RequestStatus.RESOLVED, 1L)));
+        assertThat(requestRepository.findById(PROJECTED_ID).block()).extracting(Request::getStatus).isEqualTo(RequestStatus.RESOLVED);
+
+        apply(deletion(3L, 1L));
+        assertThat(requestRepository.findById(PROJECTED_ID).block()).isNull();
+    }
+
+    @Test
+    void aReplayedOrOlderChangeIsIgnored() {
+        apply(event(2L, RequestChangeType.UPDATED, request(RequestStatus.RESOLVED, 1L)));
+
+        apply(event(1L, RequestChangeType.CREATED, request(RequestStatus.PENDING, 0L)));
+        apply(event(2L, RequestChangeType.UPDATED, request(RequestStatus.RESOLVED, 1L)));
+
+        assertThat(requestRepository.findById(PROJECTED_ID).block()).satisfies(request -> {
+            assertThat(request.getStatus()).isEqualTo(RequestStatus.RESOLVED);
+            assertThat(request.getVersion()).isEqualTo(1L);
+        });
+    }
+
+    @Test
+    void aDeletionOfAnOlderVersionIsIgnored() {
+        apply(event(1L, RequestChangeType.CREATED, request(RequestStatus.PENDING, 0L)));
+        apply(event(3L, RequestChangeType.UPDATED, request(RequestStatus.RESOLVED, 2L)));
+
+        apply(deletion(2L, 1L));
+        assertThat(requestRepository.findById(PROJECTED_ID).block()).extracting(Request::getVersion).isEqualTo(2L);
+
+        apply(deletion(4L, 2L));
+        assertThat(requestRepository.findById(PROJECTED_ID).block()).isNull();
+    }
+
+    @Test
+    @WithMockUser
+    void changesAreReservedToAdministrators() {
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(List.of(event(1L, RequestChangeType.CREATED, request(RequestStatus.PENDING, 0L))))
+            .exchange()
+            .expectStatus()
+            .isForbidden();
+    }
+
+    private void apply(RequestChangeEventDTO... events) {
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(List.of(events))
+            .exchange()
+            .expectStatus()
+            .isNoContent();
+    }
+
+    private static RequestChangeEventDTO event(Long position, RequestChangeType type, RequestDTO request) {
+        return new RequestChangeEventDTO(position, type, PROJECTED_ID, Instant.now(), request.getVersion(), request);
+    }
+
+    private static RequestChangeEventDTO deletion(Long position, Long version) {
+        return new RequestChangeEventDTO(position, RequestChangeType.DELETED, PROJECTED_ID, Instant.now(), version, null);
+    }
+
+    private static RequestDTO request(RequestStatus status, Long version) {
+        RequestDTO request = new RequestDTO();
+        request.setId(PROJECTED_ID);
+        request.setType("permit");
+        request.setDescription("projected");
+        request.setStatus(status);
+        request.setCreatedDate(CREATED_DATE);
+        request.setMunicipalityId(1L);
+        request.setVersion(version);
+        return request;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.gateway.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.gateway.IntegrationTest;
+import com.example.gateway.domain.AppUser;
+import com.example.gateway.domain.Request;
+import com.example.gateway.repository.AppUserRepository;
+import com.example.gateway.repository.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+
+/**
+ * Streams an export of a million requests and checks that the heap used by the gateway does not grow with the number
+ * of requests written.
+ * <p>
+ * The response is consumed by the {@link HttpHandler} of the application rather than a {@code WebTestClient}, which
+ * records the whole body.
+ */
+@IntegrationTest
+@WithMockUser
+class RequestExportMemoryBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestExportMemoryBenchmarkIT.class);
+
+    private static final int ROWS = 1_000_000;
+
+    private static final long MAXIMUM_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private DatabaseClient db;
+
+    @Autowired
+    private EntityManager em;
+
+    @BeforeEach
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void insertRequests() {
+        AppUser citizen = appUserRepository.save(new AppUser().email("citizen@localhost").role("CITIZEN").cin("EXPORT01")).block();
+        db
+            .sql(
+                "INSERT INTO request (type, description, status, created_date, citizen_id, municipality_id) " +
+                "SELECT 'permit', 'request ' || g, 'PENDING', now() - g * interval '1 second', :citizenId, 1 FROM generate_series(1, :rows) g"
+            )
+            .bind("citizenId", citizen.getId())
+            .bind("rows", ROWS)
+            .then()
+            .block();
+        db.sql("ANALYZE request").then().block();
+    }
+
+    @AfterEach
+    void cleanup() {
+        em.deleteAll(Request.class).block();
+        em.deleteAll(AppUser.class).block();
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.MINUTES)
+    void exportRunsInConstantMemory() {
+        HttpHandler httpHandler = WebHttpHandlerBuilder.applicationContext(context).build();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        AtomicLong lines = new AtomicLong();
+        long[] heapUsed = new long[2];
+        MockServerHttpResponse response = new MockServerHttpResponse();
+        response.setWriteHandler(body ->
+            body
+                .doOnNext(buffer -> {
+                    long before = lines.get();
+                    long after = before + countLines(buffer);
+                    lines.set(after);
+                    DataBufferUtils.release(buffer);
+                    if (before < ROWS / 10 && after >= ROWS / 10) {
+                        heapUsed[0] = heapUsedAfterGc(memory);
+                    } else if (before < ROWS * 9 / 10 && after >= ROWS * 9 / 10) {
+                        heapUsed[1] = heapUsedAfterGc(memory);
+                    }
+                })
+                .then()
+        );
+        MockServerHttpRequest request = MockServerHttpRequest.get("/api/requests?sort=createdDate,desc")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .build();
+
+        long start = System.nanoTime();
+        httpHandler.handle(request, response).block(Duration.ofMinutes(10));
+        long elapsed = System.nanoTime() - start;
+
+        LOG.info(
+            "export of {} requests in {} ms: {} MB of heap used after 10% of them, {} MB after 90%",
+            lines.get(),
+            elapsed / 1_000_000,
+            heapUsed[0] / (1024 * 1024),
+            heapUsed[1] / (1024 * 1024)
+        );
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(lines.get()).isEqualTo(ROWS);
+        assertThat(heapUsed[1] - heapUsed[0]).isLessThan(MAXIMUM_HEAP_GROWTH);
+    }
+
+    private static long countLines(DataBuffer buffer) {
+        long count = 0;
+        for (int i = buffer.readPosition(); i < buffer.writePosition(); i++) {
+            if (buffer.getByte(i) == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long heapUsedAfterGc(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -1,18 +1,24 @@
 package com.example.gateway.web.rest;
 
 import static com.example.gateway.domain.RequestAsserts.*;
-import static com.example.gateway.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.example.gateway.IntegrationTest;
+import com.example.gateway.domain.AppUser;
 import com.example.gateway.domain.Request;
 import com.example.gateway.domain.enumeration.RequestStatus;
+import com.example.gateway.repository.AppUserRepository;
 import com.example.gateway.repository.EntityManager;
 import com.example.gateway.repository.RequestRepository;
+import com.example.gateway.service.RequestServiceClient;
 import com.example.gateway.service.dto.RequestDTO;
 import com.example.gateway.service.mapper.RequestMapper;
+import com.example.gateway.web.rest.errors.BadRequestAlertException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -21,14 +27,22 @@ import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.ErrorResponseException;
+import reactor.core.publisher.Mono;
 
 /**
  * Integration tests for the {@link RequestResource} REST controller.
+ * <p>
+ * The changes are made by the request service, replaced by a mock: the read model of the gateway is left as is, until
+ * the change is projected, see {@link RequestChangeResourceIT}.
  */
 @IntegrationTest
 @AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
@@ -56,6 +70,8 @@ class RequestResourceIT {
     private static final Long DEFAULT_MUNICIPALITY_ID = 1L;
     private static final Long UPDATED_MUNICIPALITY_ID = 2L;
 
+    private static final String CITIZEN_CIN = "AB123456";
+
     private static final String ENTITY_API_URL = "/api/requests";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
@@ -77,10 +93,18 @@ class RequestResourceIT {
     @Autowired
     private WebTestClient webTestClient;
 
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @MockitoBean
+    private RequestServiceClient requestServiceClient;
+
     private Request request;
 
     private Request insertedRequest;
 
+    private AppUser insertedCitizen;
+
     /**
      * Create an entity for this test.
      *
@@ -134,11 +158,25 @@ class RequestResourceIT {
             requestRepository.delete(insertedRequest).block();
             insertedRequest = null;
         }
+        if (insertedCitizen != null) {
+            appUserRepository.delete(insertedCitizen).block();
+            insertedCitizen = null;
+        }
         deleteEntities(em);
     }
 
     @Test
+    @WithMockUser(CITIZEN_CIN)
     void createRequest() throws Exception {
+        insertedCitizen = appUserRepository
+            .save(new AppUser().email("citizen@localhost").role("CITIZEN").cin(CITIZEN_CIN).passwordHash("hash"))
+            .block();
+        when(requestServiceClient.create(any(RequestDTO.class))).thenAnswer(invocation -> {
+            RequestDTO created = invocation.getArgument(0);
+            created.setId(longCount.incrementAndGet());
+            created.setVersion(0L);
+            return Mono.just(created);
+        });
         long databaseSizeBeforeCreate = getRepositoryCount();
         // Create the Request
         RequestDTO requestDTO = requestMapper.toDto(request);
@@ -154,12 +192,14 @@ class RequestResourceIT {
             .returnResult()
             .getResponseBody();
 
-        // Validate the Request in the database
-        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
-        var returnedRequest = requestMapper.toEntity(returnedRequestDTO);
-        assertRequestUpdatableFieldsEquals(returnedRequest, getPersistedRequest(returnedRequest));
-
-        insertedRequest = returnedRequest;
+        // Validate the Request sent to the request service, on behalf of the current citizen
+        ArgumentCaptor<RequestDTO> sent = ArgumentCaptor.forClass(RequestDTO.class);
+        verify(requestServiceClient).create(sent.capture());
+        assertThat(sent.getValue().getCitizenId()).isEqualTo(insertedCitizen.getId());
+        assertThat(sent.getValue().getType()).isEqualTo(DEFAULT_TYPE);
+        assertThat(returnedRequestDTO.getCitizenCin()).isEqualTo(CITIZEN_CIN);
+        // Validate the read model is only written by the projection
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
     @Test
@@ -281,6 +321,128 @@ class RequestResourceIT {
             .value(hasItem(DEFAULT_MUNICIPALITY_ID.intValue()));
     }
 
+    @Test
+    void streamAllRequests() {
+        // Initialize the database
+        insertedRequest = requestRepository.save(request).block();
+
+        // Stream all the requestList
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&status.in=" + DEFAULT_STATUS)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBodyList(RequestDTO.class)
+            .value(requests -> assertThat(requests).extracting(RequestDTO::getId).containsExactly(request.getId()));
+    }
+
+    @Test
+    void getAllRequestsByStatusIsInShouldWork() {
+        // Initialize the database
+        insertedRequest = requestRepository.save(request).block();
+
+        // Get all the requestList where status in
+        defaultRequestFiltering("status.in=" + DEFAULT_STATUS + "," + RequestStatus.RESOLVED, "status.in=" + UPDATED_STATUS);
+    }
+
+    @Test
+    void getAllRequestsByMunicipalityIdIsEqualToSomething() {
+        // Initialize the database
+        insertedRequest = requestRepository.save(request).block();
+
+        // Get all the requestList where municipalityId equals to
+        defaultRequestFiltering("municipalityId.equals=" + DEFAULT_MUNICIPALITY_ID, "municipalityId.equals=" + UPDATED_MUNICIPALITY_ID);
+    }
+
+    @Test
+    void getAllRequestsByCitizenIdIsEqualToSomething() {
+        // Initialize the database
+        insertedRequest = requestRepository.save(request).block();
+
+        // Get all the requestList where citizenId equals to
+        defaultRequestFiltering("citizenId.equals=" + DEFAULT_CITIZEN_ID, "citizenId.equals=" + UPDATED_CITIZEN_ID);
+    }
+
+    @Test
+    void getAllRequestsByCreatedDateIsInRange() {
+        // Initialize the database
+        insertedRequest = requestRepository.save(request).block();
+
+        // Get all the requestList where createdDate is between
+        defaultRequestFiltering(
+            "createdDate.greaterThan=" + DEFAULT_CREATED_DATE.minusSeconds(1) + "&createdDate.lessThan=" + DEFAULT_CREATED_DATE.plusSeconds(1),
+            "createdDate.greaterThan=" + DEFAULT_CREATED_DATE
+        );
+    }
+
+    @Test
+    void getAllRequestsByCombinedFilters() {
+        // Initialize the database
+        insertedRequest = requestRepository.save(request).block();
+
+        // Get all the requestList of a municipality, in some statuses, created in a range
+        defaultRequestFiltering(
+            "municipalityId.equals=" +
+            DEFAULT_MUNICIPALITY_ID +
+            "&status.in=" +
+            DEFAULT_STATUS +
+            "&createdDate.lessThan=" +
+            DEFAULT_CREATED_DATE.plusSeconds(1),
+            "municipalityId.equals=" + DEFAULT_MUNICIPALITY_ID + "&status.in=" + UPDATED_STATUS
+        );
+    }
+
+    private void defaultRequestFiltering(String shouldBeFound, String shouldNotBeFound) {
+        defaultRequestShouldBeFound(shouldBeFound);
+        defaultRequestShouldNotBeFound(shouldNotBeFound);
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned and counted.
+     */
+    private void defaultRequestShouldBeFound(String filter) {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "1")
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(request.getId().intValue()))
+            .jsonPath("$.[*].status")
+            .value(hasItem(DEFAULT_STATUS.toString()))
+            .jsonPath("$.[*].municipalityId")
+            .value(hasItem(DEFAULT_MUNICIPALITY_ID.intValue()));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned nor counted.
+     */
+    private void defaultRequestShouldNotBeFound(String filter) {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "0")
+            .expectBody()
+            .jsonPath("$")
+            .isArray()
+            .jsonPath("$")
+            .isEmpty();
+    }
+
     @Test
     void getRequest() {
         // Initialize the database
@@ -331,6 +493,7 @@ class RequestResourceIT {
     void putExistingRequest() throws Exception {
         // Initialize the database
         insertedRequest = requestRepository.save(request).block();
+        when(requestServiceClient.update(any(RequestDTO.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
         long databaseSizeBeforeUpdate = getRepositoryCount();
 
@@ -353,22 +516,58 @@ class RequestResourceIT {
             .bodyValue(om.writeValueAsBytes(requestDTO))
             .exchange()
             .expectStatus()
-            .isOk();
+            .isOk()
+            .expectBody()
+            .jsonPath("$.type")
+            .value(is(UPDATED_TYPE));
 
-        // Validate the Request in the database
+        // Validate the Request sent to the request service, and the read model left for the projection
+        ArgumentCaptor<RequestDTO> sent = ArgumentCaptor.forClass(RequestDTO.class);
+        verify(requestServiceClient).update(sent.capture());
+        assertRequestUpdatableFieldsEquals(updatedRequest, requestMapper.toEntity(sent.getValue()));
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
-        assertPersistedRequestToMatchAllProperties(updatedRequest);
+        assertPersistedRequestToMatchAllProperties(request);
+    }
+
+    @Test
+    void putExistingRequestWithoutVersion() throws Exception {
+        // Initialize the database
+        insertedRequest = requestRepository.save(request).block();
+        when(requestServiceClient.update(any(RequestDTO.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Update the request, without the version it was read in
+        RequestDTO requestDTO = requestMapper.toDto(request);
+        requestDTO.setVersion(null);
+        requestDTO.setType(UPDATED_TYPE);
+
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, requestDTO.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(om.writeValueAsBytes(requestDTO))
+            .exchange()
+            .expectStatus()
+            .isOk();
+
+        // Validate the Request is sent to the request service as is, for an unconditional update
+        ArgumentCaptor<RequestDTO> sent = ArgumentCaptor.forClass(RequestDTO.class);
+        verify(requestServiceClient).update(sent.capture());
+        assertThat(sent.getValue().getVersion()).isNull();
+        assertThat(sent.getValue().getType()).isEqualTo(UPDATED_TYPE);
     }
 
     @Test
     void putNonExistingRequest() throws Exception {
+        when(requestServiceClient.update(any(RequestDTO.class))).thenReturn(
+            Mono.error(new BadRequestAlertException("Entity not found", "request", "idnotfound"))
+        );
         long databaseSizeBeforeUpdate = getRepositoryCount();
         request.setId(longCount.incrementAndGet());
 
         // Create the Request
         RequestDTO requestDTO = requestMapper.toDto(request);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The request service answers that there is no such request
         webTestClient
             .put()
             .uri(ENTITY_API_URL_ID, requestDTO.getId())
@@ -376,7 +575,10 @@ class RequestResourceIT {
             .bodyValue(om.writeValueAsBytes(requestDTO))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isBadRequest()
+            .expectBody()
+            .jsonPath("$.message")
+            .value(is("error.idnotfound"));
 
         // Validate the Request in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
@@ -430,6 +632,7 @@ class RequestResourceIT {
     void partialUpdateRequestWithPatch() throws Exception {
         // Initialize the database
         insertedRequest = requestRepository.save(request).block();
+        when(requestServiceClient.partialUpdate(any(RequestDTO.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
         long databaseSizeBeforeUpdate = getRepositoryCount();
 
@@ -453,16 +656,19 @@ class RequestResourceIT {
             .expectStatus()
             .isOk();
 
-        // Validate the Request in the database
-
+        // Validate only the given fields are sent to the request service
+        ArgumentCaptor<RequestDTO> sent = ArgumentCaptor.forClass(RequestDTO.class);
+        verify(requestServiceClient).partialUpdate(sent.capture());
+        assertRequestUpdatableFieldsEquals(partialUpdatedRequest, requestMapper.toEntity(sent.getValue()));
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
-        assertRequestUpdatableFieldsEquals(createUpdateProxyForBean(partialUpdatedRequest, request), getPersistedRequest(request));
+        assertPersistedRequestToMatchAllProperties(request);
     }
 
     @Test
     void fullUpdateRequestWithPatch() throws Exception {
         // Initialize the database
         insertedRequest = requestRepository.save(request).block();
+        when(requestServiceClient.partialUpdate(any(RequestDTO.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
         long databaseSizeBeforeUpdate = getRepositoryCount();
 
@@ -488,21 +694,49 @@ class RequestResourceIT {
             .expectStatus()
             .isOk();
 
-        // Validate the Request in the database
-
+        // Validate all the fields are sent to the request service
+        ArgumentCaptor<RequestDTO> sent = ArgumentCaptor.forClass(RequestDTO.class);
+        verify(requestServiceClient).partialUpdate(sent.capture());
+        assertRequestUpdatableFieldsEquals(partialUpdatedRequest, requestMapper.toEntity(sent.getValue()));
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
-        assertRequestUpdatableFieldsEquals(partialUpdatedRequest, getPersistedRequest(partialUpdatedRequest));
+    }
+
+    @Test
+    void partialUpdateRequestWithStaleVersion() throws Exception {
+        // Initialize the database
+        insertedRequest = requestRepository.save(request).block();
+        when(requestServiceClient.partialUpdate(any(RequestDTO.class))).thenReturn(
+            Mono.error(new ErrorResponseException(HttpStatus.CONFLICT))
+        );
+
+        // Update the status of the request, in a version it no longer has
+        Request partialUpdatedRequest = new Request().id(request.getId()).status(UPDATED_STATUS).version(request.getVersion() - 1);
+
+        webTestClient
+            .patch()
+            .uri(ENTITY_API_URL_ID, partialUpdatedRequest.getId())
+            .contentType(MediaType.valueOf("application/merge-patch+json"))
+            .bodyValue(om.writeValueAsBytes(partialUpdatedRequest))
+            .exchange()
+            .expectStatus()
+            .isEqualTo(HttpStatus.CONFLICT);
+
+        // Validate the Request in the database
+        assertThat(getPersistedRequest(request).getStatus()).isEqualTo(DEFAULT_STATUS);
     }
 
     @Test
     void patchNonExistingRequest() throws Exception {
+        when(requestServiceClient.partialUpdate(any(RequestDTO.class))).thenReturn(
+            Mono.error(new BadRequestAlertException("Entity not found", "request", "idnotfound"))
+        );
         long databaseSizeBeforeUpdate = getRepositoryCount();
         request.setId(longCount.incrementAndGet());
 
         // Create the Request
         RequestDTO requestDTO = requestMapper.toDto(request);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The request service answers that there is no such request
         webTestClient
             .patch()
             .uri(ENTITY_API_URL_ID, requestDTO.getId())
@@ -564,6 +798,7 @@ class RequestResourceIT {
     void deleteRequest() {
         // Initialize the database
         insertedRequest = requestRepository.save(request).block();
+        when(requestServiceClient.delete(request.getId())).thenReturn(Mono.empty());
 
         long databaseSizeBeforeDelete = getRepositoryCount();
 
@@ -576,8 +811,9 @@ class RequestResourceIT {
             .expectStatus()
             .isNoContent();
 
-        // Validate the database contains one less item
-        assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
+        // Validate the request service deleted it, and the read model only drops it once projected
+        verify(requestServiceClient).delete(request.getId());
+        assertSameRepositoryCount(databaseSizeBeforeDelete);
     }
 
     protected long getRepositoryCount() {
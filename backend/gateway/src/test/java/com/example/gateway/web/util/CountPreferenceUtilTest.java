@@ -0,0 +1,53 @@
+package com.example.gateway.web.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.web.util.UriComponentsBuilder;
+
+class CountPreferenceUtilTest {
+
+    @Test
+    void countIsSkippedOnlyWhenPreferred() {
+        assertThat(CountPreferenceUtil.isCountRequested(MockServerHttpRequest.get("/api/requests").build())).isTrue();
+        assertThat(
+            CountPreferenceUtil.isCountRequested(MockServerHttpRequest.get("/api/requests").header("Prefer", "return=minimal").build())
+        ).isTrue();
+        assertThat(
+            CountPreferenceUtil.isCountRequested(
+                MockServerHttpRequest.get("/api/requests").header("Prefer", "return=minimal, count=none").build()
+            )
+        ).isFalse();
+    }
+
+    @Test
+    void fullPageLinksToTheNextOneWithoutTotalCount() {
+        HttpHeaders headers = CountPreferenceUtil.generateUncountedPaginationHttpHeaders(
+            UriComponentsBuilder.fromUriString("http://localhost/api/requests?page=1&size=2"),
+            PageRequest.of(1, 2),
+            List.of("a", "b")
+        );
+
+        assertThat(headers.getFirst(HttpHeaders.LINK))
+            .contains("page=2&size=2>; rel=\"next\"")
+            .contains("page=0&size=2>; rel=\"prev\"")
+            .contains("rel=\"first\"");
+        assertThat(headers.getFirst(CountPreferenceUtil.PREFERENCE_APPLIED_HEADER)).isEqualTo("count=none");
+        assertThat(headers.containsKey("X-Total-Count")).isFalse();
+    }
+
+    @Test
+    void partialPageIsTheLast() {
+        HttpHeaders headers = CountPreferenceUtil.generateUncountedPaginationHttpHeaders(
+            UriComponentsBuilder.fromUriString("http://localhost/api/requests"),
+            PageRequest.of(0, 20),
+            List.of("a")
+        );
+
+        assertThat(headers.getFirst(HttpHeaders.LINK)).doesNotContain("rel=\"next\"").doesNotContain("rel=\"prev\"");
+    }
+}
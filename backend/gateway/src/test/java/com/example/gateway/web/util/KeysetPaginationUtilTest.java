@@ -0,0 +1,114 @@
+package com.example.gateway.web.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.gateway.domain.enumeration.RequestStatus;
+import com.example.gateway.repository.Keyset;
+import com.example.gateway.repository.RequestRepository;
+import com.example.gateway.service.dto.RequestDTO;
+import com.example.gateway.web.rest.errors.BadRequestAlertException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+class KeysetPaginationUtilTest {
+
+    private static final Set<String> SORT_PROPERTIES = RequestRepository.KEYSET_SORT_PROPERTIES;
+
+    @Test
+    void emptyCursorStartsAtTheFirstPage() {
+        Keyset keyset = KeysetPaginationUtil.parseCursor("", Sort.by(Sort.Direction.DESC, "createdDate"), SORT_PROPERTIES);
+
+        assertThat(keyset.isFirst()).isTrue();
+        assertThat(keyset.getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "createdDate", "id"));
+    }
+
+    @Test
+    void nextLinkCursorResumesAfterTheLastRow() {
+        Keyset first = KeysetPaginationUtil.parseCursor(
+            "",
+            Sort.by(Sort.Order.asc("status"), Sort.Order.desc("createdDate")),
+            SORT_PROPERTIES
+        );
+        RequestDTO last = request(7L, RequestStatus.PENDING, Instant.parse("2025-08-03T10:15:30.123456Z"));
+
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            UriComponentsBuilder.fromUriString("http://localhost/api/requests?page=3&sort=status,asc&size=2&after="),
+            first,
+            List.of(request(6L, RequestStatus.PENDING, Instant.now()), last),
+            2
+        );
+
+        String link = headers.getFirst(HttpHeaders.LINK);
+        assertThat(link).startsWith("<http://localhost/api/requests?").endsWith(">; rel=\"next\"").doesNotContain("page=").doesNotContain("sort=");
+        String cursor = UriComponentsBuilder.fromUriString(link.substring(1, link.indexOf('>'))).build().getQueryParams().getFirst("after");
+        Keyset next = KeysetPaginationUtil.parseCursor(cursor, Sort.unsorted(), SORT_PROPERTIES);
+        assertThat(next.getSort()).isEqualTo(first.getSort());
+        assertThat(next.getValues()).containsExactly("PENDING", last.getCreatedDate(), 7L);
+    }
+
+    @Test
+    void lastPageHasNoNextLink() {
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            UriComponentsBuilder.fromUriString("http://localhost/api/requests?after="),
+            Keyset.first(Sort.unsorted()),
+            List.of(request(1L, RequestStatus.PENDING, Instant.now())),
+            20
+        );
+
+        assertThat(headers.containsKey(HttpHeaders.LINK)).isFalse();
+    }
+
+    @Test
+    void tamperedCursorIsABadRequest() {
+        assertThatThrownBy(() -> KeysetPaginationUtil.parseCursor("not-a-cursor", Sort.unsorted(), SORT_PROPERTIES)).isInstanceOf(
+            BadRequestAlertException.class
+        );
+    }
+
+    @Test
+    void sortByAnUnknownPropertyIsABadRequest() {
+        assertThatThrownBy(() -> KeysetPaginationUtil.parseCursor("", Sort.by("createdDate) OR (1 = 1"), SORT_PROPERTIES))
+            .isInstanceOf(BadRequestAlertException.class)
+            .hasFieldOrPropertyWithValue("errorKey", "sortinvalid");
+    }
+
+    @Test
+    void sortByANullablePropertyIsABadRequestBeforeAnyQuery() {
+        assertThatThrownBy(() -> KeysetPaginationUtil.parseCursor("", Sort.by("resolvedDate"), SORT_PROPERTIES))
+            .isInstanceOf(BadRequestAlertException.class)
+            .hasFieldOrPropertyWithValue("errorKey", "sortinvalid");
+    }
+
+    @Test
+    void cursorSortingByANullablePropertyIsABadRequest() {
+        Keyset keyset = Keyset.first(Sort.by("resolvedDate"));
+        RequestDTO last = request(7L, RequestStatus.RESOLVED, Instant.now());
+        last.setResolvedDate(Instant.now());
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            UriComponentsBuilder.fromUriString("http://localhost/api/requests?after="),
+            keyset,
+            List.of(last),
+            1
+        );
+        String link = headers.getFirst(HttpHeaders.LINK);
+        String cursor = UriComponentsBuilder.fromUriString(link.substring(1, link.indexOf('>'))).build().getQueryParams().getFirst("after");
+
+        assertThatThrownBy(() -> KeysetPaginationUtil.parseCursor(cursor, Sort.unsorted(), SORT_PROPERTIES))
+            .isInstanceOf(BadRequestAlertException.class)
+            .hasFieldOrPropertyWithValue("errorKey", "sortinvalid");
+    }
+
+    private static RequestDTO request(Long id, RequestStatus status, Instant createdDate) {
+        RequestDTO request = new RequestDTO();
+        request.setId(id);
+        request.setStatus(status);
+        request.setCreatedDate(createdDate);
+        return request;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.gateway.web.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+class StreamingUtilTest {
+
+    private static final Pageable DEFAULT_PAGE = PageRequest.of(0, 20, Sort.by("createdDate"));
+
+    @Test
+    void everythingIsStreamedInTheRequestedSortByDefault() {
+        Pageable pageable = StreamingUtil.requestedPage(DEFAULT_PAGE, MockServerHttpRequest.get("/api/requests?sort=createdDate").build());
+
+        assertThat(pageable.isUnpaged()).isTrue();
+        assertThat(pageable.getSort()).isEqualTo(Sort.by("createdDate"));
+    }
+
+    @Test
+    void requestedPageIsStreamed() {
+        assertThat(StreamingUtil.requestedPage(DEFAULT_PAGE, MockServerHttpRequest.get("/api/requests?size=20").build())).isEqualTo(
+            DEFAULT_PAGE
+        );
+        assertThat(StreamingUtil.requestedPage(DEFAULT_PAGE, MockServerHttpRequest.get("/api/requests?page=0").build())).isEqualTo(
+            DEFAULT_PAGE
+        );
+    }
+}
@@ -13,12 +13,18 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final JwtCache jwtCache = new JwtCache();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +39,22 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class JwtCache {
+
+        /**
+         * Verified tokens kept until they expire, split evenly over up to 16 shards of at least 64 tokens, least recently
+         * used first out.
+         */
+        private int maximumSize = 10_000;
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
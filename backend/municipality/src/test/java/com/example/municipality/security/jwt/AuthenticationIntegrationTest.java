@@ -1,5 +1,6 @@
 package com.example.municipality.security.jwt;
 
+import com.example.municipality.config.ApplicationProperties;
 import com.example.municipality.config.SecurityConfiguration;
 import com.example.municipality.config.SecurityJwtConfiguration;
 import com.example.municipality.config.WebConfigurer;
@@ -16,6 +17,7 @@ import tech.jhipster.config.JHipsterProperties;
 @SpringBootTest(
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
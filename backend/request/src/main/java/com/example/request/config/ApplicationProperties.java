@@ -1,5 +1,6 @@
 package com.example.request.config;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +14,42 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final JwtCache jwtCache = new JwtCache();
+
+    private final Outbox outbox = new Outbox();
+
+    private final Stats stats = new Stats();
+
+    private final Sla sla = new Sla();
+
+    private final Partitions partitions = new Partitions();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public Stats getStats() {
+        return stats;
+    }
+
+    public Sla getSla() {
+        return sla;
+    }
+
+    public Partitions getPartitions() {
+        return partitions;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +64,259 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class JwtCache {
+
+        /**
+         * Verified tokens kept until they expire, split evenly over up to 16 shards of at least 64 tokens, least recently
+         * used first out.
+         */
+        private int maximumSize = 10_000;
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+
+    public static class Outbox {
+
+        /**
+         * Whether the outbox is polled; changes are still written to it otherwise.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Delay between the end of a poll, which drains the outbox, and the next one.
+         */
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        /**
+         * Entries of the outbox claimed and published at a time.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Where the changes are published, resolved through the service registry.
+         */
+        private String gatewayUrl = "http://gateway";
+
+        /**
+         * How long a publication waits for a connection to the gateway.
+         */
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        /**
+         * How long a publication waits for the gateway to answer.
+         */
+        private Duration readTimeout = Duration.ofSeconds(10);
+
+        /**
+         * How long a batch claimed by a poller is left to it before another poller publishes it again; longer than the
+         * connect and read timeouts of its publication.
+         */
+        private Duration claimTimeout = Duration.ofMinutes(1);
+
+        /**
+         * Timeout of the transactions claiming a batch, then deleting it once published.
+         */
+        private Duration transactionTimeout = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public String getGatewayUrl() {
+            return gatewayUrl;
+        }
+
+        public void setGatewayUrl(String gatewayUrl) {
+            this.gatewayUrl = gatewayUrl;
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getReadTimeout() {
+            return readTimeout;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+
+        public Duration getClaimTimeout() {
+            return claimTimeout;
+        }
+
+        public void setClaimTimeout(Duration claimTimeout) {
+            this.claimTimeout = claimTimeout;
+        }
+
+        public Duration getTransactionTimeout() {
+            return transactionTimeout;
+        }
+
+        public void setTransactionTimeout(Duration transactionTimeout) {
+            this.transactionTimeout = transactionTimeout;
+        }
+    }
+
+    public static class Stats {
+
+        /**
+         * When the statistics of requests are recomputed from the requests, as a cron expression; never by default, as
+         * they are kept up to date by the database.
+         */
+        private String rebuildCron = "-";
+
+        /**
+         * Days of requests recomputed per query by a rebuild.
+         */
+        private int rebuildChunkDays = 31;
+
+        /**
+         * Chunks of days recomputed in parallel by the rebuilds, each with its own connection, in addition to the one
+         * holding the snapshot of each rebuild.
+         */
+        private int rebuildParallelism = 4;
+
+        public String getRebuildCron() {
+            return rebuildCron;
+        }
+
+        public void setRebuildCron(String rebuildCron) {
+            this.rebuildCron = rebuildCron;
+        }
+
+        public int getRebuildChunkDays() {
+            return rebuildChunkDays;
+        }
+
+        public void setRebuildChunkDays(int rebuildChunkDays) {
+            this.rebuildChunkDays = rebuildChunkDays;
+        }
+
+        public int getRebuildParallelism() {
+            return rebuildParallelism;
+        }
+
+        public void setRebuildParallelism(int rebuildParallelism) {
+            this.rebuildParallelism = rebuildParallelism;
+        }
+    }
+
+    public static class Sla {
+
+        /**
+         * Whether the histograms of resolution times are rebuilt from the resolved requests once the service is started.
+         */
+        private boolean rebuildOnStartup = true;
+
+        /**
+         * Maximum number of histograms, one per municipality and type of request: the resolutions of any other pair are
+         * recorded in a single histogram tagged {@code other}.
+         */
+        private int maxSeries = 1000;
+
+        public boolean isRebuildOnStartup() {
+            return rebuildOnStartup;
+        }
+
+        public void setRebuildOnStartup(boolean rebuildOnStartup) {
+            this.rebuildOnStartup = rebuildOnStartup;
+        }
+
+        public int getMaxSeries() {
+            return maxSeries;
+        }
+
+        public void setMaxSeries(int maxSeries) {
+            this.maxSeries = maxSeries;
+        }
+    }
+
+    public static class Partitions {
+
+        /**
+         * When the monthly partitions of the requests are maintained, as a cron expression.
+         */
+        private String cron = "0 0 3 * * *";
+
+        /**
+         * Months created ahead of the current one.
+         */
+        private int monthsAhead = 3;
+
+        /**
+         * Months kept attached besides the current one, older ones are detached; all of them if 0.
+         */
+        private int retentionMonths = 0;
+
+        /**
+         * Whether detached partitions are dropped, rather than kept as tables to be archived.
+         */
+        private boolean dropExpired = false;
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public int getMonthsAhead() {
+            return monthsAhead;
+        }
+
+        public void setMonthsAhead(int monthsAhead) {
+            this.monthsAhead = monthsAhead;
+        }
+
+        public int getRetentionMonths() {
+            return retentionMonths;
+        }
+
+        public void setRetentionMonths(int retentionMonths) {
+            this.retentionMonths = retentionMonths;
+        }
+
+        public boolean isDropExpired() {
+            return dropExpired;
+        }
+
+        public void setDropExpired(boolean dropExpired) {
+            this.dropExpired = dropExpired;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
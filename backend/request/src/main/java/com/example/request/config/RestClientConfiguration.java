@@ -0,0 +1,22 @@
+package com.example.request.config;
+
+import org.springframework.boot.autoconfigure.web.client.RestClientBuilderConfigurer;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Clients of the other services, resolved through the service registry.
+ */
+@Configuration
+public class RestClientConfiguration {
+
+    @Bean
+    @LoadBalanced
+    @Scope("prototype")
+    public RestClient.Builder loadBalancedRestClientBuilder(RestClientBuilderConfigurer restClientBuilderConfigurer) {
+        return restClientBuilderConfigurer.configure(RestClient.builder());
+    }
+}
@@ -50,6 +50,14 @@ public class Request implements Serializable {
     @Column(name = "municipality_id")
     private Long municipalityId;
 
+    @Size(max = 50)
+    @Column(name = "assignee", length = 50)
+    private String assignee;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -156,6 +164,32 @@ public class Request implements Serializable {
         this.municipalityId = municipalityId;
     }
 
+    public String getAssignee() {
+        return this.assignee;
+    }
+
+    public Request assignee(String assignee) {
+        this.setAssignee(assignee);
+        return this;
+    }
+
+    public void setAssignee(String assignee) {
+        this.assignee = assignee;
+    }
+
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Request version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -187,6 +221,8 @@ public class Request implements Serializable {
             ", resolvedDate='" + getResolvedDate() + "'" +
             ", citizenId=" + getCitizenId() +
             ", municipalityId=" + getMunicipalityId() +
+            ", assignee='" + getAssignee() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,119 @@
+package com.example.request.domain;
+
+import com.example.request.domain.enumeration.RequestStatus;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * The number of requests of a municipality created on a day (UTC) which have a status.
+ * <p>
+ * The counters are kept by the database, in the transaction of each statement which writes requests: they are only
+ * read by the application.
+ */
+@Entity
+@Immutable
+@Table(name = "request_daily_stats")
+@IdClass(RequestDailyStats.RequestDailyStatsId.class)
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class RequestDailyStats implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "municipality_id")
+    private Long municipalityId;
+
+    @Id
+    @Column(name = "day")
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private RequestStatus status;
+
+    @Column(name = "request_count", nullable = false)
+    private Long requestCount;
+
+    public Long getMunicipalityId() {
+        return this.municipalityId;
+    }
+
+    public LocalDate getDay() {
+        return this.day;
+    }
+
+    public RequestStatus getStatus() {
+        return this.status;
+    }
+
+    public Long getRequestCount() {
+        return this.requestCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RequestDailyStats)) {
+            return false;
+        }
+        RequestDailyStats other = (RequestDailyStats) o;
+        return (
+            Objects.equals(municipalityId, other.municipalityId) && Objects.equals(day, other.day) && Objects.equals(status, other.status)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(municipalityId, day, status);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RequestDailyStats{" +
+            "municipalityId=" + getMunicipalityId() +
+            ", day='" + getDay() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", requestCount=" + getRequestCount() +
+            "}";
+    }
+
+    /**
+     * The key of a counter.
+     */
+    public static class RequestDailyStatsId implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long municipalityId;
+
+        private LocalDate day;
+
+        private RequestStatus status;
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RequestDailyStatsId)) {
+                return false;
+            }
+            RequestDailyStatsId other = (RequestDailyStatsId) o;
+            return (
+                Objects.equals(municipalityId, other.municipalityId) && Objects.equals(day, other.day) && Objects.equals(status, other.status)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(municipalityId, day, status);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.request.domain;
+
+import com.example.request.domain.enumeration.RequestChangeType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A change of a {@link Request}, written to the outbox in the transaction of the change and deleted once published.
+ */
+@Entity
+@Table(name = "request_outbox")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class RequestOutboxEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requestOutboxSequenceGenerator")
+    @SequenceGenerator(name = "requestOutboxSequenceGenerator", sequenceName = "request_outbox_sequence", allocationSize = 1)
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "request_id", nullable = false)
+    private Long requestId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false)
+    private RequestChangeType changeType;
+
+    @NotNull
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    @Column(name = "request_version")
+    private Long requestVersion;
+
+    @Column(name = "claimed_until")
+    private Instant claimedUntil;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public RequestOutboxEntry id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getRequestId() {
+        return this.requestId;
+    }
+
+    public RequestOutboxEntry requestId(Long requestId) {
+        this.setRequestId(requestId);
+        return this;
+    }
+
+    public void setRequestId(Long requestId) {
+        this.requestId = requestId;
+    }
+
+    public RequestChangeType getChangeType() {
+        return this.changeType;
+    }
+
+    public RequestOutboxEntry changeType(RequestChangeType changeType) {
+        this.setChangeType(changeType);
+        return this;
+    }
+
+    public void setChangeType(RequestChangeType changeType) {
+        this.changeType = changeType;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public RequestOutboxEntry createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Long getRequestVersion() {
+        return this.requestVersion;
+    }
+
+    public RequestOutboxEntry requestVersion(Long requestVersion) {
+        this.setRequestVersion(requestVersion);
+        return this;
+    }
+
+    public void setRequestVersion(Long requestVersion) {
+        this.requestVersion = requestVersion;
+    }
+
+    public Instant getClaimedUntil() {
+        return this.claimedUntil;
+    }
+
+    public RequestOutboxEntry claimedUntil(Instant claimedUntil) {
+        this.setClaimedUntil(claimedUntil);
+        return this;
+    }
+
+    public void setClaimedUntil(Instant claimedUntil) {
+        this.claimedUntil = claimedUntil;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RequestOutboxEntry)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((RequestOutboxEntry) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RequestOutboxEntry{" +
+            "id=" + getId() +
+            ", requestId=" + getRequestId() +
+            ", changeType='" + getChangeType() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            ", requestVersion=" + getRequestVersion() +
+            ", claimedUntil='" + getClaimedUntil() + "'" +
+            "}";
+    }
+}
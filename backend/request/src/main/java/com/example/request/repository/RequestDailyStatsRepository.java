@@ -0,0 +1,110 @@
+package com.example.request.repository;
+
+import com.example.request.domain.RequestDailyStats;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the RequestDailyStats entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface RequestDailyStatsRepository
+    extends RequestDailyStatsRepositoryWithSnapshot, JpaRepository<RequestDailyStats, RequestDailyStats.RequestDailyStatsId> {
+    /**
+     * @param municipalityId the id of the municipality.
+     * @param from the first day, inclusive.
+     * @param to the last day, exclusive.
+     * @return the non-zero counters of the municipality in the range, by day then status.
+     */
+    @Query(
+        "select stats from RequestDailyStats stats where stats.municipalityId = :municipalityId " +
+        "and stats.day >= :from and stats.day < :to and stats.requestCount <> 0 order by stats.day, stats.status"
+    )
+    List<RequestDailyStats> findAllByMunicipalityIdAndDayRange(
+        @Param("municipalityId") Long municipalityId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+
+    /**
+     * @param from the first day, inclusive.
+     * @param to the last day, exclusive.
+     * @return the day, the status and the number of requests of all the municipalities, for the non-zero counters in
+     * the range, by day then status.
+     */
+    @Query(
+        "select stats.day, stats.status, sum(stats.requestCount) from RequestDailyStats stats " +
+        "where stats.day >= :from and stats.day < :to group by stats.day, stats.status " +
+        "having sum(stats.requestCount) <> 0 order by stats.day, stats.status"
+    )
+    List<Object[]> sumAllByDayRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * @return the first and the last creation dates of the requests, both {@code null} if there is none.
+     */
+    @Query("select min(request.createdDate), max(request.createdDate) from Request request")
+    List<Object[]> findCreatedDateRange();
+
+    /**
+     * Exports the snapshot of the current transaction, which must be {@code REPEATABLE READ}, so that other transactions
+     * can read the same data with {@link #importSnapshot} while it is open.
+     *
+     * @return the id of the snapshot.
+     */
+    @Query(value = "SELECT pg_export_snapshot()", nativeQuery = true)
+    String exportSnapshot();
+
+    /**
+     * Compares the counters of a range of days with the requests created in it.
+     *
+     * @param from the first day, inclusive.
+     * @param to the last day, exclusive.
+     * @return the municipality, the day, the status and the difference between the number of requests and the counter,
+     * for the counters that differ, by municipality, day then status.
+     */
+    @Query(
+        value = "SELECT coalesce(counted.municipality_id, stats.municipality_id), coalesce(counted.day, stats.day), " +
+        "coalesce(counted.status, stats.status), coalesce(counted.request_count, 0) - coalesce(stats.request_count, 0) " +
+        "FROM (SELECT municipality_id, CAST(created_date AS date) AS day, status, count(*) AS request_count FROM request " +
+        "WHERE created_date >= :from AND created_date < :to AND municipality_id IS NOT NULL GROUP BY 1, 2, 3) counted " +
+        "FULL JOIN (SELECT municipality_id, day, status, request_count FROM request_daily_stats WHERE day >= :from AND day < :to) stats " +
+        "ON stats.municipality_id = counted.municipality_id AND stats.day = counted.day AND stats.status = counted.status " +
+        "WHERE coalesce(counted.request_count, 0) <> coalesce(stats.request_count, 0) ORDER BY 1, 2, 3",
+        nativeQuery = true
+    )
+    List<Object[]> findAllDriftInDayRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * @param from the first day of the requests, inclusive.
+     * @param to the last day of the requests, exclusive.
+     * @return the municipality, the day, the status and the opposite of the counter, for the non-zero counters outside
+     * the range, by municipality, day then status.
+     */
+    @Query(
+        value = "SELECT municipality_id, day, status, -request_count FROM request_daily_stats " +
+        "WHERE (day < :from OR day >= :to) AND request_count <> 0 ORDER BY 1, 2, 3",
+        nativeQuery = true
+    )
+    List<Object[]> findAllDriftOutsideDayRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Adds to a counter, as the triggers do: concurrent additions to the same counter wait for each other, and all count.
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO request_daily_stats (municipality_id, day, status, request_count) " +
+        "VALUES (:municipalityId, :day, :status, :delta) ON CONFLICT (municipality_id, day, status) " +
+        "DO UPDATE SET request_count = request_daily_stats.request_count + excluded.request_count",
+        nativeQuery = true
+    )
+    int addToCounter(
+        @Param("municipalityId") Long municipalityId,
+        @Param("day") LocalDate day,
+        @Param("status") String status,
+        @Param("delta") long delta
+    );
+}
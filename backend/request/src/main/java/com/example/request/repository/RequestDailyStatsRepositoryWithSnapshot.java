@@ -0,0 +1,11 @@
+package com.example.request.repository;
+
+public interface RequestDailyStatsRepositoryWithSnapshot {
+    /**
+     * Reads the data of the transaction which exported the snapshot, in the current transaction. It must be the first
+     * statement of a {@code REPEATABLE READ} transaction, and the exporting transaction must still be open.
+     *
+     * @param snapshot the id returned by {@link RequestDailyStatsRepository#exportSnapshot()}.
+     */
+    void importSnapshot(String snapshot);
+}
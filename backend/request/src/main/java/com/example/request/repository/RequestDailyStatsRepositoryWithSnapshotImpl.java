@@ -0,0 +1,25 @@
+package com.example.request.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.util.Assert;
+
+/**
+ * Utility repository to share a snapshot between transactions.
+ */
+public class RequestDailyStatsRepositoryWithSnapshotImpl implements RequestDailyStatsRepositoryWithSnapshot {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * {@code SET TRANSACTION SNAPSHOT} takes no parameter: the id is checked before it is written in the statement.
+     */
+    @Override
+    public void importSnapshot(String snapshot) {
+        Assert.isTrue(snapshot != null && snapshot.matches("[0-9A-F-]+"), () -> "Not a snapshot id: " + snapshot);
+        entityManager.createNativeQuery("SET TRANSACTION SNAPSHOT '" + snapshot + "'").executeUpdate();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.request.repository;
+
+import com.example.request.domain.RequestOutboxEntry;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the RequestOutboxEntry entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface RequestOutboxEntryRepository extends JpaRepository<RequestOutboxEntry, Long> {
+    /**
+     * Locks the oldest entries of the outbox until the end of the transaction, which claims them. A concurrent poller
+     * waits for that short transaction, then sees the claim and leaves the entries alone until they are deleted or the
+     * claim expires, so the entries are published in order even by several instances.
+     *
+     * @param batch the maximum number of entries.
+     * @return the oldest entries, in the order they were written.
+     */
+    @Query(value = "SELECT * FROM request_outbox ORDER BY id LIMIT :batch FOR UPDATE", nativeQuery = true)
+    List<RequestOutboxEntry> lockOldest(@Param("batch") int batch);
+
+    /**
+     * Releases the claim on entries which could not be published, for the next poll to publish them again.
+     *
+     * @param ids the ids of the entries.
+     */
+    @Modifying
+    @Query("update RequestOutboxEntry entry set entry.claimedUntil = null where entry.id in :ids")
+    void releaseAllByIdIn(@Param("ids") Collection<Long> ids);
+}
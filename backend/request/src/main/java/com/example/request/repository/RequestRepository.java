@@ -1,12 +1,264 @@
 package com.example.request.repository;
 
 import com.example.request.domain.Request;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data JPA repository for the Request entity.
+ * <p>
+ * The {@code request} table is partitioned by month of {@code created_date}, and its primary key is
+ * {@code (id, created_date)}. A statement which knows the creation date of the requests only reads their partition: the
+ * statements of this repository which first select the requests, then change them, join on both columns. A statement by
+ * id alone, such as {@code findById} on a miss of the second-level cache, {@link #findStatusByIdForUpdate},
+ * {@link #findByIdForUpdate}, {@link #findAllByIdInBypassingCache} or the lock of {@code updateChangedColumns}, cannot
+ * be pruned: it probes the primary key index of every partition, one index lookup per month kept plus the default
+ * partition. The {@code RequestPartitioningBenchmarkIT} measures this cost against an unpartitioned table. It grows with
+ * {@code application.partitions.retention-months}, e.g. 28 partitions for 24 months kept and 3 months ahead, and without
+ * a bound when all the months are kept.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface RequestRepository extends JpaRepository<Request, Long> {}
+public interface RequestRepository extends RequestRepositoryWithPartialUpdate, JpaRepository<Request, Long> {
+    /**
+     * Number of rows fetched from the database cursor at a time by the export streams.
+     */
+    int EXPORT_FETCH_SIZE = 1000;
+
+    /**
+     * The requests matching a search, with their rank.
+     */
+    String SEARCH_HITS =
+        "SELECT request.id, ts_rank(request.search_vector, search.query) AS rank FROM request, " +
+        "(SELECT websearch_to_tsquery('french', :query) || websearch_to_tsquery('simple', :query) AS query) search " +
+        "WHERE request.search_vector @@ search.query";
+
+    /**
+     * Streams the requests created in a range, oldest first, through a forward-only cursor read
+     * {@link #EXPORT_FETCH_SIZE} rows at a time. The entities are read-only and bypass the second-level cache, but stay
+     * in the persistence context until they are detached.
+     * <p>
+     * The stream must be consumed, then closed, within a transaction.
+     *
+     * @param from the first instant of the range, inclusive.
+     * @param to the last instant of the range, exclusive.
+     * @return the stream of requests.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    @Query(
+        "select request from Request request where request.createdDate >= :from and request.createdDate < :to " +
+        "order by request.createdDate, request.id"
+    )
+    Stream<Request> streamAllByCreatedDateRange(@Param("from") Instant from, @Param("to") Instant to);
+
+    /**
+     * Streams the requests of a municipality created in a range, as {@link #streamAllByCreatedDateRange}.
+     *
+     * @param municipalityId the id of the municipality.
+     * @param from the first instant of the range, inclusive.
+     * @param to the last instant of the range, exclusive.
+     * @return the stream of requests.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    @Query(
+        "select request from Request request where request.municipalityId = :municipalityId " +
+        "and request.createdDate >= :from and request.createdDate < :to order by request.createdDate, request.id"
+    )
+    Stream<Request> streamAllByMunicipalityIdAndCreatedDateRange(
+        @Param("municipalityId") Long municipalityId,
+        @Param("from") Instant from,
+        @Param("to") Instant to
+    );
+
+    /**
+     * Streams the municipality, type, creation date and resolution date of the resolved and rejected requests, through
+     * a forward-only cursor read {@link #EXPORT_FETCH_SIZE} rows at a time. The rows are tuples, so the persistence
+     * context does not grow with them.
+     * <p>
+     * The stream must be consumed, then closed, within a transaction.
+     *
+     * @return the stream of resolutions.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query(
+        "select request.municipalityId, request.type, request.createdDate, request.resolvedDate from Request request " +
+        "where request.status in (com.example.request.domain.enumeration.RequestStatus.RESOLVED, " +
+        "com.example.request.domain.enumeration.RequestStatus.REJECTED) " +
+        "and request.createdDate is not null and request.resolvedDate is not null"
+    )
+    Stream<Object[]> streamAllResolutions();
+
+    /**
+     * Reads the id, municipality, type, creation date and resolution date of the resolved and rejected requests of the
+     * given ids from the database, e.g. once they were moved to a status by a statement.
+     *
+     * @param ids the ids of the requests.
+     * @return the resolutions of the existing requests, as {@link #streamAllResolutions} would stream them.
+     */
+    @Query(
+        "select request.id, request.municipalityId, request.type, request.createdDate, request.resolvedDate " +
+        "from Request request where request.id in :ids " +
+        "and request.status in (com.example.request.domain.enumeration.RequestStatus.RESOLVED, " +
+        "com.example.request.domain.enumeration.RequestStatus.REJECTED) " +
+        "and request.createdDate is not null and request.resolvedDate is not null"
+    )
+    List<Object[]> findResolutionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Reads the status of a request and locks it until the end of the transaction, so concurrent transitions of the
+     * request are seen one after the other.
+     *
+     * @param id the id of the request.
+     * @return the name of the status, or empty if there is no request with the id.
+     */
+    @Query(value = "SELECT status FROM request WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<String> findStatusByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Reads a request and locks it until the end of the transaction, e.g. to update it in its current version.
+     *
+     * @param id the id of the request.
+     * @return the request, or empty if there is no request with the id.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select request from Request request where request.id = :id")
+    Optional<Request> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Creates the monthly partitions of the requests ahead of the current month, and detaches those beyond the retention.
+     *
+     * @param monthsAhead the number of months created after the current one.
+     * @param retentionMonths the number of months kept attached before the current one, all of them if 0.
+     * @param dropExpired whether detached partitions are dropped, rather than kept as tables.
+     * @return what was done, one line per partition.
+     */
+    @Query(
+        value = "SELECT request_partitions_maintain(CAST('request' AS regclass), :monthsAhead, :retentionMonths, :dropExpired)",
+        nativeQuery = true
+    )
+    List<String> maintainPartitions(
+        @Param("monthsAhead") int monthsAhead,
+        @Param("retentionMonths") int retentionMonths,
+        @Param("dropExpired") boolean dropExpired
+    );
+
+    /**
+     * Finds the best ranked requests holding the words searched in their type or description, through the GIN index of
+     * their {@code search_vector}. The search is read as a web search, e.g. {@code fuite -eau "route barrée"}, with both
+     * the french and the simple configurations.
+     *
+     * @param query the words searched.
+     * @param size the maximum number of requests.
+     * @return a pair of the id and the rank, as a {@code Float}, for each request, best ranked first, then by id
+     * descending.
+     */
+    @Query(
+        value = "SELECT hit.id, hit.rank FROM (" +
+        SEARCH_HITS +
+        ") hit ORDER BY hit.rank DESC, hit.id DESC LIMIT :size",
+        nativeQuery = true
+    )
+    List<Object[]> search(@Param("query") String query, @Param("size") int size);
+
+    /**
+     * Finds the next requests of a {@link #search}, after the last one of the previous page.
+     *
+     * @param query the words searched.
+     * @param afterRank the rank of the last request of the previous page.
+     * @param afterId the id of the last request of the previous page.
+     * @param size the maximum number of requests.
+     * @return a pair of the id and the rank for each request, in the order of {@link #search}.
+     */
+    @Query(
+        value = "SELECT hit.id, hit.rank FROM (" +
+        SEARCH_HITS +
+        ") hit WHERE (hit.rank, hit.id) < (CAST(:afterRank AS real), :afterId) ORDER BY hit.rank DESC, hit.id DESC LIMIT :size",
+        nativeQuery = true
+    )
+    List<Object[]> searchAfter(
+        @Param("query") String query,
+        @Param("afterRank") float afterRank,
+        @Param("afterId") Long afterId,
+        @Param("size") int size
+    );
+
+    /**
+     * Reads the requests of the given ids from the database, bypassing the second-level cache, which may still hold the
+     * previous state of a request changed by a transaction that just committed.
+     *
+     * @param ids the ids of the requests.
+     * @return the existing requests.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    @Query("select request from Request request where request.id in :ids")
+    List<Request> findAllByIdInBypassingCache(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Moves the requests of the given ids to a status, in one statement: the requests are locked in the order of their
+     * ids, so concurrent transitions of overlapping ids do not deadlock, and those which already have the status are left
+     * as is. The resolved date is set to now if {@code resolved}, cleared otherwise, and the version is incremented.
+     * <p>
+     * The statement bypasses the persistence context and the second-level cache: the caller must evict the updated
+     * requests.
+     *
+     * @param ids the ids of the requests, as a Postgres array literal such as <code>{1,2,3}</code>, so the statement is
+     * the same for any number of ids.
+     * @param status the name of the status.
+     * @param resolved whether the status resolves the requests.
+     * @return a pair of the id and whether it was updated, for each of the existing requests.
+     */
+    @Query(
+        value = "WITH target AS (SELECT id, created_date, status FROM request WHERE id = ANY(CAST(:ids AS bigint[])) " +
+        "ORDER BY id FOR UPDATE), " +
+        "updated AS (UPDATE request SET status = :status, resolved_date = CASE WHEN :resolved THEN now() AT TIME ZONE 'UTC' END, " +
+        "version = request.version + 1 FROM target " +
+        "WHERE request.id = target.id AND request.created_date = target.created_date AND target.status <> :status " +
+        "RETURNING request.id) " +
+        "SELECT target.id, updated.id IS NOT NULL FROM target LEFT JOIN updated ON updated.id = target.id",
+        nativeQuery = true
+    )
+    List<Object[]> updateStatusByIdIn(@Param("ids") String ids, @Param("status") String status, @Param("resolved") boolean resolved);
+
+    /**
+     * Claims the oldest pending requests of a municipality for an assignee, in one statement: they are moved to
+     * {@code IN_PROGRESS} and their version is incremented. The pending requests locked by a concurrent claim are skipped
+     * rather than waited for, so concurrent claims neither block each other nor claim the same request.
+     * <p>
+     * The statement bypasses the persistence context and the second-level cache: the caller must evict the claimed
+     * requests.
+     *
+     * @param municipalityId the id of the municipality.
+     * @param batch the maximum number of requests to claim.
+     * @param assignee the login of the assignee.
+     * @return the claimed requests, fewer than {@code batch} if the queue runs out.
+     */
+    @Query(
+        value = "WITH claimed AS (SELECT id, created_date FROM request WHERE status = 'PENDING' AND municipality_id = :municipalityId " +
+        "ORDER BY created_date, id LIMIT :batch FOR UPDATE SKIP LOCKED) " +
+        "UPDATE request SET status = 'IN_PROGRESS', assignee = :assignee, version = request.version + 1 " +
+        "FROM claimed WHERE request.id = claimed.id AND request.created_date = claimed.created_date RETURNING request.*",
+        nativeQuery = true
+    )
+    List<Request> claimPending(@Param("municipalityId") Long municipalityId, @Param("batch") int batch, @Param("assignee") String assignee);
+}
@@ -0,0 +1,27 @@
+package com.example.request.repository;
+
+import com.example.request.domain.Request;
+import java.util.Optional;
+
+public interface RequestRepositoryWithPartialUpdate {
+    /**
+     * Updates the non-null fields of the given request, and only them, in one statement which locks the request,
+     * increments its version and returns it updated, with the status it had before. If the given request has a version,
+     * the update is conditional on it.
+     *
+     * @param changes the id of the request, its expected version if any, and the fields to update.
+     * @param resolves whether the status of the changes resolves the request: its resolved date is then set to now,
+     * unless the changes have one or the request already had the status.
+     * @return the updated request, or empty if there is no request with the id.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the request was updated since its version.
+     */
+    Optional<PartialUpdate> updateChangedColumns(Request changes, boolean resolves);
+
+    /**
+     * A request updated by {@link #updateChangedColumns}.
+     *
+     * @param request the updated request.
+     * @param previousStatus the name of the status of the request before the update.
+     */
+    record PartialUpdate(Request request, String previousStatus) {}
+}
@@ -0,0 +1,85 @@
+package com.example.request.repository;
+
+import com.example.request.domain.Request;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Utility repository to update a request without reading it first.
+ */
+public class RequestRepositoryWithPartialUpdateImpl implements RequestRepositoryWithPartialUpdate {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The request is locked by a first common table expression, which keeps its previous status, then updated by a second
+     * one: the statement returns one row if the request exists, holding the updated request unless its version changed.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<PartialUpdate> updateChangedColumns(Request changes, boolean resolves) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        putIfNotNull(values, "type", changes.getType());
+        putIfNotNull(values, "description", changes.getDescription());
+        putIfNotNull(values, "status", changes.getStatus() != null ? changes.getStatus().name() : null);
+        putIfNotNull(values, "created_date", changes.getCreatedDate());
+        putIfNotNull(values, "resolved_date", changes.getResolvedDate());
+        putIfNotNull(values, "citizen_id", changes.getCitizenId());
+        putIfNotNull(values, "municipality_id", changes.getMunicipalityId());
+        putIfNotNull(values, "assignee", changes.getAssignee());
+
+        StringBuilder sql = new StringBuilder(
+            "WITH target AS (SELECT id, created_date, status FROM request WHERE id = :id FOR UPDATE), updated AS (UPDATE request SET "
+        );
+        values.keySet().forEach(column -> sql.append(column).append(" = :").append(column).append(", "));
+        if (resolves && changes.getResolvedDate() == null) {
+            // as a move to the status by updateStatusByIdIn
+            sql.append("resolved_date = CASE WHEN target.status = :status THEN request.resolved_date ELSE now() AT TIME ZONE 'UTC' END, ");
+        }
+        sql.append("version = request.version + 1 FROM target WHERE request.id = target.id AND request.created_date = target.created_date");
+        if (changes.getVersion() != null) {
+            sql.append(" AND request.version = :version");
+        }
+        sql.append(" RETURNING request.*) SELECT updated.*, target.status AS previous_status FROM target LEFT JOIN updated ON true");
+
+        // The persistence context would return the instance it may already hold for the id as is, not the updated row
+        entityManager.detach(entityManager.getReference(Request.class, changes.getId()));
+        NativeQuery<Object[]> query = entityManager
+            .createNativeQuery(sql.toString())
+            .unwrap(NativeQuery.class)
+            .addEntity("updated", Request.class)
+            .addScalar("previous_status", StandardBasicTypes.STRING);
+        query.setParameter("id", changes.getId());
+        if (changes.getVersion() != null) {
+            query.setParameter("version", changes.getVersion());
+        }
+        values.forEach(query::setParameter);
+        List<Object[]> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        // A versioned update of an existing request matches no row if its version changed
+        if (rows.get(0)[0] == null) {
+            throw new OptimisticLockingFailureException(
+                "Request " + changes.getId() + " was updated since version " + changes.getVersion()
+            );
+        }
+        return Optional.of(new PartialUpdate((Request) rows.get(0)[0], (String) rows.get(0)[1]));
+    }
+
+    private static void putIfNotNull(Map<String, Object> values, String column, Object value) {
+        if (value != null) {
+            values.put(column, value);
+        }
+    }
+}
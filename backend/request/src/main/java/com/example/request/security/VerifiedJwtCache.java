@@ -0,0 +1,162 @@
+package com.example.request.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Keeps the tokens verified by the {@code jwtDecoder}, so that a token relayed by the gateway on every request of a
+ * session has its signature checked and its claims parsed once.
+ * <p>
+ * Tokens are keyed by their SHA-256 hash and kept until they expire, about {@code maximumSize} of them. They are spread
+ * by hash over up to 16 shards, each with its own lock and least recently used first out, so that the requests being
+ * authenticated don't all queue on one lock. Tokens without expiry are not cached, nor are the tokens that fail
+ * verification: those keep going through the decoder and its {@code security.authentication.invalid-tokens} counters.
+ * <p>
+ * Each service keeps its own copy of this class in its {@code security} package, as JHipster lays them out: a change
+ * to one copy is to be made to all of them.
+ * <p>
+ * Hits, misses, evictions and size are published as the {@code cache.gets}, {@code cache.evictions} and
+ * {@code cache.size} meters, tagged {@code cache=verifiedJwt}.
+ */
+public class VerifiedJwtCache {
+
+    public static final String NAME = "verifiedJwt";
+
+    private static final int MAXIMUM_SHARDS = 16;
+
+    private static final int MINIMUM_SHARD_SIZE = 64;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final Clock clock;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final List<Shard> shards;
+
+    public VerifiedJwtCache(int maximumSize, MeterRegistry meterRegistry) {
+        this(maximumSize, meterRegistry, Clock.systemUTC());
+    }
+
+    VerifiedJwtCache(int maximumSize, MeterRegistry meterRegistry, Clock clock) {
+        this.clock = clock;
+        int count = Math.min(MAXIMUM_SHARDS, Integer.highestOneBit(Math.max(1, maximumSize / MINIMUM_SHARD_SIZE)));
+        this.shards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            shards.add(new Shard((maximumSize + count - 1) / count));
+        }
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+            .tags("cache", NAME, "result", "hit")
+            .description("the number of times cache lookup methods have returned a cached value.")
+            .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+            .tags("cache", NAME, "result", "miss")
+            .description("the number of times cache lookup methods have returned an uncached (newly loaded) value, or null.")
+            .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+            .tags("cache", NAME)
+            .description("the number of entries evicted because of their size or expiry.")
+            .register(meterRegistry);
+        Gauge.builder("cache.size", this, VerifiedJwtCache::size).tags("cache", NAME).register(meterRegistry);
+    }
+
+    /**
+     * @param token the serialized token.
+     * @return the token verified earlier, or {@code null} if it is unknown or expired.
+     */
+    public Jwt get(String token) {
+        ByteBuffer key = key(token);
+        Shard shard = shard(key);
+        synchronized (shard) {
+            Jwt jwt = shard.get(key);
+            if (jwt != null && clock.instant().isBefore(jwt.getExpiresAt()) && token.equals(jwt.getTokenValue())) {
+                hits.increment();
+                return jwt;
+            }
+            if (jwt != null) {
+                shard.remove(key);
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * @param token the serialized token.
+     * @param jwt the token once verified.
+     */
+    public void put(String token, Jwt jwt) {
+        if (jwt.getExpiresAt() == null) {
+            return;
+        }
+        ByteBuffer key = key(token);
+        Shard shard = shard(key);
+        synchronized (shard) {
+            shard.put(key, jwt);
+        }
+    }
+
+    private Shard shard(ByteBuffer key) {
+        int hash = key.hashCode();
+        return shards.get((hash ^ (hash >>> 16)) & (shards.size() - 1));
+    }
+
+    private double size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.size();
+            }
+        }
+        return size;
+    }
+
+    private static ByteBuffer key(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * The tokens of one shard, least recently used first; guarded by its own monitor.
+     */
+    private final class Shard extends LinkedHashMap<ByteBuffer, Jwt> {
+
+        private final int maximumSize;
+
+        Shard(int maximumSize) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Jwt> eldest) {
+            if (size() > maximumSize) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.request.service;
+
+import com.example.request.service.dto.RequestChangeEventDTO;
+import java.util.List;
+
+/**
+ * The transport of the changes of requests published from the outbox.
+ */
+public interface RequestChangePublisher {
+    /**
+     * Publish a batch of changes, in order. The batch is published again, with the changes since, until this returns
+     * normally, so a consumer may receive a change more than once.
+     *
+     * @param events the changes, in the order of their position.
+     */
+    void publish(List<RequestChangeEventDTO> events);
+}
@@ -1,6 +1,13 @@
 package com.example.request.service;
 
+import com.example.request.domain.enumeration.RequestStatus;
 import com.example.request.service.dto.RequestDTO;
+import com.example.request.service.dto.RequestSearchHitDTO;
+import com.example.request.service.dto.RequestStatusOutcomeDTO;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -10,7 +17,7 @@ import org.springframework.data.domain.Pageable;
  */
 public interface RequestService {
     /**
-     * Save a request.
+     * Save a request, created now unless it has a creation date.
      *
      * @param requestDTO the entity to save.
      * @return the persisted entity.
@@ -18,7 +25,10 @@ public interface RequestService {
     RequestDTO save(RequestDTO requestDTO);
 
     /**
-     * Updates a request.
+     * Updates a request, which keeps its creation date unless another one is given. If it has a version, the update only
+     * applies to that version of the request, and fails with an
+     * {@link org.springframework.dao.OptimisticLockingFailureException} if the request was updated since; otherwise the
+     * update is unconditional.
      *
      * @param requestDTO the entity to update.
      * @return the persisted entity.
@@ -26,13 +36,36 @@ public interface RequestService {
     RequestDTO update(RequestDTO requestDTO);
 
     /**
-     * Partially updates a request.
+     * Partially updates a request, in one statement: only its non-null fields are written. If it has a version, the update
+     * only applies to that version of the request, and fails with an
+     * {@link org.springframework.dao.OptimisticLockingFailureException} if the request was updated since.
      *
      * @param requestDTO the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if there is no request with the id.
      */
     Optional<RequestDTO> partialUpdate(RequestDTO requestDTO);
 
+    /**
+     * Move several requests to a status, in set-based updates of a chunk of them at a time rather than one update per
+     * request. The resolved date of the requests is set if the status is final, cleared otherwise.
+     *
+     * @param ids the ids of the requests.
+     * @param status the status to move the requests to.
+     * @return the outcome for each of the distinct ids, in the given order.
+     */
+    List<RequestStatusOutcomeDTO> updateStatus(List<Long> ids, RequestStatus status);
+
+    /**
+     * Claim the oldest pending requests of a municipality: they are moved to {@code IN_PROGRESS} and assigned, atomically.
+     * Concurrent claims never hand out the same request, and do not wait for each other.
+     *
+     * @param municipalityId the id of the municipality.
+     * @param batch the maximum number of requests to claim.
+     * @param assignee the login of the assignee.
+     * @return the claimed requests, oldest first.
+     */
+    List<RequestDTO> claim(Long municipalityId, int batch, String assignee);
+
     /**
      * Get all the requests.
      *
@@ -41,6 +74,32 @@ public interface RequestService {
      */
     Page<RequestDTO> findAll(Pageable pageable);
 
+    /**
+     * Search the requests by the words of their type or description, best ranked first.
+     *
+     * @param query the words searched, as a web search: {@code "..."} for a phrase, {@code -} to exclude a word.
+     * @param afterRank the rank of the last request of the previous page, or {@code null} for the first page.
+     * @param afterId the id of the last request of the previous page, or {@code null} for the first page.
+     * @param size the maximum number of requests.
+     * @return the requests found, with their rank.
+     */
+    List<RequestSearchHitDTO> search(String query, Float afterRank, Long afterId, int size);
+
+    /**
+     * Export the requests created in a range as CSV, oldest first.
+     * <p>
+     * The requests are streamed from the database and written as they are read, so the memory used does not depend on
+     * the range. The output stream is flushed, but not closed.
+     *
+     * @param from the first instant of the range, inclusive.
+     * @param to the last instant of the range, exclusive.
+     * @param municipalityId the id of the municipality of the requests, or {@code null} for all the municipalities.
+     * @param out the output stream to write the CSV document to, in UTF-8.
+     * @return the number of requests written.
+     * @throws IOException if the output stream cannot be written.
+     */
+    long exportCsv(Instant from, Instant to, Long municipalityId, OutputStream out) throws IOException;
+
     /**
      * Get the "id" request.
      *
@@ -0,0 +1,26 @@
+package com.example.request.service;
+
+import com.example.request.service.dto.RequestSlaDTO;
+import java.util.List;
+
+/**
+ * Service Interface for the resolution times of {@link com.example.request.domain.Request}s, kept in memory as one
+ * histogram per municipality and type of request.
+ */
+public interface RequestSlaService {
+    /**
+     * Get the percentiles of the resolution times.
+     *
+     * @param municipalityId the id of the municipality, or {@code null} for all the municipalities.
+     * @param type the type of the requests, or {@code null} for all the types.
+     * @return the percentiles of each histogram of the municipality and type, by municipality then type.
+     */
+    List<RequestSlaDTO> findAll(Long municipalityId, String type);
+
+    /**
+     * Rebuild the histograms from the resolved and rejected requests, read as a stream, then replace the current ones.
+     *
+     * @return the number of resolutions recorded.
+     */
+    long rebuild();
+}
@@ -0,0 +1,30 @@
+package com.example.request.service;
+
+import com.example.request.service.dto.RequestDailyStatsDTO;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service Interface for the statistics of {@link com.example.request.domain.Request}s, read from counters kept per
+ * municipality, day of creation and status.
+ */
+public interface RequestStatsService {
+    /**
+     * Get the number of requests of each status created on each day of a range, in time proportional to the number of
+     * days rather than of requests.
+     *
+     * @param municipalityId the id of the municipality, or {@code null} for all the municipalities.
+     * @param from the first day (UTC), inclusive.
+     * @param to the last day (UTC), exclusive.
+     * @return the non-zero counts, by day then status.
+     */
+    List<RequestDailyStatsDTO> findDailyStats(Long municipalityId, LocalDate from, LocalDate to);
+
+    /**
+     * Recompute all the counters from the requests, in chunks of days compared in parallel with the counters, in one
+     * snapshot. The writes of requests are not blocked.
+     *
+     * @return the number of counters corrected.
+     */
+    long rebuild();
+}
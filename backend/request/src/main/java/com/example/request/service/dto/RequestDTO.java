@@ -31,6 +31,11 @@ public class RequestDTO implements Serializable {
 
     private Long municipalityId;
 
+    @Size(max = 50)
+    private String assignee;
+
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -95,6 +100,22 @@ public class RequestDTO implements Serializable {
         this.municipalityId = municipalityId;
     }
 
+    public String getAssignee() {
+        return assignee;
+    }
+
+    public void setAssignee(String assignee) {
+        this.assignee = assignee;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -128,6 +149,8 @@ public class RequestDTO implements Serializable {
             ", resolvedDate='" + getResolvedDate() + "'" +
             ", citizenId=" + getCitizenId() +
             ", municipalityId=" + getMunicipalityId() +
+            ", assignee='" + getAssignee() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,79 @@
+package com.example.request.service.dto;
+
+import com.example.request.domain.enumeration.RequestStatus;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * A DTO for the number of requests created on a day (UTC) which have a status.
+ */
+public class RequestDailyStatsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate day;
+
+    private RequestStatus status;
+
+    private long count;
+
+    public RequestDailyStatsDTO() {}
+
+    public RequestDailyStatsDTO(LocalDate day, RequestStatus status, long count) {
+        this.day = day;
+        this.status = status;
+        this.count = count;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public RequestStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(RequestStatus status) {
+        this.status = status;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RequestDailyStatsDTO)) {
+            return false;
+        }
+        RequestDailyStatsDTO other = (RequestDailyStatsDTO) o;
+        return count == other.count && Objects.equals(day, other.day) && status == other.status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(day, status, count);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RequestDailyStatsDTO{" +
+            "day='" + getDay() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", count=" + getCount() +
+            "}";
+    }
+}
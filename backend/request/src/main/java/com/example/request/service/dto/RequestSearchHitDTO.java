@@ -0,0 +1,67 @@
+package com.example.request.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for a {@link com.example.request.domain.Request} found by a search, with its rank: the higher, the better the
+ * request matches the words searched.
+ */
+public class RequestSearchHitDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private float rank;
+
+    private RequestDTO request;
+
+    public RequestSearchHitDTO() {}
+
+    public RequestSearchHitDTO(float rank, RequestDTO request) {
+        this.rank = rank;
+        this.request = request;
+    }
+
+    public float getRank() {
+        return rank;
+    }
+
+    public void setRank(float rank) {
+        this.rank = rank;
+    }
+
+    public RequestDTO getRequest() {
+        return request;
+    }
+
+    public void setRequest(RequestDTO request) {
+        this.request = request;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RequestSearchHitDTO)) {
+            return false;
+        }
+
+        RequestSearchHitDTO requestSearchHitDTO = (RequestSearchHitDTO) o;
+        return this.rank == requestSearchHitDTO.rank && Objects.equals(this.request, requestSearchHitDTO.request);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.rank, this.request);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RequestSearchHitDTO{" +
+            "rank=" + getRank() +
+            ", request=" + getRequest() +
+            "}";
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.request.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the distribution of the resolution times of the {@link com.example.request.domain.Request}s of a
+ * municipality and type, in seconds from their creation to their resolution or rejection.
+ */
+public class RequestSlaDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long municipalityId;
+
+    private String type;
+
+    private long count;
+
+    private long p50;
+
+    private long p90;
+
+    private long p99;
+
+    private long max;
+
+    public Long getMunicipalityId() {
+        return municipalityId;
+    }
+
+    public void setMunicipalityId(Long municipalityId) {
+        this.municipalityId = municipalityId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public void setP50(long p50) {
+        this.p50 = p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public void setP90(long p90) {
+        this.p90 = p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public void setP99(long p99) {
+        this.p99 = p99;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public void setMax(long max) {
+        this.max = max;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RequestSlaDTO)) {
+            return false;
+        }
+        RequestSlaDTO other = (RequestSlaDTO) o;
+        return (
+            count == other.count &&
+            p50 == other.p50 &&
+            p90 == other.p90 &&
+            p99 == other.p99 &&
+            max == other.max &&
+            Objects.equals(municipalityId, other.municipalityId) &&
+            Objects.equals(type, other.type)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(municipalityId, type, count, p50, p90, p99, max);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RequestSlaDTO{" +
+            "municipalityId=" + getMunicipalityId() +
+            ", type='" + getType() + "'" +
+            ", count=" + getCount() +
+            ", p50=" + getP50() +
+            ", p90=" + getP90() +
+            ", p99=" + getP99() +
+            ", max=" + getMax() +
+            "}";
+    }
+}
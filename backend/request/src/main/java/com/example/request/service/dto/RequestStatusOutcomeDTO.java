@@ -0,0 +1,84 @@
+package com.example.request.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the outcome of the transition of one {@link com.example.request.domain.Request} to a status.
+ */
+public class RequestStatusOutcomeDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The outcome of a transition.
+     */
+    public enum Outcome {
+        /**
+         * The request was moved to the status.
+         */
+        UPDATED,
+        /**
+         * The request already had the status, and was left as is.
+         */
+        UNCHANGED,
+        /**
+         * There is no request with the id.
+         */
+        NOT_FOUND,
+    }
+
+    private Long id;
+
+    private Outcome outcome;
+
+    public RequestStatusOutcomeDTO() {}
+
+    public RequestStatusOutcomeDTO(Long id, Outcome outcome) {
+        this.id = id;
+        this.outcome = outcome;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RequestStatusOutcomeDTO)) {
+            return false;
+        }
+
+        RequestStatusOutcomeDTO requestStatusOutcomeDTO = (RequestStatusOutcomeDTO) o;
+        return Objects.equals(this.id, requestStatusOutcomeDTO.id) && this.outcome == requestStatusOutcomeDTO.outcome;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id, this.outcome);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RequestStatusOutcomeDTO{" +
+            "id=" + getId() +
+            ", outcome='" + getOutcome() + "'" +
+            "}";
+    }
+}
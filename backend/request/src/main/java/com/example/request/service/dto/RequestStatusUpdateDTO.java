@@ -0,0 +1,46 @@
+package com.example.request.service.dto;
+
+import com.example.request.domain.enumeration.RequestStatus;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A DTO for the transition of several {@link com.example.request.domain.Request}s to a status.
+ */
+public class RequestStatusUpdateDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@NotNull Long> ids;
+
+    @NotNull
+    private RequestStatus status;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public RequestStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(RequestStatus status) {
+        this.status = status;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RequestStatusUpdateDTO{" +
+            "ids=" + getIds() +
+            ", status='" + getStatus() + "'" +
+            "}";
+    }
+}
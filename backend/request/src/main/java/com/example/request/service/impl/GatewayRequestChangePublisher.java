@@ -0,0 +1,78 @@
+package com.example.request.service.impl;
+
+import com.example.request.config.ApplicationProperties;
+import com.example.request.security.AuthoritiesConstants;
+import com.example.request.security.SecurityUtils;
+import com.example.request.service.RequestChangePublisher;
+import com.example.request.service.dto.RequestChangeEventDTO;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
+import org.springframework.boot.http.client.ClientHttpRequestFactorySettings;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Publishes the changes of requests to the read model of the gateway, which applies each batch in one transaction.
+ * <p>
+ * The gateway is called as an administrator, with a short-lived token signed by the key shared by the services, and
+ * given {@code application.outbox.connect-timeout} and {@code read-timeout} to answer.
+ */
+@Service
+public class GatewayRequestChangePublisher implements RequestChangePublisher {
+
+    private static final String TOKEN_SUBJECT = "request";
+
+    private static final Duration TOKEN_VALIDITY = Duration.ofMinutes(1);
+
+    private final RestClient restClient;
+
+    private final JwtEncoder jwtEncoder;
+
+    public GatewayRequestChangePublisher(
+        @LoadBalanced RestClient.Builder restClientBuilder,
+        JwtEncoder jwtEncoder,
+        ApplicationProperties applicationProperties
+    ) {
+        ApplicationProperties.Outbox outbox = applicationProperties.getOutbox();
+        ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.defaults()
+            .withConnectTimeout(outbox.getConnectTimeout())
+            .withReadTimeout(outbox.getReadTimeout());
+        this.restClient = restClientBuilder
+            .baseUrl(outbox.getGatewayUrl())
+            .requestFactory(ClientHttpRequestFactoryBuilder.detect().build(settings))
+            .build();
+        this.jwtEncoder = jwtEncoder;
+    }
+
+    @Override
+    public void publish(List<RequestChangeEventDTO> events) {
+        restClient
+            .post()
+            .uri("/api/admin/request-changes")
+            .headers(headers -> headers.setBearerAuth(serviceToken()))
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(events)
+            .retrieve()
+            .toBodilessEntity();
+    }
+
+    private String serviceToken() {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .subject(TOKEN_SUBJECT)
+            .issuedAt(now)
+            .expiresAt(now.plus(TOKEN_VALIDITY))
+            .claim(SecurityUtils.AUTHORITIES_CLAIM, AuthoritiesConstants.ADMIN)
+            .build();
+        JwsHeader header = JwsHeader.with(SecurityUtils.JWT_ALGORITHM).build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.request.service.impl;
+
+import com.example.request.domain.Request;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes {@link Request}s as the lines of a CSV (RFC 4180) document.
+ * <p>
+ * Nothing is kept between two lines, so a document of any size is written in constant memory; the lines are buffered
+ * by the underlying writer until it is flushed.
+ */
+class RequestCsvWriter {
+
+    static final String HEADER = "id,type,description,status,createdDate,resolvedDate,citizenId,municipalityId";
+
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    private final Writer writer;
+
+    RequestCsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    void writeHeader() throws IOException {
+        writer.write(HEADER);
+        writer.write(LINE_SEPARATOR);
+    }
+
+    void write(Request request) throws IOException {
+        writeField(request.getId());
+        writer.write(',');
+        writeField(request.getType());
+        writer.write(',');
+        writeField(request.getDescription());
+        writer.write(',');
+        writeField(request.getStatus());
+        writer.write(',');
+        writeField(request.getCreatedDate());
+        writer.write(',');
+        writeField(request.getResolvedDate());
+        writer.write(',');
+        writeField(request.getCitizenId());
+        writer.write(',');
+        writeField(request.getMunicipalityId());
+        writer.write(LINE_SEPARATOR);
+    }
+
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String field = value.toString();
+        if (!needsQuotes(field)) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static boolean needsQuotes(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.request.service.impl;
+
+import com.example.request.domain.RequestOutboxEntry;
+import com.example.request.domain.enumeration.RequestChangeType;
+import com.example.request.repository.RequestOutboxEntryRepository;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records the changes of requests in the outbox, in the transaction of the change, so a change is published if and only
+ * if it is committed.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class RequestOutbox {
+
+    private final RequestOutboxEntryRepository requestOutboxEntryRepository;
+
+    public RequestOutbox(RequestOutboxEntryRepository requestOutboxEntryRepository) {
+        this.requestOutboxEntryRepository = requestOutboxEntryRepository;
+    }
+
+    public void record(RequestChangeType changeType, Long requestId) {
+        record(changeType, List.of(requestId));
+    }
+
+    /**
+     * @param version the version of the request when it was deleted, or {@code null} if there was no such request.
+     */
+    public void recordDeletion(Long requestId, Long version) {
+        requestOutboxEntryRepository.save(
+            new RequestOutboxEntry()
+                .requestId(requestId)
+                .changeType(RequestChangeType.DELETED)
+                .createdDate(Instant.now())
+                .requestVersion(version)
+        );
+    }
+
+    public void record(RequestChangeType changeType, Collection<Long> requestIds) {
+        Instant now = Instant.now();
+        requestOutboxEntryRepository.saveAll(
+            requestIds.stream().map(id -> new RequestOutboxEntry().requestId(id).changeType(changeType).createdDate(now)).toList()
+        );
+    }
+}
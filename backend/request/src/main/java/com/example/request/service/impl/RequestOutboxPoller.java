@@ -0,0 +1,188 @@
+package com.example.request.service.impl;
+
+import com.example.request.config.ApplicationProperties;
+import com.example.request.domain.Request;
+import com.example.request.domain.RequestOutboxEntry;
+import com.example.request.domain.enumeration.RequestChangeType;
+import com.example.request.repository.RequestOutboxEntryRepository;
+import com.example.request.repository.RequestRepository;
+import com.example.request.service.RequestChangePublisher;
+import com.example.request.service.dto.RequestChangeEventDTO;
+import com.example.request.service.mapper.RequestMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Publishes the changes of requests recorded in the outbox, oldest first, a claimed batch at a time.
+ * <p>
+ * The entries of a batch are claimed in a short transaction, published outside of any, then deleted in a second short
+ * transaction: a slow gateway holds neither a connection nor a lock. Other pollers leave a claimed batch alone until
+ * its claim expires, after {@code application.outbox.claim-timeout}, then publish it again. If the publication fails,
+ * the claim is released for the next poll to publish the entries again. The entries of a request in a batch are
+ * published as one event, with the state of the request read when the batch is claimed.
+ */
+@Component
+public class RequestOutboxPoller {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestOutboxPoller.class);
+
+    private final RequestOutboxEntryRepository requestOutboxEntryRepository;
+
+    private final RequestRepository requestRepository;
+
+    private final RequestMapper requestMapper;
+
+    private final RequestChangePublisher requestChangePublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Outbox properties;
+
+    private final Counter publishedCounter;
+
+    private final Counter failuresCounter;
+
+    private final Timer lagTimer;
+
+    public RequestOutboxPoller(
+        RequestOutboxEntryRepository requestOutboxEntryRepository,
+        RequestRepository requestRepository,
+        RequestMapper requestMapper,
+        RequestChangePublisher requestChangePublisher,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.requestOutboxEntryRepository = requestOutboxEntryRepository;
+        this.requestRepository = requestRepository;
+        this.requestMapper = requestMapper;
+        this.requestChangePublisher = requestChangePublisher;
+        this.properties = applicationProperties.getOutbox();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout((int) properties.getTransactionTimeout().toSeconds());
+        this.publishedCounter = Counter.builder("request.outbox.published")
+            .description("Changes of requests published from the outbox")
+            .baseUnit("events")
+            .register(meterRegistry);
+        this.failuresCounter = Counter.builder("request.outbox.failures")
+            .description("Polls of the outbox which failed to publish, and will be retried")
+            .register(meterRegistry);
+        this.lagTimer = Timer.builder("request.outbox.lag")
+            .description("Delay between a change of a request and its publication")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${application.outbox.poll-interval:PT1S}")
+    public void poll() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            failuresCounter.increment();
+            LOG.warn("Could not publish the changes of requests, retrying in {}: {}", properties.getPollInterval(), e.getMessage());
+        }
+    }
+
+    /**
+     * Publishes batches of the outbox until it is empty, or its oldest entries are claimed by another poller.
+     *
+     * @return the number of events published.
+     */
+    public long drain() {
+        long published = 0;
+        while (true) {
+            Batch batch = transactionTemplate.execute(status -> claimNextBatch());
+            if (batch == null) {
+                return published;
+            }
+            LOG.debug("Publishing {} changes of requests from {} outbox entries", batch.events().size(), batch.entryIds().size());
+            try {
+                requestChangePublisher.publish(batch.events());
+            } catch (RuntimeException e) {
+                transactionTemplate.executeWithoutResult(status -> requestOutboxEntryRepository.releaseAllByIdIn(batch.entryIds()));
+                throw e;
+            }
+            transactionTemplate.executeWithoutResult(status -> requestOutboxEntryRepository.deleteAllByIdInBatch(batch.entryIds()));
+
+            Instant now = Instant.now();
+            batch.events().forEach(event -> lagTimer.record(Duration.between(event.getOccurredDate(), now)));
+            publishedCounter.increment(batch.events().size());
+            published += batch.events().size();
+        }
+    }
+
+    /**
+     * @return the events of the oldest entries, now claimed, or {@code null} if there are none or another poller
+     *         claimed them.
+     */
+    private Batch claimNextBatch() {
+        List<RequestOutboxEntry> entries = requestOutboxEntryRepository.lockOldest(properties.getBatchSize());
+        if (entries.isEmpty()) {
+            return null;
+        }
+        Instant now = Instant.now();
+        if (entries.stream().anyMatch(entry -> entry.getClaimedUntil() != null && now.isBefore(entry.getClaimedUntil()))) {
+            LOG.debug("The oldest outbox entries are being published by another poller");
+            return null;
+        }
+        Instant claimedUntil = now.plus(properties.getClaimTimeout());
+        entries.forEach(entry -> entry.setClaimedUntil(claimedUntil));
+
+        Map<Long, List<RequestOutboxEntry>> entriesByRequest = entries
+            .stream()
+            .collect(Collectors.groupingBy(RequestOutboxEntry::getRequestId, LinkedHashMap::new, Collectors.toList()));
+        Map<Long, Request> requests = requestRepository
+            .findAllByIdInBypassingCache(entriesByRequest.keySet())
+            .stream()
+            .collect(Collectors.toMap(Request::getId, Function.identity()));
+
+        List<RequestChangeEventDTO> events = new ArrayList<>(entriesByRequest.size());
+        entriesByRequest.forEach((requestId, changes) -> events.add(toEvent(requestId, changes, requests.get(requestId))));
+        events.sort((a, b) -> Long.compare(a.getPosition(), b.getPosition()));
+        return new Batch(entries.stream().map(RequestOutboxEntry::getId).toList(), events);
+    }
+
+    /**
+     * @param changes the entries of a request, in the order they were written.
+     * @param request the request as it is now, or {@code null} if it was deleted.
+     */
+    private RequestChangeEventDTO toEvent(Long requestId, List<RequestOutboxEntry> changes, Request request) {
+        RequestOutboxEntry first = changes.get(0);
+        RequestOutboxEntry last = changes.get(changes.size() - 1);
+        RequestChangeType type;
+        if (request == null) {
+            type = RequestChangeType.DELETED;
+        } else if (first.getChangeType() == RequestChangeType.CREATED) {
+            type = RequestChangeType.CREATED;
+        } else {
+            type = RequestChangeType.UPDATED;
+        }
+        return new RequestChangeEventDTO(
+            last.getId(),
+            type,
+            requestId,
+            first.getCreatedDate(),
+            request == null ? last.getRequestVersion() : request.getVersion(),
+            request == null ? null : requestMapper.toDto(request)
+        );
+    }
+
+    private record Batch(List<Long> entryIds, List<RequestChangeEventDTO> events) {}
+}
@@ -0,0 +1,70 @@
+package com.example.request.service.impl;
+
+import com.example.request.config.ApplicationProperties;
+import com.example.request.repository.RequestRepository;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the monthly partitions of the {@code request} table: the partitions of the next months are created before
+ * they are needed, so new requests do not land in the default partition, and the partitions older than the retention
+ * are detached, or dropped.
+ * <p>
+ * Detaching a partition removes its requests without deleting them one by one: neither the outbox nor the counters of
+ * the statistics see them go, so the gateway keeps its copy of them, under its own retention, and the statistics keep
+ * counting them until they are rebuilt.
+ */
+@Component
+public class RequestPartitionMaintenance {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestPartitionMaintenance.class);
+
+    private final RequestRepository requestRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Partitions properties;
+
+    public RequestPartitionMaintenance(
+        RequestRepository requestRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.requestRepository = requestRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getPartitions();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${application.partitions.cron:0 0 3 * * *}")
+    public void scheduledMaintain() {
+        try {
+            maintain();
+        } catch (RuntimeException e) {
+            LOG.error("Could not maintain the partitions of the requests, retrying on the next schedule: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return what was done, one line per partition.
+     */
+    public List<String> maintain() {
+        List<String> actions = transactionTemplate.execute(status ->
+            requestRepository.maintainPartitions(
+                properties.getMonthsAhead(),
+                properties.getRetentionMonths(),
+                properties.isDropExpired()
+            )
+        );
+        actions = actions == null ? List.of() : actions;
+        actions.forEach(action -> LOG.info("Partitions of the requests: {}", action));
+        return actions;
+    }
+}
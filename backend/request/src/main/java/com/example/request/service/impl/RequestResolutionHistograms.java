@@ -0,0 +1,271 @@
+package com.example.request.service.impl;
+
+import com.example.request.config.ApplicationProperties;
+import com.example.request.service.dto.RequestSlaDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the resolution times of requests, in seconds from their creation to their resolution or rejection, per
+ * municipality and type of request.
+ * <p>
+ * Each resolution is recorded twice: in a {@code request.resolution.time} distribution summary, exported to Prometheus
+ * as a histogram, and in an HdrHistogram kept since the last rebuild, from which the percentiles are read. The memory of
+ * a histogram depends on the range and precision of the values, not on their number.
+ * <p>
+ * The HdrHistograms are per instance: each one is rebuilt from the whole history, then only gets the resolutions made
+ * through this instance, so the replicas drift apart until their next rebuild. The resolution times of the whole cluster
+ * are read from the buckets of the {@code request_resolution_time_seconds} histograms of all the replicas, summed in
+ * Prometheus, e.g. {@code histogram_quantile(0.9, sum by (le, municipalityId, type)
+ * (rate(request_resolution_time_seconds_bucket[1h])))}.
+ */
+@Component
+public class RequestResolutionHistograms {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestResolutionHistograms.class);
+
+    static final String METRIC_NAME = "request.resolution.time";
+
+    static final String OTHER = "other";
+
+    private static final String NONE = "none";
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private static final Series OVERFLOW = new Series(null, OTHER);
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxSeries;
+
+    private final Map<Series, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    private Map<Series, Histogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * The rebuild running, if any, which also gets the resolutions recorded meanwhile.
+     */
+    private Rebuild rebuilding;
+
+    private boolean overflowed;
+
+    public RequestResolutionHistograms(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        this.meterRegistry = meterRegistry;
+        this.maxSeries = applicationProperties.getSla().getMaxSeries();
+    }
+
+    /**
+     * Records the resolution of a request, once committed. A request without a creation or resolution date, or resolved
+     * before it was created, is ignored.
+     */
+    public synchronized void record(Long requestId, Long municipalityId, String type, Instant createdDate, Instant resolvedDate) {
+        long seconds = secondsToResolve(createdDate, resolvedDate);
+        if (seconds < 0) {
+            return;
+        }
+        Series series = admit(histograms, new Series(municipalityId, type));
+        summaries.computeIfAbsent(series, this::registerSummary).record(seconds);
+        histogramOf(histograms, series).recordValue(seconds);
+        if (rebuilding != null) {
+            rebuilding.meanwhile.add(new Resolution(requestId, municipalityId, type, createdDate, resolvedDate));
+        }
+    }
+
+    /**
+     * Starts a rebuild: the histograms are recorded anew from the history, and from the resolutions recorded meanwhile,
+     * then replace the current ones once the rebuild is finished.
+     * <p>
+     * The rebuild must be started before the snapshot of the history is taken, so a resolution committed after the
+     * snapshot is recorded meanwhile.
+     *
+     * @return the rebuild, to be either finished or aborted.
+     * @throws IllegalStateException if a rebuild is already running.
+     */
+    public synchronized Rebuild startRebuild() {
+        if (rebuilding != null) {
+            throw new IllegalStateException("The histograms of resolution times are already being rebuilt");
+        }
+        rebuilding = new Rebuild();
+        return rebuilding;
+    }
+
+    /**
+     * @param municipalityId the id of the municipality, or {@code null} for all the municipalities.
+     * @param type the type of the requests, or {@code null} for all the types.
+     * @return the percentiles of each histogram of the municipality and type, by municipality then type.
+     */
+    public List<RequestSlaDTO> percentiles(Long municipalityId, String type) {
+        Map<Series, Histogram> current;
+        synchronized (this) {
+            current = histograms;
+        }
+        return current
+            .entrySet()
+            .stream()
+            .filter(entry -> municipalityId == null || municipalityId.equals(entry.getKey().municipalityId()))
+            .filter(entry -> type == null || type.equals(entry.getKey().type()))
+            .sorted(Map.Entry.comparingByKey(Series.ORDER))
+            .map(entry -> toDto(entry.getKey(), entry.getValue()))
+            .toList();
+    }
+
+    /**
+     * The histograms being rebuilt from the history.
+     */
+    public final class Rebuild {
+
+        private final Map<Series, Histogram> target = new ConcurrentHashMap<>();
+
+        /**
+         * The resolutions recorded since the rebuild started, some of which the snapshot of the history may hold too.
+         */
+        private final List<Resolution> meanwhile = new ArrayList<>();
+
+        private long count;
+
+        private Rebuild() {}
+
+        /**
+         * Records a resolution of the history, in the histograms being rebuilt only.
+         */
+        public void record(Long municipalityId, String type, Instant createdDate, Instant resolvedDate) {
+            if (add(municipalityId, type, createdDate, resolvedDate)) {
+                count++;
+            }
+        }
+
+        private boolean add(Long municipalityId, String type, Instant createdDate, Instant resolvedDate) {
+            long seconds = secondsToResolve(createdDate, resolvedDate);
+            if (seconds < 0) {
+                return false;
+            }
+            Series series;
+            synchronized (RequestResolutionHistograms.this) {
+                series = admit(target, new Series(municipalityId, type));
+            }
+            histogramOf(target, series).recordValue(seconds);
+            return true;
+        }
+
+        /**
+         * Adds the resolutions recorded meanwhile which are not in the history, then replaces the current histograms by
+         * the rebuilt ones. A resolution committed before the snapshot of the history, but recorded once the rebuild
+         * started, would otherwise be counted twice.
+         * <p>
+         * The history must be read in the same snapshot as the resolutions recorded by {@link #record}. The resolutions
+         * recorded meanwhile are blocked until then.
+         *
+         * @param history reads the resolution dates the history holds for the requests of the given ids, by id.
+         * @return the number of resolutions of the history recorded.
+         */
+        public long finish(Function<List<Long>, Map<Long, Instant>> history) {
+            synchronized (RequestResolutionHistograms.this) {
+                if (!meanwhile.isEmpty()) {
+                    Map<Long, Instant> inHistory = history.apply(
+                        meanwhile.stream().map(Resolution::requestId).filter(Objects::nonNull).distinct().toList()
+                    );
+                    meanwhile
+                        .stream()
+                        .filter(resolution -> !resolution.isIn(inHistory))
+                        .forEach(resolution ->
+                            add(resolution.municipalityId(), resolution.type(), resolution.createdDate(), resolution.resolvedDate())
+                        );
+                }
+                histograms = target;
+                rebuilding = null;
+            }
+            return count;
+        }
+
+        /**
+         * Drops the rebuilt histograms, and keeps the current ones.
+         */
+        public void abort() {
+            synchronized (RequestResolutionHistograms.this) {
+                rebuilding = null;
+            }
+        }
+    }
+
+    private static long secondsToResolve(Instant createdDate, Instant resolvedDate) {
+        if (createdDate == null || resolvedDate == null) {
+            return -1;
+        }
+        return Duration.between(createdDate, resolvedDate).toSeconds();
+    }
+
+    /**
+     * @return the series, or the series of {@code other} if there are already as many series as allowed.
+     */
+    private Series admit(Map<Series, Histogram> target, Series series) {
+        if (target.containsKey(series) || target.size() < maxSeries) {
+            return series;
+        }
+        if (!overflowed) {
+            overflowed = true;
+            LOG.warn("More than {} histograms of resolution times, the next ones are recorded as {}", maxSeries, OTHER);
+        }
+        return OVERFLOW;
+    }
+
+    private static Histogram histogramOf(Map<Series, Histogram> target, Series series) {
+        return target.computeIfAbsent(series, key -> new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+    }
+
+    private DistributionSummary registerSummary(Series series) {
+        return DistributionSummary.builder(METRIC_NAME)
+            .description("Time from the creation of a request to its resolution or rejection")
+            .baseUnit("seconds")
+            .tag("municipalityId", series == OVERFLOW ? OTHER : Objects.toString(series.municipalityId(), NONE))
+            .tag("type", Objects.requireNonNullElse(series.type(), NONE))
+            .publishPercentileHistogram()
+            .minimumExpectedValue(60.0)
+            .maximumExpectedValue((double) Duration.ofDays(365).toSeconds())
+            .register(meterRegistry);
+    }
+
+    private static RequestSlaDTO toDto(Series series, Histogram histogram) {
+        RequestSlaDTO sla = new RequestSlaDTO();
+        sla.setMunicipalityId(series.municipalityId());
+        sla.setType(series.type());
+        sla.setCount(histogram.getTotalCount());
+        sla.setP50(histogram.getValueAtPercentile(50));
+        sla.setP90(histogram.getValueAtPercentile(90));
+        sla.setP99(histogram.getValueAtPercentile(99));
+        sla.setMax(histogram.getMaxValue());
+        return sla;
+    }
+
+    private record Resolution(Long requestId, Long municipalityId, String type, Instant createdDate, Instant resolvedDate) {
+        /**
+         * Whether the history holds this resolution of the request, compared to the second the histograms record, as the
+         * database may not keep the precision of the date.
+         */
+        boolean isIn(Map<Long, Instant> history) {
+            Instant inHistory = history.get(requestId);
+            return inHistory != null && inHistory.truncatedTo(ChronoUnit.SECONDS).equals(resolvedDate.truncatedTo(ChronoUnit.SECONDS));
+        }
+    }
+
+    record Series(Long municipalityId, String type) {
+        static final Comparator<Series> ORDER = Comparator.comparing(
+            Series::municipalityId,
+            Comparator.nullsLast(Comparator.<Long>naturalOrder())
+        ).thenComparing(Series::type, Comparator.nullsLast(Comparator.<String>naturalOrder()));
+    }
+}
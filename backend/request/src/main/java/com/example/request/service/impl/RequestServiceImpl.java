@@ -1,20 +1,51 @@
 package com.example.request.service.impl;
 
 import com.example.request.domain.Request;
+import com.example.request.domain.enumeration.RequestChangeType;
+import com.example.request.domain.enumeration.RequestStatus;
 import com.example.request.repository.RequestRepository;
+import com.example.request.repository.RequestRepositoryWithPartialUpdate.PartialUpdate;
 import com.example.request.service.RequestService;
 import com.example.request.service.dto.RequestDTO;
+import com.example.request.service.dto.RequestSearchHitDTO;
+import com.example.request.service.dto.RequestStatusOutcomeDTO;
+import com.example.request.service.dto.RequestStatusOutcomeDTO.Outcome;
 import com.example.request.service.mapper.RequestMapper;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Service Implementation for managing {@link com.example.request.domain.Request}.
+ * <p>
+ * Each change of requests is recorded in the {@link RequestOutbox}, in the transaction of the change, and each move of a
+ * request to {@code RESOLVED} or {@code REJECTED} in the {@link RequestResolutionHistograms}, once committed. A request
+ * moved there without a resolution date is resolved now, whichever way it is changed.
  */
 @Service
 @Transactional
@@ -22,20 +53,58 @@ public class RequestServiceImpl implements RequestService {
 
     private static final Logger LOG = LoggerFactory.getLogger(RequestServiceImpl.class);
 
+    /**
+     * The order in which pending requests are claimed, which a statement does not keep in the rows it returns.
+     */
+    private static final Comparator<Request> QUEUE_ORDER = Comparator.comparing(
+        Request::getCreatedDate,
+        Comparator.nullsFirst(Comparator.naturalOrder())
+    ).thenComparing(Request::getId);
+
     private final RequestRepository requestRepository;
 
     private final RequestMapper requestMapper;
 
-    public RequestServiceImpl(RequestRepository requestRepository, RequestMapper requestMapper) {
+    private final EntityManager entityManager;
+
+    private final RequestOutbox requestOutbox;
+
+    private final RequestResolutionHistograms requestResolutionHistograms;
+
+    private final int statusUpdateChunkSize;
+
+    public RequestServiceImpl(
+        RequestRepository requestRepository,
+        RequestMapper requestMapper,
+        EntityManager entityManager,
+        RequestOutbox requestOutbox,
+        RequestResolutionHistograms requestResolutionHistograms,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int statusUpdateChunkSize
+    ) {
         this.requestRepository = requestRepository;
         this.requestMapper = requestMapper;
+        this.entityManager = entityManager;
+        this.requestOutbox = requestOutbox;
+        this.requestResolutionHistograms = requestResolutionHistograms;
+        this.statusUpdateChunkSize = statusUpdateChunkSize;
     }
 
     @Override
     public RequestDTO save(RequestDTO requestDTO) {
         LOG.debug("Request to save Request : {}", requestDTO);
         Request request = requestMapper.toEntity(requestDTO);
+        if (request.getCreatedDate() == null) {
+            // the requests are partitioned on created_date, so never store a request without one
+            request.setCreatedDate(Instant.now());
+        }
+        if (isResolution(request.getStatus()) && request.getResolvedDate() == null) {
+            request.setResolvedDate(now());
+        }
         request = requestRepository.save(request);
+        requestOutbox.record(RequestChangeType.CREATED, request.getId());
+        if (isResolution(request.getStatus())) {
+            recordResolutionsAfterCommit(Collections.singletonList(resolutionOf(request)));
+        }
         return requestMapper.toDto(request);
     }
 
@@ -43,23 +112,168 @@ public class RequestServiceImpl implements RequestService {
     public RequestDTO update(RequestDTO requestDTO) {
         LOG.debug("Request to update Request : {}", requestDTO);
         Request request = requestMapper.toEntity(requestDTO);
+        boolean resolves;
+        if (request.getVersion() == null) {
+            // Without a version, the update applies to the current one: the request is locked until the commit
+            Request current = requestRepository
+                .findByIdForUpdate(requestDTO.getId())
+                .orElseThrow(() -> new OptimisticLockingFailureException("Request " + requestDTO.getId() + " was deleted"));
+            request.setVersion(current.getVersion());
+            if (request.getCreatedDate() == null) {
+                request.setCreatedDate(current.getCreatedDate());
+            }
+            resolves = isResolution(request.getStatus()) && request.getStatus() != current.getStatus();
+        } else {
+            if (request.getCreatedDate() == null) {
+                requestRepository.findById(request.getId()).map(Request::getCreatedDate).ifPresent(request::setCreatedDate);
+            }
+            resolves = movesToResolution(request.getId(), request.getStatus());
+        }
+        if (resolves && request.getResolvedDate() == null) {
+            request.setResolvedDate(now());
+        }
         request = requestRepository.save(request);
+        requestOutbox.record(RequestChangeType.UPDATED, request.getId());
+        if (resolves) {
+            recordResolutionsAfterCommit(Collections.singletonList(resolutionOf(request)));
+        }
         return requestMapper.toDto(request);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The statement also returns the previous status of the request, so a move to {@code RESOLVED} or {@code REJECTED}
+     * is known without reading the request first.
+     */
     @Override
     public Optional<RequestDTO> partialUpdate(RequestDTO requestDTO) {
         LOG.debug("Request to partially update Request : {}", requestDTO);
+        RequestStatus status = requestDTO.getStatus();
+        Optional<PartialUpdate> update = requestRepository.updateChangedColumns(requestMapper.toEntity(requestDTO), isResolution(status));
+        update.ifPresent(partialUpdate -> {
+            Request updated = partialUpdate.request();
+            evictAfterCommit(List.of(updated.getId()));
+            requestOutbox.record(RequestChangeType.UPDATED, updated.getId());
+            if (isResolution(status) && !status.name().equals(partialUpdate.previousStatus())) {
+                recordResolutionsAfterCommit(Collections.singletonList(resolutionOf(updated)));
+            }
+        });
+        return update.map(PartialUpdate::request).map(requestMapper::toDto);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The ids are updated {@code hibernate.jdbc.batch_size} at a time, each chunk in one statement which locks, updates
+     * and reports on all of them. The updated requests are evicted from the second-level cache once the transaction is
+     * committed.
+     */
+    @Override
+    public List<RequestStatusOutcomeDTO> updateStatus(List<Long> ids, RequestStatus status) {
+        LOG.debug("Request to update the status of Requests : {}, {}", ids, status);
+        boolean resolved = isResolution(status);
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        Map<Long, Outcome> outcomes = new HashMap<>();
+        for (int start = 0; start < distinctIds.size(); start += statusUpdateChunkSize) {
+            List<Long> chunk = distinctIds.subList(start, Math.min(start + statusUpdateChunkSize, distinctIds.size()));
+            String array = chunk.stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}"));
+            for (Object[] row : requestRepository.updateStatusByIdIn(array, status.name(), resolved)) {
+                outcomes.put(((Number) row[0]).longValue(), Boolean.TRUE.equals(row[1]) ? Outcome.UPDATED : Outcome.UNCHANGED);
+            }
+        }
+        List<Long> updatedIds = distinctIds.stream().filter(id -> outcomes.get(id) == Outcome.UPDATED).toList();
+        evictAfterCommit(updatedIds);
+        requestOutbox.record(RequestChangeType.UPDATED, updatedIds);
+        if (resolved && !updatedIds.isEmpty()) {
+            recordResolutionsAfterCommit(requestRepository.findResolutionsByIdIn(updatedIds));
+        }
+        return distinctIds.stream().map(id -> new RequestStatusOutcomeDTO(id, outcomes.getOrDefault(id, Outcome.NOT_FOUND))).toList();
+    }
 
-        return requestRepository
-            .findById(requestDTO.getId())
-            .map(existingRequest -> {
-                requestMapper.partialUpdate(existingRequest, requestDTO);
+    @Override
+    public List<RequestDTO> claim(Long municipalityId, int batch, String assignee) {
+        LOG.debug("Request to claim {} Requests of municipality {} for {}", batch, municipalityId, assignee);
+        List<Request> claimed = requestRepository.claimPending(municipalityId, batch, assignee);
+        List<Long> claimedIds = claimed.stream().map(Request::getId).toList();
+        evictAfterCommit(claimedIds);
+        requestOutbox.record(RequestChangeType.UPDATED, claimedIds);
+        return claimed
+            .stream()
+            .sorted(QUEUE_ORDER)
+            .map(requestMapper::toDto)
+            .toList();
+    }
 
-                return existingRequest;
-            })
-            .map(requestRepository::save)
-            .map(requestMapper::toDto);
+    /**
+     * Evicts requests updated by a statement, which bypasses the second-level cache, once the transaction is committed,
+     * so a concurrent read cannot cache them again in their previous state.
+     */
+    private void evictAfterCommit(Collection<Long> ids) {
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.forEach(id -> entityManager.getEntityManagerFactory().getCache().evict(Request.class, id));
+                }
+            }
+        );
+    }
+
+    private static boolean isResolution(RequestStatus status) {
+        return status == RequestStatus.RESOLVED || status == RequestStatus.REJECTED;
+    }
+
+    /**
+     * The resolution date of a request moved to {@code RESOLVED} or {@code REJECTED} without one, as
+     * {@link #updateStatus} sets it, to the precision the database keeps.
+     */
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * Whether a change of the status of a request moves it to {@code RESOLVED} or {@code REJECTED} from another status.
+     * The request is then locked, so a concurrent transition is seen after this one.
+     */
+    private boolean movesToResolution(Long id, RequestStatus status) {
+        if (id == null || !isResolution(status)) {
+            return false;
+        }
+        return requestRepository.findStatusByIdForUpdate(id).filter(previous -> !previous.equals(status.name())).isPresent();
+    }
+
+    private static Object[] resolutionOf(Request request) {
+        return new Object[] {
+            request.getId(),
+            request.getMunicipalityId(),
+            request.getType(),
+            request.getCreatedDate(),
+            request.getResolvedDate(),
+        };
+    }
+
+    /**
+     * Records resolutions, as tuples of the id, municipality, type, creation date and resolution date of the requests,
+     * once the transaction is committed.
+     */
+    private void recordResolutionsAfterCommit(List<Object[]> resolutions) {
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    resolutions.forEach(row ->
+                        requestResolutionHistograms.record(
+                            (Long) row[0],
+                            (Long) row[1],
+                            (String) row[2],
+                            (Instant) row[3],
+                            (Instant) row[4]
+                        )
+                    );
+                }
+            }
+        );
     }
 
     @Override
@@ -69,6 +283,67 @@ public class RequestServiceImpl implements RequestService {
         return requestRepository.findAll(pageable).map(requestMapper::toDto);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The ids and ranks are found by one query on the search index, then the requests of the page are read by one
+     * {@code IN} query on their ids. That query does not go through the second-level cache: reading them one by one
+     * would, at the cost of a round trip per request not cached.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<RequestSearchHitDTO> search(String query, Float afterRank, Long afterId, int size) {
+        LOG.debug("Request to search Requests : {}", query);
+        List<Object[]> hits = afterRank == null || afterId == null
+            ? requestRepository.search(query, size)
+            : requestRepository.searchAfter(query, afterRank, afterId, size);
+        Map<Long, Request> requests = requestRepository
+            .findAllById(hits.stream().map(hit -> ((Number) hit[0]).longValue()).toList())
+            .stream()
+            .collect(Collectors.toMap(Request::getId, request -> request));
+        // a request deleted between the two queries is left out
+        return hits
+            .stream()
+            .filter(hit -> requests.containsKey(((Number) hit[0]).longValue()))
+            .map(hit -> {
+                Request request = requests.get(((Number) hit[0]).longValue());
+                return new RequestSearchHitDTO(((Number) hit[1]).floatValue(), requestMapper.toDto(request));
+            })
+            .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Each request is detached once written, so the persistence context does not grow with the range, and the output is
+     * flushed after each batch fetched from the cursor, so the client receives the document as it is read.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportCsv(Instant from, Instant to, Long municipalityId, OutputStream out) throws IOException {
+        LOG.debug("Request to export the Requests created from {} to {} in municipality {}", from, to, municipalityId);
+        RequestCsvWriter csv = new RequestCsvWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        csv.writeHeader();
+        long count = 0;
+        try (
+            Stream<Request> requests = municipalityId == null
+                ? requestRepository.streamAllByCreatedDateRange(from, to)
+                : requestRepository.streamAllByMunicipalityIdAndCreatedDateRange(municipalityId, from, to)
+        ) {
+            Iterator<Request> iterator = requests.iterator();
+            while (iterator.hasNext()) {
+                Request request = iterator.next();
+                csv.write(request);
+                entityManager.detach(request);
+                if (++count % RequestRepository.EXPORT_FETCH_SIZE == 0) {
+                    csv.flush();
+                }
+            }
+        }
+        csv.flush();
+        return count;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<RequestDTO> findOne(Long id) {
@@ -79,6 +354,14 @@ public class RequestServiceImpl implements RequestService {
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete Request : {}", id);
-        requestRepository.deleteById(id);
+        // read like deleteById does, for the version the read models may drop
+        Long version = requestRepository
+            .findById(id)
+            .map(request -> {
+                requestRepository.delete(request);
+                return request.getVersion();
+            })
+            .orElse(null);
+        requestOutbox.recordDeletion(id, version);
     }
 }
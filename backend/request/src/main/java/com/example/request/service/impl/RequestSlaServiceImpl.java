@@ -0,0 +1,102 @@
+package com.example.request.service.impl;
+
+import com.example.request.config.ApplicationProperties;
+import com.example.request.repository.RequestRepository;
+import com.example.request.service.RequestSlaService;
+import com.example.request.service.dto.RequestSlaDTO;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service Implementation for the resolution times of {@link com.example.request.domain.Request}s.
+ * <p>
+ * The histograms are in memory: they are rebuilt from the history once the service is started, in the background, then
+ * kept up to date by the {@link RequestServiceImpl} as requests are resolved through this instance only, see
+ * {@link RequestResolutionHistograms}.
+ */
+@Service
+public class RequestSlaServiceImpl implements RequestSlaService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestSlaServiceImpl.class);
+
+    private final RequestRepository requestRepository;
+
+    private final RequestResolutionHistograms requestResolutionHistograms;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Sla properties;
+
+    public RequestSlaServiceImpl(
+        RequestRepository requestRepository,
+        RequestResolutionHistograms requestResolutionHistograms,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.requestRepository = requestRepository;
+        this.requestResolutionHistograms = requestResolutionHistograms;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // the resolutions recorded during the rebuild are checked against the snapshot the history was read in
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.properties = applicationProperties.getSla();
+    }
+
+    @Override
+    public List<RequestSlaDTO> findAll(Long municipalityId, String type) {
+        LOG.debug("Request to get the resolution times of Requests of municipality {} and type {}", municipalityId, type);
+        return requestResolutionHistograms.percentiles(municipalityId, type);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (properties.isRebuildOnStartup()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The resolutions are read through a forward-only cursor as tuples, not entities, so the memory used does not
+     * depend on the number of requests. The rebuild is started before the transaction, so the resolutions committed
+     * after its snapshot are recorded meanwhile, and those recorded meanwhile but already in its snapshot are dropped.
+     */
+    @Override
+    public long rebuild() {
+        LOG.debug("Request to rebuild the resolution times of Requests");
+        long start = System.nanoTime();
+        RequestResolutionHistograms.Rebuild rebuild = requestResolutionHistograms.startRebuild();
+        long count;
+        try {
+            count = transactionTemplate.execute(status -> {
+                try (Stream<Object[]> resolutions = requestRepository.streamAllResolutions()) {
+                    resolutions.forEach(row -> rebuild.record((Long) row[0], (String) row[1], (Instant) row[2], (Instant) row[3]));
+                }
+                return rebuild.finish(ids ->
+                    requestRepository
+                        .findResolutionsByIdIn(ids)
+                        .stream()
+                        .collect(Collectors.toMap(row -> (Long) row[0], row -> (Instant) row[4]))
+                );
+            });
+        } catch (RuntimeException e) {
+            rebuild.abort();
+            throw e;
+        }
+        LOG.info("Rebuilt the resolution times of {} Requests in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+}
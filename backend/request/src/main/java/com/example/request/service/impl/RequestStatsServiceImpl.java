@@ -0,0 +1,205 @@
+package com.example.request.service.impl;
+
+import com.example.request.config.ApplicationProperties;
+import com.example.request.domain.enumeration.RequestStatus;
+import com.example.request.repository.RequestDailyStatsRepository;
+import com.example.request.service.RequestStatsService;
+import com.example.request.service.dto.RequestDailyStatsDTO;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service Implementation for the statistics of {@link com.example.request.domain.Request}s.
+ * <p>
+ * The counters are kept up to date by triggers on the {@code request} table, in the transaction of every write, bulk
+ * statements included. A rebuild only repairs them, e.g. after they were changed by hand, without blocking the writes:
+ * the chunks of days are compared in parallel with the requests, all in the snapshot of one {@code REPEATABLE READ}
+ * transaction, then the differences found are added to the counters. An addition commutes with those of the triggers,
+ * so the writes committed since the snapshot still count.
+ */
+@Service
+public class RequestStatsServiceImpl implements RequestStatsService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestStatsServiceImpl.class);
+
+    private final RequestDailyStatsRepository requestDailyStatsRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate snapshotTransactionTemplate;
+
+    private final ApplicationProperties.Stats properties;
+
+    private final ExecutorService rebuildExecutor;
+
+    public RequestStatsServiceImpl(
+        RequestDailyStatsRepository requestDailyStatsRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.requestDailyStatsRepository = requestDailyStatsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransactionTemplate.setReadOnly(true);
+        this.properties = applicationProperties.getStats();
+        // shared by the rebuilds, which only queue their chunks when another one runs
+        this.rebuildExecutor = Executors.newFixedThreadPool(
+            properties.getRebuildParallelism(),
+            new CustomizableThreadFactory("stats-rebuild-")
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RequestDailyStatsDTO> findDailyStats(Long municipalityId, LocalDate from, LocalDate to) {
+        LOG.debug("Request to get the daily statistics of Requests from {} to {} in municipality {}", from, to, municipalityId);
+        if (municipalityId != null) {
+            return requestDailyStatsRepository
+                .findAllByMunicipalityIdAndDayRange(municipalityId, from, to)
+                .stream()
+                .map(stats -> new RequestDailyStatsDTO(stats.getDay(), stats.getStatus(), stats.getRequestCount()))
+                .toList();
+        }
+        return requestDailyStatsRepository
+            .sumAllByDayRange(from, to)
+            .stream()
+            .map(row -> new RequestDailyStatsDTO((LocalDate) row[0], (RequestStatus) row[1], ((Number) row[2]).longValue()))
+            .toList();
+    }
+
+    /**
+     * Rebuilds the counters on the schedule of {@code application.stats.rebuild-cron}, never by default.
+     */
+    @Scheduled(cron = "${application.stats.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    @Override
+    public long rebuild() {
+        LOG.debug("Request to rebuild the daily statistics of Requests");
+        long start = System.nanoTime();
+        Rebuild rebuild = snapshotTransactionTemplate.execute(status -> {
+            String snapshot = requestDailyStatsRepository.exportSnapshot();
+            Object[] range = requestDailyStatsRepository.findCreatedDateRange().get(0);
+            if (range == null || range[0] == null) {
+                LocalDate today = LocalDate.now(ZoneOffset.UTC);
+                return new Rebuild(today, today, 0, requestDailyStatsRepository.findAllDriftOutsideDayRange(today, today));
+            }
+            LocalDate first = LocalDate.ofInstant((Instant) range[0], ZoneOffset.UTC);
+            LocalDate end = LocalDate.ofInstant((Instant) range[1], ZoneOffset.UTC).plusDays(1);
+            List<LocalDate[]> chunks = chunks(first, end, properties.getRebuildChunkDays());
+            // the snapshot can be imported as long as this transaction is open
+            List<Future<List<Object[]>>> futures = new ArrayList<>(chunks.size());
+            for (LocalDate[] chunk : chunks) {
+                futures.add(rebuildExecutor.submit(() -> findDrift(snapshot, chunk[0], chunk[1])));
+            }
+            try {
+                List<Object[]> drift = new ArrayList<>(requestDailyStatsRepository.findAllDriftOutsideDayRange(first, end));
+                futures.forEach(future -> drift.addAll(get(future)));
+                return new Rebuild(first, end, chunks.size(), drift);
+            } catch (RuntimeException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw e;
+            }
+        });
+        List<Object[]> drift = rebuild == null ? List.of() : rebuild.drift();
+        // in the order of the key, as the triggers, so that they do not deadlock
+        List<Object[]> sorted = drift
+            .stream()
+            .sorted(
+                Comparator.<Object[], Long>comparing(row -> ((Number) row[0]).longValue())
+                    .thenComparing(row -> toLocalDate(row[1]))
+                    .thenComparing(row -> (String) row[2])
+            )
+            .toList();
+        transactionTemplate.executeWithoutResult(status ->
+            sorted.forEach(row ->
+                requestDailyStatsRepository.addToCounter(
+                    ((Number) row[0]).longValue(),
+                    toLocalDate(row[1]),
+                    (String) row[2],
+                    ((Number) row[3]).longValue()
+                )
+            )
+        );
+        if (rebuild != null) {
+            LOG.info(
+                "Rebuilt the daily statistics of Requests from {} to {} in {} chunks, {} counters corrected, in {} ms",
+                rebuild.first(),
+                rebuild.end(),
+                rebuild.chunks(),
+                sorted.size(),
+                (System.nanoTime() - start) / 1_000_000
+            );
+        }
+        return sorted.size();
+    }
+
+    private List<Object[]> findDrift(String snapshot, LocalDate from, LocalDate to) {
+        return snapshotTransactionTemplate.execute(status -> {
+            requestDailyStatsRepository.importSnapshot(snapshot);
+            return requestDailyStatsRepository.findAllDriftInDayRange(from, to);
+        });
+    }
+
+    private static <T> T get(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Could not rebuild the daily statistics of requests", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding the daily statistics of requests", e);
+        }
+    }
+
+    private static LocalDate toLocalDate(Object day) {
+        return day instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) day;
+    }
+
+    /**
+     * The differences between the counters and the requests, found in one snapshot.
+     */
+    private record Rebuild(LocalDate first, LocalDate end, int chunks, List<Object[]> drift) {}
+
+    /**
+     * @return consecutive ranges of at most {@code days} days, the first day inclusive and the last exclusive, covering
+     * the range from {@code first} to {@code end}.
+     */
+    static List<LocalDate[]> chunks(LocalDate first, LocalDate end, int days) {
+        List<LocalDate[]> chunks = new ArrayList<>();
+        for (LocalDate from = first; from.isBefore(end); from = from.plusDays(days)) {
+            LocalDate to = from.plusDays(days);
+            chunks.add(new LocalDate[] { from, to.isAfter(end) ? end : to });
+        }
+        return chunks;
+    }
+}
@@ -1,23 +1,42 @@
 package com.example.request.web.rest;
 
 import com.example.request.repository.RequestRepository;
+import com.example.request.security.AuthoritiesConstants;
+import com.example.request.security.SecurityUtils;
 import com.example.request.service.RequestService;
+import com.example.request.service.RequestSlaService;
+import com.example.request.service.RequestStatsService;
 import com.example.request.service.dto.RequestDTO;
+import com.example.request.service.dto.RequestDailyStatsDTO;
+import com.example.request.service.dto.RequestSearchHitDTO;
+import com.example.request.service.dto.RequestSlaDTO;
+import com.example.request.service.dto.RequestStatusOutcomeDTO;
+import com.example.request.service.dto.RequestStatusUpdateDTO;
 import com.example.request.web.rest.errors.BadRequestAlertException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
@@ -35,6 +54,14 @@ public class RequestResource {
 
     private static final String ENTITY_NAME = "requestRequest";
 
+    private static final String EXPORT_CONTENT_TYPE = "text/csv;charset=UTF-8";
+
+    private static final int EXPORT_GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private static final int CLAIM_MAX_BATCH = 100;
+
+    private static final int SEARCH_MAX_SIZE = 100;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -42,9 +69,20 @@ public class RequestResource {
 
     private final RequestRepository requestRepository;
 
-    public RequestResource(RequestService requestService, RequestRepository requestRepository) {
+    private final RequestStatsService requestStatsService;
+
+    private final RequestSlaService requestSlaService;
+
+    public RequestResource(
+        RequestService requestService,
+        RequestRepository requestRepository,
+        RequestStatsService requestStatsService,
+        RequestSlaService requestSlaService
+    ) {
         this.requestService = requestService;
         this.requestRepository = requestRepository;
+        this.requestStatsService = requestStatsService;
+        this.requestSlaService = requestSlaService;
     }
 
     /**
@@ -67,12 +105,14 @@ public class RequestResource {
     }
 
     /**
-     * {@code PUT  /requests/:id} : Updates an existing request.
+     * {@code PUT  /requests/:id} : Updates an existing request, in the version it was read if the requestDTO has one,
+     * unconditionally otherwise.
      *
      * @param id the id of the requestDTO to save.
      * @param requestDTO the requestDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated requestDTO,
      * or with status {@code 400 (Bad Request)} if the requestDTO is not valid,
+     * or with status {@code 409 (Conflict)} if the request was updated since its version,
      * or with status {@code 500 (Internal Server Error)} if the requestDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -101,12 +141,15 @@ public class RequestResource {
 
     /**
      * {@code PATCH  /requests/:id} : Partial updates given fields of an existing request, field will ignore if it is null
+     * <p>
+     * The request is updated in one statement, without reading it first. If the requestDTO has a version, the update only
+     * applies to that version of the request.
      *
      * @param id the id of the requestDTO to save.
      * @param requestDTO the requestDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated requestDTO,
-     * or with status {@code 400 (Bad Request)} if the requestDTO is not valid,
-     * or with status {@code 404 (Not Found)} if the requestDTO is not found,
+     * or with status {@code 400 (Bad Request)} if the requestDTO is not valid or not found,
+     * or with status {@code 409 (Conflict)} if the request was updated since its version,
      * or with status {@code 500 (Internal Server Error)} if the requestDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -123,16 +166,52 @@ public class RequestResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!requestRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        RequestDTO result = requestService
+            .partialUpdate(requestDTO)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .body(result);
+    }
 
-        Optional<RequestDTO> result = requestService.partialUpdate(requestDTO);
+    /**
+     * {@code POST  /requests/bulk-status} : Moves several requests to a status.
+     *
+     * @param requestStatusUpdateDTO the ids of the requests and their new status.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome for each id,
+     * or with status {@code 400 (Bad Request)} if the requestStatusUpdateDTO is not valid.
+     */
+    @PostMapping("/bulk-status")
+    public ResponseEntity<List<RequestStatusOutcomeDTO>> updateRequestsStatus(
+        @Valid @RequestBody RequestStatusUpdateDTO requestStatusUpdateDTO
+    ) {
+        LOG.debug("REST request to update the status of Requests : {}", requestStatusUpdateDTO);
+        return ResponseEntity.ok(requestService.updateStatus(requestStatusUpdateDTO.getIds(), requestStatusUpdateDTO.getStatus()));
+    }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, requestDTO.getId().toString())
-        );
+    /**
+     * {@code POST  /requests/claim} : Claims the oldest pending requests of a municipality for the current user.
+     * <p>
+     * The requests are moved to {@code IN_PROGRESS} and assigned atomically: concurrent claims skip the requests being
+     * claimed by each other, so a request is never handed out twice and claimers do not queue behind one another.
+     *
+     * @param municipalityId the id of the municipality.
+     * @param batch the maximum number of requests to claim, from 1 to {@value #CLAIM_MAX_BATCH}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the claimed requests, oldest first,
+     * or with status {@code 400 (Bad Request)} if the batch is out of range.
+     */
+    @PostMapping("/claim")
+    public ResponseEntity<List<RequestDTO>> claimRequests(
+        @RequestParam("municipalityId") Long municipalityId,
+        @RequestParam(value = "batch", defaultValue = "10") int batch
+    ) {
+        LOG.debug("REST request to claim {} Requests of municipality {}", batch, municipalityId);
+        if (batch < 1 || batch > CLAIM_MAX_BATCH) {
+            throw new BadRequestAlertException("Invalid batch", ENTITY_NAME, "batchinvalid");
+        }
+        String assignee = SecurityUtils.getCurrentUserLogin().orElseThrow(() -> new AccessDeniedException("No current user"));
+        return ResponseEntity.ok(requestService.claim(municipalityId, batch, assignee));
     }
 
     /**
@@ -149,6 +228,172 @@ public class RequestResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /requests/_search?q=:query} : search the requests by the words of their type or description.
+     * <p>
+     * The requests are read best ranked first, with keyset pagination: the next page is linked in a {@code Link} header
+     * with {@code rel="next"}, with an opaque {@code after} cursor, and there is no link on the last page.
+     *
+     * @param query the words searched, as a web search: {@code "..."} for a phrase, {@code -} to exclude a word.
+     * @param after the cursor of the page, or absent for the first page.
+     * @param size the number of requests of a page, from 1 to {@value #SEARCH_MAX_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the requests found, with their rank,
+     * or with status {@code 400 (Bad Request)} if the query is blank, or the cursor or size invalid.
+     */
+    @GetMapping("/_search")
+    public ResponseEntity<List<RequestSearchHitDTO>> searchRequests(
+        @RequestParam("q") String query,
+        @RequestParam(value = "after", required = false) String after,
+        @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        LOG.debug("REST request to search Requests : {}", query);
+        if (query.isBlank()) {
+            throw new BadRequestAlertException("Invalid query", ENTITY_NAME, "queryinvalid");
+        }
+        if (size < 1 || size > SEARCH_MAX_SIZE) {
+            throw new BadRequestAlertException("Invalid size", ENTITY_NAME, "sizeinvalid");
+        }
+        Float afterRank = null;
+        Long afterId = null;
+        if (after != null) {
+            try {
+                String[] cursor = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8).split(":", 2);
+                afterRank = Float.valueOf(cursor[0]);
+                afterId = Long.valueOf(cursor[1]);
+            } catch (RuntimeException e) {
+                throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+            }
+        }
+        List<RequestSearchHitDTO> hits = requestService.search(query, afterRank, afterId, size);
+        HttpHeaders headers = new HttpHeaders();
+        if (hits.size() == size) {
+            RequestSearchHitDTO last = hits.get(hits.size() - 1);
+            String cursor = Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((last.getRank() + ":" + last.getRequest().getId()).getBytes(StandardCharsets.UTF_8));
+            String next = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("after", cursor).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return ResponseEntity.ok().headers(headers).body(hits);
+    }
+
+    /**
+     * {@code GET  /requests/export} : export the requests created in a range as CSV, oldest first.
+     * <p>
+     * The document is streamed to the client as the requests are read from the database, gzipped on the fly if the
+     * client accepts it, so neither its size nor the range is bounded by the memory of the service. It is written on the
+     * request thread, rather than as a {@code StreamingResponseBody}, so a long export is not cut by the timeout of the
+     * asynchronous requests.
+     *
+     * @param from the first instant of the range, inclusive.
+     * @param to the last instant of the range, exclusive.
+     * @param municipalityId the id of the municipality of the requests, or all the municipalities if absent.
+     * @param format the format of the document, only {@code csv} is supported.
+     * @param acceptEncoding the encodings accepted by the client.
+     * @param response the response to write the document to, with status {@code 200 (OK)}, or with status
+     * {@code 400 (Bad Request)} if the range is empty or the format is not supported.
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping("/export")
+    public void exportRequests(
+        @RequestParam("from") Instant from,
+        @RequestParam("to") Instant to,
+        @RequestParam(value = "municipalityId", required = false) Long municipalityId,
+        @RequestParam(value = "format", defaultValue = "csv") String format,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        HttpServletResponse response
+    ) throws IOException {
+        LOG.debug("REST request to export Requests created from {} to {} in municipality {}", from, to, municipalityId);
+        if (!"csv".equals(format)) {
+            throw new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "formatunsupported");
+        }
+        if (!from.isBefore(to)) {
+            throw new BadRequestAlertException("Invalid range", ENTITY_NAME, "rangeinvalid");
+        }
+        response.setContentType(EXPORT_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("requests.csv").build().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!acceptsGzip(acceptEncoding)) {
+            requestService.exportCsv(from, to, municipalityId, response.getOutputStream());
+            return;
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        GZIPOutputStream gzip = new GZIPOutputStream(response.getOutputStream(), EXPORT_GZIP_BUFFER_SIZE, true);
+        requestService.exportCsv(from, to, municipalityId, gzip);
+        gzip.finish();
+    }
+
+    /**
+     * {@code GET  /requests/stats} : get the number of requests of each status created on each day of a range.
+     * <p>
+     * The numbers are read from counters kept per municipality, day and status, so the cost of a query depends on the
+     * number of days of the range, not on the number of requests.
+     *
+     * @param from the first day (UTC) of the range, inclusive.
+     * @param to the last day (UTC) of the range, exclusive.
+     * @param municipalityId the id of the municipality of the requests, or all the municipalities if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the non-zero numbers, by day then
+     * status, or with status {@code 400 (Bad Request)} if the range is empty.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<RequestDailyStatsDTO>> getRequestStats(
+        @RequestParam("from") LocalDate from,
+        @RequestParam("to") LocalDate to,
+        @RequestParam(value = "municipalityId", required = false) Long municipalityId
+    ) {
+        LOG.debug("REST request to get the statistics of Requests created from {} to {} in municipality {}", from, to, municipalityId);
+        if (!from.isBefore(to)) {
+            throw new BadRequestAlertException("Invalid range", ENTITY_NAME, "rangeinvalid");
+        }
+        return ResponseEntity.ok(requestStatsService.findDailyStats(municipalityId, from, to));
+    }
+
+    /**
+     * {@code POST  /requests/stats/rebuild} : recompute the counters of the statistics from the requests.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of counters.
+     */
+    @PostMapping("/stats/rebuild")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Long> rebuildRequestStats() {
+        LOG.debug("REST request to rebuild the statistics of Requests");
+        return ResponseEntity.ok(requestStatsService.rebuild());
+    }
+
+    /**
+     * {@code GET  /requests/sla} : get the percentiles of the resolution times of requests, per municipality and type.
+     * <p>
+     * The resolution time of a request is the time from its creation to its move to {@code RESOLVED} or
+     * {@code REJECTED}. The percentiles are read from histograms kept in memory, not from the requests: those of the
+     * instance answering, which holds the history as of its last rebuild and the resolutions it made since. The
+     * percentiles of the whole cluster are read from the {@code request_resolution_time_seconds} histograms in Prometheus.
+     *
+     * @param municipalityId the id of the municipality of the requests, or all the municipalities if absent.
+     * @param type the type of the requests, or all the types if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the count, the 50th, 90th and 99th
+     * percentiles and the maximum, in seconds, of each municipality and type, by municipality then type.
+     */
+    @GetMapping("/sla")
+    public ResponseEntity<List<RequestSlaDTO>> getRequestSla(
+        @RequestParam(value = "municipalityId", required = false) Long municipalityId,
+        @RequestParam(value = "type", required = false) String type
+    ) {
+        LOG.debug("REST request to get the resolution times of Requests of municipality {} and type {}", municipalityId, type);
+        return ResponseEntity.ok(requestSlaService.findAll(municipalityId, type));
+    }
+
+    /**
+     * {@code POST  /requests/sla/rebuild} : rebuild the histograms of the resolution times from the resolved requests.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of resolutions recorded.
+     */
+    @PostMapping("/sla/rebuild")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Long> rebuildRequestSla() {
+        LOG.debug("REST request to rebuild the resolution times of Requests");
+        return ResponseEntity.ok(requestSlaService.rebuild());
+    }
+
     /**
      * {@code GET  /requests/:id} : get the "id" request.
      *
@@ -176,4 +421,17 @@ public class RequestResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            if (parameters[0].trim().equalsIgnoreCase("gzip")) {
+                return parameters.length == 1 || !parameters[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
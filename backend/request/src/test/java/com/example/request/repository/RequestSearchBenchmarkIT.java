@@ -0,0 +1,115 @@
+package com.example.request.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.request.IntegrationTest;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Compares the search of requests through the GIN index of their {@code search_vector} with a scan of their descriptions
+ * with {@code ILIKE '%...%'}, for a rare and a frequent word.
+ * <p>
+ * Run with {@code -Dbenchmark.rows=5000000} for a table of the size the index is meant for.
+ */
+@IntegrationTest
+class RequestSearchBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestSearchBenchmarkIT.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 200_000);
+
+    private static final long FIRST_ID = 900_000_000L;
+
+    private static final long MUNICIPALITY_ID = 9_025L;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int RUNS = 15;
+
+    private static final String ILIKE =
+        "SELECT id FROM request WHERE description ILIKE ? OR type ILIKE ? ORDER BY created_date DESC, id DESC LIMIT " + PAGE_SIZE;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void insertRequests() {
+        // one request in a thousand is about a street lamp, one in fifteen about a flood
+        jdbcTemplate.update(
+            "INSERT INTO request (id, type, description, status, created_date, municipality_id, version) " +
+            "SELECT ? + g, (ARRAY['voirie', 'propreté', 'éclairage', 'urbanisme'])[1 + g % 4], " +
+            "'Signalement ' || (ARRAY['fuite', 'route', 'trottoir', 'déchets', 'bruit', 'arbre', 'stationnement', 'égout', " +
+            "'graffiti', 'panneau', 'chaussée', 'banc', 'poubelle', 'parc', 'inondation'])[1 + g % 15] || ' près de ' || " +
+            "(ARRAY['école', 'mairie', 'marché', 'mosquée', 'gare', 'stade', 'poste'])[1 + g % 7] || " +
+            "CASE WHEN g % 1000 = 0 THEN ', lampadaire éteint' ELSE '' END || ' n°' || g, " +
+            "'PENDING', CAST(? AS timestamp) + g * interval '1 second', ?, 0 FROM generate_series(1, ?) g",
+            FIRST_ID,
+            LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1).atStartOfDay(),
+            MUNICIPALITY_ID,
+            ROWS
+        );
+        jdbcTemplate.execute("ANALYZE request");
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM request WHERE municipality_id = ?", MUNICIPALITY_ID);
+    }
+
+    @Test
+    void searchingARareWordThroughTheIndexCostsLessThanScanningTheDescriptions() {
+        long searchRare = medianNanos(() -> requestRepository.search("lampadaire", PAGE_SIZE));
+        long ilikeRare = medianNanos(() -> ilike("lampadaire"));
+        long searchFrequent = medianNanos(() -> requestRepository.search("inondation", PAGE_SIZE));
+        long ilikeFrequent = medianNanos(() -> ilike("inondation"));
+
+        LOG.info(
+            "{} rows: rare word {} µs searched / {} µs with ILIKE, frequent word {} µs searched / {} µs with ILIKE",
+            ROWS,
+            searchRare / 1000,
+            ilikeRare / 1000,
+            searchFrequent / 1000,
+            ilikeFrequent / 1000
+        );
+        // the plural is stemmed to the same word, which ILIKE would miss
+        assertThat(requestRepository.search("lampadaires", ROWS)).hasSize(
+            jdbcTemplate.queryForObject("SELECT count(*) FROM request WHERE description ILIKE '%lampadaire%'", Integer.class)
+        );
+        assertThat(requestRepository.search("inondation", PAGE_SIZE)).hasSize(PAGE_SIZE);
+        // CI machines are noisy, but reading every description is slower by orders of magnitude
+        assertThat(searchRare).isLessThan(ilikeRare);
+    }
+
+    private List<Long> ilike(String word) {
+        return jdbcTemplate.queryForList(ILIKE, Long.class, "%" + word + "%", "%" + word + "%");
+    }
+
+    private static long medianNanos(Runnable query) {
+        // warm up the connection, the plan and the buffer cache
+        for (int i = 0; i < 5; i++) {
+            query.run();
+        }
+        List<Long> timings = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            timings.add(System.nanoTime() - start);
+        }
+        Collections.sort(timings);
+        return timings.get(RUNS / 2);
+    }
+}
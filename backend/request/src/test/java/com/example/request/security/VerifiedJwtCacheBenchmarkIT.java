@@ -0,0 +1,70 @@
+package com.example.request.security;
+
+import static com.example.request.security.jwt.JwtAuthenticationTestUtils.createValidToken;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.request.config.ApplicationProperties;
+import com.example.request.config.SecurityJwtConfiguration;
+import com.example.request.management.SecurityMetersService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Compares the cost of decoding the token relayed by the gateway with and without the {@link VerifiedJwtCache}.
+ */
+class VerifiedJwtCacheBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VerifiedJwtCacheBenchmarkIT.class);
+
+    private static final String JWT_KEY =
+        "MzcyOWY3OTc1YzRmZWIzYzUyYTRhNjhiODJiNjk4ZWU5NDQ4NWY4MTI4NzgwOWRiYmRhZTM5NWQ4MTFkNDI5MmE3YzRhNzVhZTk2OWQ5MjJlOGRmYzNlMWIwNDRlODU0NjliZDQ2NjhlMTFjNGM1NTQ3NGIwNWFkYWMwMTQ4ZjU=";
+
+    private static final int WARMUP = 5_000;
+
+    private static final int ITERATIONS = 5_000;
+
+    private static final int RUNS = 5;
+
+    @Test
+    void decodingACachedTokenIsCheaperThanVerifyingItAgain() {
+        String token = createValidToken(JWT_KEY);
+        JwtDecoder uncached = jwtDecoder(0);
+        JwtDecoder cached = jwtDecoder(10_000);
+
+        long withoutCache = medianNanosPerDecode(() -> uncached.decode(token));
+        long withCache = medianNanosPerDecode(() -> cached.decode(token));
+
+        LOG.info("decode of a relayed token: {} ns without the cache, {} ns with it", withoutCache, withCache);
+        assertThat(withCache).isLessThan(withoutCache);
+    }
+
+    private static JwtDecoder jwtDecoder(int jwtCacheMaximumSize) {
+        SecurityJwtConfiguration configuration = new SecurityJwtConfiguration();
+        ReflectionTestUtils.setField(configuration, "jwtKey", JWT_KEY);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getJwtCache().setMaximumSize(jwtCacheMaximumSize);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return configuration.jwtDecoder(new SecurityMetersService(meterRegistry), applicationProperties, meterRegistry);
+    }
+
+    private static long medianNanosPerDecode(Runnable decode) {
+        for (int i = 0; i < WARMUP; i++) {
+            decode.run();
+        }
+        long[] runs = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                decode.run();
+            }
+            runs[run] = (System.nanoTime() - start) / ITERATIONS;
+        }
+        Arrays.sort(runs);
+        return runs[RUNS / 2];
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.request.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+class VerifiedJwtCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T10:00:00Z");
+
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void returnsTheVerifiedTokenUntilItExpires() {
+        Jwt jwt = jwt("token", NOW.plusSeconds(60));
+
+        VerifiedJwtCache beforeExpiry = cacheAt(NOW.plusSeconds(59), 10);
+        beforeExpiry.put("token", jwt);
+        assertThat(beforeExpiry.get("token")).isSameAs(jwt);
+
+        VerifiedJwtCache atExpiry = cacheAt(NOW.plusSeconds(60), 10);
+        atExpiry.put("token", jwt);
+        assertThat(atExpiry.get("token")).isNull();
+        assertThat(atExpiry.get("token")).isNull();
+    }
+
+    @Test
+    void doesNotCacheTokensWithoutExpiry() {
+        VerifiedJwtCache cache = cacheAt(NOW, 10);
+
+        cache.put("token", Jwt.withTokenValue("token").header("alg", "HS512").subject("user").build());
+
+        assertThat(cache.get("token")).isNull();
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedTokens() {
+        VerifiedJwtCache cache = cacheAt(NOW, 2);
+        cache.put("first", jwt("first", NOW.plusSeconds(60)));
+        cache.put("second", jwt("second", NOW.plusSeconds(60)));
+        cache.get("first");
+
+        cache.put("third", jwt("third", NOW.plusSeconds(60)));
+
+        assertThat(cache.get("first")).isNotNull();
+        assertThat(cache.get("second")).isNull();
+        assertThat(cache.get("third")).isNotNull();
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", VerifiedJwtCache.NAME).functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void publishesHitsAndMisses() {
+        VerifiedJwtCache cache = cacheAt(NOW, 10);
+
+        cache.get("token");
+        cache.put("token", jwt("token", NOW.plusSeconds(60)));
+        cache.get("token");
+        cache.get("token");
+
+        assertThat(gets("hit")).isEqualTo(2);
+        assertThat(gets("miss")).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.size").tag("cache", VerifiedJwtCache.NAME).gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void largeCacheIsShardedWithinTheMaximumSize() {
+        VerifiedJwtCache cache = cacheAt(NOW, 1024);
+
+        for (int i = 0; i < 4096; i++) {
+            cache.put("token" + i, jwt("token" + i, NOW.plusSeconds(60)));
+        }
+
+        assertThat(meterRegistry.get("cache.size").tag("cache", VerifiedJwtCache.NAME).gauge().value()).isBetween(512.0, 1024.0);
+        assertThat(cache.get("token4095")).isNotNull();
+    }
+
+    private VerifiedJwtCache cacheAt(Instant now, int maximumSize) {
+        meterRegistry = new SimpleMeterRegistry();
+        return new VerifiedJwtCache(maximumSize, meterRegistry, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", VerifiedJwtCache.NAME).tag("result", result).functionCounter().count();
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token).header("alg", "HS512").subject("user").issuedAt(NOW).expiresAt(expiresAt).build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.request.security.jwt;
 
+import com.example.request.config.ApplicationProperties;
 import com.example.request.config.SecurityConfiguration;
 import com.example.request.config.SecurityJwtConfiguration;
 import com.example.request.config.WebConfigurer;
@@ -16,6 +17,7 @@ import tech.jhipster.config.JHipsterProperties;
 @SpringBootTest(
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
@@ -0,0 +1,161 @@
+package com.example.request.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.request.IntegrationTest;
+import com.example.request.domain.Request;
+import com.example.request.domain.enumeration.RequestStatus;
+import com.example.request.repository.RequestRepository;
+import com.example.request.service.RequestService;
+import com.example.request.service.dto.RequestDTO;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Drains a queue of pending requests with concurrent claimers, each in its own transaction, and checks that every
+ * request is handed out exactly once. The throughput is logged for one claimer and for many.
+ * <p>
+ * The connection pool of the tests is widened so the claimers actually run concurrently in the database.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "spring.datasource.hikari.maximum-pool-size=" + RequestClaimConcurrencyIT.CLAIMERS)
+class RequestClaimConcurrencyIT {
+
+    static final int CLAIMERS = 16;
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestClaimConcurrencyIT.class);
+
+    private static final Long MUNICIPALITY_ID = 2_020L;
+
+    private static final int ROWS = 2_000;
+
+    private static final int BATCH = 10;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private RequestService requestService;
+
+    @AfterEach
+    void cleanup() {
+        requestRepository.deleteAll(findRequestsOfMunicipality());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void oneClaimerDrainsTheQueue() throws Exception {
+        insertPendingRequests();
+
+        Map<Long, String> assignees = drainQueue(1);
+
+        assertEveryRequestClaimedOnce(assignees);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void concurrentClaimersNeverClaimTheSameRequest() throws Exception {
+        insertPendingRequests();
+
+        Map<Long, String> assignees = drainQueue(CLAIMERS);
+
+        assertEveryRequestClaimedOnce(assignees);
+        assertThat(assignees.values().stream().distinct().count()).as("claimers who got requests").isGreaterThan(1);
+    }
+
+    private void insertPendingRequests() {
+        Instant createdDate = Instant.now().minusSeconds(ROWS);
+        requestRepository.saveAll(
+            IntStream.range(0, ROWS)
+                .mapToObj(i ->
+                    new Request()
+                        .type("permit")
+                        .description("request " + i)
+                        .status(RequestStatus.PENDING)
+                        .createdDate(createdDate.plusSeconds(i))
+                        .municipalityId(MUNICIPALITY_ID)
+                )
+                .toList()
+        );
+    }
+
+    /**
+     * Runs claimers until the queue is empty, and returns the assignee of each claimed request. A claimer stops at its
+     * first empty claim: the requests it skipped then are being claimed by the others.
+     */
+    private Map<Long, String> drainQueue(int claimers) throws Exception {
+        Map<Long, String> assignees = new ConcurrentHashMap<>();
+        List<Long> duplicates = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(claimers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < claimers; i++) {
+                String assignee = "agent-" + i;
+                futures.add(
+                    executor.submit(() -> {
+                        start.await();
+                        List<RequestDTO> claimed;
+                        do {
+                            claimed = requestService.claim(MUNICIPALITY_ID, BATCH, assignee);
+                            for (RequestDTO request : claimed) {
+                                if (assignees.putIfAbsent(request.getId(), assignee) != null) {
+                                    synchronized (duplicates) {
+                                        duplicates.add(request.getId());
+                                    }
+                                }
+                            }
+                        } while (!claimed.isEmpty());
+                        return null;
+                    })
+                );
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - begin;
+            LOG.info(
+                "{} claimers claimed {} requests, {} at a time, in {} ms: {} requests/s",
+                claimers,
+                assignees.size(),
+                BATCH,
+                elapsed / 1_000_000,
+                assignees.size() * 1_000_000_000L / Math.max(elapsed, 1)
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(duplicates).as("requests claimed twice").isEmpty();
+        return assignees;
+    }
+
+    private void assertEveryRequestClaimedOnce(Map<Long, String> assignees) {
+        List<Request> requests = findRequestsOfMunicipality();
+        assertThat(requests).hasSize(ROWS);
+        assertThat(requests).allSatisfy(request -> assertThat(request.getStatus()).isEqualTo(RequestStatus.IN_PROGRESS));
+        assertThat(requests.stream().collect(Collectors.toMap(Request::getId, Request::getAssignee))).isEqualTo(assignees);
+    }
+
+    private List<Request> findRequestsOfMunicipality() {
+        return requestRepository.findAll().stream().filter(request -> MUNICIPALITY_ID.equals(request.getMunicipalityId())).toList();
+    }
+}
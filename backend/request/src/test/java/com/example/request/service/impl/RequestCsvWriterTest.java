@@ -0,0 +1,51 @@
+package com.example.request.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.request.domain.Request;
+import com.example.request.domain.enumeration.RequestStatus;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class RequestCsvWriterTest {
+
+    private final StringWriter out = new StringWriter();
+
+    private final RequestCsvWriter csv = new RequestCsvWriter(out);
+
+    @Test
+    void requestIsWrittenAsOneLine() throws IOException {
+        csv.writeHeader();
+        csv.write(
+            new Request()
+                .id(1L)
+                .type("permit")
+                .description("Building permit")
+                .status(RequestStatus.RESOLVED)
+                .createdDate(Instant.parse("2026-01-01T08:00:00Z"))
+                .resolvedDate(Instant.parse("2026-01-05T17:30:00Z"))
+                .citizenId(2L)
+                .municipalityId(3L)
+        );
+
+        assertThat(out).hasToString(
+            RequestCsvWriter.HEADER + "\r\n" + "1,permit,Building permit,RESOLVED,2026-01-01T08:00:00Z,2026-01-05T17:30:00Z,2,3\r\n"
+        );
+    }
+
+    @Test
+    void missingValuesAreEmptyFields() throws IOException {
+        csv.write(new Request().id(1L).type("permit").description("pending").status(RequestStatus.PENDING));
+
+        assertThat(out).hasToString("1,permit,pending,PENDING,,,,\r\n");
+    }
+
+    @Test
+    void fieldsWithSeparatorsOrQuotesAreQuoted() throws IOException {
+        csv.write(new Request().id(1L).type("permit, urgent").description("the \"old\" house\nby the river").status(RequestStatus.PENDING));
+
+        assertThat(out).hasToString("1,\"permit, urgent\",\"the \"\"old\"\" house\nby the river\",PENDING,,,,\r\n");
+    }
+}
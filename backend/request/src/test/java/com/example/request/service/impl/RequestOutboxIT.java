@@ -0,0 +1,124 @@
+package com.example.request.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.request.IntegrationTest;
+import com.example.request.domain.enumeration.RequestChangeType;
+import com.example.request.domain.enumeration.RequestStatus;
+import com.example.request.repository.RequestOutboxEntryRepository;
+import com.example.request.service.RequestChangePublisher;
+import com.example.request.service.RequestService;
+import com.example.request.service.dto.RequestChangeEventDTO;
+import com.example.request.service.dto.RequestDTO;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Integration tests of the outbox, from the changes of the {@link RequestService} to their publication on an in-process
+ * bus.
+ */
+@IntegrationTest
+@Import(RequestOutboxIT.InProcessBusConfiguration.class)
+class RequestOutboxIT {
+
+    @TestConfiguration
+    static class InProcessBusConfiguration {
+
+        @Bean
+        @Primary
+        InProcessBus inProcessBus() {
+            return new InProcessBus();
+        }
+    }
+
+    /**
+     * Keeps the published events in memory, in the order they are published.
+     */
+    static class InProcessBus implements RequestChangePublisher {
+
+        private final List<RequestChangeEventDTO> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publish(List<RequestChangeEventDTO> batch) {
+            events.addAll(batch);
+        }
+    }
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private RequestOutboxPoller requestOutboxPoller;
+
+    @Autowired
+    private RequestOutboxEntryRepository requestOutboxEntryRepository;
+
+    @Autowired
+    private InProcessBus inProcessBus;
+
+    @BeforeEach
+    void emptyOutbox() {
+        requestOutboxEntryRepository.deleteAll();
+        inProcessBus.events.clear();
+    }
+
+    @Test
+    void committedChangesArePublishedInOrder() {
+        RequestDTO created = requestService.save(newRequest());
+        requestOutboxPoller.drain();
+        created.setStatus(RequestStatus.IN_PROGRESS);
+        RequestDTO updated = requestService.update(created);
+        requestOutboxPoller.drain();
+        requestService.delete(updated.getId());
+        requestOutboxPoller.drain();
+
+        assertThat(inProcessBus.events).extracting(RequestChangeEventDTO::getType).containsExactly(
+            RequestChangeType.CREATED,
+            RequestChangeType.UPDATED,
+            RequestChangeType.DELETED
+        );
+        assertThat(inProcessBus.events).extracting(RequestChangeEventDTO::getPosition).isSorted();
+        assertThat(inProcessBus.events.get(1).getRequest().getStatus()).isEqualTo(RequestStatus.IN_PROGRESS);
+        assertThat(inProcessBus.events.get(1).getRequest().getVersion()).isGreaterThan(
+            inProcessBus.events.get(0).getRequest().getVersion()
+        );
+        // the deletion only drops the request from the read models in the version it was deleted
+        assertThat(inProcessBus.events.get(2).getVersion()).isEqualTo(inProcessBus.events.get(1).getRequest().getVersion());
+        assertThat(requestOutboxEntryRepository.count()).isZero();
+    }
+
+    @Test
+    void changesOfARequestBetweenTwoPollsArePublishedOnce() {
+        RequestDTO created = requestService.save(newRequest());
+        RequestDTO patch = new RequestDTO();
+        patch.setId(created.getId());
+        patch.setStatus(RequestStatus.RESOLVED);
+        requestService.partialUpdate(patch);
+
+        assertThat(requestOutboxPoller.drain()).isEqualTo(1);
+
+        assertThat(inProcessBus.events).singleElement().satisfies(event -> {
+            assertThat(event.getType()).isEqualTo(RequestChangeType.CREATED);
+            assertThat(event.getRequest().getStatus()).isEqualTo(RequestStatus.RESOLVED);
+        });
+        requestService.delete(created.getId());
+    }
+
+    private static RequestDTO newRequest() {
+        RequestDTO request = new RequestDTO();
+        request.setType("permit");
+        request.setDescription("outbox");
+        request.setStatus(RequestStatus.PENDING);
+        request.setCreatedDate(Instant.now());
+        request.setMunicipalityId(1L);
+        return request;
+    }
+}
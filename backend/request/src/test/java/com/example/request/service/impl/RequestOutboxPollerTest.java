@@ -0,0 +1,170 @@
+package com.example.request.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.request.config.ApplicationProperties;
+import com.example.request.domain.Request;
+import com.example.request.domain.RequestOutboxEntry;
+import com.example.request.domain.enumeration.RequestChangeType;
+import com.example.request.domain.enumeration.RequestStatus;
+import com.example.request.repository.RequestOutboxEntryRepository;
+import com.example.request.repository.RequestRepository;
+import com.example.request.service.dto.RequestChangeEventDTO;
+import com.example.request.service.mapper.RequestMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class RequestOutboxPollerTest {
+
+    private final RequestOutboxEntryRepository requestOutboxEntryRepository = mock(RequestOutboxEntryRepository.class);
+
+    private final RequestRepository requestRepository = mock(RequestRepository.class);
+
+    private final List<RequestChangeEventDTO> published = new ArrayList<>();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RequestOutboxPoller poller = new RequestOutboxPoller(
+        requestOutboxEntryRepository,
+        requestRepository,
+        new RequestMapperImpl(),
+        published::addAll,
+        mock(PlatformTransactionManager.class),
+        new ApplicationProperties(),
+        meterRegistry
+    );
+
+    @Test
+    void changesOfARequestArePublishedAsOneEventInOrder() {
+        Instant now = Instant.now();
+        when(requestOutboxEntryRepository.lockOldest(500)).thenReturn(
+            List.of(
+                entry(1L, 10L, RequestChangeType.CREATED, now.minusSeconds(3)),
+                entry(2L, 20L, RequestChangeType.UPDATED, now.minusSeconds(2)),
+                entry(3L, 10L, RequestChangeType.UPDATED, now.minusSeconds(1)),
+                entry(4L, 30L, RequestChangeType.UPDATED, now)
+            ),
+            List.of()
+        );
+        when(requestRepository.findAllByIdInBypassingCache(Set.of(10L, 20L, 30L))).thenReturn(
+            List.of(new Request().id(10L).status(RequestStatus.IN_PROGRESS).version(1L), new Request().id(20L).version(5L))
+        );
+
+        assertThat(poller.drain()).isEqualTo(3);
+
+        assertThat(published).extracting(RequestChangeEventDTO::getPosition).containsExactly(2L, 3L, 4L);
+        assertThat(published).extracting(RequestChangeEventDTO::getType).containsExactly(
+            RequestChangeType.UPDATED,
+            RequestChangeType.CREATED,
+            RequestChangeType.DELETED
+        );
+        assertThat(published.get(1).getOccurredDate()).isEqualTo(now.minusSeconds(3));
+        assertThat(published.get(1).getRequest().getVersion()).isEqualTo(1L);
+        assertThat(published.get(1).getVersion()).isEqualTo(1L);
+        assertThat(published.get(2).getRequest()).isNull();
+        verify(requestOutboxEntryRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L, 4L));
+        assertThat(meterRegistry.get("request.outbox.published").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("request.outbox.lag").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void aDeletionIsPublishedWithTheVersionOfTheDeletedRequest() {
+        when(requestOutboxEntryRepository.lockOldest(500)).thenReturn(
+            List.of(
+                entry(1L, 10L, RequestChangeType.UPDATED, Instant.now()),
+                entry(2L, 10L, RequestChangeType.DELETED, Instant.now()).requestVersion(4L)
+            ),
+            List.of()
+        );
+        when(requestRepository.findAllByIdInBypassingCache(Set.of(10L))).thenReturn(List.of());
+
+        poller.drain();
+
+        assertThat(published).singleElement().satisfies(event -> {
+            assertThat(event.getType()).isEqualTo(RequestChangeType.DELETED);
+            assertThat(event.getVersion()).isEqualTo(4L);
+            assertThat(event.getRequest()).isNull();
+        });
+    }
+
+    @Test
+    void entriesAreKeptIfThePublicationFails() {
+        RequestOutboxPoller failingPoller = new RequestOutboxPoller(
+            requestOutboxEntryRepository,
+            requestRepository,
+            new RequestMapperImpl(),
+            events -> {
+                throw new IllegalStateException("gateway unavailable");
+            },
+            mock(PlatformTransactionManager.class),
+            new ApplicationProperties(),
+            meterRegistry
+        );
+        when(requestOutboxEntryRepository.lockOldest(500)).thenReturn(List.of(entry(1L, 10L, RequestChangeType.CREATED, Instant.now())));
+
+        failingPoller.poll();
+
+        verify(requestOutboxEntryRepository, never()).deleteAllByIdInBatch(anyList());
+        verify(requestOutboxEntryRepository).releaseAllByIdIn(List.of(1L));
+        assertThat(meterRegistry.get("request.outbox.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void aStalledPublicationHoldsNoTransactionAndLeavesItsBatchToItsPoller() throws Exception {
+        CountDownLatch publishing = new CountDownLatch(1);
+        CountDownLatch gatewayAnswers = new CountDownLatch(1);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        RequestOutboxPoller stalledPoller = new RequestOutboxPoller(
+            requestOutboxEntryRepository,
+            requestRepository,
+            new RequestMapperImpl(),
+            events -> {
+                publishing.countDown();
+                try {
+                    gatewayAnswers.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                published.addAll(events);
+            },
+            transactionManager,
+            new ApplicationProperties(),
+            meterRegistry
+        );
+        List<RequestOutboxEntry> entries = List.of(entry(1L, 10L, RequestChangeType.CREATED, Instant.now()));
+        when(requestOutboxEntryRepository.lockOldest(500)).thenReturn(entries, entries, List.of());
+        when(requestRepository.findAllByIdInBypassingCache(Set.of(10L))).thenReturn(List.of(new Request().id(10L).version(0L)));
+
+        CompletableFuture<Long> stalled = CompletableFuture.supplyAsync(stalledPoller::drain);
+        assertThat(publishing.await(10, TimeUnit.SECONDS)).isTrue();
+
+        verify(transactionManager).getTransaction(any());
+        verify(transactionManager).commit(any());
+        assertThat(entries.get(0).getClaimedUntil()).isAfter(Instant.now());
+        assertThat(poller.drain()).isZero();
+        assertThat(published).isEmpty();
+
+        gatewayAnswers.countDown();
+        assertThat(stalled.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(published).singleElement().extracting(RequestChangeEventDTO::getPosition).isEqualTo(1L);
+        verify(requestOutboxEntryRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    private static RequestOutboxEntry entry(Long id, Long requestId, RequestChangeType changeType, Instant createdDate) {
+        return new RequestOutboxEntry().id(id).requestId(requestId).changeType(changeType).createdDate(createdDate);
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.request.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.request.IntegrationTest;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Compares a table of requests partitioned by month with the same table unpartitioned: a query of a municipality over
+ * one month, the removal of the oldest month, deleted from the unpartitioned table and detached from the other, and a
+ * lookup by id.
+ * <p>
+ * The tables only hold the columns involved, spread over five years. Run with {@code -Dbenchmark.rows=50000000} for a
+ * table of the size partitioning is meant for.
+ */
+@IntegrationTest
+class RequestPartitioningBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestPartitioningBenchmarkIT.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+
+    private static final int MONTHS = 60;
+
+    private static final int MUNICIPALITIES = 50;
+
+    private static final int RUNS = 15;
+
+    private static final String PARTITIONED = "request_benchmark";
+
+    private static final String UNPARTITIONED = "request_benchmark_heap";
+
+    private static final String COLUMNS =
+        "(id bigint NOT NULL, municipality_id bigint NOT NULL, status varchar(20) NOT NULL, created_date timestamp NOT NULL)";
+
+    private final YearMonth firstMonth = YearMonth.now(ZoneOffset.UTC).minusMonths(MONTHS - 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createTables() {
+        jdbcTemplate.execute("CREATE TABLE " + PARTITIONED + " " + COLUMNS + " PARTITION BY RANGE (created_date)");
+        jdbcTemplate.execute("CREATE TABLE " + PARTITIONED + "_default PARTITION OF " + PARTITIONED + " DEFAULT");
+        for (int i = 0; i < MONTHS; i++) {
+            jdbcTemplate.queryForObject(
+                "SELECT request_partition_create(CAST(? AS regclass), ?)",
+                String.class,
+                PARTITIONED,
+                firstMonth.plusMonths(i).atDay(1)
+            );
+        }
+        jdbcTemplate.execute("CREATE TABLE " + UNPARTITIONED + " " + COLUMNS);
+        for (String table : List.of(PARTITIONED, UNPARTITIONED)) {
+            jdbcTemplate.update(
+                "INSERT INTO " +
+                table +
+                " SELECT g, g % " +
+                MUNICIPALITIES +
+                ", CASE WHEN g % 4 = 0 THEN 'PENDING' ELSE 'RESOLVED' END, " +
+                "CAST(? AS timestamp) + (g * (interval '" +
+                MONTHS +
+                " months' / " +
+                ROWS +
+                ")) FROM generate_series(0, " +
+                (ROWS - 1) +
+                ") g",
+                firstMonth.atDay(1).atStartOfDay()
+            );
+            jdbcTemplate.execute("ALTER TABLE " + table + " ADD PRIMARY KEY (id, created_date)");
+            jdbcTemplate.execute("CREATE INDEX ON " + table + " (municipality_id, created_date, id)");
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+    }
+
+    @AfterEach
+    void dropTables() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + PARTITIONED + ", " + UNPARTITIONED);
+    }
+
+    @Test
+    void aMonthOfAMunicipalityAndTheOldestMonthCostLessOnceTheTableIsPartitioned() {
+        LocalDate from = firstMonth.plusMonths(MONTHS / 2).atDay(1);
+        LocalDate to = from.plusMonths(1);
+
+        long partitionedCount = medianNanos(() -> countMonth(PARTITIONED, from, to));
+        long unpartitionedCount = medianNanos(() -> countMonth(UNPARTITIONED, from, to));
+        long partitionedFetch = medianNanos(() -> fetchMonth(PARTITIONED, from, to));
+        long unpartitionedFetch = medianNanos(() -> fetchMonth(UNPARTITIONED, from, to));
+        assertThat(countMonth(PARTITIONED, from, to)).isEqualTo(countMonth(UNPARTITIONED, from, to)).isPositive();
+
+        long start = System.nanoTime();
+        int deleted = jdbcTemplate.update(
+            "DELETE FROM " + UNPARTITIONED + " WHERE created_date < ?",
+            firstMonth.plusMonths(1).atDay(1).atStartOfDay()
+        );
+        long unpartitionedRetention = System.nanoTime() - start;
+        start = System.nanoTime();
+        List<String> actions = jdbcTemplate.queryForList(
+            "SELECT request_partitions_maintain(CAST(? AS regclass), 0, ?, true)",
+            String.class,
+            PARTITIONED,
+            MONTHS - 1
+        );
+        long partitionedRetention = System.nanoTime() - start;
+
+        LOG.info(
+            "{} rows: month count {} µs partitioned / {} µs unpartitioned, month fetch {} µs / {} µs, " +
+            "oldest month ({} rows) detached and dropped in {} ms / deleted in {} ms",
+            ROWS,
+            partitionedCount / 1000,
+            unpartitionedCount / 1000,
+            partitionedFetch / 1000,
+            unpartitionedFetch / 1000,
+            deleted,
+            partitionedRetention / 1_000_000,
+            unpartitionedRetention / 1_000_000
+        );
+        assertThat(actions).singleElement().asString().startsWith("dropped ");
+        assertThat(deleted).isPositive();
+        assertThat(count(PARTITIONED)).isEqualTo(count(UNPARTITIONED));
+        // generous bounds, CI machines are noisy: reading one partition must not cost more than reading the whole index,
+        // and dropping a partition must not cost more than deleting its rows
+        assertThat(partitionedCount).isLessThan(unpartitionedCount * 2 + 2_000_000);
+        assertThat(partitionedRetention).isLessThan(unpartitionedRetention);
+    }
+
+    @Test
+    void aLookupByIdAloneCostsMoreThanOneByPrimaryKey() {
+        List<Map<String, Object>> keys = jdbcTemplate.queryForList(
+            "SELECT id, created_date FROM " + UNPARTITIONED + " ORDER BY random() LIMIT " + RUNS * 10
+        );
+        AtomicInteger next = new AtomicInteger();
+
+        long partitionedById = medianNanos(() -> statusById(PARTITIONED, keys.get(next.getAndIncrement() % keys.size())));
+        long partitionedByKey = medianNanos(() -> statusByKey(PARTITIONED, keys.get(next.getAndIncrement() % keys.size())));
+        long unpartitionedById = medianNanos(() -> statusById(UNPARTITIONED, keys.get(next.getAndIncrement() % keys.size())));
+
+        LOG.info(
+            "{} rows in {} partitions: lookup by id {} µs partitioned / {} µs unpartitioned, by id and creation date {} µs partitioned",
+            ROWS,
+            MONTHS + 1,
+            partitionedById / 1000,
+            unpartitionedById / 1000,
+            partitionedByKey / 1000
+        );
+        Map<String, Object> key = keys.get(0);
+        assertThat(statusByKey(PARTITIONED, key)).isEqualTo(statusById(PARTITIONED, key)).isEqualTo(statusById(UNPARTITIONED, key));
+        // a lookup by id alone reads every partition, one by primary key a single one
+        assertThat(explain("SELECT status FROM " + PARTITIONED + " WHERE id = ?", key.get("id"))).contains(PARTITIONED + "_default");
+        assertThat(
+            explain("SELECT status FROM " + PARTITIONED + " WHERE id = ? AND created_date = ?", key.get("id"), key.get("created_date"))
+        ).doesNotContain(PARTITIONED + "_default");
+        // generous bound, CI machines are noisy: probing one index must not cost more than probing one per partition
+        assertThat(partitionedByKey).isLessThan(partitionedById * 2);
+    }
+
+    private String statusById(String table, Map<String, Object> key) {
+        return jdbcTemplate.queryForObject("SELECT status FROM " + table + " WHERE id = ?", String.class, key.get("id"));
+    }
+
+    private String statusByKey(String table, Map<String, Object> key) {
+        return jdbcTemplate.queryForObject(
+            "SELECT status FROM " + table + " WHERE id = ? AND created_date = ?",
+            String.class,
+            key.get("id"),
+            key.get("created_date")
+        );
+    }
+
+    private String explain(String sql, Object... args) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args));
+    }
+
+    private long countMonth(String table, LocalDate from, LocalDate to) {
+        return jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM " + table + " WHERE municipality_id = 7 AND created_date >= ? AND created_date < ?",
+            Long.class,
+            from.atStartOfDay(),
+            to.atStartOfDay()
+        );
+    }
+
+    private List<Long> fetchMonth(String table, LocalDate from, LocalDate to) {
+        return jdbcTemplate.queryForList(
+            "SELECT id FROM " +
+            table +
+            " WHERE municipality_id = 7 AND status = 'PENDING' AND created_date >= ? AND created_date < ? " +
+            "ORDER BY created_date, id LIMIT 100",
+            Long.class,
+            from.atStartOfDay(),
+            to.atStartOfDay()
+        );
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+
+    private static long medianNanos(Runnable query) {
+        // warm up the connection, the plan and the buffer cache
+        for (int i = 0; i < 5; i++) {
+            query.run();
+        }
+        List<Long> timings = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            timings.add(System.nanoTime() - start);
+        }
+        Collections.sort(timings);
+        return timings.get(RUNS / 2);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.request.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.request.IntegrationTest;
+import com.example.request.domain.Request;
+import com.example.request.domain.enumeration.RequestStatus;
+import com.example.request.repository.RequestRepository;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Integration tests of the monthly partitions of the {@code request} table, and of their {@link RequestPartitionMaintenance}.
+ */
+@IntegrationTest
+class RequestPartitioningIT {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String EXPIRED_PARTITION = "request_p200101";
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private RequestPartitionMaintenance requestPartitionMaintenance;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + EXPIRED_PARTITION);
+    }
+
+    @Test
+    void maintenanceCreatesThePartitionsOfTheNextMonths() {
+        requestPartitionMaintenance.maintain();
+
+        YearMonth thisMonth = YearMonth.now(ZoneOffset.UTC);
+        assertThat(IntStream.rangeClosed(0, 3).mapToObj(i -> partitionOf(thisMonth.plusMonths(i))))
+            .allSatisfy(partition -> assertThat(exists(partition)).as(partition).isTrue());
+        assertThat(requestPartitionMaintenance.maintain()).isEmpty();
+    }
+
+    @Test
+    void aQueryBoundedToAMonthOnlyReadsThePartitionOfTheMonth() {
+        YearMonth thisMonth = YearMonth.now(ZoneOffset.UTC);
+        String plan = String.join(
+            "\n",
+            jdbcTemplate.queryForList(
+                "EXPLAIN SELECT count(*) FROM request WHERE municipality_id = 1 AND created_date >= ? AND created_date < ?",
+                String.class,
+                thisMonth.atDay(1).atStartOfDay(),
+                thisMonth.plusMonths(1).atDay(1).atStartOfDay()
+            )
+        );
+
+        assertThat(plan).contains(partitionOf(thisMonth)).doesNotContain(partitionOf(thisMonth.plusMonths(1)), "request_default");
+    }
+
+    @Test
+    void partitionsOlderThanTheRetentionAreDetached() {
+        jdbcTemplate.queryForObject("SELECT request_partition_create('request', DATE '2001-01-01')", String.class);
+        Request expired = requestRepository.save(
+            new Request()
+                .type("permit")
+                .description("expired")
+                .status(RequestStatus.RESOLVED)
+                .createdDate(LocalDate.of(2001, 1, 15).atStartOfDay(ZoneOffset.UTC).toInstant())
+                .resolvedDate(Instant.parse("2001-01-16T00:00:00Z"))
+                .municipalityId(1L)
+        );
+
+        List<String> actions = jdbcTemplate.queryForList(
+            "SELECT request_partitions_maintain('request', 0, 12, false)",
+            String.class
+        );
+
+        assertThat(actions).containsExactly("detached " + EXPIRED_PARTITION);
+        assertThat(requestRepository.findById(expired.getId())).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM " + EXPIRED_PARTITION, Long.class)).isEqualTo(1L);
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+
+    private static String partitionOf(YearMonth month) {
+        return "request_p" + month.format(PARTITION_SUFFIX);
+    }
+}
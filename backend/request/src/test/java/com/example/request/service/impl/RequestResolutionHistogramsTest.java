@@ -0,0 +1,105 @@
+package com.example.request.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.request.config.ApplicationProperties;
+import com.example.request.service.dto.RequestSlaDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class RequestResolutionHistogramsTest {
+
+    private static final Instant CREATED = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RequestResolutionHistograms histograms = histograms(10);
+
+    @Test
+    void percentilesAreReadPerMunicipalityAndType() {
+        for (int seconds = 1; seconds <= 100; seconds++) {
+            histograms.record((long) seconds, 1L, "permit", CREATED, CREATED.plusSeconds(seconds));
+        }
+        histograms.record(101L, 1L, "complaint", CREATED, CREATED.plusSeconds(30));
+        histograms.record(102L, 2L, "permit", CREATED, CREATED.plusSeconds(30));
+
+        assertThat(histograms.percentiles(1L, null)).extracting(RequestSlaDTO::getType).containsExactly("complaint", "permit");
+        assertThat(histograms.percentiles(1L, "permit")).singleElement().satisfies(sla -> {
+            assertThat(sla.getCount()).isEqualTo(100);
+            assertThat(sla.getP50()).isEqualTo(50);
+            assertThat(sla.getP90()).isEqualTo(90);
+            assertThat(sla.getP99()).isEqualTo(99);
+            assertThat(sla.getMax()).isEqualTo(100);
+        });
+        assertThat(
+            meterRegistry.get(RequestResolutionHistograms.METRIC_NAME).tag("municipalityId", "1").tag("type", "permit").summary().count()
+        ).isEqualTo(100);
+    }
+
+    @Test
+    void resolutionsWithoutDatesAreIgnored() {
+        histograms.record(4L, 1L, "permit", null, CREATED);
+        histograms.record(5L, 1L, "permit", CREATED, null);
+        histograms.record(6L, 1L, "permit", CREATED, CREATED.minusSeconds(1));
+
+        assertThat(histograms.percentiles(null, null)).isEmpty();
+    }
+
+    @Test
+    void seriesBeyondTheMaximumAreRecordedAsOther() {
+        RequestResolutionHistograms bounded = histograms(2);
+        bounded.record(7L, 1L, "permit", CREATED, CREATED.plusSeconds(1));
+        bounded.record(8L, 2L, "permit", CREATED, CREATED.plusSeconds(1));
+        bounded.record(9L, 3L, "permit", CREATED, CREATED.plusSeconds(1));
+        bounded.record(10L, 4L, "complaint", CREATED, CREATED.plusSeconds(1));
+
+        assertThat(bounded.percentiles(null, null)).extracting(RequestSlaDTO::getMunicipalityId).containsExactly(1L, 2L, null);
+        assertThat(bounded.percentiles(null, RequestResolutionHistograms.OTHER))
+            .singleElement()
+            .extracting(RequestSlaDTO::getCount)
+            .isEqualTo(2L);
+    }
+
+    @Test
+    void aRebuildReplacesTheHistogramsWithTheHistoryAndTheResolutionsRecordedMeanwhile() {
+        histograms.record(11L, 1L, "permit", CREATED, CREATED.plusSeconds(10));
+
+        RequestResolutionHistograms.Rebuild rebuild = histograms.startRebuild();
+        rebuild.record(1L, "permit", CREATED, CREATED.plusSeconds(20));
+        rebuild.record(2L, "permit", CREATED, CREATED.plusSeconds(20));
+        histograms.record(12L, 1L, "permit", CREATED, CREATED.plusSeconds(30));
+        assertThatThrownBy(histograms::startRebuild).isInstanceOf(IllegalStateException.class);
+        assertThat(histograms.percentiles(1L, "permit")).singleElement().extracting(RequestSlaDTO::getCount).isEqualTo(2L);
+
+        assertThat(rebuild.finish(ids -> Map.of())).isEqualTo(2);
+
+        assertThat(histograms.percentiles(null, "permit")).extracting(RequestSlaDTO::getCount).containsExactly(2L, 1L);
+        assertThat(histograms.percentiles(1L, "permit")).singleElement().extracting(RequestSlaDTO::getMax).isEqualTo(30L);
+        assertThat(meterRegistry.get(RequestResolutionHistograms.METRIC_NAME).tag("municipalityId", "1").summary().count()).isEqualTo(2);
+    }
+
+    @Test
+    void aResolutionRecordedDuringARebuildIsNotCountedTwiceIfTheHistoryHoldsIt() {
+        RequestResolutionHistograms.Rebuild rebuild = histograms.startRebuild();
+        // committed before the snapshot of the history, but recorded once the rebuild started
+        histograms.record(1L, 1L, "permit", CREATED, CREATED.plusSeconds(10));
+        histograms.record(2L, 1L, "permit", CREATED, CREATED.plusSeconds(20));
+        rebuild.record(1L, "permit", CREATED, CREATED.plusSeconds(10));
+
+        assertThat(rebuild.finish(ids -> Map.of(1L, CREATED.plusSeconds(10).plusNanos(999)))).isEqualTo(1);
+
+        assertThat(histograms.percentiles(1L, "permit")).singleElement().satisfies(sla -> {
+            assertThat(sla.getCount()).isEqualTo(2);
+            assertThat(sla.getMax()).isEqualTo(20);
+        });
+    }
+
+    private RequestResolutionHistograms histograms(int maxSeries) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSla().setMaxSeries(maxSeries);
+        return new RequestResolutionHistograms(meterRegistry, applicationProperties);
+    }
+}
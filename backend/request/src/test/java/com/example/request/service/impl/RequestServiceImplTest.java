@@ -0,0 +1,308 @@
+package com.example.request.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.request.domain.Request;
+import com.example.request.domain.enumeration.RequestChangeType;
+import com.example.request.domain.enumeration.RequestStatus;
+import com.example.request.repository.RequestRepository;
+import com.example.request.repository.RequestRepositoryWithPartialUpdate.PartialUpdate;
+import com.example.request.service.dto.RequestDTO;
+import com.example.request.service.dto.RequestSearchHitDTO;
+import com.example.request.service.dto.RequestStatusOutcomeDTO;
+import com.example.request.service.dto.RequestStatusOutcomeDTO.Outcome;
+import com.example.request.service.mapper.RequestMapperImpl;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class RequestServiceImplTest {
+
+    private final RequestRepository requestRepository = mock(RequestRepository.class);
+
+    private final Cache cache = mock(Cache.class);
+
+    private final RequestOutbox requestOutbox = mock(RequestOutbox.class);
+
+    private final RequestResolutionHistograms requestResolutionHistograms = mock(RequestResolutionHistograms.class);
+
+    private final RequestServiceImpl requestService = new RequestServiceImpl(
+        requestRepository,
+        new RequestMapperImpl(),
+        entityManager(cache),
+        requestOutbox,
+        requestResolutionHistograms,
+        2
+    );
+
+    @BeforeEach
+    void initSynchronization() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void statusIsUpdatedAChunkOfDistinctIdsAtATime() {
+        when(requestRepository.updateStatusByIdIn("{1,2}", "RESOLVED", true)).thenReturn(
+            List.of(new Object[] { 1L, true }, new Object[] { 2L, false })
+        );
+        when(requestRepository.updateStatusByIdIn("{3}", "RESOLVED", true)).thenReturn(List.<Object[]>of());
+
+        List<RequestStatusOutcomeDTO> outcomes = requestService.updateStatus(List.of(1L, 2L, 2L, 3L), RequestStatus.RESOLVED);
+
+        assertThat(outcomes).containsExactly(
+            new RequestStatusOutcomeDTO(1L, Outcome.UPDATED),
+            new RequestStatusOutcomeDTO(2L, Outcome.UNCHANGED),
+            new RequestStatusOutcomeDTO(3L, Outcome.NOT_FOUND)
+        );
+    }
+
+    @Test
+    void updatedRequestsAreEvictedOnceCommitted() {
+        when(requestRepository.updateStatusByIdIn("{1,2}", "PENDING", false)).thenReturn(
+            List.of(new Object[] { 1L, true }, new Object[] { 2L, false })
+        );
+
+        requestService.updateStatus(List.of(1L, 2L), RequestStatus.PENDING);
+
+        verify(cache, never()).evict(Request.class, 1L);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(cache).evict(Request.class, 1L);
+        verify(cache, never()).evict(Request.class, 2L);
+    }
+
+    @Test
+    void updatedRequestsAreRecordedInTheOutbox() {
+        when(requestRepository.updateStatusByIdIn("{1,2}", "RESOLVED", true)).thenReturn(
+            List.of(new Object[] { 1L, true }, new Object[] { 2L, false })
+        );
+
+        requestService.updateStatus(List.of(1L, 2L), RequestStatus.RESOLVED);
+
+        verify(requestOutbox).record(RequestChangeType.UPDATED, List.of(1L));
+    }
+
+    @Test
+    void resolutionsAreRecordedOnceCommitted() {
+        Instant created = Instant.now().minusSeconds(60);
+        Instant resolved = Instant.now();
+        when(requestRepository.updateStatusByIdIn("{1,2}", "REJECTED", true)).thenReturn(
+            List.of(new Object[] { 1L, true }, new Object[] { 2L, false })
+        );
+        when(requestRepository.findResolutionsByIdIn(List.of(1L))).thenReturn(
+            Collections.singletonList(new Object[] { 1L, 7L, "permit", created, resolved })
+        );
+
+        requestService.updateStatus(List.of(1L, 2L), RequestStatus.REJECTED);
+
+        verify(requestResolutionHistograms, never()).record(anyLong(), anyLong(), any(), any(), any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(requestResolutionHistograms).record(1L, 7L, "permit", created, resolved);
+    }
+
+    @Test
+    void anUpdateResolvingAResolvedRequestIsNotRecorded() {
+        when(requestRepository.findStatusByIdForUpdate(1L)).thenReturn(Optional.of("RESOLVED"));
+        when(requestRepository.save(any(Request.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        RequestDTO requestDTO = new RequestDTO();
+        requestDTO.setId(1L);
+        requestDTO.setStatus(RequestStatus.RESOLVED);
+        requestDTO.setCreatedDate(Instant.now().minusSeconds(60));
+        requestDTO.setResolvedDate(Instant.now());
+        requestDTO.setVersion(2L);
+
+        requestService.update(requestDTO);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(requestResolutionHistograms, never()).record(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void aPartialUpdateResolvingARequestIsRecordedFromItsPreviousStatus() {
+        Instant created = Instant.now().minusSeconds(60);
+        Instant resolved = Instant.now();
+        when(requestRepository.updateChangedColumns(any(Request.class), eq(true))).thenReturn(
+            Optional.of(
+                new PartialUpdate(
+                    new Request()
+                        .id(1L)
+                        .type("permit")
+                        .municipalityId(7L)
+                        .status(RequestStatus.RESOLVED)
+                        .createdDate(created)
+                        .resolvedDate(resolved),
+                    "IN_PROGRESS"
+                )
+            ),
+            Optional.of(new PartialUpdate(new Request().id(1L).status(RequestStatus.RESOLVED), "RESOLVED"))
+        );
+        RequestDTO requestDTO = new RequestDTO();
+        requestDTO.setId(1L);
+        requestDTO.setStatus(RequestStatus.RESOLVED);
+
+        requestService.partialUpdate(requestDTO);
+        // Already resolved
+        requestService.partialUpdate(requestDTO);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(requestResolutionHistograms).record(any(), any(), any(), any(), any());
+        verify(requestResolutionHistograms).record(1L, 7L, "permit", created, resolved);
+        verify(requestRepository, never()).findStatusByIdForUpdate(anyLong());
+    }
+
+    @Test
+    void anUpdateResolvingARequestKeepsItsResolutionDate() {
+        Instant resolved = Instant.now().minusSeconds(30);
+        when(requestRepository.findStatusByIdForUpdate(1L)).thenReturn(Optional.of("PENDING"));
+        when(requestRepository.save(any(Request.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        RequestDTO requestDTO = new RequestDTO();
+        requestDTO.setId(1L);
+        requestDTO.setStatus(RequestStatus.REJECTED);
+        requestDTO.setCreatedDate(Instant.now().minusSeconds(60));
+        requestDTO.setResolvedDate(resolved);
+        requestDTO.setVersion(2L);
+
+        assertThat(requestService.update(requestDTO).getResolvedDate()).isEqualTo(resolved);
+    }
+
+    @Test
+    void anUpdateWithoutAVersionAppliesToTheCurrentOne() {
+        Instant created = Instant.now().minusSeconds(60);
+        when(requestRepository.findByIdForUpdate(1L)).thenReturn(
+            Optional.of(new Request().id(1L).status(RequestStatus.PENDING).createdDate(created).version(5L))
+        );
+        when(requestRepository.save(any(Request.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        RequestDTO requestDTO = new RequestDTO();
+        requestDTO.setId(1L);
+        requestDTO.setType("permit");
+        requestDTO.setMunicipalityId(7L);
+        requestDTO.setStatus(RequestStatus.RESOLVED);
+
+        RequestDTO result = requestService.update(requestDTO);
+
+        assertThat(result.getVersion()).isEqualTo(5L);
+        assertThat(result.getCreatedDate()).isEqualTo(created);
+        assertThat(result.getResolvedDate()).isNotNull();
+        verify(requestRepository, never()).findStatusByIdForUpdate(anyLong());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(requestResolutionHistograms).record(1L, 7L, "permit", created, result.getResolvedDate());
+    }
+
+    @Test
+    void anUpdateWithoutAVersionOfADeletedRequestIsAConflict() {
+        when(requestRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty());
+        RequestDTO requestDTO = new RequestDTO();
+        requestDTO.setId(1L);
+        requestDTO.setStatus(RequestStatus.PENDING);
+
+        assertThatThrownBy(() -> requestService.update(requestDTO)).isInstanceOf(OptimisticLockingFailureException.class);
+        verify(requestRepository, never()).save(any(Request.class));
+    }
+
+    @Test
+    void partialUpdateIsOneStatement() {
+        when(requestRepository.updateChangedColumns(any(Request.class), eq(false))).thenReturn(
+            Optional.of(new PartialUpdate(new Request().id(1L).status(RequestStatus.IN_PROGRESS).version(4L), "PENDING"))
+        );
+        RequestDTO requestDTO = new RequestDTO();
+        requestDTO.setId(1L);
+        requestDTO.setStatus(RequestStatus.IN_PROGRESS);
+        requestDTO.setVersion(3L);
+
+        Optional<RequestDTO> result = requestService.partialUpdate(requestDTO);
+
+        assertThat(result).get().extracting(RequestDTO::getVersion).isEqualTo(4L);
+        verify(requestRepository).updateChangedColumns(any(Request.class), eq(false));
+        verify(requestRepository, never()).findById(anyLong());
+        verify(requestRepository, never()).findStatusByIdForUpdate(anyLong());
+        verify(requestRepository, never()).existsById(anyLong());
+        verify(requestRepository, never()).save(any(Request.class));
+    }
+
+    @Test
+    void partialUpdateOfAStaleVersionIsAConflict() {
+        when(requestRepository.updateChangedColumns(any(Request.class), eq(false))).thenThrow(
+            new OptimisticLockingFailureException("Request 1 was updated since version 3")
+        );
+        RequestDTO requestDTO = new RequestDTO();
+        requestDTO.setId(1L);
+        requestDTO.setVersion(3L);
+
+        assertThatThrownBy(() -> requestService.partialUpdate(requestDTO)).isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void partialUpdateOfAMissingRequestIsEmpty() {
+        when(requestRepository.updateChangedColumns(any(Request.class), eq(false))).thenReturn(Optional.empty());
+        RequestDTO requestDTO = new RequestDTO();
+        requestDTO.setId(1L);
+
+        assertThat(requestService.partialUpdate(requestDTO)).isEmpty();
+        verify(requestRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void claimedRequestsAreReturnedOldestFirstAndEvictedOnceCommitted() {
+        Instant now = Instant.now();
+        when(requestRepository.claimPending(1L, 2, "agent")).thenReturn(
+            List.of(
+                new Request().id(2L).status(RequestStatus.IN_PROGRESS).createdDate(now).assignee("agent"),
+                new Request().id(1L).status(RequestStatus.IN_PROGRESS).createdDate(now.minusSeconds(1)).assignee("agent")
+            )
+        );
+
+        List<RequestDTO> claimed = requestService.claim(1L, 2, "agent");
+
+        assertThat(claimed).extracting(RequestDTO::getId).containsExactly(1L, 2L);
+        assertThat(claimed).extracting(RequestDTO::getAssignee).containsOnly("agent");
+        verify(cache, never()).evict(Request.class, 1L);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(cache).evict(Request.class, 1L);
+        verify(cache).evict(Request.class, 2L);
+    }
+
+    @Test
+    void searchKeepsTheOrderOfTheRanksAndLeavesOutDeletedRequests() {
+        when(requestRepository.searchAfter("fuite", 0.5f, 9L, 3)).thenReturn(
+            List.of(new Object[] { 3L, 0.4f }, new Object[] { 2L, 0.3f }, new Object[] { 1L, 0.3f })
+        );
+        when(requestRepository.findAllById(List.of(3L, 2L, 1L))).thenReturn(List.of(new Request().id(1L), new Request().id(3L)));
+
+        List<RequestSearchHitDTO> hits = requestService.search("fuite", 0.5f, 9L, 3);
+
+        assertThat(hits).extracting(hit -> hit.getRequest().getId()).containsExactly(3L, 1L);
+        assertThat(hits).extracting(RequestSearchHitDTO::getRank).containsExactly(0.4f, 0.3f);
+        verify(requestRepository, never()).search(any(), anyInt());
+    }
+
+    private static EntityManager entityManager(Cache cache) {
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+        return entityManager;
+    }
+}
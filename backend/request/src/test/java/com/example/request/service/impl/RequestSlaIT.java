@@ -0,0 +1,81 @@
+package com.example.request.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.request.IntegrationTest;
+import com.example.request.domain.Request;
+import com.example.request.domain.enumeration.RequestStatus;
+import com.example.request.repository.RequestRepository;
+import com.example.request.service.RequestService;
+import com.example.request.service.RequestSlaService;
+import com.example.request.service.dto.RequestDTO;
+import com.example.request.service.dto.RequestSlaDTO;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests of the resolution times of requests: recorded as requests are resolved, and rebuilt from the
+ * resolved requests.
+ */
+@IntegrationTest
+class RequestSlaIT {
+
+    private static final Long MUNICIPALITY_ID = 2_023L;
+
+    private static final String TYPE = "sla";
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private RequestSlaService requestSlaService;
+
+    @AfterEach
+    void cleanup() {
+        requestRepository.deleteAll(
+            requestRepository.findAll().stream().filter(request -> MUNICIPALITY_ID.equals(request.getMunicipalityId())).toList()
+        );
+    }
+
+    @Test
+    void resolutionsAreRecordedAndRebuiltFromTheHistory() {
+        Instant now = Instant.now();
+        List<Request> requests = requestRepository.saveAll(
+            IntStream.rangeClosed(1, 10)
+                .mapToObj(hours ->
+                    new Request()
+                        .type(TYPE)
+                        .description("request " + hours)
+                        .status(RequestStatus.PENDING)
+                        .createdDate(now.minusSeconds(hours * 3_600L))
+                        .municipalityId(MUNICIPALITY_ID)
+                )
+                .toList()
+        );
+        requestService.updateStatus(requests.stream().limit(5).map(Request::getId).toList(), RequestStatus.RESOLVED);
+        RequestDTO rejected = requestService.findOne(requests.get(9).getId()).orElseThrow();
+        rejected.setStatus(RequestStatus.REJECTED);
+        rejected.setResolvedDate(now);
+        requestService.update(rejected);
+        // Already resolved
+        requestService.update(requestService.findOne(requests.get(0).getId()).orElseThrow());
+
+        List<RequestSlaDTO> recorded = requestSlaService.findAll(MUNICIPALITY_ID, TYPE);
+        assertThat(recorded).singleElement().satisfies(sla -> {
+            assertThat(sla.getCount()).isEqualTo(6);
+            assertThat(sla.getP50()).isBetween(2 * 3_600L, 4 * 3_600L);
+            assertThat(sla.getMax()).isBetween(10 * 3_600L, 11 * 3_600L);
+        });
+
+        assertThat(requestSlaService.rebuild()).isGreaterThanOrEqualTo(6);
+
+        assertThat(requestSlaService.findAll(MUNICIPALITY_ID, TYPE)).singleElement().extracting(RequestSlaDTO::getCount).isEqualTo(6L);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.request.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.request.IntegrationTest;
+import com.example.request.domain.Request;
+import com.example.request.domain.enumeration.RequestStatus;
+import com.example.request.repository.RequestRepository;
+import com.example.request.service.RequestService;
+import com.example.request.service.RequestStatsService;
+import com.example.request.service.dto.RequestDailyStatsDTO;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests of the statistics of requests: the counters kept by the database through every kind of write, and
+ * a rebuild recomputing the same counters.
+ */
+@IntegrationTest
+class RequestStatsIT {
+
+    private static final Long MUNICIPALITY_ID = 2_022L;
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 1, 1);
+
+    private static final int DAYS = 90;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private RequestStatsService requestStatsService;
+
+    @AfterEach
+    void cleanup() {
+        requestRepository.deleteAll(findRequestsOfMunicipality());
+    }
+
+    @Test
+    void countersFollowEveryWriteAndMatchARebuild() {
+        List<Request> requests = requestRepository.saveAll(
+            IntStream.range(0, DAYS * 2)
+                .mapToObj(i ->
+                    new Request()
+                        .type("permit")
+                        .description("request " + i)
+                        .status(RequestStatus.PENDING)
+                        .createdDate(FIRST_DAY.plusDays(i / 2).atStartOfDay(ZoneOffset.UTC).toInstant().plusSeconds(i))
+                        .municipalityId(MUNICIPALITY_ID)
+                )
+                .toList()
+        );
+        // A set-based update, which no listener of the entities would see
+        requestService.updateStatus(requests.stream().limit(DAYS).map(Request::getId).toList(), RequestStatus.RESOLVED);
+        requestRepository.delete(requests.get(requests.size() - 1));
+
+        List<RequestDailyStatsDTO> maintained = findStats();
+        assertThat(maintained.stream().mapToLong(RequestDailyStatsDTO::getCount).sum()).isEqualTo(DAYS * 2 - 1);
+        assertThat(maintained)
+            .filteredOn(stats -> stats.getStatus() == RequestStatus.RESOLVED)
+            .extracting(RequestDailyStatsDTO::getCount)
+            .containsOnly(2L)
+            .hasSize(DAYS / 2);
+
+        requestStatsService.rebuild();
+
+        assertThat(findStats()).isEqualTo(maintained);
+    }
+
+    private List<RequestDailyStatsDTO> findStats() {
+        return requestStatsService.findDailyStats(MUNICIPALITY_ID, FIRST_DAY, FIRST_DAY.plusDays(DAYS));
+    }
+
+    private List<Request> findRequestsOfMunicipality() {
+        return requestRepository.findAll().stream().filter(request -> MUNICIPALITY_ID.equals(request.getMunicipalityId())).toList();
+    }
+}
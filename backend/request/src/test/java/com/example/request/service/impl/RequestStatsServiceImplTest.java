@@ -0,0 +1,84 @@
+package com.example.request.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.request.config.ApplicationProperties;
+import com.example.request.domain.enumeration.RequestStatus;
+import com.example.request.repository.RequestDailyStatsRepository;
+import com.example.request.service.dto.RequestDailyStatsDTO;
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class RequestStatsServiceImplTest {
+
+    private final RequestDailyStatsRepository requestDailyStatsRepository = mock(RequestDailyStatsRepository.class);
+
+    private final RequestStatsServiceImpl requestStatsService = new RequestStatsServiceImpl(
+        requestDailyStatsRepository,
+        mock(PlatformTransactionManager.class),
+        new ApplicationProperties()
+    );
+
+    @Test
+    void statsOfAllMunicipalitiesAreSummedByDayAndStatus() {
+        LocalDate day = LocalDate.of(2026, 3, 1);
+        when(requestDailyStatsRepository.sumAllByDayRange(day, day.plusDays(1))).thenReturn(
+            List.of(new Object[] { day, RequestStatus.PENDING, 3L }, new Object[] { day, RequestStatus.RESOLVED, 2L })
+        );
+
+        assertThat(requestStatsService.findDailyStats(null, day, day.plusDays(1))).containsExactly(
+            new RequestDailyStatsDTO(day, RequestStatus.PENDING, 3),
+            new RequestDailyStatsDTO(day, RequestStatus.RESOLVED, 2)
+        );
+    }
+
+    @Test
+    void rebuildComparesTheDaysOfTheRequestsInChunksOfOneSnapshot() {
+        when(requestDailyStatsRepository.exportSnapshot()).thenReturn("00000003-0000001B-1");
+        when(requestDailyStatsRepository.findCreatedDateRange()).thenReturn(
+            Collections.singletonList(new Object[] { Instant.parse("2026-01-01T10:00:00Z"), Instant.parse("2026-03-05T23:59:59Z") })
+        );
+        when(requestDailyStatsRepository.findAllDriftInDayRange(LocalDate.of(2026, 3, 4), LocalDate.of(2026, 3, 6))).thenReturn(
+            Collections.singletonList(new Object[] { 7L, Date.valueOf("2026-03-05"), "PENDING", 2L })
+        );
+        when(requestDailyStatsRepository.findAllDriftInDayRange(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 1))).thenReturn(
+            Collections.singletonList(new Object[] { 7L, Date.valueOf("2026-01-02"), "RESOLVED", -1L })
+        );
+
+        assertThat(requestStatsService.rebuild()).isEqualTo(2);
+
+        verify(requestDailyStatsRepository).findAllDriftOutsideDayRange(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 3, 6));
+        verify(requestDailyStatsRepository).findAllDriftInDayRange(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 3, 4));
+        verify(requestDailyStatsRepository, times(3)).importSnapshot("00000003-0000001B-1");
+        // the differences are added in the order of the key, as the triggers do
+        InOrder inOrder = inOrder(requestDailyStatsRepository);
+        inOrder.verify(requestDailyStatsRepository).addToCounter(7L, LocalDate.of(2026, 1, 2), "RESOLVED", -1L);
+        inOrder.verify(requestDailyStatsRepository).addToCounter(7L, LocalDate.of(2026, 3, 5), "PENDING", 2L);
+    }
+
+    @Test
+    void rebuildWithoutRequestsCancelsEveryCounter() {
+        when(requestDailyStatsRepository.findCreatedDateRange()).thenReturn(Collections.singletonList(new Object[] { null, null }));
+        when(requestDailyStatsRepository.findAllDriftOutsideDayRange(any(), any())).thenReturn(
+            Collections.singletonList(new Object[] { 7L, Date.valueOf("2026-03-05"), "PENDING", -3L })
+        );
+
+        assertThat(requestStatsService.rebuild()).isEqualTo(1);
+
+        verify(requestDailyStatsRepository).addToCounter(7L, LocalDate.of(2026, 3, 5), "PENDING", -3L);
+        verify(requestDailyStatsRepository, never()).findAllDriftInDayRange(any(), any());
+    }
+}
@@ -3,6 +3,9 @@ package com.example.request.web.rest;
 import static com.example.request.domain.RequestAsserts.*;
 import static com.example.request.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -12,18 +15,27 @@ import com.example.request.domain.Request;
 import com.example.request.domain.enumeration.RequestStatus;
 import com.example.request.repository.RequestRepository;
 import com.example.request.service.dto.RequestDTO;
+import com.example.request.service.dto.RequestStatusUpdateDTO;
 import com.example.request.service.mapper.RequestMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -223,6 +235,160 @@ class RequestResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeTest);
     }
 
+    @Test
+    @Transactional
+    void updateRequestsStatus() throws Exception {
+        // Initialize the database
+        insertedRequest = requestRepository.saveAndFlush(request);
+        Request resolvedRequest = requestRepository.saveAndFlush(createEntity().status(RequestStatus.RESOLVED));
+        long missingId = Integer.MAX_VALUE;
+
+        RequestStatusUpdateDTO update = new RequestStatusUpdateDTO();
+        update.setIds(List.of(request.getId(), resolvedRequest.getId(), missingId));
+        update.setStatus(RequestStatus.RESOLVED);
+
+        restRequestMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk-status").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(update)))
+            .andExpect(status().isOk())
+            .andExpect(
+                jsonPath("$.[*].id").value(contains(request.getId().intValue(), resolvedRequest.getId().intValue(), Integer.MAX_VALUE))
+            )
+            .andExpect(jsonPath("$.[*].outcome").value(contains("UPDATED", "UNCHANGED", "NOT_FOUND")));
+
+        // Validate the Requests in the database
+        em.clear();
+        Request updatedRequest = getPersistedRequest(request);
+        assertThat(updatedRequest.getStatus()).isEqualTo(RequestStatus.RESOLVED);
+        assertThat(updatedRequest.getResolvedDate()).isNotNull();
+        assertThat(getPersistedRequest(resolvedRequest).getResolvedDate()).isEqualTo(DEFAULT_RESOLVED_DATE);
+    }
+
+    @Test
+    @Transactional
+    void updateRequestsStatusWithoutIds() throws Exception {
+        RequestStatusUpdateDTO update = new RequestStatusUpdateDTO();
+        update.setIds(List.of());
+        update.setStatus(RequestStatus.RESOLVED);
+
+        restRequestMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk-status").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(update)))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void claimRequests() throws Exception {
+        // Initialize the database
+        Long municipalityId = longCount.incrementAndGet();
+        Request oldest = requestRepository.saveAndFlush(createEntity().municipalityId(municipalityId).createdDate(DEFAULT_CREATED_DATE));
+        Request older = requestRepository.saveAndFlush(
+            createEntity().municipalityId(municipalityId).createdDate(DEFAULT_CREATED_DATE.plusSeconds(1))
+        );
+        Request newest = requestRepository.saveAndFlush(
+            createEntity().municipalityId(municipalityId).createdDate(DEFAULT_CREATED_DATE.plusSeconds(2))
+        );
+        requestRepository.saveAndFlush(createEntity().municipalityId(municipalityId).status(RequestStatus.IN_PROGRESS));
+        // The claim is a statement, which would otherwise return the instances of the persistence context as they are
+        em.clear();
+
+        restRequestMockMvc
+            .perform(post(ENTITY_API_URL + "/claim").param("municipalityId", municipalityId.toString()).param("batch", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(oldest.getId().intValue(), older.getId().intValue())))
+            .andExpect(jsonPath("$.[*].status").value(contains("IN_PROGRESS", "IN_PROGRESS")))
+            .andExpect(jsonPath("$.[*].assignee").value(contains("user", "user")));
+
+        // Validate the Requests in the database
+        em.clear();
+        assertThat(getPersistedRequest(oldest).getAssignee()).isEqualTo("user");
+        assertThat(getPersistedRequest(newest).getStatus()).isEqualTo(RequestStatus.PENDING);
+        assertThat(getPersistedRequest(newest).getAssignee()).isNull();
+    }
+
+    @Test
+    @Transactional
+    void claimRequestsWithAnInvalidBatch() throws Exception {
+        restRequestMockMvc
+            .perform(post(ENTITY_API_URL + "/claim").param("municipalityId", DEFAULT_MUNICIPALITY_ID.toString()).param("batch", "0"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getRequestStatsOfAMunicipality() throws Exception {
+        // Initialize the database
+        Long municipalityId = longCount.incrementAndGet();
+        requestRepository.saveAndFlush(createEntity().municipalityId(municipalityId));
+        requestRepository.saveAndFlush(createEntity().municipalityId(municipalityId).status(RequestStatus.RESOLVED));
+        Request resolved = requestRepository.saveAndFlush(createEntity().municipalityId(municipalityId));
+        requestRepository.saveAndFlush(
+            createEntity().municipalityId(municipalityId).createdDate(DEFAULT_CREATED_DATE.plus(1, ChronoUnit.DAYS))
+        );
+        requestRepository.saveAndFlush(createEntity().municipalityId(longCount.incrementAndGet()));
+        // The counters follow the changes of status
+        requestRepository.saveAndFlush(resolved.status(RequestStatus.RESOLVED));
+
+        restRequestMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/stats")
+                    .param("municipalityId", municipalityId.toString())
+                    .param("from", "1970-01-01")
+                    .param("to", "1970-01-02")
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].day").value(contains("1970-01-01", "1970-01-01")))
+            .andExpect(jsonPath("$.[*].status").value(contains("PENDING", "RESOLVED")))
+            .andExpect(jsonPath("$.[*].count").value(contains(1, 2)));
+    }
+
+    @Test
+    @Transactional
+    void getRequestStatsWithAnEmptyRange() throws Exception {
+        restRequestMockMvc
+            .perform(get(ENTITY_API_URL + "/stats").param("from", "1970-01-02").param("to", "1970-01-02"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void rebuildRequestStatsIsReservedToAdministrators() throws Exception {
+        restRequestMockMvc.perform(post(ENTITY_API_URL + "/stats/rebuild")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Transactional
+    void searchRequestsBestRankedFirstOnePageAtATime() throws Exception {
+        Request once = requestRepository.saveAndFlush(createEntity().description("Zorglub : fuite d'eau"));
+        Request twice = requestRepository.saveAndFlush(createEntity().description("Zorglub : fuites d'eau, une fuite au compteur"));
+        requestRepository.saveAndFlush(createEntity().description("Zorglub : lampadaire en panne"));
+
+        String next = restRequestMockMvc
+            .perform(get(ENTITY_API_URL + "/_search").param("q", "zorglub fuite").param("size", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].request.id").value(contains(twice.getId().intValue())))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LINK);
+        String after = next.replaceAll(".*[?&]after=([^&>]+).*", "$1");
+
+        restRequestMockMvc
+            .perform(get(ENTITY_API_URL + "/_search").param("q", "zorglub fuite").param("size", "2").param("after", after))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].request.id").value(contains(once.getId().intValue())))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    @Transactional
+    void searchRequestsWithABlankQueryOrAnInvalidCursor() throws Exception {
+        restRequestMockMvc.perform(get(ENTITY_API_URL + "/_search").param("q", " ")).andExpect(status().isBadRequest());
+        restRequestMockMvc
+            .perform(get(ENTITY_API_URL + "/_search").param("q", "fuite").param("after", "invalid"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getAllRequests() throws Exception {
@@ -244,6 +410,66 @@ class RequestResourceIT {
             .andExpect(jsonPath("$.[*].municipalityId").value(hasItem(DEFAULT_MUNICIPALITY_ID.intValue())));
     }
 
+    @Test
+    @Transactional
+    void exportRequestsOfAMunicipality() throws Exception {
+        // Initialize the database
+        insertedRequest = requestRepository.saveAndFlush(request);
+        Request otherMunicipality = requestRepository.saveAndFlush(createEntity().municipalityId(UPDATED_MUNICIPALITY_ID));
+
+        // Export the requests of the default municipality
+        byte[] body = restRequestMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/export")
+                    .param("from", DEFAULT_CREATED_DATE.toString())
+                    .param("to", DEFAULT_CREATED_DATE.plusSeconds(1).toString())
+                    .param("municipalityId", DEFAULT_MUNICIPALITY_ID.toString())
+                    .param("format", "csv")
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("text/csv;charset=UTF-8"))
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        try (InputStream csv = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            String[] lines = new String(csv.readAllBytes(), StandardCharsets.UTF_8).split("\r\n");
+            assertThat(lines).hasSize(2).noneMatch(line -> line.startsWith(otherMunicipality.getId() + ","));
+            assertThat(lines[1]).startsWith(request.getId() + "," + DEFAULT_TYPE + "," + DEFAULT_DESCRIPTION + "," + DEFAULT_STATUS);
+        }
+    }
+
+    @Test
+    @Transactional
+    void exportRequestsWithoutGzip() throws Exception {
+        // Initialize the database
+        insertedRequest = requestRepository.saveAndFlush(request);
+
+        // Export the requests of all the municipalities
+        restRequestMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/export")
+                    .param("from", DEFAULT_CREATED_DATE.toString())
+                    .param("to", DEFAULT_CREATED_DATE.plusSeconds(1).toString())
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andExpect(content().string(containsString("\r\n" + request.getId() + "," + DEFAULT_TYPE + ",")));
+    }
+
+    @Test
+    void exportRequestsOfAnEmptyRange() throws Exception {
+        restRequestMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/export")
+                    .param("from", DEFAULT_CREATED_DATE.toString())
+                    .param("to", DEFAULT_CREATED_DATE.toString())
+            )
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getRequest() throws Exception {
@@ -305,6 +531,26 @@ class RequestResourceIT {
         assertPersistedRequestToMatchAllProperties(updatedRequest);
     }
 
+    @Test
+    @Transactional
+    void putExistingRequestWithoutVersion() throws Exception {
+        // Initialize the database
+        insertedRequest = requestRepository.saveAndFlush(request);
+
+        // Update the request, without the version it was read in
+        RequestDTO requestDTO = requestMapper.toDto(createUpdatedEntity().id(request.getId()));
+
+        restRequestMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, requestDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(requestDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(request.getVersion().intValue() + 1));
+
+        // Validate the Request in the database
+        assertRequestUpdatableFieldsEquals(createUpdatedEntity(), getPersistedRequest(request));
+    }
+
     @Test
     @Transactional
     void putNonExistingRequest() throws Exception {
@@ -434,6 +680,128 @@ class RequestResourceIT {
         assertRequestUpdatableFieldsEquals(partialUpdatedRequest, getPersistedRequest(partialUpdatedRequest));
     }
 
+    @Test
+    @Transactional
+    void partialUpdateRequestIsOneStatement() throws Exception {
+        // Initialize the database
+        insertedRequest = requestRepository.saveAndFlush(request);
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        // Update the status of the request, in the version it was read
+        RequestDTO partialUpdatedRequest = new RequestDTO();
+        partialUpdatedRequest.setId(request.getId());
+        partialUpdatedRequest.setStatus(UPDATED_STATUS);
+        partialUpdatedRequest.setVersion(request.getVersion());
+
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            restRequestMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, partialUpdatedRequest.getId())
+                        .contentType("application/merge-patch+json")
+                        .content(om.writeValueAsBytes(partialUpdatedRequest))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(UPDATED_STATUS.toString()))
+                .andExpect(jsonPath("$.type").value(DEFAULT_TYPE))
+                .andExpect(jsonPath("$.version").value(request.getVersion().intValue() + 1));
+
+            // Validate that the request was updated and read back in one round trip
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @Transactional
+    void partialUpdateRequestToResolvedIsOneStatement() throws Exception {
+        // Initialize the database
+        insertedRequest = requestRepository.saveAndFlush(request.resolvedDate(null));
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        // Resolve the request, which reads its previous status in the same statement
+        RequestDTO partialUpdatedRequest = new RequestDTO();
+        partialUpdatedRequest.setId(request.getId());
+        partialUpdatedRequest.setStatus(RequestStatus.RESOLVED);
+
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            restRequestMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, partialUpdatedRequest.getId())
+                        .contentType("application/merge-patch+json")
+                        .content(om.writeValueAsBytes(partialUpdatedRequest))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(RequestStatus.RESOLVED.toString()))
+                .andExpect(jsonPath("$.resolvedDate").isNotEmpty());
+
+            // Validate that the request was locked, updated and read back in one round trip
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @Transactional
+    void partialUpdateRequestWithStaleVersion() throws Exception {
+        // Initialize the database
+        insertedRequest = requestRepository.saveAndFlush(request);
+
+        // Update the status of the request, in a version it no longer has
+        RequestDTO partialUpdatedRequest = new RequestDTO();
+        partialUpdatedRequest.setId(request.getId());
+        partialUpdatedRequest.setStatus(UPDATED_STATUS);
+        partialUpdatedRequest.setVersion(request.getVersion() - 1);
+
+        restRequestMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedRequest.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedRequest))
+            )
+            .andExpect(status().isConflict());
+
+        // Validate the Request in the database
+        assertThat(getPersistedRequest(request).getStatus()).isEqualTo(DEFAULT_STATUS);
+    }
+
+    @Test
+    void patchRequestToResolvedIsCountedInTheResolutionTimes() throws Exception {
+        // Initialize the database, with a type of its own, as the resolutions are recorded once committed
+        String type = "resolved-" + longCount.incrementAndGet();
+        insertedRequest = requestRepository.saveAndFlush(
+            request.type(type).status(RequestStatus.IN_PROGRESS).createdDate(Instant.now().minus(1, ChronoUnit.HOURS)).resolvedDate(null)
+        );
+
+        // Resolve the request, without a resolution date
+        RequestDTO partialUpdatedRequest = new RequestDTO();
+        partialUpdatedRequest.setId(request.getId());
+        partialUpdatedRequest.setStatus(RequestStatus.RESOLVED);
+
+        restRequestMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedRequest.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedRequest))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.resolvedDate").isNotEmpty());
+        insertedRequest = getPersistedRequest(request);
+
+        // Validate the resolution is counted
+        restRequestMockMvc
+            .perform(get(ENTITY_API_URL + "/sla").param("municipalityId", DEFAULT_MUNICIPALITY_ID.toString()).param("type", type))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].count").value(1))
+            .andExpect(jsonPath("$.[0].p50").value(greaterThanOrEqualTo(3_500)));
+    }
+
     @Test
     @Transactional
     void patchNonExistingRequest() throws Exception {
@@ -1,5 +1,6 @@
 package com.example.user.security.jwt;
 
+import com.example.user.config.ApplicationProperties;
 import com.example.user.config.SecurityConfiguration;
 import com.example.user.config.SecurityJwtConfiguration;
 import com.example.user.config.WebConfigurer;
@@ -16,6 +17,7 @@ import tech.jhipster.config.JHipsterProperties;
 @SpringBootTest(
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
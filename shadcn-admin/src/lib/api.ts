@@ -45,6 +45,7 @@ export interface RequestDTO {
   resolvedDate?: string
   citizenId?: number
   municipalityId?: number
+  version?: number
   citizenFirstName?: string
   citizenLastName?: string
   citizenEmail?: string